@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.sqlapp.util.SimpleBeanUtils;
+import com.sqlapp.util.SimpleBeanWrapper;
+
+/**
+ * SimpleBeanWrapperによるプロパティアクセスと、リフレクション、直接呼び出しの比較のベンチマーク
+ *
+ * @author tatsuo satoh
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BeanAccessBenchmark {
+
+	private SimpleBeanWrapper wrapper;
+
+	private Method getter;
+
+	private Method setter;
+
+	private Bean bean;
+
+	@Setup
+	public void setUp() throws NoSuchMethodException {
+		wrapper = SimpleBeanUtils.getInstance(Bean.class);
+		getter = Bean.class.getMethod("getName");
+		setter = Bean.class.getMethod("setName", String.class);
+		bean = new Bean();
+		bean.setName("name");
+	}
+
+	@Benchmark
+	public Object getWrapper() {
+		return wrapper.getValue(bean, "name");
+	}
+
+	@Benchmark
+	public Object getReflection() throws Exception {
+		return getter.invoke(bean);
+	}
+
+	@Benchmark
+	public Object getDirect() {
+		return bean.getName();
+	}
+
+	@Benchmark
+	public Bean setWrapper() {
+		wrapper.setValue(bean, "name", "name");
+		return bean;
+	}
+
+	@Benchmark
+	public Bean setReflection() throws Exception {
+		setter.invoke(bean, "name");
+		return bean;
+	}
+
+	@Benchmark
+	public Bean setDirect() {
+		bean.setName("name");
+		return bean;
+	}
+
+	public static class Bean {
+		private String name;
+
+		/**
+		 * @return the name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @param name the name to set
+		 */
+		public void setName(final String name) {
+			this.name = name;
+		}
+	}
+}
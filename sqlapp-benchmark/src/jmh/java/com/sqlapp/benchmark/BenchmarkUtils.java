@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import com.sqlapp.data.db.datatype.DataType;
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.data.schemas.Table;
+
+/**
+ * ベンチマーク用のデータを作成するユーティリティ
+ *
+ * @author tatsuo satoh
+ *
+ */
+final class BenchmarkUtils {
+
+	private BenchmarkUtils() {
+	}
+
+	/**
+	 * ID(BIGINT)の主キーと、VARCHAR、INT、DOUBLEを繰り返すカラムを持つテーブルを作成します。
+	 *
+	 * @param name
+	 *            テーブル名
+	 * @param columnSize
+	 *            ID以外のカラム数
+	 */
+	static Table createTable(final String name, final int columnSize) {
+		final Table table = new Table(name);
+		table.getColumns().add(new Column("ID").setDataType(DataType.BIGINT).setNotNull(true));
+		for (int i = 0; i < columnSize; i++) {
+			final Column column = new Column("COL" + i);
+			switch (i % 3) {
+			case 0:
+				column.setDataType(DataType.VARCHAR).setLength(50);
+				break;
+			case 1:
+				column.setDataType(DataType.INT);
+				break;
+			default:
+				column.setDataType(DataType.DOUBLE);
+				break;
+			}
+			table.getColumns().add(column);
+		}
+		table.setPrimaryKey(table.getColumns().get("ID"));
+		return table;
+	}
+
+	/**
+	 * カラムの型に合わせた値を返します。
+	 *
+	 * @param column
+	 *            カラム
+	 * @param rowIndex
+	 *            行番号
+	 */
+	static Object createValue(final Column column, final int rowIndex) {
+		switch (column.getDataType()) {
+		case BIGINT:
+			return Long.valueOf(rowIndex);
+		case INT:
+			return Integer.valueOf(rowIndex % 1000);
+		case DOUBLE:
+			return Double.valueOf(rowIndex / 100d);
+		default:
+			return "value" + rowIndex;
+		}
+	}
+
+	/**
+	 * 全てのカラムに値を設定した行を追加します。
+	 *
+	 * @param table
+	 *            テーブル
+	 * @param rowSize
+	 *            行数
+	 */
+	static void addRows(final Table table, final int rowSize) {
+		for (int i = 0; i < rowSize; i++) {
+			final Row row = table.newRow();
+			for (final Column column : table.getColumns()) {
+				row.put(column, createValue(column, i));
+			}
+			table.getRows().add(row);
+		}
+	}
+}
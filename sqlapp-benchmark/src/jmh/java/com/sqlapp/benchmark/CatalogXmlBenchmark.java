@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.sqlapp.data.schemas.Catalog;
+import com.sqlapp.data.schemas.Schema;
+import com.sqlapp.data.schemas.Table;
+
+/**
+ * StaxWriterによるカタログのXML出力のベンチマーク
+ *
+ * @author tatsuo satoh
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CatalogXmlBenchmark {
+
+	private static final int COLUMN_SIZE = 20;
+	/**
+	 * テーブル数
+	 */
+	@Param({ "10", "100", "1000" })
+	private int tableSize;
+	/**
+	 * テーブル毎の行数
+	 */
+	@Param({ "0", "100" })
+	private int rowSize;
+
+	private Catalog catalog;
+
+	@Setup
+	public void setUp() {
+		catalog = new Catalog();
+		final Schema schema = new Schema("BENCHMARK");
+		catalog.getSchemas().add(schema);
+		for (int i = 0; i < tableSize; i++) {
+			final Table table = BenchmarkUtils.createTable("TABLE" + i, COLUMN_SIZE);
+			schema.getTables().add(table);
+			BenchmarkUtils.addRows(table, rowSize);
+		}
+	}
+
+	@Benchmark
+	public Catalog writeXml() throws XMLStreamException {
+		catalog.writeXml(Writer.nullWriter());
+		return catalog;
+	}
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.sqlapp.data.converter.Converters;
+
+/**
+ * Converters.convertObjectのベンチマーク
+ *
+ * @author tatsuo satoh
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConvertersBenchmark {
+
+	private static final int SIZE = 100;
+
+	private Converters converters;
+
+	private final String[] integers = new String[SIZE];
+
+	private final String[] decimals = new String[SIZE];
+
+	private final String[] dates = new String[SIZE];
+
+	private final String[] timestamps = new String[SIZE];
+
+	private final Long[] longs = new Long[SIZE];
+
+	@Setup
+	public void setUp() {
+		converters = Converters.getDefault();
+		for (int i = 0; i < SIZE; i++) {
+			integers[i] = String.valueOf(i * 31);
+			decimals[i] = i + "." + (i % 100);
+			dates[i] = LocalDate.of(2020, 1, 1).plusDays(i).toString();
+			timestamps[i] = "2020-01-01 12:34:" + String.format("%02d", i % 60) + ".123";
+			longs[i] = Long.valueOf(i * 1000L);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public void stringToInteger(final Blackhole bh) {
+		for (final String value : integers) {
+			bh.consume(converters.convertObject(value, Integer.class));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public void stringToBigDecimal(final Blackhole bh) {
+		for (final String value : decimals) {
+			bh.consume(converters.convertObject(value, BigDecimal.class));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public void stringToLocalDate(final Blackhole bh) {
+		for (final String value : dates) {
+			bh.consume(converters.convertObject(value, LocalDate.class));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public void stringToLocalDateTime(final Blackhole bh) {
+		for (final String value : timestamps) {
+			bh.consume(converters.convertObject(value, LocalDateTime.class));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public void longToString(final Blackhole bh) {
+		for (final Long value : longs) {
+			bh.consume(converters.convertObject(value, String.class));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SIZE)
+	public void sameType(final Blackhole bh) {
+		for (final Long value : longs) {
+			bh.consume(converters.convertObject(value, Long.class));
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.DbObjectDiff;
+import com.sqlapp.data.schemas.DefaultSchemaEqualsHandler;
+import com.sqlapp.data.schemas.EqualsHandler;
+import com.sqlapp.data.schemas.Index;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.util.CommonUtils;
+import com.sqlapp.util.Diff;
+
+/**
+ * Diff(LCS)のベンチマーク
+ *
+ * 旧実装の行列によるLCS(MatrixDiff)と比較します。MatrixDiffは約4×size²バイトのヒープを使用するため、
+ * size=10000では400MB程度のヒープが必要です。
+ *
+ * @author tatsuo satoh
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiffBenchmark {
+	/**
+	 * 比較する行数
+	 */
+	@Param({ "100", "1000", "10000" })
+	private int size;
+
+	private List<String> list1;
+
+	private List<String> list2;
+
+	private List<Column> columns1;
+
+	private List<Column> columns2;
+
+	private List<Index> indexes1;
+
+	private List<Index> indexes2;
+
+	private final EqualsHandler equalsHandler = DefaultSchemaEqualsHandler.getInstance();
+
+	@Setup
+	public void setUp() {
+		list1 = CommonUtils.list(size);
+		list2 = CommonUtils.list(size);
+		final Table table1 = new Table("TABLE1");
+		final Table table2 = new Table("TABLE2");
+		for (int i = 0; i < size; i++) {
+			final String line = "line" + i;
+			list1.add(line);
+			table1.getColumns().add(new Column("COL" + i));
+			// 約1割の行を変更、削除、追加する
+			switch (i % 30) {
+			case 0:
+				list2.add(line + " changed");
+				table2.getColumns().add(new Column("CHANGED" + i));
+				break;
+			case 10:
+				break;
+			case 20:
+				list2.add("added" + i);
+				list2.add(line);
+				table2.getColumns().add(new Column("ADDED" + i));
+				table2.getColumns().add(new Column("COL" + i));
+				break;
+			default:
+				list2.add(line);
+				table2.getColumns().add(new Column("COL" + i));
+				break;
+			}
+		}
+		addIndexes(table1);
+		addIndexes(table2);
+		columns1 = table1.getColumns();
+		columns2 = table2.getColumns();
+		indexes1 = table1.getIndexes();
+		indexes2 = table2.getIndexes();
+	}
+
+	/**
+	 * カラム毎に単一カラムのインデックスを追加します。
+	 */
+	private void addIndexes(final Table table) {
+		for (final Column column : table.getColumns()) {
+			table.getIndexes().add("IDX_" + column.getName(), column);
+		}
+	}
+
+	@Benchmark
+	public List<String> lcs() {
+		return new Diff<String>(list1, list2).getLcs();
+	}
+
+	@Benchmark
+	public List<String> lcsMatrix() {
+		return new MatrixDiff<String>(list1, list2, Objects::equals).getLcs();
+	}
+
+	@Benchmark
+	public List<Column> dbObjectDiffColumns() {
+		return new DbObjectDiff<Column>(columns1, columns2, equalsHandler).getLcs();
+	}
+
+	@Benchmark
+	public List<Column> dbObjectDiffColumnsMatrix() {
+		return new MatrixDiff<Column>(columns1, columns2, (a, b) -> a.like(b, equalsHandler)).getLcs();
+	}
+
+	@Benchmark
+	public List<Index> dbObjectDiffIndexes() {
+		return new DbObjectDiff<Index>(indexes1, indexes2, equalsHandler).getLcs();
+	}
+
+	@Benchmark
+	public List<Index> dbObjectDiffIndexesMatrix() {
+		return new MatrixDiff<Index>(indexes1, indexes2, (a, b) -> a.like(b, equalsHandler)).getLcs();
+	}
+}
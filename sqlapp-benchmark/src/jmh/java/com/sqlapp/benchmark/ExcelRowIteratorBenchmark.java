@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.data.schemas.rowiterator.ExcelRowIteratorHandler;
+import com.sqlapp.data.schemas.rowiterator.ExcelUtils;
+
+/**
+ * xlsxファイルの行の読み込みのベンチマーク
+ *
+ * @author tatsuo satoh
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExcelRowIteratorBenchmark {
+
+	private static final int COLUMN_SIZE = 9;
+
+	private static final int FIRST_ROW_SIZE = 100;
+	/**
+	 * シートの行数
+	 */
+	@Param({ "10000", "100000" })
+	private int rowSize;
+
+	private File file;
+
+	@Setup
+	public void setUp() throws IOException {
+		final Table table = BenchmarkUtils.createTable("EXCEL_TABLE", COLUMN_SIZE);
+		file = File.createTempFile("benchmark", ".xlsx");
+		final SXSSFWorkbook workbook = new SXSSFWorkbook();
+		try (OutputStream os = new FileOutputStream(file)) {
+			final Sheet sheet = workbook.createSheet("EXCEL_TABLE");
+			final org.apache.poi.ss.usermodel.Row header = sheet.createRow(0);
+			int j = 0;
+			for (final Column column : table.getColumns()) {
+				header.createCell(j++).setCellValue(column.getName());
+			}
+			for (int i = 0; i < rowSize; i++) {
+				final org.apache.poi.ss.usermodel.Row excelRow = sheet.createRow(i + 1);
+				j = 0;
+				for (final Column column : table.getColumns()) {
+					ExcelUtils.setCell(workbook, excelRow.createCell(j++), BenchmarkUtils.createValue(column, i));
+				}
+			}
+			workbook.write(os);
+		} finally {
+			workbook.dispose();
+			workbook.close();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		file.delete();
+	}
+
+	/**
+	 * 全ての行を読み込みます。
+	 */
+	@Benchmark
+	public void readAll(final Blackhole bh) {
+		final Table table = new Table("EXCEL_TABLE");
+		table.setRowIteratorHandler(new ExcelRowIteratorHandler(file));
+		for (final Row row : table.getRows()) {
+			bh.consume(row);
+		}
+	}
+
+	/**
+	 * 先頭の行だけを読み込んで終了します。
+	 */
+	@Benchmark
+	public void readFirstRows(final Blackhole bh) throws Exception {
+		final Table table = new Table("EXCEL_TABLE");
+		table.setRowIteratorHandler(new ExcelRowIteratorHandler(file));
+		final Iterator<Row> itr = table.getRows().iterator();
+		for (int i = 0; i < FIRST_ROW_SIZE && itr.hasNext(); i++) {
+			bh.consume(itr.next());
+		}
+		((AutoCloseable) itr).close();
+	}
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.data.schemas.rowiterator.CsvRowIteratorHandler;
+import com.sqlapp.data.schemas.rowiterator.JsonLineRowIteratorHandler;
+
+/**
+ * CSV、JSON Linesファイルの行の読み込みのベンチマーク
+ *
+ * @author tatsuo satoh
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileRowIteratorBenchmark {
+
+	private static final int COLUMN_SIZE = 9;
+	/**
+	 * ファイルの行数
+	 */
+	@Param({ "1000", "100000" })
+	private int rowSize;
+
+	private File csvFile;
+
+	private File jsonLineFile;
+
+	@Setup
+	public void setUp() throws IOException {
+		final Table table = BenchmarkUtils.createTable("FILE_TABLE", COLUMN_SIZE);
+		csvFile = File.createTempFile("benchmark", ".csv");
+		jsonLineFile = File.createTempFile("benchmark", ".jsonl");
+		try (BufferedWriter csv = Files.newBufferedWriter(csvFile.toPath(), StandardCharsets.UTF_8);
+				BufferedWriter jsonLine = Files.newBufferedWriter(jsonLineFile.toPath(), StandardCharsets.UTF_8)) {
+			final StringBuilder header = new StringBuilder();
+			for (final Column column : table.getColumns()) {
+				if (header.length() > 0) {
+					header.append(',');
+				}
+				header.append(column.getName());
+			}
+			csv.write(header.toString());
+			csv.newLine();
+			for (int i = 0; i < rowSize; i++) {
+				final StringBuilder csvLine = new StringBuilder();
+				final StringBuilder jsonLineBuilder = new StringBuilder("{");
+				for (final Column column : table.getColumns()) {
+					final Object value = BenchmarkUtils.createValue(column, i);
+					if (csvLine.length() > 0) {
+						csvLine.append(',');
+						jsonLineBuilder.append(", ");
+					}
+					csvLine.append(value);
+					jsonLineBuilder.append('"').append(column.getName()).append("\" : ");
+					if (value instanceof String) {
+						jsonLineBuilder.append('"').append(value).append('"');
+					} else {
+						jsonLineBuilder.append(value);
+					}
+				}
+				jsonLineBuilder.append('}');
+				csv.write(csvLine.toString());
+				csv.newLine();
+				jsonLine.write(jsonLineBuilder.toString());
+				jsonLine.newLine();
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		csvFile.delete();
+		jsonLineFile.delete();
+	}
+
+	@Benchmark
+	public void csv(final Blackhole bh) {
+		final Table table = BenchmarkUtils.createTable("FILE_TABLE", COLUMN_SIZE);
+		table.setRowIteratorHandler(new CsvRowIteratorHandler(csvFile, "UTF-8", 1));
+		for (final Row row : table.getRows()) {
+			bh.consume(row);
+		}
+	}
+
+	@Benchmark
+	public void jsonLine(final Blackhole bh) {
+		final Table table = BenchmarkUtils.createTable("FILE_TABLE", COLUMN_SIZE);
+		table.setRowIteratorHandler(new JsonLineRowIteratorHandler(jsonLineFile));
+		for (final Row row : table.getRows()) {
+			bh.consume(row);
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.sqlapp.data.db.dialect.Dialect;
+import com.sqlapp.data.db.dialect.DialectResolver;
+import com.sqlapp.data.db.sql.DataSourceSqlExecutor;
+import com.sqlapp.data.db.sql.SqlFactory;
+import com.sqlapp.data.db.sql.SqlFactoryRegistry;
+import com.sqlapp.data.db.sql.SqlType;
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.data.schemas.State;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.data.schemas.rowiterator.JdbcDynamicRowIteratorHandler;
+
+/**
+ * HSQLのメモリDBからJdbcDynamicRowIteratorHandlerで行を読み込むベンチマーク
+ *
+ * @author tatsuo satoh
+ *
+ */
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JdbcRowIteratorBenchmark {
+
+	private static final int COLUMN_SIZE = 9;
+	/**
+	 * テーブルの行数
+	 */
+	@Param({ "1000", "100000" })
+	private int rowSize;
+	/**
+	 * 並列に読み込むキーの範囲の数
+	 */
+	@Param({ "1", "4" })
+	private int parallelism;
+
+	private JDBCDataSource dataSource;
+
+	private Table table;
+
+	private SqlFactoryRegistry sqlFactoryRegistry;
+
+	@Setup
+	public void setUp() throws SQLException {
+		dataSource = new JDBCDataSource();
+		dataSource.setUrl("jdbc:hsqldb:mem:benchmark");
+		dataSource.setUser("sa");
+		dataSource.setPassword("");
+		table = BenchmarkUtils.createTable("JDBC_TABLE", COLUMN_SIZE);
+		try (Connection connection = dataSource.getConnection()) {
+			final Dialect dialect = DialectResolver.getInstance().getDialect(connection);
+			sqlFactoryRegistry = dialect.createSqlFactoryRegistry();
+		}
+		final DataSourceSqlExecutor executor = new DataSourceSqlExecutor(dataSource);
+		final SqlFactory<Table> sqlFactory = sqlFactoryRegistry.getSqlFactory(table, State.Added);
+		executor.execute(sqlFactory.createSql(table));
+		final StringBuilder builder = new StringBuilder("insert into JDBC_TABLE values (?");
+		for (int i = 0; i < COLUMN_SIZE; i++) {
+			builder.append(", ?");
+		}
+		builder.append(")");
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement statement = connection.prepareStatement(builder.toString())) {
+			connection.setAutoCommit(false);
+			for (int i = 0; i < rowSize; i++) {
+				int index = 1;
+				for (final Column column : table.getColumns()) {
+					statement.setObject(index++, BenchmarkUtils.createValue(column, i));
+				}
+				statement.addBatch();
+				if (i % 1000 == 999) {
+					statement.executeBatch();
+				}
+			}
+			if (rowSize % 1000 != 0) {
+				statement.executeBatch();
+			}
+			connection.commit();
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		final DataSourceSqlExecutor executor = new DataSourceSqlExecutor(dataSource);
+		final SqlFactory<Table> sqlFactory = sqlFactoryRegistry.getSqlFactory(table, SqlType.DROP);
+		executor.execute(sqlFactory.createSql(table));
+	}
+
+	@Benchmark
+	public void readRows(final Blackhole bh) {
+		final JdbcDynamicRowIteratorHandler handler = new JdbcDynamicRowIteratorHandler();
+		handler.setDataSource(dataSource);
+		handler.setParallelism(parallelism);
+		table.setRowIteratorHandler(handler);
+		for (final Row row : table.getRows()) {
+			bh.consume(row);
+		}
+	}
+}
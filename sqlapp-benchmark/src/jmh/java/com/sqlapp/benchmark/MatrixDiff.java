@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+import com.sqlapp.util.CommonUtils;
+
+/**
+ * 比較用の旧実装のDIFF(O(n·m)の行列によるLCS)
+ *
+ * sqlapp-coreのDiffを線形メモリのアルゴリズムに置き換える前の実装をそのまま複製しています。
+ *
+ * @param <T>
+ */
+final class MatrixDiff<T> {
+
+	private final List<T> lcs = CommonUtils.list();
+
+	private final BiPredicate<T, T> eq;
+
+	private final Map<Integer, T> map1 = CommonUtils.linkedMap();
+
+	private final Map<Integer, T> map2 = CommonUtils.linkedMap();
+
+	MatrixDiff(final List<T> list1, final List<T> list2, final BiPredicate<T, T> eq) {
+		this.eq = eq;
+		initLongestCommonSubSequences(list1, list2);
+	}
+
+	Map<Integer, T> getLcs1() {
+		return map1;
+	}
+
+	Map<Integer, T> getLcs2() {
+		return map2;
+	}
+
+	List<T> getLcs() {
+		return lcs;
+	}
+
+	private void initLongestCommonSubSequences(final List<T> list1, final List<T> list2) {
+		final int size1 = list1.size();
+		final int size2 = list2.size();
+		final int[][] lengths = new int[size1 + 1][size2 + 1];
+		for (int i = size1 - 1; i >= 0; i--) {
+			final T obj1 = list1.get(i);
+			for (int j = size2 - 1; j >= 0; j--) {
+				final T obj2 = list2.get(j);
+				if (eq.test(obj1, obj2)) {
+					lengths[i][j] = lengths[i + 1][j + 1] + 1;
+				} else {
+					lengths[i][j] = Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+				}
+			}
+		}
+		int i = 0, j = 0;
+		while (i < size1 && j < size2) {
+			final T obj1 = list1.get(i);
+			final T obj2 = list2.get(j);
+			if (eq.test(obj1, obj2)) {
+				this.lcs.add(obj1);
+				map1.put(i, obj1);
+				map2.put(j, obj2);
+				i++;
+				j++;
+			} else if (lengths[i + 1][j] >= lengths[i][j + 1]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+	}
+}
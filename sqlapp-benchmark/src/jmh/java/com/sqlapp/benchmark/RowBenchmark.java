@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.data.schemas.Table;
+
+/**
+ * Row.put/getとRowCollectionの走査のベンチマーク
+ *
+ * 1回の呼び出しでROW_SIZE行を処理するため、gcプロファイラーのgc.alloc.rate.normが1行当たりのメモリ使用量になります。
+ *
+ * @author tatsuo satoh
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RowBenchmark {
+
+	private static final int ROW_SIZE = 1000;
+
+	/**
+	 * ID以外のカラム数
+	 */
+	@Param({ "10", "100" })
+	private int columnSize;
+
+	private Table table;
+
+	private Table emptyTable;
+
+	private Object[][] values;
+
+	private String[] columnNames;
+
+	@Setup
+	public void setUp() {
+		table = BenchmarkUtils.createTable("ROW_TABLE", columnSize);
+		BenchmarkUtils.addRows(table, ROW_SIZE);
+		emptyTable = BenchmarkUtils.createTable("EMPTY_TABLE", columnSize);
+		values = new Object[ROW_SIZE][table.getColumns().size()];
+		columnNames = new String[table.getColumns().size()];
+		for (int j = 0; j < columnNames.length; j++) {
+			final Column column = table.getColumns().get(j);
+			columnNames[j] = column.getName();
+			for (int i = 0; i < ROW_SIZE; i++) {
+				values[i][j] = BenchmarkUtils.createValue(column, i);
+			}
+		}
+	}
+
+	/**
+	 * 全カラムに値を設定した行を作成します。
+	 */
+	@Benchmark
+	@OperationsPerInvocation(ROW_SIZE)
+	public void createRows(final Blackhole bh) {
+		for (int i = 0; i < ROW_SIZE; i++) {
+			final Row row = emptyTable.newRow();
+			final Object[] rowValues = values[i];
+			for (int j = 0; j < rowValues.length; j++) {
+				row.put(j, rowValues[j]);
+			}
+			bh.consume(row);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROW_SIZE)
+	public void putByName(final Blackhole bh) {
+		for (int i = 0; i < ROW_SIZE; i++) {
+			final Row row = emptyTable.newRow();
+			final Object[] rowValues = values[i];
+			for (int j = 0; j < rowValues.length; j++) {
+				row.put(columnNames[j], rowValues[j]);
+			}
+			bh.consume(row);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROW_SIZE)
+	public void getByName(final Blackhole bh) {
+		for (final Row row : table.getRows()) {
+			for (final String name : columnNames) {
+				bh.consume(row.get(name));
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROW_SIZE)
+	public void getByIndex(final Blackhole bh) {
+		final int size = columnNames.length;
+		for (final Row row : table.getRows()) {
+			for (int j = 0; j < size; j++) {
+				bh.consume(row.get(j));
+			}
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROW_SIZE)
+	public void iterateRows(final Blackhole bh) {
+		for (final Row row : table.getRows()) {
+			bh.consume(row);
+		}
+	}
+}
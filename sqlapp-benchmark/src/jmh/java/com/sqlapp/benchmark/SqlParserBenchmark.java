@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.sqlapp.data.parameter.ParametersContext;
+import com.sqlapp.jdbc.sql.SqlParameterCollection;
+import com.sqlapp.jdbc.sql.SqlParser;
+import com.sqlapp.jdbc.sql.node.SqlNode;
+
+/**
+ * 2WAY SQLの解析と評価のベンチマーク
+ *
+ * @author tatsuo satoh
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqlParserBenchmark {
+	/**
+	 * IFで囲んだ条件の数
+	 */
+	@Param({ "10", "100" })
+	private int size;
+
+	private String sql;
+
+	private SqlNode node;
+
+	private ParametersContext context;
+
+	@Setup
+	public void setUp() {
+		final StringBuilder builder = new StringBuilder("select * from test\nwhere 0=0");
+		context = new ParametersContext();
+		for (int i = 0; i < size; i++) {
+			builder.append("\n  /*if p").append(i).append("!=null*/");
+			builder.append("\n  and col").append(i).append("=/*p").append(i).append("*/1");
+			builder.append("\n  /*end*/");
+			if (i % 2 == 0) {
+				context.put("p" + i, Integer.valueOf(i));
+			}
+		}
+		builder.append("\n  and name in /*names*/('a')");
+		context.put("names", new String[] { "a", "b", "c" });
+		sql = builder.toString();
+		node = SqlParser.getInstance().parse(sql);
+	}
+
+	@Benchmark
+	public SqlNode parse() {
+		return SqlParser.getInstance().parse(sql);
+	}
+
+	@Benchmark
+	public SqlParameterCollection eval() {
+		return node.eval(context);
+	}
+}
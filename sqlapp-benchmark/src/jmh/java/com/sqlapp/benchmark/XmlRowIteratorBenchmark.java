@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-benchmark.
+ *
+ * sqlapp-benchmark is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-benchmark is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-benchmark.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.data.schemas.rowiterator.XmlRowIteratorHandler;
+
+/**
+ * XMLファイルの行の読み込みのベンチマーク
+ *
+ * @author tatsuo satoh
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class XmlRowIteratorBenchmark {
+
+	private static final int COLUMN_SIZE = 9;
+
+	private static final int FIRST_ROW_SIZE = 100;
+	/**
+	 * ファイルの行数
+	 */
+	@Param({ "100000", "2000000" })
+	private int rowSize;
+
+	private File file;
+
+	@Setup
+	public void setUp() throws IOException {
+		final Table table = BenchmarkUtils.createTable("XML_TABLE", COLUMN_SIZE);
+		file = File.createTempFile("benchmark", ".xml");
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write("<?xml version=\"1.0\" encoding=\"utf-8\"?>");
+			writer.newLine();
+			writer.write("<table name=\"XML_TABLE\">");
+			writer.newLine();
+			writer.write("\t<rows>");
+			writer.newLine();
+			for (int i = 0; i < rowSize; i++) {
+				writer.write("\t\t<row>");
+				for (final Column column : table.getColumns()) {
+					writer.write("<value key=\"");
+					writer.write(column.getName());
+					writer.write("\">");
+					writer.write(String.valueOf(BenchmarkUtils.createValue(column, i)));
+					writer.write("</value>");
+				}
+				writer.write("</row>");
+				writer.newLine();
+			}
+			writer.write("\t</rows>");
+			writer.newLine();
+			writer.write("</table>");
+			writer.newLine();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		file.delete();
+	}
+
+	/**
+	 * 全ての行を読み込みます。
+	 */
+	@Benchmark
+	public void readAll(final Blackhole bh) {
+		final Table table = BenchmarkUtils.createTable("XML_TABLE", COLUMN_SIZE);
+		table.setRowIteratorHandler(new XmlRowIteratorHandler(file));
+		for (final Row row : table.getRows()) {
+			bh.consume(row);
+		}
+	}
+
+	/**
+	 * 先頭の行だけを読み込んで終了します。
+	 */
+	@Benchmark
+	public void readFirstRows(final Blackhole bh) throws Exception {
+		final Table table = BenchmarkUtils.createTable("XML_TABLE", COLUMN_SIZE);
+		table.setRowIteratorHandler(new XmlRowIteratorHandler(file));
+		final Iterator<Row> itr = table.getRows().iterator();
+		for (int i = 0; i < FIRST_ROW_SIZE && itr.hasNext(); i++) {
+			bh.consume(itr.next());
+		}
+		((AutoCloseable) itr).close();
+	}
+}
@@ -20,6 +20,7 @@
 package com.sqlapp.data.db.command;
 
 import java.io.PrintStream;
+import java.util.Collection;
 import java.util.Map;
 
 import org.apache.logging.log4j.LogManager;
@@ -104,6 +105,28 @@ public abstract class AbstractCommand implements Runnable {
 		return err;
 	}
 
+	/**
+	 * 全てのエラーをExceptionHandlerに渡します。
+	 * ExceptionHandlerが例外をスローした場合は、残りのエラーを抑制された例外として追加して最後にスローします。
+	 */
+	protected void handleErrors(final Collection<? extends Throwable> errors){
+		RuntimeException thrown=null;
+		for(final Throwable error:errors){
+			try{
+				this.getExceptionHandler().handle(error);
+			} catch (final RuntimeException e) {
+				if (thrown==null){
+					thrown=e;
+				} else if (thrown!=e){
+					thrown.addSuppressed(e);
+				}
+			}
+		}
+		if (thrown!=null){
+			throw thrown;
+		}
+	}
+
 	/**
 	 * @return the exceptionHandler
 	 */
@@ -78,6 +78,13 @@ public abstract class AbstractDataSourceCommand extends AbstractCommand {
 		}
 	}
 	
+	/**
+	 * 接続が外部から設定されている場合trueを返します。この場合、接続を複数取得することはできません。
+	 */
+	protected boolean isConnectionAssigned(){
+		return this.connection!=null;
+	}
+
 	protected void rollback(final Connection connection){
 		if (connection==null){
 			return;
@@ -19,12 +19,17 @@
 
 package com.sqlapp.data.db.command;
 
+import java.io.File;
+import java.io.IOException;
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 
+import javax.xml.stream.XMLStreamException;
+
 import com.sqlapp.data.db.dialect.Dialect;
 import com.sqlapp.data.db.metadata.SchemaReader;
 import com.sqlapp.data.db.metadata.SequenceReader;
@@ -46,6 +51,10 @@ public abstract class AbstractSchemaDataSourceCommand extends AbstractDataSource
 
 
 	private SqlFactoryRegistry sqlFactoryRegistry;
+	/**
+	 * メタデータのスナップショットのディレクトリ
+	 */
+	private File metadataCacheDirectory=null;
 
 	/**
 	 * @return the sqlFactoryRegistry
@@ -98,7 +107,7 @@ public abstract class AbstractSchemaDataSourceCommand extends AbstractDataSource
 				.schemaName(SqlComparisonOperator.IN, schemaNames)
 				.build();
 		final TableReader tableReader=schemaReader.getTableReader();
-		final List<Table> tables=tableReader.getAllFull(connection, context);
+		final List<Table> tables=getTables(connection, tableReader, context, catalogNames, schemaNames);
 		tables.forEach(s->{
 			final Schema schema=allSchemaMap.get(s.getSchemaName());
 			if (schema!=null){
@@ -138,6 +147,37 @@ public abstract class AbstractSchemaDataSourceCommand extends AbstractDataSource
 		return schemaMap;
 	}
 
+
+	private List<Table> getTables(final Connection connection, final TableReader tableReader, final ParametersContext context, final Set<String> catalogNames, final Set<String> schemaNames){
+		if (this.getMetadataCacheDirectory()==null){
+			return tableReader.getAllFull(connection, context);
+		}
+		final MetadataSnapshotCache cache=new MetadataSnapshotCache(this.getMetadataCacheDirectory());
+		try {
+			return cache.getAllFull(connection, tableReader, catalogNames, schemaNames);
+		} catch (final SQLException e) {
+			return this.getExceptionHandler().handle(e);
+		} catch (final XMLStreamException e) {
+			return this.getExceptionHandler().handle(e);
+		} catch (final IOException e) {
+			return this.getExceptionHandler().handle(e);
+		}
+	}
+
+	/**
+	 * @return the metadataCacheDirectory
+	 */
+	public File getMetadataCacheDirectory() {
+		return metadataCacheDirectory;
+	}
+
+	/**
+	 * テーブルのメタデータのスナップショットを保存するディレクトリを設定します。
+	 * @param metadataCacheDirectory the metadataCacheDirectory to set
+	 */
+	public void setMetadataCacheDirectory(final File metadataCacheDirectory) {
+		this.metadataCacheDirectory = metadataCacheDirectory;
+	}
 	
 	private void copyDBInfo(final Schema schema, final Catalog catalog){
 		catalog.setProductName(schema.getProductName());
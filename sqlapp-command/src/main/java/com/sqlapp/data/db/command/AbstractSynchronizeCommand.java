@@ -21,10 +21,16 @@ package com.sqlapp.data.db.command;
 
 import java.sql.Connection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.sqlapp.data.db.dialect.Dialect;
 import com.sqlapp.data.db.metadata.MetadataReader;
 import com.sqlapp.data.db.metadata.MetadataReaderUtils;
+import com.sqlapp.data.db.metadata.TableReader;
 import com.sqlapp.data.db.sql.Options;
 import com.sqlapp.data.db.sql.SqlFactory;
 import com.sqlapp.data.db.sql.SqlFactoryRegistry;
@@ -40,6 +46,7 @@ import com.sqlapp.data.schemas.SchemaObjectProperties;
 import com.sqlapp.data.schemas.SchemaProperties;
 import com.sqlapp.data.schemas.SchemaUtils;
 import com.sqlapp.data.schemas.properties.CatalogNameProperty;
+import com.sqlapp.data.schemas.properties.NameProperty;
 import com.sqlapp.data.schemas.properties.SchemaNameProperty;
 import com.sqlapp.util.CommonUtils;
 import com.sqlapp.util.SimpleBeanUtils;
@@ -56,6 +63,10 @@ public abstract class AbstractSynchronizeCommand extends
 	private EqualsHandler equalsHandler = new ExcludeFilterEqualsHandler(
 			SchemaProperties.CREATED_AT.getLabel(), SchemaProperties.LAST_ALTERED_AT.getLabel(),
 			SchemaObjectProperties.ROWS.getLabel());
+	/**
+	 * 差分を複数スレッドで作成する
+	 */
+	private boolean multiThread = true;
 
 	/**
 	 * @return the equalsHandler
@@ -72,6 +83,21 @@ public abstract class AbstractSynchronizeCommand extends
 		this.equalsHandler = equalsHandler;
 	}
 
+	/**
+	 * @return the multiThread
+	 */
+	public boolean isMultiThread() {
+		return multiThread;
+	}
+
+	/**
+	 * @param multiThread
+	 *            the multiThread to set
+	 */
+	public void setMultiThread(final boolean multiThread) {
+		this.multiThread = multiThread;
+	}
+
 	@Override
 	protected List<DbObjectDifference> getTarget(
 			final List<DbCommonObject<?>> totalObjects, final Connection connection, final Dialect dialect) {
@@ -105,27 +131,135 @@ public abstract class AbstractSynchronizeCommand extends
 
 	}
 
+	/**
+	 * スキーマ毎にメタデータをまとめて読み込んで、オブジェクトの差分を作成します。
+	 */
+	@SuppressWarnings({ "rawtypes" })
 	protected List<DbObjectDifference> getDiff(final DbObjectCollection<?> objects,
 			final MetadataReader<?, ?> reader, final Connection connection) {
-		final List<DbObjectDifference> diffList = CommonUtils.list();
+		final Map<String, List<DbObject>> schemaObjectsMap = CommonUtils.linkedMap();
 		for (final DbObject<?> obj : objects) {
-			final DbObjectDifference diff = getDiff(obj, reader, connection);
-			diffList.add(diff);
+			final String schemaName = getSchemaName(obj);
+			List<DbObject> list = schemaObjectsMap.get(schemaName);
+			if (list == null) {
+				list = CommonUtils.list();
+				schemaObjectsMap.put(schemaName, list);
+			}
+			list.add(obj);
+		}
+		final Map<String, Map<String, DbObject>> schemaOriginalsMap = CommonUtils.map();
+		for (final Map.Entry<String, List<DbObject>> entry : schemaObjectsMap.entrySet()) {
+			if (entry.getValue().get(0) instanceof SchemaNameProperty) {
+				SimpleBeanUtils.setValue(reader, SchemaProperties.SCHEMA_NAME.getLabel(), entry.getKey());
+			}
+			schemaOriginalsMap.put(entry.getKey(), getOriginals(entry.getValue(), reader, connection));
+		}
+		final List<DbObject> originals = CommonUtils.list();
+		for (final DbObject<?> obj : objects) {
+			originals.add(schemaOriginalsMap.get(getSchemaName(obj)).get(getName(obj)));
+		}
+		final List<DbObjectDifference> diffList = CommonUtils.list();
+		if (!this.isMultiThread() || objects.size() < 2) {
+			int i = 0;
+			for (final DbObject<?> obj : objects) {
+				diffList.add(getDiff(originals.get(i++), obj));
+			}
+			return diffList;
+		}
+		final int threads = Math.min(Runtime.getRuntime().availableProcessors(), objects.size());
+		final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<DbObjectDifference>> futures = CommonUtils.list();
+			int i = 0;
+			for (final DbObject<?> obj : objects) {
+				final DbObject original = originals.get(i++);
+				futures.add(executorService.submit(() -> getDiff(original, obj)));
+			}
+			for (final Future<DbObjectDifference> future : futures) {
+				diffList.add(future.get());
+			}
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		} finally {
+			executorService.shutdownNow();
 		}
 		return diffList;
 	}
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@SuppressWarnings({ "rawtypes" })
 	protected DbObjectDifference getDiff(final DbObject obj, final MetadataReader reader,
 			final Connection connection) {
 		if (obj instanceof SchemaNameProperty) {
-			SimpleBeanUtils.setValue(reader, SchemaProperties.SCHEMA_NAME.getLabel(),
-					((SchemaNameProperty) obj).getSchemaName());
+			SimpleBeanUtils.setValue(reader, SchemaProperties.SCHEMA_NAME.getLabel(), getSchemaName(obj));
+		}
+		final Map<String, DbObject> nameMap = getOriginals(CommonUtils.list(obj), reader, connection);
+		return getDiff(nameMap.get(getName(obj)), obj);
+	}
+
+	/**
+	 * DBのオブジェクトと読み込んだオブジェクトの差分を作成します。
+	 * 
+	 * @param original
+	 *            DBのオブジェクト
+	 * @param obj
+	 *            読み込んだオブジェクト
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	protected DbObjectDifference getDiff(final DbObject original, final DbObject obj) {
+		if (original == null) {
+			return obj.diff(null, getEqualsHandler()).reverse();
+		}
+		return original.diff(obj, getEqualsHandler());
+	}
+
+	/**
+	 * 対象のオブジェクトに対応するDBのオブジェクトを読み込みます。 テーブルは名前のIN句で1回で読み込み、それ以外はスキーマ内のオブジェクトをまとめて読み込みます。
+	 * 
+	 * @param objects
+	 *            対象のオブジェクト
+	 * @return 名前とDBのオブジェクトのMap
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	protected Map<String, DbObject> getOriginals(final List<DbObject> objects, final MetadataReader reader,
+			final Connection connection) {
+		final List<DbObject> originals;
+		if (reader instanceof TableReader) {
+			final List<String> names = CommonUtils.list();
+			for (final DbObject obj : objects) {
+				names.add(getName(obj));
+			}
+			originals = (List) ((TableReader) reader).getAllFull(connection, names);
+		} else {
+			originals = reader.getAllFull(connection);
+		}
+		final Map<String, DbObject> nameMap = CommonUtils.caseInsensitiveMap();
+		for (final DbObject original : originals) {
+			final String name = getName(original);
+			if (name != null && !nameMap.containsKey(name)) {
+				nameMap.put(name, original);
+			}
+		}
+		return nameMap;
+	}
+
+	private String getSchemaName(final DbObject<?> obj) {
+		if (obj instanceof SchemaNameProperty) {
+			return ((SchemaNameProperty<?>) obj).getSchemaName();
+		}
+		return null;
+	}
+
+	private String getName(final DbObject<?> obj) {
+		if (obj instanceof NameProperty) {
+			return ((NameProperty<?>) obj).getName();
 		}
-		final List<DbObject> originals = reader.getAllFull(connection);
-		final DbObject original = CommonUtils.first(originals);
-		final DbObjectDifference diff = original.diff(obj, getEqualsHandler());
-		return diff;
+		return null;
 	}
 
 	@Override
@@ -22,22 +22,50 @@ package com.sqlapp.data.db.command;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.Statement;
-import java.util.Map;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.sqlapp.data.db.datatype.DataType;
 import com.sqlapp.data.db.dialect.Dialect;
 import com.sqlapp.data.db.metadata.SchemaReader;
+import com.sqlapp.data.db.metadata.TableReader;
+import com.sqlapp.data.parameter.ParametersContext;
+import com.sqlapp.data.parameter.ParametersContextBuilder;
 import com.sqlapp.data.schemas.Column;
 import com.sqlapp.data.schemas.Row;
 import com.sqlapp.data.schemas.Schema;
+import com.sqlapp.data.schemas.Statistics;
 import com.sqlapp.data.schemas.Table;
+import com.sqlapp.jdbc.sql.SqlComparisonOperator;
 import com.sqlapp.util.AbstractSqlBuilder;
+import com.sqlapp.util.CommonUtils;
 import com.sqlapp.util.OutputTextBuilder;
 
 public class CountAllTablesCommand extends AbstractTableCommand{
+	/**
+	 * タイムアウト時のSQLState(57014:DB2、PostgreSQL等のキャンセル、HYT00、HYT01:ODBC系のタイムアウト)
+	 */
+	private static final Set<String> TIMEOUT_SQL_STATES=CommonUtils.set("57014", "HYT00", "HYT01");
 	
 	private OutputFormatType outputFormatType=OutputFormatType.TSV;
+	/**
+	 * 並列に件数を取得するテーブル数
+	 */
+	private int parallelism=1;
+	/**
+	 * 件数取得SQLのタイムアウト(秒)
+	 */
+	private int queryTimeout=0;
+	/**
+	 * 統計情報の推定件数を使用するフラグ
+	 */
+	private boolean useEstimatedCount=false;
 
 	@Override
 	protected void doRun() {
@@ -45,61 +73,206 @@ public class CountAllTablesCommand extends AbstractTableCommand{
 		result.getColumns().add(new Column("schemaName").setDataType(DataType.NVARCHAR).setLength(254));
 		result.getColumns().add(new Column("tableName").setDataType(DataType.NVARCHAR).setLength(254));
 		result.getColumns().add(new Column("count").setDataType(DataType.BIGINT));
+		if (isUseEstimatedCount()){
+			result.getColumns().add(new Column("estimated").setDataType(DataType.BOOLEAN));
+		}
 		Connection connection=null;
 		try {
 			connection=this.getConnection();
 			final Dialect dialect=this.getDialect(connection);
-			try(Statement statement=connection.createStatement()){
-				final SchemaReader schemaReader=this.getSchemaReader(dialect);
-				final Map<String,Schema> schemaMap=this.getSchemas(connection, dialect, schemaReader, s->true);
-				if (!getOutputFormatType().isTable()){
-					final StringBuilder builder=new StringBuilder();
-					for(final Column column:result.getColumns()){
-						builder.append(column.getName());
-						builder.append(this.getOutputFormatType().getSeparator());
-					}
-					this.println(builder.substring(0, builder.length()-1));
+			final SchemaReader schemaReader=this.getSchemaReader(connection, dialect);
+			final List<Table> tables=getTables(connection, schemaReader);
+			if (!getOutputFormatType().isTable()){
+				final StringBuilder builder=new StringBuilder();
+				for(final Column column:result.getColumns()){
+					builder.append(column.getName());
+					builder.append(this.getOutputFormatType().getSeparator());
 				}
-				for(final Map.Entry<String,Schema> entry:schemaMap.entrySet()){
-					for(final Table table:entry.getValue().getTables()){
-						final Row row=result.newRow();
-						row.put("schemaName", entry.getKey());
-						row.put("tableName", table.getName());
-						final AbstractSqlBuilder<?> sqlBuilder=dialect.createSqlBuilder();
-						sqlBuilder.select().count("*").from().name(table);
-						final StringBuilder builder=new StringBuilder();
-						builder.append(entry.getKey());
-						builder.append(this.getOutputFormatType().getSeparator());
-						builder.append(table.getName());
-						final long count=selectCount(dialect, statement, table);
-						row.put("count", count);
-						builder.append(this.getOutputFormatType().getSeparator());
-						builder.append(count);
-						if (!getOutputFormatType().isTable()){
-							this.println(builder);
-						}
-						result.getRows().add(row);
+				this.println(builder.substring(0, builder.length()-1));
+			}
+			if (this.getParallelism()>1&&!this.isConnectionAssigned()){
+				releaseConnection(connection);
+				connection=null;
+				final List<TableCount> counts=countParallel(dialect, tables);
+				for(final TableCount count:counts){
+					addRow(result, count);
+				}
+			} else{
+				try(Statement statement=connection.createStatement()){
+					for(final Table table:tables){
+						addRow(result, count(dialect, statement, table));
 					}
 				}
-				if (getOutputFormatType().isTable()){
-					final OutputTextBuilder builder=new OutputTextBuilder();
-					builder.append(result);
-					this.println(builder.toString());
+			}
+			if (getOutputFormatType().isTable()){
+				final OutputTextBuilder builder=new OutputTextBuilder();
+				builder.append(result);
+				this.println(builder.toString());
+			}
+		} catch (final SQLException e) {
+			this.getExceptionHandler().handle(e);
+		} finally {
+			releaseConnection(connection);
+		}
+	}
+
+	/**
+	 * 件数の取得対象のテーブルを取得します。カラム等の詳細なメタデータは読み込みません。
+	 */
+	private List<Table> getTables(final Connection connection, final SchemaReader schemaReader){
+		final List<Schema> schemas=schemaReader.getAll(connection);
+		final Set<String> catalogNames=CommonUtils.treeSet();
+		final Set<String> schemaNames=CommonUtils.treeSet();
+		for(final Schema schema:schemas){
+			if (schema.getCatalogName()!=null){
+				catalogNames.add(schema.getCatalogName());
+			}
+			if (schema.getName()!=null){
+				schemaNames.add(schema.getName());
+			}
+		}
+		if (schemaNames.isEmpty()){
+			return CommonUtils.list();
+		}
+		final ParametersContext context=ParametersContextBuilder.create()
+				.catalogName(SqlComparisonOperator.IN, catalogNames)
+				.schemaName(SqlComparisonOperator.IN, schemaNames)
+				.build();
+		final TableReader tableReader=schemaReader.getTableReader();
+		return tableReader.getAll(connection, context);
+	}
+
+	private void addRow(final Table result, final TableCount count){
+		final Row row=result.newRow();
+		row.put("schemaName", count.table.getSchemaName());
+		row.put("tableName", count.table.getName());
+		row.put("count", count.count);
+		final StringBuilder builder=new StringBuilder();
+		builder.append(count.table.getSchemaName());
+		builder.append(this.getOutputFormatType().getSeparator());
+		builder.append(count.table.getName());
+		builder.append(this.getOutputFormatType().getSeparator());
+		if (count.count!=null){
+			builder.append(count.count);
+		}
+		if (isUseEstimatedCount()){
+			row.put("estimated", count.estimated);
+			builder.append(this.getOutputFormatType().getSeparator());
+			builder.append(count.estimated);
+		}
+		if (!getOutputFormatType().isTable()){
+			this.println(builder);
+		}
+		result.getRows().add(row);
+	}
+
+	/**
+	 * テーブル毎に接続を取得して並列に件数を取得します。
+	 */
+	protected List<TableCount> countParallel(final Dialect dialect, final List<Table> tables){
+		if (tables.isEmpty()){
+			return CommonUtils.list();
+		}
+		final ExecutorService executorService=Executors.newFixedThreadPool(Math.min(this.getParallelism(), tables.size()));
+		try{
+			final List<CompletableFuture<TableCount>> futures=CommonUtils.list(tables.size());
+			for(final Table table:tables){
+				futures.add(CompletableFuture.supplyAsync(()->count(dialect, table), executorService));
+			}
+			final List<TableCount> result=CommonUtils.list(futures.size());
+			final List<Throwable> errors=CommonUtils.list();
+			for(final CompletableFuture<TableCount> future:futures){
+				try{
+					result.add(future.join());
+				} catch (final CompletionException e) {
+					errors.add(e.getCause());
 				}
 			}
+			handleErrors(errors);
+			return result;
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private TableCount count(final Dialect dialect, final Table table){
+		final TableCount estimated=getEstimatedCount(table);
+		if (estimated!=null){
+			return estimated;
+		}
+		final Connection connection=this.getConnection();
+		try(Statement statement=connection.createStatement()){
+			return selectCount(dialect, statement, table);
 		} catch (final SQLException e) {
 			this.getExceptionHandler().handle(e);
+			// 例外ハンドラーが例外をスローしない場合は件数なしとして続行
+			return new TableCount(table, null, false);
+		} finally {
+			releaseConnection(connection);
+		}
+	}
+
+	private TableCount count(final Dialect dialect, final Statement statement, final Table table) throws SQLException{
+		final TableCount estimated=getEstimatedCount(table);
+		if (estimated!=null){
+			return estimated;
+		}
+		return selectCount(dialect, statement, table);
+	}
+
+	private TableCount getEstimatedCount(final Table table){
+		if (!isUseEstimatedCount()){
+			return null;
+		}
+		final Long rows=Statistics.ROWS.getValue(table);
+		if (rows==null||rows.longValue()<0){
+			return null;
 		}
+		return new TableCount(table, rows, true);
 	}
 	
-	private long selectCount(final Dialect dialect, final Statement statement, final Table table) throws SQLException{
+	private TableCount selectCount(final Dialect dialect, final Statement statement, final Table table) throws SQLException{
 		final AbstractSqlBuilder<?> sqlBuilder=dialect.createSqlBuilder();
 		sqlBuilder.select().count("*").from().name(table);
+		if (this.getQueryTimeout()>0){
+			statement.setQueryTimeout(this.getQueryTimeout());
+		}
 		try(ResultSet resultSet=statement.executeQuery(sqlBuilder.toString())){
 			if (resultSet.next()){
-				return resultSet.getLong(1);
+				return new TableCount(table, resultSet.getLong(1), false);
 			}
-			return 0L;
+			return new TableCount(table, 0L, false);
+		} catch (final SQLException e) {
+			if (isTimeout(e)){
+				// タイムアウトしたテーブルは件数なしとして続行
+				return new TableCount(table, null, false);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * タイムアウトによる例外かを判定します。SQLTimeoutExceptionを使用しないドライバーはSQLStateで判定します。
+	 */
+	protected boolean isTimeout(final SQLException e){
+		if (e instanceof SQLTimeoutException){
+			return true;
+		}
+		final String sqlState=e.getSQLState();
+		if (sqlState==null){
+			return false;
+		}
+		return TIMEOUT_SQL_STATES.contains(sqlState);
+	}
+
+	static class TableCount{
+		final Table table;
+		final Long count;
+		final boolean estimated;
+		TableCount(final Table table, final Long count, final boolean estimated){
+			this.table=table;
+			this.count=count;
+			this.estimated=estimated;
 		}
 	}
 
@@ -116,6 +289,50 @@ public class CountAllTablesCommand extends AbstractTableCommand{
 	public void setOutputFormatType(final OutputFormatType outputFormatType) {
 		this.outputFormatType = outputFormatType;
 	}
-	
+
+	/**
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * 並列に件数を取得するテーブル数を設定します。1より大きい場合、テーブル毎に接続を取得して処理します。
+	 * @param parallelism the parallelism to set
+	 */
+	public void setParallelism(final int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @return the queryTimeout
+	 */
+	public int getQueryTimeout() {
+		return queryTimeout;
+	}
+
+	/**
+	 * 件数取得SQLのタイムアウト(秒)を設定します。タイムアウトしたテーブルの件数は空になります。
+	 * @param queryTimeout the queryTimeout to set
+	 */
+	public void setQueryTimeout(final int queryTimeout) {
+		this.queryTimeout = queryTimeout;
+	}
+
+	/**
+	 * @return the useEstimatedCount
+	 */
+	public boolean isUseEstimatedCount() {
+		return useEstimatedCount;
+	}
+
+	/**
+	 * 統計情報の推定件数を使用するかを設定します。統計情報の無いテーブルはSELECT COUNT(*)で取得します。
+	 * @param useEstimatedCount the useEstimatedCount to set
+	 */
+	public void setUseEstimatedCount(final boolean useEstimatedCount) {
+		this.useEstimatedCount = useEstimatedCount;
+	}
 	
 }
@@ -33,10 +33,12 @@ import java.util.function.Consumer;
 import javax.xml.stream.XMLStreamException;
 
 import com.sqlapp.data.db.dialect.Dialect;
+import com.sqlapp.data.db.metadata.CatalogReader;
 import com.sqlapp.data.db.metadata.MetadataReader;
 import com.sqlapp.data.db.metadata.MetadataReaderUtils;
 import com.sqlapp.data.db.metadata.ObjectNameReaderPredicate;
 import com.sqlapp.data.db.metadata.ReadDbObjectPredicate;
+import com.sqlapp.data.db.metadata.SchemaReader;
 import com.sqlapp.data.db.sql.Options;
 import com.sqlapp.data.schemas.DbObject;
 import com.sqlapp.data.schemas.RowIteratorHandler;
@@ -111,6 +113,14 @@ public class ExportXmlCommand extends AbstractSchemaDataSourceCommand {
 	 */
 	private Consumer<DbObject<?>> converter=(c)->{};
 	private Options options=null;
+	/**
+	 * スキーマ内のオブジェクトを並列に読み込むスレッド数
+	 */
+	private int parallelism=1;
+	/**
+	 * 主キーの範囲で分割して1テーブルの行を並列に読み込む数
+	 */
+	private int rowParallelism=1;
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -193,9 +203,26 @@ public class ExportXmlCommand extends AbstractSchemaDataSourceCommand {
 		if (this.isOnlyCurrentSchema()) {
 			SimpleBeanUtils.setValue(reader, "schemaName", schemaName);
 		}
+		if (this.getParallelism() > 1) {
+			setConcurrentReader(reader);
+		}
 		return reader;
 	}
 
+	/**
+	 * スキーマ内のオブジェクトをコマンドのConnectionHandlerから取得した接続で並列に読み込むように設定します。
+	 */
+	protected void setConcurrentReader(final MetadataReader<?, ?> reader) {
+		if (reader instanceof CatalogReader) {
+			((CatalogReader) reader).setConnectionHandler(this.getConnectionHandler());
+		} else if (reader instanceof SchemaReader) {
+			((SchemaReader) reader).setConnectionHandler(this.getConnectionHandler());
+		} else {
+			return;
+		}
+		reader.getReaderOptions().setParallelism(this.getParallelism());
+	}
+
 	private <T extends DbObject<? super T>> List<T> readDbMetadataReader(
 			final MetadataReader<T, ?> dbMetadataReader) {
 		return dbMetadataReader.getAllFull(this.getConnection());
@@ -205,6 +232,7 @@ public class ExportXmlCommand extends AbstractSchemaDataSourceCommand {
 		final JdbcDynamicRowIteratorHandler rowIteratorHandler = new JdbcDynamicRowIteratorHandler();
 		rowIteratorHandler.setDataSource(this.getDataSource());
 		rowIteratorHandler.setOptions(this.getOptions());
+		rowIteratorHandler.setParallelism(this.getRowParallelism());
 		final TableNameRowCollectionFilter filter = new TableNameRowCollectionFilter();
 		filter.setIncludes(this.getIncludeRowDumpTables());
 		filter.setExcludes(this.getExcludeRowDumpTables());
@@ -429,4 +457,32 @@ public class ExportXmlCommand extends AbstractSchemaDataSourceCommand {
 		this.options = options;
 	}
 
+	/**
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * @param parallelism the parallelism to set
+	 */
+	public void setParallelism(final int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @return the rowParallelism
+	 */
+	public int getRowParallelism() {
+		return rowParallelism;
+	}
+
+	/**
+	 * @param rowParallelism the rowParallelism to set
+	 */
+	public void setRowParallelism(final int rowParallelism) {
+		this.rowParallelism = rowParallelism;
+	}
+
 }
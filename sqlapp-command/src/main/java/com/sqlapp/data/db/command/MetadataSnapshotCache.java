@@ -0,0 +1,254 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-command.
+ *
+ * sqlapp-command is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-command is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-command.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.command;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.sqlapp.data.db.dialect.Dialect;
+import com.sqlapp.data.db.dialect.DialectResolver;
+import com.sqlapp.data.db.metadata.TableReader;
+import com.sqlapp.data.parameter.ParametersContext;
+import com.sqlapp.data.parameter.ParametersContextBuilder;
+import com.sqlapp.data.schemas.Catalog;
+import com.sqlapp.data.schemas.Schema;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.jdbc.sql.SqlComparisonOperator;
+import com.sqlapp.util.CommonUtils;
+import com.sqlapp.util.DoubleKeyMap;
+
+/**
+ * テーブルのメタデータのスナップショットをファイルに保存し、更新日時が変わっていないテーブルの再読み込みを省略します。
+ * 更新日時がDDLによる変更を表さないDialectでは、常に全てのテーブルを再読み込みし、スナップショットも保存しません。
+ * 
+ * @author tatsuo satoh
+ * 
+ */
+public class MetadataSnapshotCache {
+
+	private static final Logger logger = LogManager
+			.getLogger(MetadataSnapshotCache.class);
+
+	private static final int IN_LIST_SIZE=500;
+
+	private final File directory;
+
+	public MetadataSnapshotCache(final File directory){
+		this.directory=directory;
+	}
+
+	/**
+	 * テーブルを詳細情報を含めて取得します。更新日時がスナップショットと同じテーブルはスナップショットから取得します。
+	 * 
+	 * @param connection
+	 * @param tableReader
+	 * @param catalogNames
+	 * @param schemaNames
+	 */
+	public List<Table> getAllFull(final Connection connection, final TableReader tableReader, final Set<String> catalogNames, final Set<String> schemaNames) throws SQLException, XMLStreamException, IOException{
+		final File file=getFile(connection, catalogNames, schemaNames);
+		final boolean lastAlteredAtByDdl=isLastAlteredAtByDdl(DialectResolver.getInstance().getDialect(connection));
+		final DoubleKeyMap<String,String,Table> snapshot;
+		if (lastAlteredAtByDdl){
+			snapshot=readSnapshot(file);
+		} else{
+			snapshot=CommonUtils.doubleKeyMap();
+		}
+		final ParametersContext context=createContext(catalogNames, schemaNames);
+		final List<Table> current=tableReader.getAll(connection, context);
+		final Table[] tables=new Table[current.size()];
+		final Map<String, List<String>> reloadNames=CommonUtils.linkedMap();
+		int reloadCount=0;
+		for(int i=0;i<tables.length;i++){
+			final Table table=current.get(i);
+			final Table cached=snapshot.get(table.getSchemaName(), table.getName());
+			if (isUnchanged(table, cached)){
+				tables[i]=cached;
+			} else{
+				reloadNames.computeIfAbsent(table.getSchemaName(), k->CommonUtils.list()).add(table.getName());
+				reloadCount++;
+			}
+		}
+		if (reloadCount>0){
+			final DoubleKeyMap<String,String,Table> reloaded=CommonUtils.doubleKeyMap();
+			if (reloadCount==tables.length){
+				tableReader.getAllFull(connection, context).forEach(t->reloaded.put(t.getSchemaName(), t.getName(), t));
+			} else{
+				for(final Map.Entry<String, List<String>> entry:reloadNames.entrySet()){
+					final List<String> names=entry.getValue();
+					for(int i=0;i<names.size();i=i+IN_LIST_SIZE){
+						final ParametersContext reloadContext=ParametersContextBuilder.create()
+								.catalogName(SqlComparisonOperator.IN, catalogNames)
+								.schemaName(entry.getKey())
+								.tableName(SqlComparisonOperator.IN, names.subList(i, Math.min(i+IN_LIST_SIZE, names.size())).toArray(new String[0]))
+								.build();
+						tableReader.getAllFull(connection, reloadContext).forEach(t->reloaded.put(t.getSchemaName(), t.getName(), t));
+					}
+				}
+			}
+			for(int i=0;i<tables.length;i++){
+				if (tables[i]==null){
+					final Table table=current.get(i);
+					tables[i]=reloaded.get(table.getSchemaName(), table.getName());
+				}
+			}
+		}
+		final List<Table> result=CommonUtils.list(tables.length);
+		for(final Table table:tables){
+			if (table!=null){
+				result.add(table);
+			}
+		}
+		//スナップショットを使用しない場合は保存しない
+		if (lastAlteredAtByDdl){
+			writeSnapshot(file, result);
+		}
+		return result;
+	}
+
+	private ParametersContext createContext(final Set<String> catalogNames, final Set<String> schemaNames){
+		return ParametersContextBuilder.create()
+				.catalogName(SqlComparisonOperator.IN, catalogNames)
+				.schemaName(SqlComparisonOperator.IN, schemaNames)
+				.build();
+	}
+
+	/**
+	 * テーブルの更新日時がDDLによる変更を表すかを返します。
+	 * MySQLのUPDATE_TIMEのようにデータの更新で変わる値はスナップショットの判定に使用しません。
+	 * 
+	 * @param dialect
+	 */
+	protected boolean isLastAlteredAtByDdl(final Dialect dialect){
+		return dialect.supportsTableLastAlteredAtByDdl();
+	}
+
+	/**
+	 * 更新日時を取得できない場合は変更ありとみなします。
+	 */
+	private boolean isUnchanged(final Table table, final Table cached){
+		if (cached==null){
+			return false;
+		}
+		if (table.getLastAlteredAt()==null||cached.getLastAlteredAt()==null){
+			return false;
+		}
+		return table.getLastAlteredAt().getTime()==cached.getLastAlteredAt().getTime();
+	}
+
+	private DoubleKeyMap<String,String,Table> readSnapshot(final File file){
+		final DoubleKeyMap<String,String,Table> result=CommonUtils.doubleKeyMap();
+		if (!file.exists()){
+			return result;
+		}
+		final Catalog catalog=new Catalog();
+		try(InputStream is=new GZIPInputStream(new BufferedInputStream(new FileInputStream(file)))){
+			catalog.loadXml(is);
+		} catch (final IOException | XMLStreamException | RuntimeException e) {
+			//壊れたスナップショットは使用しない
+			logger.warn("Snapshot read failed. Rebuilding. file="+file, e);
+			return result;
+		}
+		for(final Schema schema:catalog.getSchemas()){
+			for(final Table table:schema.getTables()){
+				result.put(table.getSchemaName(), table.getName(), table);
+			}
+		}
+		return result;
+	}
+
+	private void writeSnapshot(final File file, final List<Table> tables) throws XMLStreamException, IOException{
+		final Catalog catalog=new Catalog();
+		for(final Table table:tables){
+			Schema schema=catalog.getSchemas().get(table.getSchemaName());
+			if (schema==null){
+				schema=new Schema(table.getSchemaName());
+				catalog.getSchemas().add(schema);
+			}
+			schema.getTables().add(table.clone());
+		}
+		if (!directory.exists()){
+			directory.mkdirs();
+		}
+		final File temp=new File(directory, file.getName()+".tmp");
+		try(OutputStream os=new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))){
+			catalog.writeXml(os);
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * 接続先のURL、ユーザーとスキーマ名からスナップショットのファイルを取得します。
+	 */
+	protected File getFile(final Connection connection, final Set<String> catalogNames, final Set<String> schemaNames) throws SQLException{
+		final DatabaseMetaData metaData=connection.getMetaData();
+		final StringBuilder builder=new StringBuilder();
+		builder.append(metaData.getURL());
+		builder.append('\n').append(metaData.getUserName());
+		builder.append('\n').append(catalogNames);
+		builder.append('\n').append(schemaNames);
+		return new File(directory, digest(builder.toString())+".xml.gz");
+	}
+
+	private String digest(final String value){
+		try {
+			final MessageDigest messageDigest=MessageDigest.getInstance("SHA-256");
+			final byte[] bytes=messageDigest.digest(value.getBytes(StandardCharsets.UTF_8));
+			final StringBuilder builder=new StringBuilder(bytes.length*2);
+			for(final byte b:bytes){
+				builder.append(String.format("%02x", b));
+			}
+			return builder.toString();
+		} catch (final NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * @return the directory
+	 */
+	public File getDirectory() {
+		return directory;
+	}
+}
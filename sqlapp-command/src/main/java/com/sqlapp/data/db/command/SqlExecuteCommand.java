@@ -19,21 +19,30 @@
 
 package com.sqlapp.data.db.command;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import com.sqlapp.data.db.dialect.Dialect;
 import com.sqlapp.data.db.dialect.util.SqlSplitter;
 import com.sqlapp.data.db.dialect.util.SqlSplitter.SplitResult;
+import com.sqlapp.data.db.dialect.util.SqlSplitter.TextType;
 import com.sqlapp.data.parameter.ParametersContext;
 import com.sqlapp.jdbc.sql.JdbcHandler;
 import com.sqlapp.jdbc.sql.SqlConverter;
 import com.sqlapp.jdbc.sql.node.SqlNode;
 import com.sqlapp.util.CommonUtils;
+import com.sqlapp.util.DbUtils;
 import com.sqlapp.util.FileUtils;
 
 public class SqlExecuteCommand extends AbstractSqlCommand{
@@ -41,28 +50,39 @@ public class SqlExecuteCommand extends AbstractSqlCommand{
 	private Collection<File> sqlFiles=null;
 
 	private Collection<String> sqlText=null;
+	/**
+	 * 連続する同じテーブルへのDMLをまとめて実行する件数。1以下の場合は1文ずつ実行します。
+	 */
+	private int batchSize=0;
+	/**
+	 * コミットする文の間隔。0の場合は全ての文の実行後にコミットします。
+	 */
+	private int commitInterval=0;
+
+	private static final Pattern DML_PATTERN=Pattern.compile("\\s*(?<command>INSERT\\s+INTO|UPDATE|DELETE\\s+FROM|DELETE|MERGE\\s+INTO)\\s+(?<table>[^\\s(]+)", Pattern.CASE_INSENSITIVE);
 
 	@Override
 	protected void doRun() {
 		Connection connection=null;
+		StatementExecutor executor=null;
 		try{
 			connection=this.getConnection();
 			connection.setAutoCommit(false);
 			final Dialect dialect=this.getDialect(connection);
 			final SqlSplitter sqlSplitter=dialect.createSqlSplitter();
-			final SqlConverter sqlConverter=getSqlConverter();
+			executor=new StatementExecutor(getSqlConverter(), dialect, connection);
 			if (!CommonUtils.isEmpty(this.getSqlFiles())) {
 				for(final File file:getSqlFiles()){
 					if (!file.exists()) {
 						continue;
 					}
 					if (file.isFile()) {
-						executeSql(sqlSplitter, sqlConverter, dialect, connection, file);
+						executeSql(sqlSplitter, executor, file);
 					}else if (file.isDirectory()) {
 						final File[] children=file.listFiles();
 						if (children!=null) {
 							for(final File child:children) {
-								executeSql(sqlSplitter, sqlConverter, dialect, connection, child);
+								executeSql(sqlSplitter, executor, child);
 							}
 						}
 					}
@@ -70,14 +90,13 @@ public class SqlExecuteCommand extends AbstractSqlCommand{
 			}
 			if (!CommonUtils.isEmpty(this.getSqlText())) {
 				for(final String text:getSqlText()){
-					final ParametersContext context=new ParametersContext();
-					context.putAll(this.getContext());
 					final List<SplitResult> sqls=sqlSplitter.parse(text);
 					for(final SplitResult splitResult:sqls){
-						executeSql(sqlConverter, dialect, connection, splitResult);
+						executor.accept(splitResult);
 					}
 				}
 			}
+			executor.executeBatch();
 			connection.commit();
 		} catch (final RuntimeException e) {
 			rollback(connection);
@@ -91,17 +110,21 @@ public class SqlExecuteCommand extends AbstractSqlCommand{
 			}
 			this.getExceptionHandler().handle(e);
 		} finally {
+			if (executor!=null){
+				executor.close();
+			}
 			releaseConnection(connection);
 		}
 	}
 	
-	private void executeSql(final SqlSplitter sqlSplitter, final SqlConverter sqlConverter, final Dialect dialect, final Connection connection, final File file) {
-		final ParametersContext context=new ParametersContext();
-		context.putAll(this.getContext());
-		final String text=FileUtils.readText(file, this.getEncoding());
-		final List<SplitResult> sqls=sqlSplitter.parse(text);
-		for(final SplitResult splitResult:sqls){
-			executeSql(sqlConverter, dialect, connection, splitResult);
+	/**
+	 * ファイルを読み込みながら分割したSQLを実行します。
+	 */
+	private void executeSql(final SqlSplitter sqlSplitter, final StatementExecutor executor, final File file) {
+		try(BufferedReader reader=new BufferedReader(new InputStreamReader(FileUtils.getInputStream(file), Charset.forName(this.getEncoding())))){
+			sqlSplitter.parse(reader, executor::accept);
+		} catch (final IOException e) {
+			throw new RuntimeException(e);
 		}
 	}
 
@@ -113,7 +136,133 @@ public class SqlExecuteCommand extends AbstractSqlCommand{
 		jdbcHandler.execute(connection, context);
 	}
 
-	
+
+	/**
+	 * 分割したSQLを実行します。
+	 * 
+	 * バッチサイズが設定されている場合、パラメータを含まない同じテーブルへの連続するDMLをJDBCのバッチでまとめて実行します。
+	 */
+	private class StatementExecutor {
+		private final SqlConverter sqlConverter;
+		private final Dialect dialect;
+		private final Connection connection;
+		private Statement statement;
+		private String batchKey;
+		private int batchCount=0;
+		private long executeCount=0;
+		private long commitCount=0;
+
+		StatementExecutor(final SqlConverter sqlConverter, final Dialect dialect, final Connection connection){
+			this.sqlConverter=sqlConverter;
+			this.dialect=dialect;
+			this.connection=connection;
+		}
+
+		void accept(final SplitResult splitResult) {
+			if (splitResult.getTextType()==TextType.COMMENT){
+				return;
+			}
+			try {
+				final String key=getBatchKey(splitResult);
+				if (key==null){
+					executeBatch();
+					executeSql(sqlConverter, dialect, connection, splitResult);
+					executeCount++;
+					commit();
+					return;
+				}
+				if (!key.equals(batchKey)){
+					executeBatch();
+					batchKey=key;
+				}
+				if (statement==null){
+					statement=connection.createStatement();
+				}
+				statement.addBatch(splitResult.getText());
+				batchCount++;
+				if (batchCount>=getBatchSize()){
+					executeBatch();
+				}
+			} catch (final SQLException e) {
+				throw new RuntimeException(e);
+			}
+		}
+
+		/**
+		 * バッチでまとめて実行できる場合はコマンドとテーブル名を返します。
+		 */
+		private String getBatchKey(final SplitResult splitResult){
+			if (getBatchSize()<=1||splitResult.getTextType()!=TextType.SQL){
+				return null;
+			}
+			final String text=splitResult.getText();
+			if (text.contains("/*")||text.contains("--")){
+				return null;
+			}
+			if (isPlaceholders()&&text.contains(getPlaceholderPrefix())){
+				return null;
+			}
+			final Matcher matcher=DML_PATTERN.matcher(text);
+			if (!matcher.lookingAt()){
+				return null;
+			}
+			return matcher.group("command").toUpperCase()+" "+matcher.group("table");
+		}
+
+		void executeBatch() throws SQLException {
+			if (batchCount==0){
+				return;
+			}
+			statement.executeBatch();
+			executeCount+=batchCount;
+			batchCount=0;
+			batchKey=null;
+			commit();
+		}
+
+		private void commit() throws SQLException {
+			if (getCommitInterval()>0&&executeCount-commitCount>=getCommitInterval()){
+				connection.commit();
+				commitCount=executeCount;
+			}
+		}
+
+		void close(){
+			DbUtils.close(statement);
+			statement=null;
+		}
+	}
+
+	/**
+	 * @return the batchSize
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * @param batchSize the batchSize to set
+	 */
+	public void setBatchSize(final int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * @return the commitInterval
+	 */
+	public int getCommitInterval() {
+		return commitInterval;
+	}
+
+	/**
+	 * コミットする文の間隔を設定します。エラーの場合は最後にコミットした後の文のみロールバックされます。
+	 * 
+	 * @param commitInterval the commitInterval to set
+	 */
+	public void setCommitInterval(final int commitInterval) {
+		this.commitInterval = commitInterval;
+	}
+
 	/**
 	 * @return the sqls
 	 */
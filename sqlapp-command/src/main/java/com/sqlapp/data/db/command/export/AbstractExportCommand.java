@@ -21,6 +21,7 @@ package com.sqlapp.data.db.command.export;
 
 import java.io.File;
 import java.nio.charset.Charset;
+import java.util.List;
 
 import com.sqlapp.data.db.command.AbstractTableCommand;
 import com.sqlapp.data.db.sql.TableOptions;
@@ -48,6 +49,12 @@ public abstract class AbstractExportCommand extends AbstractTableCommand {
 	private YamlConverter yamlConverter=createYamlConverter();
 	
 	private TableOptions tableOptions=new TableOptions();
+	/**並列に処理するテーブル数*/
+	private int parallelism=1;
+	/**主キーの範囲で分割して1テーブルを並列に読み込む数*/
+	private int rowParallelism=1;
+	/**順番に処理する場合もテーブル毎の処理件数と処理時間を出力するか*/
+	private boolean outputStatistics=false;
 	
 	public AbstractExportCommand(){
 		getTableOptions().setDmlBatchSize(t->Integer.MAX_VALUE);
@@ -136,6 +143,59 @@ public abstract class AbstractExportCommand extends AbstractTableCommand {
 		this.tableOptions = tableOptions;
 	}
 
+	/**
+	 * テーブル毎の処理件数と処理時間を出力します。
+	 * @param statistics
+	 */
+	protected void printStatistics(final List<TableStatistics> statistics){
+		for(final TableStatistics stat:statistics){
+			this.println(stat);
+		}
+	}
+
+	/**
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
 
+	/**
+	 * 並列に処理するテーブル数を設定します。1より大きい場合、テーブル毎に接続を取得して処理します。
+	 * @param parallelism the parallelism to set
+	 */
+	public void setParallelism(final int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @return the rowParallelism
+	 */
+	public int getRowParallelism() {
+		return rowParallelism;
+	}
+
+	/**
+	 * 主キーの範囲で分割して1テーブルを並列に読み込む数を設定します。1より大きい場合、範囲毎に接続を取得して読み込み、キーの順に出力します。
+	 * @param rowParallelism the rowParallelism to set
+	 */
+	public void setRowParallelism(final int rowParallelism) {
+		this.rowParallelism = rowParallelism;
+	}
+
+	/**
+	 * @return the outputStatistics
+	 */
+	public boolean isOutputStatistics() {
+		return outputStatistics;
+	}
+
+	/**
+	 * 順番に処理する場合もテーブル毎の処理件数と処理時間を出力するかを設定します。並列に処理する場合は常に出力します。
+	 * @param outputStatistics the outputStatistics to set
+	 */
+	public void setOutputStatistics(final boolean outputStatistics) {
+		this.outputStatistics = outputStatistics;
+	}
 
 }
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-command.
+ *
+ * sqlapp-command is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-command is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-command.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.command.export;
+
+import java.util.Iterator;
+import java.util.ListIterator;
+
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.data.schemas.RowCollection;
+import com.sqlapp.data.schemas.RowIteratorHandler;
+
+/**
+ * 読み込んだ行数を数えるRowIteratorHandler
+ *
+ * @author tatsuo satoh
+ *
+ */
+class CountingRowIteratorHandler implements RowIteratorHandler {
+
+	private final RowIteratorHandler rowIteratorHandler;
+
+	private long count=0;
+
+	CountingRowIteratorHandler(final RowIteratorHandler rowIteratorHandler){
+		this.rowIteratorHandler=rowIteratorHandler;
+	}
+
+	@Override
+	public Iterator<Row> iterator(final RowCollection c) {
+		final Iterator<Row> iterator=rowIteratorHandler.iterator(c);
+		return new Iterator<Row>(){
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public Row next() {
+				final Row row=iterator.next();
+				count++;
+				return row;
+			}
+
+			@Override
+			public void remove() {
+				iterator.remove();
+			}
+		};
+	}
+
+	@Override
+	public ListIterator<Row> listIterator(final RowCollection c, final int index) {
+		return new CountingListIterator(rowIteratorHandler.listIterator(c, index));
+	}
+
+	@Override
+	public ListIterator<Row> listIterator(final RowCollection c) {
+		return new CountingListIterator(rowIteratorHandler.listIterator(c));
+	}
+
+	/**
+	 * @return the count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	class CountingListIterator implements ListIterator<Row>{
+
+		private final ListIterator<Row> iterator;
+
+		CountingListIterator(final ListIterator<Row> iterator){
+			this.iterator=iterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return iterator.hasNext();
+		}
+
+		@Override
+		public Row next() {
+			final Row row=iterator.next();
+			count++;
+			return row;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return iterator.hasPrevious();
+		}
+
+		@Override
+		public Row previous() {
+			return iterator.previous();
+		}
+
+		@Override
+		public int nextIndex() {
+			return iterator.nextIndex();
+		}
+
+		@Override
+		public int previousIndex() {
+			return iterator.previousIndex();
+		}
+
+		@Override
+		public void remove() {
+			iterator.remove();
+		}
+
+		@Override
+		public void set(final Row e) {
+			iterator.set(e);
+		}
+
+		@Override
+		public void add(final Row e) {
+			iterator.add(e);
+		}
+	}
+}
@@ -19,16 +19,27 @@
 
 package com.sqlapp.data.db.command.export;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import javax.xml.stream.XMLStreamException;
@@ -36,9 +47,12 @@ import javax.xml.stream.XMLStreamException;
 import org.apache.poi.EncryptedDocumentException;
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CreationHelper;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.supercsv.io.ICsvListWriter;
 
 import com.sqlapp.data.converter.Converters;
@@ -83,6 +97,14 @@ public class ExportData2FileCommand extends AbstractExportCommand {
 	private String sheetName="TABLE";
 	
 	private Converters converters =new Converters();
+	/**
+	 * 新規のEXCEL2007ファイルをストリーミングで出力する
+	 */
+	private boolean useStreamingExcel=false;
+	/**
+	 * ストリーミング出力時にメモリに保持する行数
+	 */
+	private int excelWindowSize=SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
 	
 	/*
 	 * (non-Javadoc)
@@ -98,10 +120,6 @@ public class ExportData2FileCommand extends AbstractExportCommand {
 			final Dialect dialect=this.getDialect(connection);
 			final SchemaReader schemaReader = getSchemaReader(dialect);
 			schemaMap=this.getSchemas(connection, dialect, schemaReader, s->true);
-			final RowIteratorHandler rowIteratorHandler = getRowIteratorHandler();
-			schemaMap.forEach((k,v)->{
-				v.setRowIteratorHandler(rowIteratorHandler);
-			});
 			if (!this.getDirectory().exists()){
 				FileUtils.createParentDirectory(this.getDirectory());
 				this.getDirectory().mkdir();
@@ -117,6 +135,25 @@ public class ExportData2FileCommand extends AbstractExportCommand {
 		} finally {
 			releaseConnection(connection);
 		}
+		final List<ExportTarget> targets=getExportTargets(schemaMap);
+		if (this.getParallelism()>1){
+			printStatistics(executeExportParallel(targets));
+			return;
+		}
+		final List<TableStatistics> statistics=CommonUtils.list(targets.size());
+		for(final ExportTarget target:targets){
+			final TableStatistics stat=exportTable(target);
+			if (stat!=null){
+				statistics.add(stat);
+			}
+		}
+		if (this.isOutputStatistics()){
+			printStatistics(statistics);
+		}
+	}
+
+	private List<ExportTarget> getExportTargets(final Map<String, Schema> schemaMap){
+		final List<ExportTarget> targets=CommonUtils.list();
 		final DoubleKeyMap<String,String,Table> execTables=CommonUtils.doubleKeyMap();
 		schemaMap.forEach((k,v)->{
 			File targetDirectory=null;
@@ -131,20 +168,8 @@ public class ExportData2FileCommand extends AbstractExportCommand {
 				targetDirectory=this.getDirectory();
 			}
 			for(final Table t:v.getTables()){
-				try {
-					writeTable(targetDirectory, t.getName(), t, this.getOutputFileType());
-					execTables.put(t.getSchemaName(), t.getName(), t);
-				} catch (final FileNotFoundException e) {
-					this.getExceptionHandler().handle(e);
-				} catch (final EncryptedDocumentException e) {
-					this.getExceptionHandler().handle(e);
-				} catch (final XMLStreamException e) {
-					this.getExceptionHandler().handle(e);
-				} catch (final InvalidFormatException e) {
-					this.getExceptionHandler().handle(e);
-				} catch (final IOException e) {
-					this.getExceptionHandler().handle(e);
-				}
+				targets.add(new ExportTarget(targetDirectory, t.getName(), t));
+				execTables.put(t.getSchemaName(), t.getName(), t);
 			}
 			for(final Synonym s:v.getSynonyms()){
 				final Table table=s.rootSynonym().getTable();
@@ -154,21 +179,85 @@ public class ExportData2FileCommand extends AbstractExportCommand {
 				if (execTables.containsKey(table.getSchemaName(), table.getName())){
 					continue;
 				}
-				try {
-					writeTable(targetDirectory, s.getName(), table, this.getOutputFileType());
-				} catch (final FileNotFoundException e) {
-					this.getExceptionHandler().handle(e);
-				} catch (final EncryptedDocumentException e) {
-					this.getExceptionHandler().handle(e);
-				} catch (final XMLStreamException e) {
-					this.getExceptionHandler().handle(e);
-				} catch (final InvalidFormatException e) {
-					this.getExceptionHandler().handle(e);
-				} catch (final IOException e) {
-					this.getExceptionHandler().handle(e);
-				}
+				targets.add(new ExportTarget(targetDirectory, s.getName(), table));
 			}
 		});
+		return targets;
+	}
+
+	/**
+	 * テーブルを並列に出力します。同一のテーブルを参照するシノニムは順番に出力します。
+	 * 
+	 * @param targets 出力対象
+	 */
+	protected List<TableStatistics> executeExportParallel(final List<ExportTarget> targets){
+		if (targets.isEmpty()){
+			return CommonUtils.list();
+		}
+		final ExecutorService executorService=Executors.newFixedThreadPool(Math.min(this.getParallelism(), targets.size()));
+		try{
+			final Map<Table, CompletableFuture<TableStatistics>> lastFutures=new IdentityHashMap<>();
+			final List<CompletableFuture<TableStatistics>> futures=CommonUtils.list(targets.size());
+			for(final ExportTarget target:targets){
+				final CompletableFuture<TableStatistics> before=lastFutures.get(target.table);
+				final CompletableFuture<TableStatistics> future;
+				if (before==null){
+					future=CompletableFuture.supplyAsync(()->exportTable(target), executorService);
+				} else{
+					future=before.handleAsync((r, e)->exportTable(target), executorService);
+				}
+				lastFutures.put(target.table, future);
+				futures.add(future);
+			}
+			final List<TableStatistics> result=CommonUtils.list(futures.size());
+			final List<Throwable> errors=CommonUtils.list();
+			for(final CompletableFuture<TableStatistics> future:futures){
+				try{
+					final TableStatistics statistics=future.join();
+					if (statistics!=null){
+						result.add(statistics);
+					}
+				} catch (final CompletionException e) {
+					errors.add(e.getCause());
+				}
+			}
+			handleErrors(errors);
+			return result;
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private TableStatistics exportTable(final ExportTarget target){
+		final TableStatistics statistics=new TableStatistics(target.table);
+		final CountingRowIteratorHandler rowIteratorHandler=new CountingRowIteratorHandler(getRowIteratorHandler());
+		target.table.setRowIteratorHandler(rowIteratorHandler);
+		try {
+			writeTable(target.directory, target.name, target.table, this.getOutputFileType());
+			statistics.addRowCount(rowIteratorHandler.getCount());
+			return statistics.end();
+		} catch (final FileNotFoundException e) {
+			return this.getExceptionHandler().handle(e);
+		} catch (final EncryptedDocumentException e) {
+			return this.getExceptionHandler().handle(e);
+		} catch (final XMLStreamException e) {
+			return this.getExceptionHandler().handle(e);
+		} catch (final InvalidFormatException e) {
+			return this.getExceptionHandler().handle(e);
+		} catch (final IOException e) {
+			return this.getExceptionHandler().handle(e);
+		}
+	}
+
+	static class ExportTarget{
+		final File directory;
+		final String name;
+		final Table table;
+		ExportTarget(final File directory, final String name, final Table table){
+			this.directory=directory;
+			this.name=name;
+			this.table=table;
+		}
 	}
 	
 	private void writeTable(final File directory, final String filename, final Table table, final WorkbookFileType workbookFileType) throws FileNotFoundException, IOException, EncryptedDocumentException, InvalidFormatException, XMLStreamException{
@@ -265,54 +354,117 @@ public class ExportData2FileCommand extends AbstractExportCommand {
 
 	private void writeTableAsExcel(final File directory, final String fileName, final Table table, final WorkbookFileType workbookFileType) throws FileNotFoundException, IOException, EncryptedDocumentException, InvalidFormatException{
 		final File file=new File(directory, fileName+"."+workbookFileType.getFileExtension());
-		Workbook workbook;
-		Sheet sheet;
-		if (file.exists()){
+		final boolean exists=file.exists();
+		final Workbook workbook;
+		if (exists&&file.length()==0){
 			workbook = WorkbookFileType.createWorkBook(file);
-			sheet=ExcelUtils.getFirstOrCreateSeet(workbook, this.getSheetName());
-			ExcelUtils.clearCellValues(sheet);
+		} else if (exists){
+			//同じファイルへ書き戻すためメモリ上に読み込む
+			try(InputStream is=new BufferedInputStream(new FileInputStream(file))){
+				workbook = WorkbookFileType.createWorkBook(is);
+			}
+		} else if (this.isUseStreamingExcel()&&workbookFileType==WorkbookFileType.EXCEL2007){
+			final SXSSFWorkbook sxssfWorkbook=new SXSSFWorkbook(this.getExcelWindowSize());
+			sxssfWorkbook.setCompressTempFiles(true);
+			workbook = sxssfWorkbook;
 		} else{
 			workbook = workbookFileType.createWorkbook();
-			sheet=ExcelUtils.getFirstOrCreateSeet(workbook, this.getSheetName());
 		}
-		int rownum=0;
-		final org.apache.poi.ss.usermodel.Row headerRow
-			=ExcelUtils.getOrCreateRow(sheet, rownum++);
-		int cellnum=0;
+		try{
+			writeTableAsExcel(workbook, table, exists);
+			ExcelUtils.writeWorkbook(workbook, file);
+		} finally{
+			if (workbook instanceof SXSSFWorkbook){
+				((SXSSFWorkbook)workbook).dispose();
+			}
+		}
+	}
+
+	private void writeTableAsExcel(final Workbook workbook, final Table table, final boolean exists){
 		final CreationHelper helper = workbook.getCreationHelper();
-		for(final Column column:table.getColumns()){
-			final Cell cell=ExcelUtils.getOrCreateCell(headerRow, cellnum++);
-			ExcelUtils.setCell(converters, workbook, cell, column.getName());
+		final CellStyle dateStyle=workbook.createCellStyle();
+		dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy/mm/dd"));
+		final int maxRows=getMaxExcelRows(workbook);
+		int sheetCount=1;
+		Sheet sheet=ExcelUtils.getFirstOrCreateSeet(workbook, this.getSheetName());
+		if (exists){
+			ExcelUtils.clearCellValues(sheet);
 		}
+		writeExcelHeader(workbook, helper, sheet, table);
+		int rownum=1;
 		for(final Row row:table.getRows()){
+			if (rownum>=maxRows){
+				//シートの最大行数を超える場合は次のシートに出力
+				setColumnWidth(sheet, table);
+				sheet=ExcelUtils.getOrCreateSeet(workbook, this.getSheetName()+"_"+(++sheetCount));
+				if (exists){
+					ExcelUtils.clearCellValues(sheet);
+				}
+				writeExcelHeader(workbook, helper, sheet, table);
+				rownum=1;
+			}
 			final org.apache.poi.ss.usermodel.Row dataRow
 				=ExcelUtils.getOrCreateRow(sheet, rownum++);
-			cellnum=0;
+			int cellnum=0;
 			for(final Column column:table.getColumns()){
 				final Object obj=row.get(column);
 				if (obj!=null){
 					final Cell cell=ExcelUtils.getOrCreateCell(dataRow, cellnum);
+					if (isDate(obj)&&cell.getCellStyle().getDataFormat()==0){
+						cell.setCellStyle(dateStyle);
+					}
 					ExcelUtils.setCell(converters, workbook, cell, obj);
 				}
 				cellnum++;
 			}
 		}
-		cellnum=0;
+		setColumnWidth(sheet, table);
+	}
+
+	/**
+	 * 1シートに出力する最大行数(ヘッダー行を含む)を返します。
+	 * 
+	 * @param workbook 出力先のワークブック
+	 */
+	protected int getMaxExcelRows(final Workbook workbook){
+		return workbook.getSpreadsheetVersion().getMaxRows();
+	}
+
+	private void writeExcelHeader(final Workbook workbook, final CreationHelper helper, final Sheet sheet, final Table table){
+		final org.apache.poi.ss.usermodel.Row headerRow
+			=ExcelUtils.getOrCreateRow(sheet, 0);
+		int cellnum=0;
 		for(final Column column:table.getColumns()){
-			sheet.autoSizeColumn(cellnum);
+			final Cell cell=ExcelUtils.getOrCreateCell(headerRow, cellnum++);
+			ExcelUtils.setCell(converters, workbook, cell, column.getName());
 			if (column.getRemarks()!=null){
-				final Cell cell=ExcelUtils.getOrCreateCell(headerRow, cellnum);
 				ExcelUtils.setComment(helper, cell, column.getRemarks());
 			}
+		}
+	}
+
+	private void setColumnWidth(final Sheet sheet, final Table table){
+		int cellnum=0;
+		for(final Column column:table.getColumns()){
+			if (sheet instanceof SXSSFSheet){
+				//書き出し済の行は参照できないため型から幅を決定
+				sheet.setColumnWidth(cellnum, Math.min(ExcelUtils.getCellWidth(column)+2, 255)*256);
+			} else{
+				sheet.autoSizeColumn(cellnum);
+			}
 			cellnum++;
 		}
-		ExcelUtils.writeWorkbook(workbook, file);
+	}
+
+	private boolean isDate(final Object obj){
+		return obj instanceof java.util.Date||obj instanceof Calendar||obj instanceof LocalDate||obj instanceof LocalDateTime;
 	}
 
 	protected RowIteratorHandler getRowIteratorHandler() {
 		final JdbcDynamicRowIteratorHandler rowIteratorHandler = new JdbcDynamicRowIteratorHandler();
 		rowIteratorHandler.setDataSource(this.getDataSource());
 		rowIteratorHandler.setOptions(this.getOptions());
+		rowIteratorHandler.setParallelism(this.getRowParallelism());
 		final TableNameRowCollectionFilter filter = new TableNameRowCollectionFilter();
 		filter.setIncludes(this.getIncludeTables());
 		filter.setExcludes(this.getExcludeTables());
@@ -377,6 +529,34 @@ public class ExportData2FileCommand extends AbstractExportCommand {
 		this.sheetName = sheetName;
 	}
 
+	/**
+	 * @return the useStreamingExcel
+	 */
+	public boolean isUseStreamingExcel() {
+		return useStreamingExcel;
+	}
+
+	/**
+	 * @param useStreamingExcel the useStreamingExcel to set
+	 */
+	public void setUseStreamingExcel(final boolean useStreamingExcel) {
+		this.useStreamingExcel = useStreamingExcel;
+	}
+
+	/**
+	 * @return the excelWindowSize
+	 */
+	public int getExcelWindowSize() {
+		return excelWindowSize;
+	}
+
+	/**
+	 * @param excelWindowSize the excelWindowSize to set
+	 */
+	public void setExcelWindowSize(final int excelWindowSize) {
+		this.excelWindowSize = excelWindowSize;
+	}
+
 	public Converters getConverters() {
 		return converters;
 	}
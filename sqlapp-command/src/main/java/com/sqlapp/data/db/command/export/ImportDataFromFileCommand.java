@@ -24,9 +24,15 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -42,6 +48,7 @@ import com.sqlapp.data.db.sql.SqlFactory;
 import com.sqlapp.data.db.sql.SqlFactoryRegistry;
 import com.sqlapp.data.db.sql.SqlOperation;
 import com.sqlapp.data.db.sql.SqlType;
+import com.sqlapp.data.db.sql.TableOptions;
 import com.sqlapp.data.parameter.ParametersContext;
 import com.sqlapp.data.schemas.Catalog;
 import com.sqlapp.data.schemas.Column;
@@ -51,6 +58,7 @@ import com.sqlapp.data.schemas.RowIteratorHandler;
 import com.sqlapp.data.schemas.Schema;
 import com.sqlapp.data.schemas.SchemaUtils;
 import com.sqlapp.data.schemas.Table;
+import com.sqlapp.data.schemas.TableDependencyGraph;
 import com.sqlapp.data.schemas.XmlReaderOptions;
 import com.sqlapp.data.schemas.function.RowValueConverter;
 import com.sqlapp.data.schemas.rowiterator.CombinedRowIteratorHandler;
@@ -95,6 +103,8 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 	private int excelSkipHeaderRowsSize=1;
 
 	private RowValueConverter rowValueConverter;
+	/**use bind variables for row sql types*/
+	private boolean useBindVariables=false;
 
 	public ImportDataFromFileCommand(){
 	}
@@ -137,13 +147,20 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 			if (this.getSqlType().getTableComparator()!=null){
 				tfs=SchemaUtils.getNewSortedTableList(tfs, this.getSqlType().getTableComparator(), tf->tf.getTable());
 			}
+			if (isParallel(tfs)){
+				releaseConnection(connection);
+				connection=null;
+				printStatistics(executeImportParallel(dialect, tfs));
+				return;
+			}
 			connection.setAutoCommit(false);
+			final List<TableStatistics> statistics=CommonUtils.list();
 			int commitCount=0;
 			for(final TableFilesPair tf:tfs){
 				this.println("target="+tf);
 				if (this.getTableOptions().getCommitPerTable().test(tf.getTable())){
 					try{
-						executeImport(connection, dialect, tf.getTable(), tf.getFiles());
+						statistics.add(executeImport(connection, dialect, tf.getTable(), tf.getFiles()));
 						connection.commit();
 						commitCount++;
 					} catch (final SQLException e) {
@@ -151,12 +168,13 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 						this.getExceptionHandler().handle(e);
 					}
 				} else{
-					executeImport(connection, dialect, tf.getTable(), tf.getFiles());
+					statistics.add(executeImport(connection, dialect, tf.getTable(), tf.getFiles()));
 				}
 			}
 			if (commitCount==0){
 				connection.commit();
 			}
+			printStatistics(statistics);
 		} catch (final RuntimeException e) {
 			rollback(connection);
 			this.getExceptionHandler().handle(e);
@@ -168,6 +186,106 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 		}
 	}
 
+	/**
+	 * 並列に実行するかを返します。
+	 * 複数の接続で1つのトランザクションは共有できないため、全てのテーブルがテーブル単位のコミットの場合のみ並列に実行します。
+	 */
+	private boolean isParallel(final List<TableFilesPair> tfs){
+		if (this.getParallelism()<=1||this.isConnectionAssigned()){
+			return false;
+		}
+		for(final TableFilesPair tf:tfs){
+			if (!this.getTableOptions().getCommitPerTable().test(tf.getTable())){
+				this.println("parallel import is disabled. commitPerTable is false. table="+tf.getTable().getName());
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * テーブルを並列にインポートします。
+	 * FKで関連するテーブルは先行するテーブルのインポート完了後に実行されます。
+	 * 失敗した全てのテーブルのエラーをExceptionHandlerに渡します。
+	 * 
+	 * @param dialect
+	 * @param tfs ソート済のテーブルとファイル
+	 */
+	protected List<TableStatistics> executeImportParallel(final Dialect dialect, final List<TableFilesPair> tfs){
+		if (tfs.isEmpty()){
+			return CommonUtils.list();
+		}
+		final TableDependencyGraph<TableFilesPair> graph=new TableDependencyGraph<>(tfs, tf->tf.getTable());
+		final Map<TableFilesPair, Integer> indexMap=new IdentityHashMap<>(tfs.size());
+		for(int i=0;i<tfs.size();i++){
+			indexMap.put(tfs.get(i), i);
+		}
+		final ExecutorService executorService=Executors.newFixedThreadPool(Math.min(this.getParallelism(), tfs.size()));
+		try{
+			final List<CompletableFuture<TableStatistics>> futures=CommonUtils.list(tfs.size());
+			for(int i=0;i<tfs.size();i++){
+				final TableFilesPair tf=tfs.get(i);
+				final CompletableFuture<?>[] dependencies=getDependencies(graph, indexMap, futures, tf, i);
+				futures.add(CompletableFuture.allOf(dependencies).thenApplyAsync(v->importTable(dialect, tf), executorService));
+			}
+			final List<TableStatistics> result=CommonUtils.list(futures.size());
+			final Set<Throwable> errors=Collections.newSetFromMap(new IdentityHashMap<>());
+			for(int i=0;i<futures.size();i++){
+				try{
+					final TableStatistics statistics=futures.get(i).join();
+					if (statistics!=null){
+						result.add(statistics);
+					}
+				} catch (final CompletionException e) {
+					final Throwable cause=e.getCause()!=null?e.getCause():e;
+					if (errors.add(cause)){
+						this.println("failed="+tfs.get(i)+", error="+cause);
+					} else{
+						this.println("skipped="+tfs.get(i));
+					}
+				}
+			}
+			handleErrors(errors);
+			return result;
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	/**
+	 * 先行するテーブルの中からFKで関連するテーブルの処理を返します。
+	 */
+	private CompletableFuture<?>[] getDependencies(final TableDependencyGraph<TableFilesPair> graph, final Map<TableFilesPair, Integer> indexMap, final List<CompletableFuture<TableStatistics>> futures, final TableFilesPair tf, final int index){
+		final List<CompletableFuture<?>> dependencies=CommonUtils.list();
+		for(final TableFilesPair related:graph.getRelated(tf)){
+			final Integer i=indexMap.get(related);
+			if (i!=null&&i.intValue()<index){
+				dependencies.add(futures.get(i.intValue()));
+			}
+		}
+		return dependencies.toArray(new CompletableFuture<?>[0]);
+	}
+
+	private TableStatistics importTable(final Dialect dialect, final TableFilesPair tf){
+		this.println("target="+tf);
+		Connection connection=null;
+		try{
+			connection=this.getConnection();
+			connection.setAutoCommit(false);
+			final TableStatistics statistics=executeImport(connection, dialect, tf.getTable(), tf.getFiles());
+			connection.commit();
+			return statistics;
+		} catch (final SQLException e) {
+			rollback(connection);
+			throw new CompletionException(e);
+		} catch (final RuntimeException e) {
+			rollback(connection);
+			throw e;
+		} finally {
+			releaseConnection(connection);
+		}
+	}
+
 	private TableFileReader createTableFileReader(){
 		final TableFileReader tableFileReader=new TableFileReader();
 		tableFileReader.setContext(this.getContext());
@@ -185,12 +303,13 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 		return tableFileReader;
 	}
 
-	protected void executeImport(final Connection connection, final Dialect dialect, final Table table, final List<File> files) throws SQLException{
+	protected TableStatistics executeImport(final Connection connection, final Dialect dialect, final Table table, final List<File> files) throws SQLException{
+		final TableStatistics statistics=new TableStatistics(table);
 		try {
 			if (this.getSqlType().supportRows()){
-				applyFromFileByRow(connection, dialect, table, files);
+				statistics.addRowCount(applyFromFileByRow(connection, dialect, table, files));
 			} else{
-				applyFromFileByTable(connection, dialect, table, files);
+				statistics.addRowCount(applyFromFileByTable(connection, dialect, table, files));
 			}
 		} catch (final EncryptedDocumentException e) {
 			this.getExceptionHandler().handle(e);
@@ -201,13 +320,10 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 		} catch (final IOException e) {
 			this.getExceptionHandler().handle(e);
 		}
+		return statistics.end();
 	}
 	
-	protected void applyFromFileByRow(final Connection connection, final Dialect dialect, final Table table, final List<File> files) throws EncryptedDocumentException, InvalidFormatException, IOException, XMLStreamException, SQLException{
-		final SqlFactoryRegistry sqlFactoryRegistry=dialect.createSqlFactoryRegistry();
-		sqlFactoryRegistry.getOption().setTableOptions(this.getTableOptions());
-		final SqlFactory<Row> factory=sqlFactoryRegistry.getSqlFactory(new Row(), this.getSqlType());
-		long queryCount=0;
+	protected long applyFromFileByRow(final Connection connection, final Dialect dialect, final Table table, final List<File> files) throws EncryptedDocumentException, InvalidFormatException, IOException, XMLStreamException, SQLException{
 		final List<File> targets=CommonUtils.list();
 		if (!CommonUtils.isEmpty(files)) {
 			for(final File file:files){
@@ -219,18 +335,29 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 					targets.add(file);
 				}
 			}
+		}
+		if (isUseBindVariables(dialect, table)){
+			return applyFromFileByRowWithBindVariables(connection, dialect, table, targets);
+		}
+		final SqlFactoryRegistry sqlFactoryRegistry=dialect.createSqlFactoryRegistry();
+		sqlFactoryRegistry.getOption().setTableOptions(this.getTableOptions());
+		final SqlFactory<Row> factory=sqlFactoryRegistry.getSqlFactory(new Row(), this.getSqlType());
+		long queryCount=0;
+		if (!targets.isEmpty()) {
 			readFiles(table, targets);
 		}
 		final SqlConverter sqlConverter=getSqlConverter();
 		final List<Row> batchRows=CommonUtils.list();
+		long rowCount=0;
 		try {
 			for(final Row row:table.getRows()){
+				rowCount++;
 				batchRows.add(row);
 				if (batchRows.size()>this.getTableOptions().getDmlBatchSize().apply(table)){
 					final List<SqlOperation> operations=factory.createSql(batchRows);
 					final ParametersContext context=new ParametersContext();
 					context.putAll(this.getContext());
-					context.putAll(convert(row, table.getColumns()));
+					context.putAll(convert(row, table.getColumns(), sqlConverter));
 					for(final SqlOperation operation:operations){
 						final SqlNode sqlNode=sqlConverter.parseSql(context, operation.getSqlText());
 						final JdbcHandler jdbcHandler=new JdbcHandler(sqlNode);
@@ -255,8 +382,168 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 			}
 			batchRows.clear();
 		}
+		return rowCount;
 	}
 	
+	/**
+	 * バインド変数を使用したSQLで実行するかを返します。
+	 * テーブル単位のSQLの値の定義が行単位のSQLと同じになる場合のみtrueを返します。
+	 * 計算列を含むテーブル、行の値の関数やパラメタ式を変更している場合、
+	 * 更新を伴うSQLで更新日時、楽観ロックカラムを含むテーブルは行単位のSQLで実行します。
+	 */
+	private boolean isUseBindVariables(final Dialect dialect, final Table table){
+		if (!this.isUseBindVariables()||this.getSqlType().getTableSqlType()==null){
+			return false;
+		}
+		final TableOptions tableOptions=this.getTableOptions();
+		if (tableOptions.getInsertRowSqlValue()!=TableOptions.DEFAULT_ROW_SQL_VALUE
+				||tableOptions.getUpdateRowSqlValue()!=TableOptions.DEFAULT_ROW_SQL_VALUE
+				||tableOptions.getParameterExpression()!=TableOptions.DEFAULT_PARAMETER_EXPRESSION){
+			return false;
+		}
+		final boolean insert=this.getSqlType()==SqlType.INSERT_ROW||this.getSqlType()==SqlType.INSERT_SELECT_ROW;
+		for(final Column column:table.getColumns()){
+			if (!CommonUtils.isEmpty(column.getFormula())){
+				return false;
+			}
+			if (!insert&&(tableOptions.getUpdatedAtColumn().test(column)||isOptimisticLockColumn(dialect, column))){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isOptimisticLockColumn(final Dialect dialect, final Column column){
+		final TableOptions tableOptions=this.getTableOptions();
+		if (CommonUtils.isEmpty(tableOptions.getOptimisticLockColumn())){
+			return dialect.isOptimisticLockColumn(column);
+		}
+		return tableOptions.getOptimisticLockColumn().test(column);
+	}
+
+	/**
+	 * 値がNULLの場合に行単位のSQLで既定値を使用するカラムを返します。
+	 */
+	private List<Column> getDefaultValueColumns(final Dialect dialect, final Table table){
+		final TableOptions tableOptions=this.getTableOptions();
+		final List<Column> result=CommonUtils.list();
+		for(final Column column:table.getColumns()){
+			if (column.isPrimaryKey()
+					||tableOptions.getAutoIncrementColumn().test(column)
+					||tableOptions.getCreatedAtColumn().test(column)
+					||tableOptions.getUpdatedAtColumn().test(column)
+					||isOptimisticLockColumn(dialect, column)){
+				result.add(column);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 行単位のSQLを、対応するテーブル単位のバインド変数を使用したSQLでバッチ実行します。
+	 * テーブル単位のSQLは自動採番、作成日時、更新日時、楽観ロックカラムも値をそのままバインドします。
+	 * SQLオプション、動的な値、または行単位のSQLで既定値を使用するカラムのNULLを含む行はリテラルのSQLで実行します。
+	 * 
+	 * @param connection
+	 * @param dialect
+	 * @param table
+	 * @param files ディレクトリを展開済のファイル
+	 * @return 処理した行数
+	 */
+	protected long applyFromFileByRowWithBindVariables(final Connection connection, final Dialect dialect, final Table table, final List<File> files) throws EncryptedDocumentException, InvalidFormatException, IOException, XMLStreamException, SQLException{
+		final SqlFactoryRegistry sqlFactoryRegistry=dialect.createSqlFactoryRegistry();
+		sqlFactoryRegistry.getOption().setTableOptions(this.getTableOptions());
+		final SqlFactory<Row> rowFactory=sqlFactoryRegistry.getSqlFactory(new Row(), this.getSqlType());
+		final TableOptions tableOptions=this.getTableOptions().clone();
+		tableOptions.setAutoIncrementColumn(c->false);
+		tableOptions.setCreatedAtColumn(c->false);
+		tableOptions.setUpdatedAtColumn(c->false);
+		tableOptions.setOptimisticLockColumn(c->false);
+		final SqlFactoryRegistry tableSqlFactoryRegistry=dialect.createSqlFactoryRegistry();
+		tableSqlFactoryRegistry.getOption().setTableOptions(tableOptions);
+		final SqlFactory<Table> tableFactory=tableSqlFactoryRegistry.getSqlFactory(table, this.getSqlType().getTableSqlType());
+		final SqlConverter sqlConverter=getSqlConverter();
+		final List<JdbcBatchUpdateHandler> handlers=createBatchUpdateHandlers(dialect, sqlConverter, tableFactory.createSql(table));
+		final List<Column> defaultValueColumns=getDefaultValueColumns(dialect, table);
+		if (!CommonUtils.isEmpty(files)) {
+			readFiles(table, files);
+		}
+		final int batchSize=this.getTableOptions().getDmlBatchSize().apply(table);
+		final List<ParametersContext> batchRows=CommonUtils.list();
+		long queryCount=0;
+		long rowCount=0;
+		try {
+			for(final Row row:table.getRows()){
+				rowCount++;
+				final ParametersContext context=new ParametersContext();
+				context.putAll(this.getContext());
+				context.putAll(convert(row, table.getColumns(), sqlConverter));
+				if (isLiteralRow(row, table, defaultValueColumns)){
+					queryCount=executeBatch(connection, handlers, batchRows, queryCount);
+					for(final SqlOperation operation:rowFactory.createSql(row)){
+						final SqlNode sqlNode=sqlConverter.parseSql(context, operation.getSqlText());
+						final JdbcHandler jdbcHandler=new JdbcHandler(sqlNode);
+						jdbcHandler.execute(connection, context);
+						queryCount=commit(connection, queryCount);
+					}
+					continue;
+				}
+				batchRows.add(context);
+				if (batchRows.size()>=batchSize){
+					queryCount=executeBatch(connection, handlers, batchRows, queryCount);
+				}
+			}
+		} finally {
+			table.setRowIteratorHandler(null);
+		}
+		executeBatch(connection, handlers, batchRows, queryCount);
+		return rowCount;
+	}
+
+	private List<JdbcBatchUpdateHandler> createBatchUpdateHandlers(final Dialect dialect, final SqlConverter sqlConverter, final List<SqlOperation> operations){
+		return operations.stream().map(c->{
+			final ParametersContext context=new ParametersContext();
+			context.putAll(this.getContext());
+			final SqlNode sqlNode=sqlConverter.parseSql(context, c.getSqlText());
+			final JdbcBatchUpdateHandler jdbcHandler=new JdbcBatchUpdateHandler(sqlNode);
+			jdbcHandler.setDialect(dialect);
+			return jdbcHandler;
+		}).collect(Collectors.toList());
+	}
+
+	private long executeBatch(final Connection connection, final List<JdbcBatchUpdateHandler> handlers, final List<ParametersContext> batchRows, long queryCount) throws SQLException{
+		if (batchRows.isEmpty()){
+			return queryCount;
+		}
+		for(final JdbcBatchUpdateHandler jdbcHandler:handlers){
+			jdbcHandler.execute(connection, batchRows);
+			queryCount=commit(connection, queryCount);
+		}
+		batchRows.clear();
+		return queryCount;
+	}
+
+	/**
+	 * バインド変数では表現できない値を含むかを返します。
+	 */
+	private boolean isLiteralRow(final Row row, final Table table, final List<Column> defaultValueColumns){
+		if (row.hasSqlOption()){
+			return true;
+		}
+		for(final Column column:defaultValueColumns){
+			if (row.get(column)==null){
+				return true;
+			}
+		}
+		for(final Column column:table.getColumns()){
+			final Object value=row.get(column);
+			if (value instanceof String&&this.getTableOptions().getDynamicValue().test((String)value)){
+				return true;
+			}
+		}
+		return false;
+	}
+
 	protected SqlConverter getSqlConverter(){
 		final SqlConverter sqlConverter=new SqlConverter();
 		sqlConverter.getExpressionConverter().setFileDirectory(this.getFileDirectory());
@@ -275,7 +562,7 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 		return queryCount+1;
 	}
 
-	protected void applyFromFileByTable(final Connection connection, final Dialect dialect, final Table table, final List<File> files) throws EncryptedDocumentException, InvalidFormatException, IOException, XMLStreamException, SQLException{
+	protected long applyFromFileByTable(final Connection connection, final Dialect dialect, final Table table, final List<File> files) throws EncryptedDocumentException, InvalidFormatException, IOException, XMLStreamException, SQLException{
 		final SqlFactoryRegistry sqlFactoryRegistry=dialect.createSqlFactoryRegistry();
 		final SqlFactory<Table> factory=sqlFactoryRegistry.getSqlFactory(table, this.getSqlType());
 		final List<SqlOperation> operations=factory.createSql(table);
@@ -303,11 +590,13 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 			readFiles(table, targets);
 		}
 		final List<ParametersContext> batchRows=CommonUtils.list();
+		long rowCount=0;
 		try {
 			for(final Row row:table.getRows()){
+				rowCount++;
 				final ParametersContext context=new ParametersContext();
 				context.putAll(this.getContext());
-				context.putAll(convert(row, table.getColumns()));
+				context.putAll(convert(row, table.getColumns(), sqlConverter));
 				batchRows.add(context);
 				if (batchRows.size()>this.getTableOptions().getDmlBatchSize().apply(table)){
 					for(final JdbcBatchUpdateHandler jdbcHandler:handlers){
@@ -327,12 +616,11 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 			}
 			batchRows.clear();
 		}
+		return rowCount;
 	}
 	
-	private Map<String,Object> convert(final Row row, final ColumnCollection columns){
-		final Map<String,Object> map=row.toMap();
-		final Map<String,Object> ret=CommonUtils.map(map.size());
-		final SqlConverter sqlConverter=getSqlConverter();
+	private Map<String,Object> convert(final Row row, final ColumnCollection columns, final SqlConverter sqlConverter){
+		final Map<String,Object> ret=CommonUtils.map(columns.size());
 		final ParametersContext context=new ParametersContext();
 		context.putAll(this.getContext());
 		for(final Column column:columns){
@@ -550,4 +838,19 @@ public class ImportDataFromFileCommand extends AbstractExportCommand{
 		return rowValueConverter;
 	}
 
+	/**
+	 * @return the useBindVariables
+	 */
+	public boolean isUseBindVariables() {
+		return useBindVariables;
+	}
+
+	/**
+	 * 行単位のSQLタイプでバインド変数を使用したバッチ更新を行う場合trueを設定します。
+	 * @param useBindVariables the useBindVariables to set
+	 */
+	public void setUseBindVariables(final boolean useBindVariables) {
+		this.useBindVariables = useBindVariables;
+	}
+
 }
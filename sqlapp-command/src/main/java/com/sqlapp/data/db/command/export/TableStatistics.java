@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-command.
+ *
+ * sqlapp-command is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-command is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-command.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.command.export;
+
+import com.sqlapp.data.schemas.Table;
+
+/**
+ * テーブル毎の処理件数と処理時間
+ *
+ * @author tatsuo satoh
+ *
+ */
+public class TableStatistics {
+
+	private final String name;
+
+	private long rowCount=0;
+
+	private final long startTime;
+
+	private long endTime;
+
+	public TableStatistics(final Table table){
+		this.name=table.getSchemaName()==null?table.getName():table.getSchemaName()+"."+table.getName();
+		this.startTime=System.currentTimeMillis();
+		this.endTime=this.startTime;
+	}
+
+	/**
+	 * 処理件数を加算します。
+	 * @param count 件数
+	 */
+	public void addRowCount(final long count){
+		this.rowCount=this.rowCount+count;
+	}
+
+	/**
+	 * 処理の終了を記録します。
+	 */
+	public TableStatistics end(){
+		this.endTime=System.currentTimeMillis();
+		return this;
+	}
+
+	/**
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the rowCount
+	 */
+	public long getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * @return elapsed time(ms)
+	 */
+	public long getElapsedTime() {
+		return endTime-startTime;
+	}
+
+	/**
+	 * @return rows per second
+	 */
+	public double getRowsPerSecond() {
+		final long elapsed=getElapsedTime();
+		if (elapsed<=0){
+			return rowCount;
+		}
+		return rowCount*1000d/elapsed;
+	}
+
+	@Override
+	public String toString(){
+		final StringBuilder builder=new StringBuilder();
+		builder.append(name);
+		builder.append(" rows=").append(rowCount);
+		builder.append(", time=").append(getElapsedTime()).append("ms");
+		builder.append(", rows/sec=").append(String.format("%.1f", getRowsPerSecond()));
+		return builder.toString();
+	}
+}
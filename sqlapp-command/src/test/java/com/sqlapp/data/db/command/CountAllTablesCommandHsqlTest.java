@@ -0,0 +1,215 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-command.
+ *
+ * sqlapp-command is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-command is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-command.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sqlapp.data.db.command.test.AbstractDbCommandTest;
+import com.sqlapp.jdbc.ConnectionHandler;
+import com.sqlapp.jdbc.DataSourceConnectionHandler;
+import com.sqlapp.util.CommonUtils;
+import com.sqlapp.util.ExceptionHandler;
+
+public class CountAllTablesCommandHsqlTest extends AbstractDbCommandTest {
+
+	private DataSource dataSource;
+
+	@BeforeEach
+	public void before() throws SQLException {
+		dataSource = newDataSource();
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE COUNT_TEST1 (ID INT PRIMARY KEY)");
+			statement.execute("CREATE TABLE COUNT_TEST2 (ID INT PRIMARY KEY)");
+			statement.execute("CREATE TABLE COUNT_TEST3 (ID INT PRIMARY KEY)");
+			statement.execute("INSERT INTO COUNT_TEST1 VALUES (1)");
+			statement.execute("INSERT INTO COUNT_TEST1 VALUES (2)");
+			statement.execute("INSERT INTO COUNT_TEST1 VALUES (3)");
+			statement.execute("INSERT INTO COUNT_TEST2 VALUES (1)");
+			statement.execute("INSERT INTO COUNT_TEST3 VALUES (1)");
+		}
+	}
+
+	@AfterEach
+	public void after() throws SQLException {
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE COUNT_TEST1");
+			statement.execute("DROP TABLE COUNT_TEST2");
+			statement.execute("DROP TABLE COUNT_TEST3");
+		}
+	}
+
+	@Test
+	public void testTimeout() {
+		for (final String sqlState : new String[] { "57014", "HYT00", "HYT01" }) {
+			final List<String> errors = Collections.synchronizedList(CommonUtils.list());
+			final List<String> lines = run(sqlState, 1, false, errors);
+			assertEquals("[COUNT_TEST1	3, COUNT_TEST2	, COUNT_TEST3	1]", lines.toString());
+			assertEquals("[]", errors.toString());
+		}
+	}
+
+	@Test
+	public void testParallelError() {
+		final List<String> errors = Collections.synchronizedList(CommonUtils.list());
+		final List<String> lines = run("42000", 3, false, errors);
+		// 例外ハンドラーがnullを返した場合は件数なしとして続行
+		assertEquals("[COUNT_TEST1	3, COUNT_TEST2	, COUNT_TEST3	1]", lines.toString());
+		assertEquals("[42000]", errors.toString());
+	}
+
+	@Test
+	public void testParallelAllErrors() {
+		final CountAllTablesCommand command = new CountAllTablesCommand() {
+			@Override
+			protected void println(final Object obj) {
+			}
+		};
+		command.setDataSource(dataSource);
+		command.setConnectionHandler(new ThrowingConnectionHandler(dataSource, "42000", "COUNT_TEST1", "COUNT_TEST3"));
+		command.setIncludeSchemas("PUBLIC");
+		command.setParallelism(3);
+		// ExceptionHandlerが例外をスローする場合は残りのエラーを抑制された例外として保持する
+		final RuntimeException e = assertThrows(RuntimeException.class, () -> command.run());
+		assertEquals(1, e.getSuppressed().length);
+		assertEquals("42000", ((SQLException) e.getCause()).getSQLState());
+		assertEquals("42000", ((SQLException) e.getSuppressed()[0].getCause()).getSQLState());
+	}
+
+	@Test
+	public void testEstimatedCount() {
+		final List<String> errors = Collections.synchronizedList(CommonUtils.list());
+		// 統計情報が無いテーブルは件数を取得する
+		final List<String> lines = run(null, 3, true, errors);
+		assertEquals("[COUNT_TEST1	3	false, COUNT_TEST2	1	false, COUNT_TEST3	1	false]", lines.toString());
+		assertEquals("[]", errors.toString());
+	}
+
+	/**
+	 * COUNT_TEST2の件数取得時に指定したSQLStateのSQLExceptionをスローして実行します。
+	 */
+	private List<String> run(final String sqlState, final int parallelism, final boolean useEstimatedCount,
+			final List<String> errors) {
+		final List<String> lines = Collections.synchronizedList(CommonUtils.list());
+		final CountAllTablesCommand command = new CountAllTablesCommand() {
+			@Override
+			protected void println(final Object obj) {
+				final String line = obj.toString();
+				if (line.startsWith("PUBLIC")) {
+					lines.add(line.substring(line.indexOf('\t') + 1));
+				}
+			}
+		};
+		command.setDataSource(dataSource);
+		command.setConnectionHandler(new ThrowingConnectionHandler(dataSource, sqlState));
+		command.setIncludeSchemas("PUBLIC");
+		command.setParallelism(parallelism);
+		command.setUseEstimatedCount(useEstimatedCount);
+		command.setExceptionHandler(new ExceptionHandler() {
+			@Override
+			public <T> T handle(final Throwable e) {
+				errors.add(((SQLException) e).getSQLState());
+				return null;
+			}
+		});
+		command.run();
+		return lines.stream().filter(s -> s.startsWith("COUNT_TEST")).sorted().collect(Collectors.toList());
+	}
+
+	static class ThrowingConnectionHandler implements ConnectionHandler {
+		private final DataSourceConnectionHandler handler;
+		private final String sqlState;
+		private final String[] tableNames;
+
+		ThrowingConnectionHandler(final DataSource dataSource, final String sqlState) {
+			this(dataSource, sqlState, "COUNT_TEST2");
+		}
+
+		ThrowingConnectionHandler(final DataSource dataSource, final String sqlState, final String... tableNames) {
+			this.handler = new DataSourceConnectionHandler(dataSource);
+			this.sqlState = sqlState;
+			this.tableNames = tableNames;
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			final Connection connection = handler.getConnection();
+			if (sqlState == null) {
+				return connection;
+			}
+			return (Connection) Proxy.newProxyInstance(this.getClass().getClassLoader(),
+					new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+						final Object result = invoke(method, connection, args);
+						if ("createStatement".equals(method.getName())) {
+							return statement((Statement) result);
+						}
+						return result;
+					});
+		}
+
+		private Statement statement(final Statement statement) {
+			return (Statement) Proxy.newProxyInstance(this.getClass().getClassLoader(),
+					new Class<?>[] { Statement.class }, (proxy, method, args) -> {
+						if ("executeQuery".equals(method.getName())) {
+							for (final String tableName : tableNames) {
+								if (args[0].toString().contains(tableName)) {
+									throw new SQLException("error", sqlState);
+								}
+							}
+						}
+						return invoke(method, statement, args);
+					});
+		}
+
+		private static Object invoke(final java.lang.reflect.Method method, final Object target, final Object[] args)
+				throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (final InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+		@Override
+		public void releaseConnection(final Connection connection) throws SQLException {
+			handler.releaseConnection(connection.unwrap(Connection.class));
+		}
+	}
+
+	@Override
+	public String getUrl() {
+		return "jdbc:hsqldb:mem:countalltables";
+	}
+}
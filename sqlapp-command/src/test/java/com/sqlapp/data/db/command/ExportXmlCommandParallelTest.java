@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-command.
+ *
+ * sqlapp-command is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-command is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-command.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sqlapp.data.db.command.test.AbstractDbCommandTest;
+import com.sqlapp.jdbc.ConnectionHandler;
+import com.sqlapp.jdbc.DataSourceConnectionHandler;
+import com.sqlapp.util.CommonUtils;
+
+public class ExportXmlCommandParallelTest extends AbstractDbCommandTest {
+
+	@TempDir
+	File directory;
+
+	@Test
+	public void testParallel() throws SQLException, IOException {
+		final DataSource dataSource = newDataSource();
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE XML_TEST1 (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+			statement.execute("CREATE TABLE XML_TEST2 (ID INT PRIMARY KEY, XML_TEST1_ID INT, FOREIGN KEY (XML_TEST1_ID) REFERENCES XML_TEST1 (ID))");
+			statement.execute("CREATE VIEW XML_TEST_VIEW AS SELECT ID, NAME FROM XML_TEST1");
+			statement.execute("CREATE SEQUENCE XML_TEST_SEQ START WITH 1");
+		}
+		try {
+			final Set<String> serialThreads = Collections.synchronizedSet(CommonUtils.set());
+			final String serial = export(dataSource, 1, serialThreads);
+			final Set<String> parallelThreads = Collections.synchronizedSet(CommonUtils.set());
+			final String parallel = export(dataSource, 3, parallelThreads);
+			assertTrue(serial.contains("XML_TEST2"));
+			assertTrue(serial.contains("XML_TEST_VIEW"));
+			assertTrue(serial.contains("XML_TEST_SEQ"));
+			// テーブルのカラム、インデックス、制約も並列に読み込まれる
+			assertTrue(parallel.contains("XML_TEST1_ID"));
+			assertTrue(parallel.contains("<foreignKeyConstraint"));
+			assertTrue(parallel.contains("<primaryKeyConstraint"));
+			assertEquals(serial, parallel);
+			// 直列の場合は呼び出し元のスレッドのみで接続を取得する
+			assertEquals(Collections.singleton(Thread.currentThread().getName()), serialThreads);
+			parallelThreads.remove(Thread.currentThread().getName());
+			assertTrue(parallelThreads.size() > 0);
+		} finally {
+			try (Connection connection = dataSource.getConnection();
+					Statement statement = connection.createStatement()) {
+				statement.execute("DROP SEQUENCE XML_TEST_SEQ");
+				statement.execute("DROP VIEW XML_TEST_VIEW");
+				statement.execute("DROP TABLE XML_TEST2");
+				statement.execute("DROP TABLE XML_TEST1");
+			}
+		}
+	}
+
+	private String export(final DataSource dataSource, final int parallelism, final Set<String> threads)
+			throws IOException {
+		final DataSourceConnectionHandler handler = new DataSourceConnectionHandler(dataSource);
+		final ExportXmlCommand command = new ExportXmlCommand();
+		command.setDataSource(dataSource);
+		command.setConnectionHandler(new ConnectionHandler() {
+			@Override
+			public Connection getConnection() throws SQLException {
+				threads.add(Thread.currentThread().getName());
+				return handler.getConnection();
+			}
+
+			@Override
+			public void releaseConnection(final Connection connection) throws SQLException {
+				handler.releaseConnection(connection);
+			}
+		});
+		command.setTarget("schema");
+		command.setOnlyCurrentSchema(true);
+		command.setDumpRows(false);
+		command.setOutputPath(directory);
+		command.setOutputFileName("schema" + parallelism + ".xml");
+		command.setParallelism(parallelism);
+		command.run();
+		return new String(Files.readAllBytes(new File(directory, "schema" + parallelism + ".xml").toPath()),
+				StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public String getUrl() {
+		return "jdbc:hsqldb:mem:exportxmlparallel";
+	}
+}
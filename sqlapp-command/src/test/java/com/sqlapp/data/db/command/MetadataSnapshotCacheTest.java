@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-command.
+ *
+ * sqlapp-command is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-command is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-command.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sqlapp.data.db.command.test.AbstractDbCommandTest;
+import com.sqlapp.data.db.dialect.Dialect;
+import com.sqlapp.data.db.dialect.DialectResolver;
+import com.sqlapp.data.db.dialect.hsql.metadata.HsqlTableReader;
+import com.sqlapp.data.parameter.ParametersContext;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.util.CommonUtils;
+
+public class MetadataSnapshotCacheTest extends AbstractDbCommandTest {
+
+	@TempDir
+	File directory;
+
+	/**
+	 * テーブル名と更新日時
+	 */
+	private final Map<String, Timestamp> alteredAt = CommonUtils.map();
+	/**
+	 * 詳細情報を読み込んだテーブル名
+	 */
+	private final List<String> fullLoaded = CommonUtils.list();
+
+	@Test
+	public void testGetAllFull() throws SQLException, IOException, XMLStreamException {
+		final DataSource dataSource = newDataSource();
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE CACHE_TEST1 (ID INT PRIMARY KEY)");
+			statement.execute("CREATE TABLE CACHE_TEST2 (ID INT PRIMARY KEY)");
+			alteredAt.put("CACHE_TEST1", new Timestamp(1000));
+			alteredAt.put("CACHE_TEST2", new Timestamp(1000));
+			final MetadataSnapshotCache cache = new MetadataSnapshotCache(directory) {
+				@Override
+				protected boolean isLastAlteredAtByDdl(final Dialect dialect) {
+					return true;
+				}
+			};
+			// スナップショットが無い場合は全て読み込む
+			List<Table> tables = getAllFull(cache, connection);
+			assertEquals("[CACHE_TEST1, CACHE_TEST2]", fullLoaded.toString());
+			assertEquals("[CACHE_TEST1:1, CACHE_TEST2:1]", toString(tables));
+			// 更新日時が同じ場合はスナップショットから取得する
+			fullLoaded.clear();
+			tables = getAllFull(cache, connection);
+			assertEquals("[]", fullLoaded.toString());
+			assertEquals("[CACHE_TEST1:1, CACHE_TEST2:1]", toString(tables));
+			// 更新日時が変わったテーブルのみ読み込む
+			statement.execute("ALTER TABLE CACHE_TEST2 ADD COLUMN NAME VARCHAR(10)");
+			alteredAt.put("CACHE_TEST2", new Timestamp(2000));
+			tables = getAllFull(cache, connection);
+			assertEquals("[CACHE_TEST2]", fullLoaded.toString());
+			assertEquals("[CACHE_TEST1:1, CACHE_TEST2:2]", toString(tables));
+			// 壊れたスナップショットは作り直す
+			fullLoaded.clear();
+			final File[] files = directory.listFiles((dir, name) -> name.endsWith(".xml.gz"));
+			assertEquals(1, files.length);
+			Files.write(files[0].toPath(), "broken".getBytes(StandardCharsets.UTF_8));
+			tables = getAllFull(cache, connection);
+			assertEquals("[CACHE_TEST1, CACHE_TEST2]", fullLoaded.toString());
+			assertEquals("[CACHE_TEST1:1, CACHE_TEST2:2]", toString(tables));
+			fullLoaded.clear();
+			getAllFull(cache, connection);
+			assertEquals("[]", fullLoaded.toString());
+			// 更新日時がDDLによる変更を表さない場合は常に全て読み込む
+			fullLoaded.clear();
+			final MetadataSnapshotCache dataTimeCache = new MetadataSnapshotCache(directory);
+			assertFalse(DialectResolver.getInstance().getDialect(connection).supportsTableLastAlteredAtByDdl());
+			tables = getAllFull(dataTimeCache, connection);
+			assertEquals("[CACHE_TEST1, CACHE_TEST2]", fullLoaded.toString());
+			assertEquals("[CACHE_TEST1:1, CACHE_TEST2:2]", toString(tables));
+		} finally {
+			try (Connection connection = dataSource.getConnection();
+					Statement statement = connection.createStatement()) {
+				statement.execute("DROP TABLE CACHE_TEST1");
+				statement.execute("DROP TABLE CACHE_TEST2");
+			}
+		}
+	}
+
+	@Test
+	public void testGetAllFullDataTime() throws SQLException, IOException, XMLStreamException {
+		final DataSource dataSource = newDataSource();
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE CACHE_TEST1 (ID INT PRIMARY KEY)");
+			statement.execute("CREATE TABLE CACHE_TEST2 (ID INT PRIMARY KEY)");
+			alteredAt.put("CACHE_TEST1", new Timestamp(1000));
+			alteredAt.put("CACHE_TEST2", new Timestamp(1000));
+			// 更新日時がDDLによる変更を表さない場合はスナップショットを保存しない
+			final MetadataSnapshotCache cache = new MetadataSnapshotCache(directory);
+			assertFalse(DialectResolver.getInstance().getDialect(connection).supportsTableLastAlteredAtByDdl());
+			final List<Table> tables = getAllFull(cache, connection);
+			assertEquals("[CACHE_TEST1, CACHE_TEST2]", fullLoaded.toString());
+			assertEquals("[CACHE_TEST1:1, CACHE_TEST2:1]", toString(tables));
+			assertEquals(0, directory.listFiles((dir, name) -> name.endsWith(".xml.gz")).length);
+		} finally {
+			try (Connection connection = dataSource.getConnection();
+					Statement statement = connection.createStatement()) {
+				statement.execute("DROP TABLE CACHE_TEST1");
+				statement.execute("DROP TABLE CACHE_TEST2");
+			}
+		}
+	}
+
+	private List<Table> getAllFull(final MetadataSnapshotCache cache, final Connection connection)
+			throws SQLException, XMLStreamException, IOException {
+		final Dialect dialect = DialectResolver.getInstance().getDialect(connection);
+		final HsqlTableReader tableReader = new HsqlTableReader(dialect) {
+			{
+				setParent(dialect.getCatalogReader().getSchemaReader());
+			}
+
+			@Override
+			public List<Table> getAll(final Connection connection, final ParametersContext context) {
+				final List<Table> result = super.getAll(connection, context);
+				for (final Table table : result) {
+					table.setLastAlteredAt(alteredAt.get(table.getName()));
+				}
+				return result;
+			}
+
+			@Override
+			public List<Table> getAllFull(final Connection connection, final ParametersContext context) {
+				final List<Table> result = super.getAllFull(connection, context);
+				for (final Table table : result) {
+					fullLoaded.add(table.getName());
+				}
+				return result;
+			}
+		};
+		final Set<String> schemaNames = CommonUtils.set("PUBLIC");
+		final List<Table> result = cache.getAllFull(connection, tableReader, CommonUtils.set("PUBLIC"), schemaNames);
+		return result.stream().filter(t -> t.getName().startsWith("CACHE_TEST")).collect(Collectors.toList());
+	}
+
+	private String toString(final List<Table> tables) {
+		return tables.stream().map(t -> t.getName() + ":" + t.getColumns().size()).collect(Collectors.toList())
+				.toString();
+	}
+
+	@Override
+	public String getUrl() {
+		return "jdbc:hsqldb:mem:snapshotcache";
+	}
+}
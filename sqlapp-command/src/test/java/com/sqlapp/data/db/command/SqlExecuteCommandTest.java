@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-command.
+ *
+ * sqlapp-command is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-command is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-command.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.sqlapp.data.db.command.test.AbstractDbCommandTest;
+import com.sqlapp.util.FileUtils;
+
+public class SqlExecuteCommandTest extends AbstractDbCommandTest {
+
+	@Test
+	public void testBatch() throws IOException, SQLException {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("CREATE TABLE SQL_EXECUTE_TEST (ID INT PRIMARY KEY, NAME VARCHAR(100));\n");
+		for (int i = 0; i < 25; i++) {
+			builder.append("INSERT INTO SQL_EXECUTE_TEST (ID, NAME) VALUES (").append(i).append(", 'a;\n")
+					.append(i).append("');\n");
+		}
+		builder.append("-- comment\n");
+		builder.append("UPDATE SQL_EXECUTE_TEST SET NAME='b' WHERE ID<10;\n");
+		builder.append("DELETE FROM SQL_EXECUTE_TEST WHERE ID>=20;\n");
+		final File file = File.createTempFile("SqlExecuteCommandTest", ".sql");
+		file.deleteOnExit();
+		FileUtils.writeText(file.getAbsolutePath(), "UTF-8", builder.toString());
+		final DataSource dataSource = newDataSource();
+		final SqlExecuteCommand command = new SqlExecuteCommand();
+		command.setDataSource(dataSource);
+		command.setSqlFiles(file);
+		command.setBatchSize(10);
+		command.setCommitInterval(7);
+		command.run();
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			try (ResultSet resultSet = statement
+					.executeQuery("SELECT COUNT(*), SUM(CASE WHEN NAME='b' THEN 1 ELSE 0 END) FROM SQL_EXECUTE_TEST")) {
+				resultSet.next();
+				assertEquals(20, resultSet.getInt(1));
+				assertEquals(10, resultSet.getInt(2));
+			}
+			try (ResultSet resultSet = statement.executeQuery("SELECT NAME FROM SQL_EXECUTE_TEST WHERE ID=15")) {
+				resultSet.next();
+				assertEquals("a;\n15", resultSet.getString(1));
+			}
+			statement.execute("DROP TABLE SQL_EXECUTE_TEST");
+		}
+	}
+
+	@Override
+	public String getUrl() {
+		return "jdbc:hsqldb:mem:sqlexecute";
+	}
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-command.
+ *
+ * sqlapp-command is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-command is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-command.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.sqlapp.data.db.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.sqlapp.data.db.command.test.AbstractDbCommandTest;
+import com.sqlapp.data.db.datatype.DataType;
+import com.sqlapp.data.db.dialect.Dialect;
+import com.sqlapp.data.db.dialect.DialectResolver;
+import com.sqlapp.data.db.metadata.MetadataReaderUtils;
+import com.sqlapp.data.db.metadata.TableReader;
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.DbCommonObject;
+import com.sqlapp.data.schemas.DbObjectDifference;
+import com.sqlapp.data.schemas.Schema;
+import com.sqlapp.data.schemas.State;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.util.CommonUtils;
+
+public class SynchronizeSchemaCommandTest extends AbstractDbCommandTest {
+
+	@Test
+	public void testGetTarget() throws SQLException {
+		final DataSource dataSource = newDataSource();
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE SYNC_TEST1 (ID INT PRIMARY KEY, NAME VARCHAR(100))");
+			statement.execute("CREATE TABLE SYNC_TEST2 (ID INT PRIMARY KEY, NAME VARCHAR(100))");
+			statement.execute("CREATE TABLE SYNC_OTHER (ID INT PRIMARY KEY)");
+		}
+		try (Connection connection = dataSource.getConnection()) {
+			final Dialect dialect = DialectResolver.getInstance().getDialect(connection);
+			final TableReader reader = MetadataReaderUtils.getMetadataReader(dialect, "Table");
+			reader.setSchemaName("PUBLIC");
+			final List<Table> tables = reader.getAllFull(connection, CommonUtils.list("SYNC_TEST1", "SYNC_TEST2"));
+			assertEquals(2, tables.size());
+			final Schema schema = new Schema("PUBLIC");
+			schema.getTables().add(tables.get(0).clone());
+			final Table table2 = tables.get(1).clone();
+			table2.getColumns().add(new Column("DESCRIPTION").setDataType(DataType.VARCHAR).setLength(200));
+			schema.getTables().add(table2);
+			final Table table3 = new Table("SYNC_TEST3");
+			table3.setSchemaName("PUBLIC");
+			table3.getColumns().add(new Column("ID").setDataType(DataType.INT));
+			schema.getTables().add(table3);
+			final SynchronizeSchemaCommand command = new SynchronizeSchemaCommand();
+			final List<DbCommonObject<?>> objects = CommonUtils.list();
+			objects.add(schema.getTables());
+			final List<DbObjectDifference> diffs = command.getTarget(objects, connection, dialect);
+			assertEquals(3, diffs.size());
+			assertEquals(State.Unchanged, diffs.get(0).getState());
+			assertEquals(State.Modified, diffs.get(1).getState());
+			assertEquals("SYNC_TEST2", ((Table) diffs.get(1).getOriginal()).getName());
+			assertEquals(State.Added, diffs.get(2).getState());
+			assertEquals("SYNC_TEST3", ((Table) diffs.get(2).getTarget()).getName());
+		} finally {
+			try (Connection connection = dataSource.getConnection();
+					Statement statement = connection.createStatement()) {
+				statement.execute("DROP TABLE SYNC_TEST1");
+				statement.execute("DROP TABLE SYNC_TEST2");
+				statement.execute("DROP TABLE SYNC_OTHER");
+			}
+		}
+	}
+
+	@Override
+	public String getUrl() {
+		return "jdbc:hsqldb:mem:synchronize";
+	}
+}
@@ -0,0 +1,309 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-command.
+ *
+ * sqlapp-command is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-command is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-command.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.command.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.TreeSet;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sqlapp.data.db.command.test.AbstractDbCommandTest;
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.data.schemas.RowCollection;
+import com.sqlapp.data.schemas.RowIteratorHandler;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.data.schemas.rowiterator.JdbcDynamicRowIteratorHandler;
+import com.sqlapp.data.schemas.rowiterator.KeyRange;
+import com.sqlapp.data.schemas.rowiterator.WorkbookFileType;
+import com.sqlapp.util.CommonUtils;
+import com.sqlapp.util.ExceptionHandler;
+
+public class ExportData2FileCommandParallelTest extends AbstractDbCommandTest {
+
+	@TempDir
+	File directory;
+
+	@Test
+	public void testParallel() throws SQLException, IOException {
+		final DataSource dataSource = newDataSource();
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			for (int i = 1; i <= 3; i++) {
+				statement.execute("CREATE TABLE EXPORT_TEST" + i + " (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+				for (int j = 1; j <= i * 10; j++) {
+					statement.execute("INSERT INTO EXPORT_TEST" + i + " VALUES (" + j + ", 'name" + j + "')");
+				}
+			}
+		}
+		try {
+			final File serialDirectory = new File(directory, "serial");
+			final File parallelDirectory = new File(directory, "parallel");
+			// 順番に処理する場合は指定した場合のみ件数を出力する
+			assertEquals("[]", export(dataSource, serialDirectory, 1, false).toString());
+			final List<String> serial = export(dataSource, serialDirectory, 1, true);
+			final List<String> parallel = export(dataSource, parallelDirectory, 3, false);
+			assertEquals("[PUBLIC.EXPORT_TEST1:10, PUBLIC.EXPORT_TEST2:20, PUBLIC.EXPORT_TEST3:30]", serial.toString());
+			assertEquals(serial, parallel);
+			for (int i = 1; i <= 3; i++) {
+				final String fileName = "EXPORT_TEST" + i + ".csv";
+				final List<String> lines = Files.readAllLines(new File(parallelDirectory, fileName).toPath(),
+						StandardCharsets.UTF_8);
+				assertEquals(i * 10 + 1, lines.size());
+				assertEquals(Files.readAllLines(new File(serialDirectory, fileName).toPath(), StandardCharsets.UTF_8),
+						lines);
+			}
+		} finally {
+			try (Connection connection = dataSource.getConnection();
+					Statement statement = connection.createStatement()) {
+				for (int i = 1; i <= 3; i++) {
+					statement.execute("DROP TABLE EXPORT_TEST" + i);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testRowParallelism() throws SQLException, IOException {
+		final DataSource dataSource = newDataSource();
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE ROW_PARALLEL_INT (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+			statement.execute("CREATE TABLE ROW_PARALLEL_CODE (CODE VARCHAR(10) PRIMARY KEY, NAME VARCHAR(20))");
+			for (int i = 1; i <= 100; i++) {
+				statement.execute("INSERT INTO ROW_PARALLEL_INT VALUES (" + i * 7 + ", 'name" + i + "')");
+				statement.execute("INSERT INTO ROW_PARALLEL_CODE VALUES ('" + String.format("c%03d", i) + "', 'name" + i + "')");
+			}
+		}
+		try {
+			final File serialDirectory = new File(directory, "serial");
+			final File parallelDirectory = new File(directory, "parallel");
+			final List<String> keyRanges = Collections.synchronizedList(CommonUtils.list());
+			final List<String> serial = exportRows(dataSource, serialDirectory, 1, keyRanges);
+			assertEquals("[]", keyRanges.toString());
+			final List<String> parallel = exportRows(dataSource, parallelDirectory, 4, keyRanges);
+			assertEquals("[PUBLIC.ROW_PARALLEL_CODE:100, PUBLIC.ROW_PARALLEL_INT:100]", serial.toString());
+			assertEquals(serial, parallel);
+			// 整数のキーも整数でないキーも主キーの範囲で分割して読み込む
+			assertEquals("[ROW_PARALLEL_CODE:4, ROW_PARALLEL_INT:4]", new TreeSet<>(keyRanges).toString());
+			for (final String name : new String[] { "ROW_PARALLEL_INT", "ROW_PARALLEL_CODE" }) {
+				final String fileName = name + ".csv";
+				final List<String> lines = Files.readAllLines(new File(parallelDirectory, fileName).toPath(),
+						StandardCharsets.UTF_8);
+				assertEquals(101, lines.size());
+				assertEquals(Files.readAllLines(new File(serialDirectory, fileName).toPath(), StandardCharsets.UTF_8),
+						lines);
+			}
+		} finally {
+			try (Connection connection = dataSource.getConnection();
+					Statement statement = connection.createStatement()) {
+				statement.execute("DROP TABLE ROW_PARALLEL_INT");
+				statement.execute("DROP TABLE ROW_PARALLEL_CODE");
+			}
+		}
+	}
+
+	private List<String> exportRows(final DataSource dataSource, final File outputDirectory, final int rowParallelism,
+			final List<String> keyRanges) {
+		final List<String> statistics = CommonUtils.list();
+		final ExportData2FileCommand command = new ExportData2FileCommand() {
+			@Override
+			protected void printStatistics(final List<TableStatistics> list) {
+				for (final TableStatistics stat : list) {
+					statistics.add(stat.getName() + ":" + stat.getRowCount());
+				}
+			}
+
+			@Override
+			protected RowIteratorHandler getRowIteratorHandler() {
+				final JdbcDynamicRowIteratorHandler handler = (JdbcDynamicRowIteratorHandler) super.getRowIteratorHandler();
+				assertEquals(rowParallelism, handler.getParallelism());
+				return new JdbcDynamicRowIteratorHandler() {
+					{
+						setDataSource(handler.getDataSource());
+						setFilter(handler.getFilter());
+						setOptions(handler.getOptions());
+						setParallelism(handler.getParallelism());
+					}
+
+					@Override
+					public List<KeyRange> createKeyRanges(final Table table, final int count) {
+						final List<KeyRange> result = super.createKeyRanges(table, count);
+						keyRanges.add(table.getName() + ":" + result.size());
+						return result;
+					}
+				};
+			}
+		};
+		command.setDataSource(dataSource);
+		command.setDirectory(outputDirectory);
+		command.setIncludeSchemas("PUBLIC");
+		command.setIncludeTables("ROW_PARALLEL*");
+		command.setOutputFileType(WorkbookFileType.CSV);
+		command.setRowParallelism(rowParallelism);
+		command.setOutputStatistics(true);
+		command.run();
+		statistics.sort(null);
+		return statistics;
+	}
+
+	@Test
+	public void testAllErrors() throws SQLException {
+		final DataSource dataSource = newDataSource();
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			for (int i = 1; i <= 3; i++) {
+				statement.execute("CREATE TABLE EXPORT_ERROR" + i + " (ID INT PRIMARY KEY)");
+				statement.execute("INSERT INTO EXPORT_ERROR" + i + " VALUES (" + i + ")");
+			}
+		}
+		try {
+			final List<String> statistics = CommonUtils.list();
+			final List<String> errors = Collections.synchronizedList(CommonUtils.list());
+			final ExportData2FileCommand command = createErrorCommand(statistics);
+			command.setDataSource(dataSource);
+			command.setDirectory(directory);
+			command.setExceptionHandler(new ExceptionHandler() {
+				@Override
+				public <T> T handle(final Throwable e) {
+					errors.add(e.getMessage());
+					return null;
+				}
+			});
+			command.run();
+			assertEquals("[PUBLIC.EXPORT_ERROR2:1]", statistics.toString());
+			Collections.sort(errors);
+			assertEquals("[EXPORT_ERROR1, EXPORT_ERROR3]", errors.toString());
+			//ExceptionHandlerが例外をスローする場合は残りのエラーを抑制された例外として保持する
+			final ExportData2FileCommand throwCommand = createErrorCommand(CommonUtils.list());
+			throwCommand.setDataSource(dataSource);
+			throwCommand.setDirectory(directory);
+			final IllegalStateException e = assertThrows(IllegalStateException.class, () -> throwCommand.run());
+			assertEquals(1, e.getSuppressed().length);
+			final List<String> messages = CommonUtils.list(e.getMessage(), e.getSuppressed()[0].getMessage());
+			Collections.sort(messages);
+			assertEquals("[EXPORT_ERROR1, EXPORT_ERROR3]", messages.toString());
+		} finally {
+			try (Connection connection = dataSource.getConnection();
+					Statement statement = connection.createStatement()) {
+				for (int i = 1; i <= 3; i++) {
+					statement.execute("DROP TABLE EXPORT_ERROR" + i);
+				}
+			}
+		}
+	}
+
+	private ExportData2FileCommand createErrorCommand(final List<String> statistics) {
+		final ExportData2FileCommand command = new ExportData2FileCommand() {
+			@Override
+			protected void printStatistics(final List<TableStatistics> list) {
+				for (final TableStatistics stat : list) {
+					statistics.add(stat.getName() + ":" + stat.getRowCount());
+				}
+			}
+
+			@Override
+			protected RowIteratorHandler getRowIteratorHandler() {
+				return new FailingRowIteratorHandler(super.getRowIteratorHandler());
+			}
+		};
+		command.setIncludeSchemas("PUBLIC");
+		command.setIncludeTables("EXPORT_ERROR*");
+		command.setOutputFileType(WorkbookFileType.CSV);
+		command.setParallelism(3);
+		return command;
+	}
+
+	private List<String> export(final DataSource dataSource, final File outputDirectory, final int parallelism,
+			final boolean outputStatistics) {
+		final List<String> statistics = CommonUtils.list();
+		final ExportData2FileCommand command = new ExportData2FileCommand() {
+			@Override
+			protected void printStatistics(final List<TableStatistics> list) {
+				for (final TableStatistics stat : list) {
+					statistics.add(stat.getName() + ":" + stat.getRowCount());
+				}
+			}
+		};
+		command.setDataSource(dataSource);
+		command.setDirectory(outputDirectory);
+		command.setIncludeSchemas("PUBLIC");
+		command.setDefaultExport(true);
+		command.setOutputFileType(WorkbookFileType.CSV);
+		command.setParallelism(parallelism);
+		command.setOutputStatistics(outputStatistics);
+		command.run();
+		statistics.sort(null);
+		return statistics;
+	}
+
+	/**
+	 * EXPORT_ERROR1とEXPORT_ERROR3の読み込みで失敗するハンドラー
+	 */
+	static class FailingRowIteratorHandler implements RowIteratorHandler {
+		private final RowIteratorHandler rowIteratorHandler;
+
+		FailingRowIteratorHandler(final RowIteratorHandler rowIteratorHandler) {
+			this.rowIteratorHandler = rowIteratorHandler;
+		}
+
+		private void check(final RowCollection c) {
+			final String name = c.getParent().getName();
+			if (name.endsWith("1") || name.endsWith("3")) {
+				throw new IllegalStateException(name);
+			}
+		}
+
+		@Override
+		public Iterator<Row> iterator(final RowCollection c) {
+			check(c);
+			return rowIteratorHandler.iterator(c);
+		}
+
+		@Override
+		public ListIterator<Row> listIterator(final RowCollection c, final int index) {
+			check(c);
+			return rowIteratorHandler.listIterator(c, index);
+		}
+
+		@Override
+		public ListIterator<Row> listIterator(final RowCollection c) {
+			check(c);
+			return rowIteratorHandler.listIterator(c);
+		}
+	}
+
+	@Override
+	public String getUrl() {
+		return "jdbc:hsqldb:mem:exportparallel";
+	}
+}
@@ -19,21 +19,33 @@
 
 package com.sqlapp.data.db.command.export;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
 import java.io.File;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.text.ParseException;
 
 import javax.sql.DataSource;
 
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.sqlapp.data.db.command.test.AbstractDbCommandTest;
 import com.sqlapp.data.db.command.version.DbVersionHandler;
 import com.sqlapp.data.db.dialect.Dialect;
 import com.sqlapp.data.db.dialect.DialectResolver;
 import com.sqlapp.data.schemas.Table;
+import com.sqlapp.data.schemas.rowiterator.ExcelUtils;
+import com.sqlapp.data.schemas.rowiterator.WorkbookFileType;
 import com.sqlapp.util.CommonUtils;
 
 public class ExportData2FileCommandTest extends AbstractDbCommandTest {
@@ -43,6 +55,9 @@ public class ExportData2FileCommandTest extends AbstractDbCommandTest {
 	protected String url="jdbc:hsqldb:.";
 	
 	private final String directoryPath="./src/test/temp/export";
+
+	@TempDir
+	File tempDirectory;
 	
 	@Test
 	public void testRun() throws ParseException, IOException, SQLException {
@@ -67,6 +82,127 @@ public class ExportData2FileCommandTest extends AbstractDbCommandTest {
 		//command.run();
 	}
 
+	@Test
+	public void testStreamingExcel() throws Exception {
+		final DataSource dataSource=newDataSource();
+		createExcelTestTable(dataSource, 10);
+		try{
+			final ExportData2FileCommand command=createExcelCommand(dataSource, 0);
+			command.run();
+			final File file=new File(tempDirectory, "EXCEL_TEST.xlsx");
+			try(Workbook workbook=WorkbookFactory.create(file)){
+				assertEquals(1, workbook.getNumberOfSheets());
+				final Sheet sheet=workbook.getSheet("TABLE");
+				assertEquals(10, sheet.getLastRowNum());
+				assertEquals("ID", ExcelUtils.getStringCellValue(sheet.getRow(0).getCell(0)));
+				assertEquals("NAME", ExcelUtils.getStringCellValue(sheet.getRow(0).getCell(1)));
+				for(int i=1;i<=10;i++){
+					assertEquals(i, ((Number)ExcelUtils.getCellValue(sheet.getRow(i).getCell(0))).intValue());
+					assertEquals("name"+i, ExcelUtils.getStringCellValue(sheet.getRow(i).getCell(1)));
+				}
+			}
+		} finally{
+			dropExcelTestTable(dataSource);
+		}
+	}
+
+	@Test
+	public void testStreamingExcelSheetRollover() throws Exception {
+		final DataSource dataSource=newDataSource();
+		createExcelTestTable(dataSource, 10);
+		try{
+			//ヘッダー行を含めて1シート5行
+			final ExportData2FileCommand command=createExcelCommand(dataSource, 5);
+			command.run();
+			final File file=new File(tempDirectory, "EXCEL_TEST.xlsx");
+			try(Workbook workbook=WorkbookFactory.create(file)){
+				assertEquals(3, workbook.getNumberOfSheets());
+				int id=1;
+				for(final String sheetName:new String[]{"TABLE", "TABLE_2", "TABLE_3"}){
+					final Sheet sheet=workbook.getSheet(sheetName);
+					assertNotNull(sheet, sheetName);
+					assertEquals("ID", ExcelUtils.getStringCellValue(sheet.getRow(0).getCell(0)));
+					for(int i=1;i<=sheet.getLastRowNum();i++){
+						assertEquals(id++, ((Number)ExcelUtils.getCellValue(sheet.getRow(i).getCell(0))).intValue());
+					}
+				}
+				assertEquals(11, id);
+				assertNull(workbook.getSheet("TABLE_4"));
+			}
+		} finally{
+			dropExcelTestTable(dataSource);
+		}
+	}
+
+	@Test
+	public void testStreamingExcelExistingFile() throws Exception {
+		final DataSource dataSource=newDataSource();
+		createExcelTestTable(dataSource, 3);
+		try{
+			final File file=new File(tempDirectory, "EXCEL_TEST.xlsx");
+			try(XSSFWorkbook workbook=new XSSFWorkbook()){
+				final Sheet sheet=workbook.createSheet("TABLE");
+				for(int i=0;i<6;i++){
+					sheet.createRow(i).createCell(0).setCellValue("old"+i);
+				}
+				workbook.createSheet("KEEP").createRow(0).createCell(0).setCellValue("keep");
+				ExcelUtils.writeWorkbook(workbook, file);
+			}
+			final ExportData2FileCommand command=createExcelCommand(dataSource, 0);
+			command.run();
+			//既存ファイルはDOMで読み込んで更新されるため他のシートは残る
+			try(Workbook workbook=WorkbookFactory.create(file)){
+				assertEquals(2, workbook.getNumberOfSheets());
+				assertEquals("keep", ExcelUtils.getStringCellValue(workbook.getSheet("KEEP").getRow(0).getCell(0)));
+				final Sheet sheet=workbook.getSheet("TABLE");
+				assertEquals("ID", ExcelUtils.getStringCellValue(sheet.getRow(0).getCell(0)));
+				for(int i=1;i<=3;i++){
+					assertEquals(i, ((Number)ExcelUtils.getCellValue(sheet.getRow(i).getCell(0))).intValue());
+				}
+				for(int i=4;i<6;i++){
+					assertNull(ExcelUtils.getCellValue(sheet.getRow(i).getCell(0)));
+				}
+			}
+		} finally{
+			dropExcelTestTable(dataSource);
+		}
+	}
+
+	private ExportData2FileCommand createExcelCommand(final DataSource dataSource, final int maxRows){
+		final ExportData2FileCommand command=new ExportData2FileCommand(){
+			@Override
+			protected int getMaxExcelRows(final Workbook workbook){
+				if (maxRows>0){
+					return maxRows;
+				}
+				return super.getMaxExcelRows(workbook);
+			}
+		};
+		command.setDataSource(dataSource);
+		command.setDirectory(tempDirectory);
+		command.setIncludeSchemas("PUBLIC");
+		command.setIncludeTables("EXCEL_TEST");
+		command.setOutputFileType(WorkbookFileType.EXCEL2007);
+		command.setUseStreamingExcel(true);
+		command.setExcelWindowSize(2);
+		return command;
+	}
+
+	private void createExcelTestTable(final DataSource dataSource, final int rows) throws SQLException{
+		try(Connection connection=dataSource.getConnection(); Statement statement=connection.createStatement()){
+			statement.execute("CREATE TABLE EXCEL_TEST (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+			for(int i=1;i<=rows;i++){
+				statement.execute("INSERT INTO EXCEL_TEST VALUES ("+i+", 'name"+i+"')");
+			}
+		}
+	}
+
+	private void dropExcelTestTable(final DataSource dataSource) throws SQLException{
+		try(Connection connection=dataSource.getConnection(); Statement statement=connection.createStatement()){
+			statement.execute("DROP TABLE EXCEL_TEST");
+		}
+	}
+
 	/**
 	 * @return the url
 	 */
@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-command.
+ *
+ * sqlapp-command is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-command is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-command.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.command.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sqlapp.data.db.command.test.AbstractDbCommandTest;
+import com.sqlapp.data.db.dialect.Dialect;
+import com.sqlapp.data.db.dialect.DialectResolver;
+import com.sqlapp.data.db.metadata.MetadataReaderUtils;
+import com.sqlapp.data.db.metadata.TableReader;
+import com.sqlapp.data.db.sql.SqlType;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.util.CommonUtils;
+
+public class ImportDataFromFileCommandBindVariablesTest extends AbstractDbCommandTest {
+
+	@TempDir
+	File directory;
+
+	@Test
+	public void testRowValueDefinition() throws SQLException, IOException {
+		final DataSource dataSource = newDataSource();
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE BIND_TEST (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+			statement.execute(
+					"CREATE TABLE BIND_CREATED (ID INT PRIMARY KEY, NAME VARCHAR(20), CREATED_AT TIMESTAMP)");
+		}
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setAutoCommit(false);
+			final Dialect dialect = DialectResolver.getInstance().getDialect(connection);
+			final TableReader reader = MetadataReaderUtils.getMetadataReader(dialect, "Table");
+			reader.setSchemaName("PUBLIC");
+			final List<Table> tables = reader.getAllFull(connection, CommonUtils.list("BIND_TEST", "BIND_CREATED"));
+			final List<String> bindTables = CommonUtils.list();
+			final ImportDataFromFileCommand command = new ImportDataFromFileCommand() {
+				@Override
+				protected long applyFromFileByRowWithBindVariables(final Connection connection, final Dialect dialect,
+						final Table table, final List<File> files)
+						throws EncryptedDocumentException, InvalidFormatException, IOException, XMLStreamException,
+						SQLException {
+					bindTables.add(table.getName());
+					return super.applyFromFileByRowWithBindVariables(connection, dialect, table, files);
+				}
+			};
+			command.setSqlType(SqlType.INSERT_ROW);
+			command.setUseBindVariables(true);
+			command.getTableOptions().setDmlBatchSize(t -> 2);
+			final Table bindTest = tables.stream().filter(t -> "BIND_TEST".equals(t.getName())).findFirst().get();
+			final Table bindCreated = tables.stream().filter(t -> "BIND_CREATED".equals(t.getName())).findFirst()
+					.get();
+			assertEquals(3, command.executeImport(connection, dialect, bindTest,
+					writeCsv(bindTest, "ID,NAME\n1,a\n2,\n3,c\n")).getRowCount());
+			// 作成日時カラムは値をそのままバインドする
+			assertEquals(2, command.executeImport(connection, dialect, bindCreated,
+					writeCsv(bindCreated, "ID,NAME,CREATED_AT\n1,a,2020-01-02 03:04:05\n2,b,2021-01-02 03:04:05\n"))
+					.getRowCount());
+			assertEquals("[BIND_TEST, BIND_CREATED]", bindTables.toString());
+			bindTables.clear();
+			// 行の値の関数を変更した場合はバインド変数を使用しない
+			command.getTableOptions().setInsertRowSqlValue((r, c, v) -> v);
+			command.executeImport(connection, dialect, bindTest, writeCsv(bindTest, "ID,NAME\n"));
+			assertEquals("[]", bindTables.toString());
+			connection.commit();
+			try (Statement statement = connection.createStatement();
+					ResultSet rs = statement.executeQuery("SELECT ID, NAME FROM BIND_TEST ORDER BY ID")) {
+				assertRow(rs, 1, "a");
+				assertRow(rs, 2, null);
+				assertRow(rs, 3, "c");
+			}
+			try (Statement statement = connection.createStatement(); ResultSet rs = statement
+					.executeQuery("SELECT ID, CREATED_AT FROM BIND_CREATED ORDER BY ID")) {
+				rs.next();
+				assertEquals("2020-01-02 03:04:05.0", rs.getTimestamp(2).toString());
+				rs.next();
+				assertEquals("2021-01-02 03:04:05.0", rs.getTimestamp(2).toString());
+			}
+		} finally {
+			try (Connection connection = dataSource.getConnection();
+					Statement statement = connection.createStatement()) {
+				statement.execute("DROP TABLE BIND_TEST");
+				statement.execute("DROP TABLE BIND_CREATED");
+			}
+		}
+	}
+
+	private List<File> writeCsv(final Table table, final String text) throws IOException {
+		final File tableDirectory = new File(directory, table.getName());
+		tableDirectory.mkdirs();
+		final File file = new File(tableDirectory, table.getName() + ".csv");
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		return CommonUtils.list(tableDirectory);
+	}
+
+	private void assertRow(final ResultSet rs, final int id, final String name) throws SQLException {
+		rs.next();
+		assertEquals(id, rs.getInt(1));
+		if (name == null) {
+			assertNull(rs.getString(2));
+		} else {
+			assertEquals(name, rs.getString(2));
+		}
+	}
+
+	@Override
+	public String getUrl() {
+		return "jdbc:hsqldb:mem:importbind";
+	}
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-command.
+ *
+ * sqlapp-command is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-command is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-command.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.command.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.sqlapp.data.db.command.export.TableFileReader.TableFilesPair;
+import com.sqlapp.data.db.command.test.AbstractDbCommandTest;
+import com.sqlapp.data.db.dialect.Dialect;
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.jdbc.SqlappDataSource;
+import com.sqlapp.util.CommonUtils;
+import com.sqlapp.util.ExceptionHandler;
+
+public class ImportDataFromFileCommandParallelTest extends AbstractDbCommandTest {
+
+	@Test
+	public void testAllErrors() throws Exception {
+		final Table parent = createTable("PARENT");
+		final Table child = createTable("CHILD");
+		final Table other1 = createTable("OTHER1");
+		final Table other2 = createTable("OTHER2");
+		child.getConstraints().addForeignKeyConstraint("FK_CHILD", child.getColumns().get(1),
+				parent.getColumns().get(0));
+		final List<TableFilesPair> tfs = CommonUtils.list(new TableFilesPair(parent),
+				new TableFilesPair(other1), new TableFilesPair(child), new TableFilesPair(other2));
+		final List<String> imported = Collections.synchronizedList(CommonUtils.list());
+		final List<String> errors = Collections.synchronizedList(CommonUtils.list());
+		final ImportDataFromFileCommand command = new ImportDataFromFileCommand() {
+			@Override
+			protected TableStatistics executeImport(final Connection connection, final Dialect dialect,
+					final Table table, final List<File> files) throws SQLException {
+				if ("PARENT".equals(table.getName()) || "OTHER1".equals(table.getName())) {
+					throw new SQLException(table.getName());
+				}
+				imported.add(table.getName());
+				return new TableStatistics(table).end();
+			}
+		};
+		command.setExceptionHandler(new ExceptionHandler() {
+			@Override
+			public <T> T handle(final Throwable e) {
+				errors.add(e.getMessage());
+				return null;
+			}
+		});
+		try (final SqlappDataSource dataSource = newDataSource()) {
+			command.setDataSource(dataSource);
+			command.setParallelism(2);
+			final List<TableStatistics> result = command.executeImportParallel(null, tfs);
+			assertEquals("[OTHER2]", result.stream().map(s -> s.getName())
+					.collect(Collectors.toList()).toString());
+		}
+		assertEquals("[OTHER2]", imported.toString());
+		Collections.sort(errors);
+		assertEquals("[OTHER1, PARENT]", errors.toString());
+	}
+
+	private Table createTable(final String name) {
+		final Table table = new Table(name);
+		table.getColumns().add(new Column("ID"));
+		table.getColumns().add(new Column("PARENT_ID"));
+		table.getConstraints().addPrimaryKeyConstraint("PK_" + name, table.getColumns().get(0));
+		return table;
+	}
+
+	@Override
+	public String getUrl() {
+		return "jdbc:hsqldb:mem:importparallel";
+	}
+}
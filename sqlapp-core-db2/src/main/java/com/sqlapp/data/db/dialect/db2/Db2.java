@@ -185,6 +185,14 @@ public class Db2 extends Dialect {
 		return true;
 	}
 
+	/**
+	 * SYSCAT.TABLES.ALTER_TIMEはALTER文で更新されます。
+	 */
+	@Override
+	public boolean supportsTableLastAlteredAtByDdl() {
+		return true;
+	}
+
 	@Override
 	public String getIdentityInsertString() {
 		return "default";
@@ -126,16 +126,6 @@ public class Firebird extends Dialect {
 		return true;
 	}
 
-	@Override
-	public boolean supportsLimit() {
-		return true;
-	}
-
-	@Override
-	public boolean supportsLimitOffset() {
-		return true;
-	}
-
 	@Override
 	public boolean supportsDropCascade() {
 		return true;
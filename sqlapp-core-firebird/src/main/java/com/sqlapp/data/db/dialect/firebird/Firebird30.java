@@ -79,4 +79,12 @@ public class Firebird30 extends Firebird25 {
 	public SqlFactoryRegistry createSqlFactoryRegistry() {
 		return new Firebird30SqlRegistryFactory(this);
 	}
+
+	/* (non-Javadoc)
+	 * @see com.sqlapp.data.db.dialect.Dialect#supportsStandardOffsetFetchRows()
+	 */
+	@Override
+	public boolean supportsStandardOffsetFetchRows(){
+		return true;
+	}
 }
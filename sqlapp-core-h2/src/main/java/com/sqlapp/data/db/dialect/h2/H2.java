@@ -172,6 +172,22 @@ public class H2 extends Dialect {
 		return true;
 	}
 
+	/**
+	 * LIMIT句のサポート
+	 */
+	@Override
+	public boolean supportsLimit() {
+		return true;
+	}
+
+	/**
+	 * Offset句のサポート
+	 */
+	@Override
+	public boolean supportsLimitOffset() {
+		return true;
+	}
+
 	@Override
 	public String getSequenceNextValString(final String sequenceName) {
 		return "select " + sequenceName + ".nextval from dual";
@@ -202,4 +202,12 @@ public class Hsql2_0_0 extends Hsql {
 	public SqlFactoryRegistry createSqlFactoryRegistry() {
 		return new Hsql2SqlFactoryRegistry(this);
 	}
+
+	/* (non-Javadoc)
+	 * @see com.sqlapp.data.db.dialect.Dialect#supportsStandardOffsetFetchRows()
+	 */
+	@Override
+	public boolean supportsStandardOffsetFetchRows(){
+		return true;
+	}
 }
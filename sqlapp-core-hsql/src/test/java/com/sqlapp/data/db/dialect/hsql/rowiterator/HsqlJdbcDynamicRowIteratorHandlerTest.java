@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core-hsql.
+ *
+ * sqlapp-core-hsql is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core-hsql is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core-hsql.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.dialect.hsql.rowiterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sqlapp.data.db.datatype.DataType;
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.data.schemas.RowCollection;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.data.schemas.rowiterator.JdbcDynamicRowIteratorHandler;
+import com.sqlapp.data.schemas.rowiterator.KeyRange;
+import com.sqlapp.util.CommonUtils;
+
+/**
+ * HSQLのDialectでJdbcDynamicRowIteratorHandlerのページングのSQLをテストします
+ */
+public class HsqlJdbcDynamicRowIteratorHandlerTest {
+
+	private JDBCDataSource dataSource;
+
+	private Table table;
+
+	@BeforeEach
+	public void setUp() throws SQLException {
+		dataSource = new JDBCDataSource();
+		dataSource.setUrl("jdbc:hsqldb:mem:hsqlrowiterator");
+		dataSource.setUser("SA");
+		table = new Table("PAGING_TABLE");
+		table.getColumns().add(new Column("ID").setDataType(DataType.INT).setNotNull(true));
+		table.getColumns().add(new Column("NAME").setDataType(DataType.VARCHAR).setLength(20));
+		table.setPrimaryKey(table.getColumns().get("ID"));
+		try (Connection connection = dataSource.getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE PAGING_TABLE (ID INT PRIMARY KEY, NAME VARCHAR(20))");
+			try (PreparedStatement insert = connection
+					.prepareStatement("INSERT INTO PAGING_TABLE (ID, NAME) VALUES (?, ?)")) {
+				// 挿入順と主キーの順を変える
+				for (int i = 20; i > 0; i--) {
+					insert.setInt(1, i);
+					insert.setString(2, "name" + i);
+					insert.executeUpdate();
+				}
+			}
+		}
+	}
+
+	@AfterEach
+	public void tearDown() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.execute("DROP TABLE PAGING_TABLE");
+		}
+	}
+
+	@Test
+	public void testOffsetLimit() {
+		final List<String> sqls = CommonUtils.list();
+		final JdbcDynamicRowIteratorHandler handler = new SqlRecordingHandler(sqls);
+		handler.setDataSource(dataSource);
+		handler.setLimit(3L);
+		table.setRowIteratorHandler(handler);
+		final ListIterator<Row> itr = table.getRows().listIterator(5);
+		final List<String> rows = CommonUtils.list();
+		while (itr.hasNext()) {
+			final Row row = itr.next();
+			rows.add(row.get("ID") + ":" + row.get("NAME"));
+		}
+		assertEquals("[6:name6, 7:name7, 8:name8]", rows.toString());
+		// 読み飛ばしと最大の行数は並び順を指定してSQLで行う
+		assertEquals(1, sqls.size());
+		assertEquals("SELECT * FROM PAGING_TABLE WHERE 1=1 ORDER BY ID OFFSET ? ROWS FETCH FIRST ? ROWS ONLY",
+				normalize(sqls.get(0)));
+		// 先頭から読み込む場合も同じ並び順を指定する
+		sqls.clear();
+		handler.setLimit(null);
+		final List<Object> ids = CommonUtils.list();
+		for (final Row row : table.getRows()) {
+			ids.add(row.get("ID"));
+		}
+		assertEquals(20, ids.size());
+		assertEquals(Integer.valueOf(1), ids.get(0));
+		assertEquals(Integer.valueOf(20), ids.get(19));
+		assertEquals(1, sqls.size());
+		assertEquals("SELECT * FROM PAGING_TABLE WHERE 1=1 ORDER BY ID", normalize(sqls.get(0)));
+	}
+
+	private static String normalize(final String sql) {
+		return sql.replaceAll("\\s+", " ").trim();
+	}
+
+	/**
+	 * 実行したSQLを記録するハンドラー
+	 */
+	static class SqlRecordingHandler extends JdbcDynamicRowIteratorHandler {
+		private final List<String> sqls;
+
+		SqlRecordingHandler(final List<String> sqls) {
+			this.sqls = sqls;
+		}
+
+		@Override
+		protected ResultSetIterator getResultSetIterator(final RowCollection rows, final int index,
+				final KeyRange keyRange) {
+			final ResultSetIterator iterator = new ResultSetIterator(rows, getConnectionHandler(), index,
+					this.getOptions(), keyRange) {
+				@Override
+				protected String createSql(final Table table) throws SQLException {
+					final String sql = super.createSql(table);
+					sqls.add(sql);
+					return sql;
+				}
+			};
+			if (this.getLimit() != null) {
+				iterator.setLimit(this.getLimit().longValue());
+			}
+			return iterator;
+		}
+	}
+}
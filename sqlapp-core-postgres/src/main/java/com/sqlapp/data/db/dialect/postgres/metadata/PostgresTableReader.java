@@ -104,6 +104,18 @@ public class PostgresTableReader extends TableReader {
 	protected void addInherits(Table table, Table pTable) {
 		table.getInherits().add(pTable);
 	}
+
+	/**
+	 * pg_class.reltuplesの推定件数を設定します。
+	 * 解析されていないテーブルは-1(PostgreSQL14以降)または0(PostgreSQL13以前)のため件数不明として設定しません。
+	 */
+	protected void setRows(ExResultSet rs, Table obj) throws SQLException {
+		final double reltuples = rs.getDouble("reltuples");
+		if (rs.wasNull() || reltuples <= 0) {
+			return;
+		}
+		Statistics.ROWS.setValue(obj, Long.valueOf((long) reltuples));
+	}
 	
 	protected Table createTable(ExResultSet rs) throws SQLException {
 		Table obj = createTable(getString(rs, TABLE_NAME));
@@ -111,7 +123,7 @@ public class PostgresTableReader extends TableReader {
 		obj.setRemarks(getString(rs, "remarks"));
 		obj.setId(getString(rs, "table_id"));
 		this.setSpecifics(rs, "relhasoids", "oids", obj);
-		Statistics.ROWS.setValue(rs, "n_live_tup", obj);
+		setRows(rs, obj);
 		Statistics.DATA_LENGTH.setValue(rs, "data_length", obj);
 		//
 		this.setStatistics(rs, "seq_scan", obj);
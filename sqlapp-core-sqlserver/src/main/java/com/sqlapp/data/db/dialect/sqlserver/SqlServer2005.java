@@ -113,6 +113,14 @@ public class SqlServer2005 extends SqlServer2000 {
 		return true;
 	}
 
+	/**
+	 * sys.tables.modify_dateはALTER文で更新されます。
+	 */
+	@Override
+	public boolean supportsTableLastAlteredAtByDdl() {
+		return true;
+	}
+
 	@Override
 	public int hashCode() {
 		return super.hashCode() + 1;
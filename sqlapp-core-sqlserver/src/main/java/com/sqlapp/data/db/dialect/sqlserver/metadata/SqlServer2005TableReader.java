@@ -34,6 +34,7 @@ import com.sqlapp.data.parameter.ParametersContext;
 import com.sqlapp.data.schemas.Column;
 import com.sqlapp.data.schemas.ProductVersionInfo;
 import com.sqlapp.data.schemas.ReferenceColumn;
+import com.sqlapp.data.schemas.Statistics;
 import com.sqlapp.data.schemas.Table;
 import com.sqlapp.data.schemas.TableSpace;
 import com.sqlapp.jdbc.ExResultSet;
@@ -158,6 +159,7 @@ public class SqlServer2005TableReader extends SqlServer2000TableReader {
 			table.setTableSpace((TableSpace)null);
 		}
 		setSpecifics(rs, "large_value_types_out_of_row", table);
+		Statistics.ROWS.setValue(rs, "row_count", table);
 		Boolean bool=Converters.getDefault().convertObject(rs.getObject("has_var_decimal"), Boolean.class);
 		if (bool!=null&&bool.booleanValue()) {
 			table.getSpecifics().put("has_var_decimal", bool);
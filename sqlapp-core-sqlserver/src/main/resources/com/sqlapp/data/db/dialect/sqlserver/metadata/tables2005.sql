@@ -12,6 +12,7 @@ SELECT
 	, idxs.name AS file_group_name
 	, COALESCE(lobs.Name,'') AS lob_file_group_name
 	, CAST(ex.value AS NVARCHAR(4000)) AS remarks
+	, (SELECT SUM(pr.rows) FROM sys.partitions pr WHERE pr.object_id = t.object_id AND pr.index_id < 2) AS row_count
 	, ps.name AS partition_scheme
 FROM sys.tables t
 INNER JOIN sys.schemas s
@@ -18,6 +18,7 @@ SELECT
 	, COALESCE(ctt.is_track_columns_updated_on,0) AS is_track_columns_updated_on
 	, COALESCE(ctt.object_id,0) AS has_change_tracking
 	, CAST(ex.value AS NVARCHAR(4000)) AS remarks
+	, (SELECT SUM(pr.rows) FROM sys.partitions pr WHERE pr.object_id = t.object_id AND pr.index_id < 2) AS row_count
 	, ps.name AS partition_scheme
 	, t.is_filetable
 FROM sys.tables T
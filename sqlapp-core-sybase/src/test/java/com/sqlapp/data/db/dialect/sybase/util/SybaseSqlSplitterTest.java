@@ -20,7 +20,12 @@
 package com.sqlapp.data.db.dialect.sybase.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -28,9 +33,12 @@ import org.junit.jupiter.api.Test;
 import com.sqlapp.data.db.dialect.Dialect;
 import com.sqlapp.data.db.dialect.DialectUtils;
 import com.sqlapp.data.db.dialect.sybase.Sybase;
+import com.sqlapp.data.db.dialect.util.BatchSqlSplitter;
 import com.sqlapp.data.db.dialect.util.SqlSplitter;
 import com.sqlapp.data.db.dialect.util.SqlSplitter.SplitResult;
+import com.sqlapp.exceptions.SqlParseException;
 import com.sqlapp.test.AbstractTest;
+import com.sqlapp.util.CommonUtils;
 
 public class SybaseSqlSplitterTest extends AbstractTest{
 	Dialect dialect=DialectUtils.getInstance(Sybase.class);
@@ -45,4 +53,70 @@ public class SybaseSqlSplitterTest extends AbstractTest{
 		assertEquals("/* Create Tables */", splits.get(i++).getText());
 	}
 
+	@Test
+	public void testSplitReader() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 30; i++) {
+			builder.append("INSERT INTO AAA VALUES (").append(i).append(",\r\n 'a;b');\r\n");
+		}
+		builder.append("GO\r\n");
+		// GOで繰り返す文が複数の読み込みにまたがる
+		for (int i = 0; i < 10; i++) {
+			builder.append("UPDATE AAA SET B=").append(i).append(";\r\n");
+		}
+		builder.append("UPDATE AAA SET C=1\r\nGO 3\r\n");
+		builder.append("DELETE FROM AAA;\r\n");
+		final SqlSplitter sqlSplitter = dialect.createSqlSplitter();
+		final List<SplitResult> expected = sqlSplitter.parse(builder.toString());
+		// GOまでが1つの文になる
+		assertEquals(5, expected.size());
+		sqlSplitter.setChunkSize(40);
+		final int[] readSize = new int[1];
+		final List<Integer> readSizes = CommonUtils.list();
+		final List<SplitResult> list = CommonUtils.list();
+		sqlSplitter.parse(new BufferedReader(new StringReader(builder.toString()), 16) {
+			@Override
+			public int read(final char[] cbuf, final int off, final int len) throws IOException {
+				final int size = super.read(cbuf, off, len);
+				readSize[0] += Math.max(size, 0);
+				return size;
+			}
+
+			@Override
+			public int read() throws IOException {
+				final int c = super.read();
+				readSize[0] += c < 0 ? 0 : 1;
+				return c;
+			}
+		}, s -> {
+			readSizes.add(readSize[0]);
+			list.add(s);
+		});
+		assertEquals(expected.size(), list.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).toString(), list.get(i).toString());
+		}
+		assertEquals("UPDATE AAA SET B=0;\nUPDATE AAA SET B=1;", list.get(3).getText().substring(0, 39));
+		assertEquals("DELETE FROM AAA", list.get(4).getText());
+		// 全て読み込む前に分割した文を返す
+		assertTrue(readSizes.get(0) < builder.length());
+	}
+
+	@Test
+	public void testMaxBatchSize() throws IOException {
+		final String text = "/* c1 */\r\nUPDATE AAA SET B=1\r\nGO 2\r\nDELETE FROM AAA;\r\n";
+		final BatchSqlSplitter sqlSplitter = (BatchSqlSplitter) dialect.createSqlSplitter();
+		assertEquals(5, sqlSplitter.parse(text).size());
+		sqlSplitter.setMaxBatchSize(1);
+		// GOで繰り返さない場合は保持する文数を超えても分割できる
+		assertEquals(3, sqlSplitter.parse(text.replace("GO 2", "GO")).size());
+		// GOで繰り返す文が保持する文数を超える場合はエラー
+		SqlParseException e = assertThrows(SqlParseException.class, () -> sqlSplitter.parse(text));
+		assertTrue(e.getMessage().contains("maxBatchSize=1"), e.getMessage());
+		sqlSplitter.setChunkSize(10);
+		e = assertThrows(SqlParseException.class, () -> sqlSplitter.parse(new StringReader(text), s -> {
+		}));
+		assertTrue(e.getMessage().contains("maxBatchSize=1"), e.getMessage());
+	}
+
 }
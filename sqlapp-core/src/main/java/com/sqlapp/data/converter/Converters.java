@@ -19,8 +19,6 @@
 
 package com.sqlapp.data.converter;
 
-import static com.sqlapp.util.CommonUtils.map;
-
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -37,10 +35,11 @@ import java.time.chrono.JapaneseDate;
 import java.time.chrono.JapaneseEra;
 import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
 
@@ -69,7 +68,6 @@ import com.sqlapp.data.interval.IntervalSecond;
 import com.sqlapp.data.interval.IntervalYear;
 import com.sqlapp.data.interval.IntervalYearToDay;
 import com.sqlapp.data.interval.IntervalYearToMonth;
-import com.sqlapp.util.CommonUtils;
 
 /**
  * 
@@ -83,7 +81,18 @@ public class Converters implements Serializable {
 	 */
 	private static final long serialVersionUID = -7044716555455402735L;
 
-	private Map<Class<?>, Converter<?>> converterMap = map();
+	/**
+	 * 登録されたコンバーター(変更時は複製して差し替えます)
+	 */
+	private volatile Map<Class<?>, Converter<?>> converterMap = Collections.emptyMap();
+	/**
+	 * クラス毎のコンバーターのキャッシュ
+	 */
+	private transient volatile ConverterCache converterCache;
+	/**
+	 * 初期化中はconverterMapを直接変更します
+	 */
+	private transient boolean initializing = false;
 
 	private static final Converters DEFAULT_CONVERTER = new Converters();
 	/**
@@ -98,7 +107,15 @@ public class Converters implements Serializable {
 	 * コンストラクタ
 	 */
 	public Converters() {
-		initialize(this);
+		final Map<Class<?>, Converter<?>> map = new LinkedHashMap<Class<?>, Converter<?>>();
+		this.converterMap = map;
+		this.initializing = true;
+		try {
+			initialize(this);
+		} finally {
+			this.initializing = false;
+		}
+		this.converterMap = Collections.unmodifiableMap(map);
 	}
 
 	protected void initialize(final Converters converters) {
@@ -724,61 +741,75 @@ public class Converters implements Serializable {
 		return (S) converter;
 	}
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@SuppressWarnings({ "unchecked" })
 	protected <S extends Converter<T>, T> S getConverterInternal(final Class<T> clazz) {
-		Converter<?> converter = converterMap.get(clazz);
-		if (converter == null) {
-			if (clazz.isArray()) {
-				final Class<?> componentType = clazz.getComponentType();
-				if (componentType.isEnum()) {
-					final EnumConverter enumConverter = new EnumConverter(
-							componentType);
-					enumConverter.setEmptyToNull(this.isEnumEmptyToNull());
-					final EnumArrayConverter arrayConverter = new EnumArrayConverter(
-							clazz, enumConverter);
-					this.put(clazz, arrayConverter);
-					return (S) arrayConverter;
-				}
-			} else if (clazz.isEnum()) {
-				final EnumConverter enumConverter = new EnumConverter(clazz);
+		if (initializing) {
+			return (S) resolveConverter(converterMap, clazz);
+		}
+		return (S) getConverterCache().get(clazz);
+	}
+
+	private ConverterCache getConverterCache() {
+		final Map<Class<?>, Converter<?>> converterMap = this.converterMap;
+		ConverterCache cache = this.converterCache;
+		if (cache == null || cache.converterMap != converterMap) {
+			cache = new ConverterCache(converterMap);
+			this.converterCache = cache;
+		}
+		return cache;
+	}
+
+	/**
+	 * クラスに対応するコンバーターを検索します。検索結果はConverterCacheに保持されるため、クラス毎に1回のみ呼び出されます。
+	 * 
+	 * @param converterMap
+	 * @param clazz
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Converter<?> resolveConverter(final Map<Class<?>, Converter<?>> converterMap, final Class<?> clazz) {
+		final Converter<?> converter = converterMap.get(clazz);
+		if (converter != null) {
+			return converter;
+		}
+		if (clazz.isArray()) {
+			final Class<?> componentType = clazz.getComponentType();
+			if (componentType.isEnum()) {
+				final EnumConverter enumConverter = new EnumConverter(
+						componentType);
 				enumConverter.setEmptyToNull(this.isEnumEmptyToNull());
-				this.put(clazz, enumConverter);
-				return (S) enumConverter;
-			} else {
-				converter = findConverter(clazz);
+				return new EnumArrayConverter(clazz, enumConverter);
 			}
+			return findConverter(clazz);
+		} else if (clazz.isEnum()) {
+			final EnumConverter enumConverter = new EnumConverter(clazz);
+			enumConverter.setEmptyToNull(this.isEnumEmptyToNull());
+			return enumConverter;
 		}
-		return (S) converter;
+		return findConverter(clazz);
 	}
 
-	private final Set<Class<?>> unsupportedClasses = CommonUtils.set();
-
 	@SuppressWarnings("unchecked")
 	protected <T> Converter<T> findConverter(final Class<T> clazz) {
-		Converter<T> converter = null;
-		if (unsupportedClasses.contains(clazz)) {
-			return null;
-		}
 		for (final Map.Entry<Class<?>, Converter<?>> entry : converterMap.entrySet()) {
 			if (entry.getKey().isAssignableFrom(clazz)) {
-				converter = (Converter<T>) entry.getValue();
-				break;
+				return (Converter<T>) entry.getValue();
 			}
 		}
-		if (converter != null) {
-			converterMap.put(clazz, converter);
-		} else {
-			unsupportedClasses.add(clazz);
-		}
-		return converter;
+		return null;
 	}
 
+	/**
+	 * 登録されたコンバーターを取得します。
+	 * 返されるマップは変更できません。コンバーターの登録にはput、setConverterMapを使用してください。
+	 * 
+	 * @return 変更できないマップ
+	 */
 	public Map<Class<?>, Converter<?>> getConverterMap() {
 		return converterMap;
 	}
 
-	public void setConverterMap(final Map<Class<?>, Converter<?>> converterMap) {
-		this.converterMap = converterMap;
+	public synchronized void setConverterMap(final Map<Class<?>, Converter<?>> converterMap) {
+		this.converterMap = Collections.unmodifiableMap(new LinkedHashMap<Class<?>, Converter<?>>(converterMap));
 	}
 
 	/**
@@ -787,15 +818,22 @@ public class Converters implements Serializable {
 	 * @param converter
 	 */
 	public Converters put(final Class<?> clazz, final Converter<?> converter) {
-		getConverterMap().put(clazz, converter);
-		unsupportedClasses.remove(clazz);
+		puts(converter, clazz);
 		return this;
 	}
 
-	private void puts(final Converter<?> converter, final Class<?>... clazzs) {
+	private synchronized void puts(final Converter<?> converter, final Class<?>... clazzs) {
+		if (initializing) {
+			for (final Class<?> clazz : clazzs) {
+				this.converterMap.put(clazz, converter);
+			}
+			return;
+		}
+		final Map<Class<?>, Converter<?>> map = new LinkedHashMap<Class<?>, Converter<?>>(this.converterMap);
 		for (final Class<?> clazz : clazzs) {
-			put(clazz, converter);
+			map.put(clazz, converter);
 		}
+		this.converterMap = Collections.unmodifiableMap(map);
 	}
 
 	/**
@@ -812,6 +850,22 @@ public class Converters implements Serializable {
 		return this;
 	}
 
+	/**
+	 * 登録されたコンバーターのスナップショット毎のクラス別キャッシュ
+	 */
+	private final class ConverterCache extends ClassValue<Converter<?>> {
+		private final Map<Class<?>, Converter<?>> converterMap;
+
+		ConverterCache(final Map<Class<?>, Converter<?>> converterMap) {
+			this.converterMap = converterMap;
+		}
+
+		@Override
+		protected Converter<?> computeValue(final Class<?> type) {
+			return resolveConverter(converterMap, type);
+		}
+	}
+
 	public static Converters getDefault() {
 		return DEFAULT_CONVERTER;
 	}
@@ -155,6 +155,13 @@ public class DefaultJdbcTypeHandler implements Serializable, JdbcTypeHandler {
 		return this;
 	}
 
+	/**
+	 * @return the resultSetconverter
+	 */
+	public Converter<?> getResultSetconverter() {
+		return resultSetconverter;
+	}
+
 	/**
 	 * @param resultSetconverter
 	 *            the resultSetconverter to set
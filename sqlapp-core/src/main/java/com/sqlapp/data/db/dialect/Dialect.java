@@ -690,6 +690,13 @@ public class Dialect implements Serializable, Comparable<Dialect> {
 		return false;
 	}
 
+	/**
+	 * テーブルの最終更新日時(lastAlteredAt)がDDLによる変更を表すか
+	 */
+	public boolean supportsTableLastAlteredAtByDdl() {
+		return false;
+	}
+
 	/**
 	 * DBカタログのサポート
 	 */
@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.db.dialect.util;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.sqlapp.data.db.dialect.Dialect;
+import com.sqlapp.exceptions.SqlParseException;
+import com.sqlapp.util.CommonUtils;
+
+/**
+ * GOでバッチを区切るDB(SQL Server、Sybase)のSql Splitter
+ *
+ * Readerから読み込む場合、GO nで繰り返すためにGO以降の文をmaxBatchSizeまで次の解析に引き継ぎます。
+ * maxBatchSizeを超えたバッチをGO nで繰り返す場合はSqlParseExceptionをスローします。
+ *
+ * @author tatsuo satoh
+ *
+ */
+public class BatchSqlSplitter extends SqlSplitter{
+
+	private static final Pattern GO_PATTERN=Pattern.compile("GO\\s*(?<itr>[0-9]+)?\\s*", Pattern.CASE_INSENSITIVE);
+
+	private Integer itrCount=null;
+
+	private boolean go=false;
+	/**
+	 * 直前のGO以降の文が前回の解析から引き継いだ文から始まるか
+	 */
+	private boolean continued=true;
+	/**
+	 * 直前のGOの位置
+	 */
+	private int previousGoPosition=0;
+	/**
+	 * 前回の解析から引き継いだGO以降の文。maxBatchSizeを超えた文は保持しません。
+	 */
+	private final List<SplitResult> resumeStatements=CommonUtils.list();
+	/**
+	 * 前回の解析から引き継いだGO以降の文数
+	 */
+	private int resumeSize=0;
+	/**
+	 * GO nで繰り返すために保持する最大の文数
+	 */
+	private int maxBatchSize=10000;
+
+	public BatchSqlSplitter(Dialect dialect){
+		super(dialect);
+	}
+
+	protected void handleGOIterate(StringHolder stringHolder, Integer itrCount){
+		this.itrCount=itrCount;
+		this.go=true;
+	}
+
+	@Override
+	protected void addStatementAfter(){
+		if (!go){
+			return;
+		}
+		this.go=false;
+		if (itrCount!=null&&itrCount.intValue()>1){
+			final List<SplitResult> statements=getBatchStatements();
+			for(int i=0;i<itrCount-1;i++){
+				this.getStatements().addAll(statements);
+			}
+		}
+		itrCount=null;
+		continued=false;
+		previousGoPosition=this.getStatements().size();
+	}
+
+	/**
+	 * GOで繰り返す文を取得します。
+	 */
+	private List<SplitResult> getBatchStatements(){
+		final int size=this.getStatements().size();
+		final int batchSize=(continued?resumeSize:0)+size-previousGoPosition;
+		if (batchSize>this.getMaxBatchSize()){
+			throw new SqlParseException("GO "+itrCount+" batch exceeds maxBatchSize. maxBatchSize="+this.getMaxBatchSize()+", batchSize="+batchSize);
+		}
+		final List<SplitResult> result=CommonUtils.list(batchSize);
+		if (continued){
+			result.addAll(resumeStatements);
+		}
+		result.addAll(this.getStatements().subList(previousGoPosition, size));
+		return result;
+	}
+
+	@Override
+	protected void initialize(){
+		itrCount=null;
+		go=false;
+		continued=true;
+		previousGoPosition=0;
+	}
+
+	/**
+	 * GOの直後か;で終わった文の後で再開できます。文のないGOは次の文に適用するため、次の文までは再開できません。
+	 */
+	@Override
+	protected boolean isResumable(){
+		if (go){
+			return false;
+		}
+		return previousGoPosition==this.getStatements().size()||isTerminated();
+	}
+
+	/**
+	 * 再開する位置のGO以降の文の範囲を作成します。再開できる位置毎に文をコピーしないように範囲のみを保持します。
+	 */
+	@Override
+	protected Object createResumeState(){
+		return new BatchState(continued, previousGoPosition, this.getStatements().size());
+	}
+
+	/**
+	 * GO以降の文をmaxBatchSizeまで次の解析に引き継ぎます。引き継いだ文には新しく読み込んだ文のみを追加します。
+	 */
+	@Override
+	protected void setResumeState(Object state){
+		final BatchState batchState=(BatchState)state;
+		if (batchState==null||!batchState.continued){
+			resumeStatements.clear();
+			resumeSize=0;
+		}
+		if (batchState==null){
+			return;
+		}
+		for(int i=batchState.start;i<batchState.end&&resumeStatements.size()<this.getMaxBatchSize();i++){
+			resumeStatements.add(this.getStatements().get(i));
+		}
+		resumeSize+=batchState.end-batchState.start;
+	}
+
+	/**
+	 * 再開する位置のGO以降の文の範囲
+	 */
+	private static class BatchState{
+		final boolean continued;
+		final int start;
+		final int end;
+		BatchState(boolean continued, int start, int end){
+			this.continued=continued;
+			this.start=start;
+			this.end=end;
+		}
+	}
+
+	@Override
+	protected SqlTokenizer createSqlTokenizer(String input){
+		return new SqlTokenizer(input){
+
+			@Override
+			protected void handleElse(StringHolder stringHolder){
+				int pos=stringHolder.searchLineOf(GO_PATTERN, stringHolder.getPosition(), true, (i, matcher)->{
+					handleSimpleStatement(i, stringHolder);
+					stringHolder.setPosition(i+matcher.group().length()+1);
+					String val=matcher.group("itr");
+					if (!CommonUtils.isEmpty(val)){
+						Integer itrCount=Integer.valueOf(val);
+						handleGOIterate(stringHolder, itrCount);
+					} else{
+						handleGOIterate(stringHolder, null);
+					}
+					return true;
+				});
+				if (pos<0){
+					setPosition(pos);
+				}
+			}
+
+		};
+
+	}
+
+	/**
+	 * @return the maxBatchSize
+	 */
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * GO nで繰り返すために保持する最大の文数を設定します。
+	 * @param maxBatchSize the maxBatchSize to set
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		this.maxBatchSize = maxBatchSize;
+	}
+
+}
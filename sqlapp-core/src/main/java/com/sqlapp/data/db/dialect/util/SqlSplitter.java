@@ -19,11 +19,17 @@
 
 package com.sqlapp.data.db.dialect.util;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.sqlapp.data.db.dialect.Dialect;
+import com.sqlapp.exceptions.InvalidTextException;
+import com.sqlapp.exceptions.SqlParseException;
 import com.sqlapp.util.CommonUtils;
 import com.sqlapp.util.ToStringBuilder;
 /**
@@ -36,6 +42,18 @@ public class SqlSplitter {
 	private Dialect dialect;
 	
 	protected List<SplitResult> statements=null;
+	/**
+	 * 読み込みを再開できる位置
+	 */
+	private List<ResumePoint> resumePoints=null;
+	/**
+	 * 直前の文が;で終わっているか
+	 */
+	private boolean terminated=false;
+	/**
+	 * Readerから読み込む場合に一度に解析する文字数
+	 */
+	private int chunkSize=1024*1024;
 	
 	public SqlSplitter(){
 		this.dialect=null;
@@ -47,10 +65,134 @@ public class SqlSplitter {
 
 	public List<SplitResult> parse(String input) {
 		statements=CommonUtils.list();
+		terminated=false;
+		initialize();
 		parse(createSqlTokenizer(input));
 		return statements;
 	}
 
+	/**
+	 * Readerから順に読み込んで分割します。ファイル全体をメモリに読み込まないため、大きなSQLファイルに使用します。
+	 * 
+	 * chunkSize毎に読み込んだテキストを解析し、最後の文は次に読み込んだテキストと合わせて再度解析します。
+ * 再開できる位置がない場合は読み込む文字数を倍に増やすため、長い文でも再解析する文字数は文の長さに比例します。
+	 * デリミタを変更している間は区切らずに読み込みを続けます。GOで繰り返す文は{@link BatchSqlSplitter}が次の解析に引き継ぎます。
+	 * 
+	 * @param reader
+	 * @param consumer 分割した文を受け取る処理
+	 * @throws IOException
+	 */
+	public void parse(Reader reader, Consumer<SplitResult> consumer) throws IOException {
+		final BufferedReader bufferedReader=reader instanceof BufferedReader?(BufferedReader)reader:new BufferedReader(reader);
+		final StringBuilder buffer=new StringBuilder();
+		setResumeState(null);
+		try{
+			parseChunks(bufferedReader, buffer, consumer);
+		} finally{
+			setResumeState(null);
+		}
+	}
+
+	private void parseChunks(BufferedReader reader, StringBuilder buffer, Consumer<SplitResult> consumer) throws IOException {
+		int readSize=this.getChunkSize();
+		while(true){
+			final boolean eof=!readLines(reader, buffer, readSize);
+			if (eof){
+				resumePoints=null;
+				for(SplitResult splitResult:parse(buffer.toString())){
+					consumer.accept(splitResult);
+				}
+				return;
+			}
+			final String text=buffer.toString();
+			final List<ResumePoint> points=CommonUtils.list();
+			List<SplitResult> results=null;
+			ResumePoint resumePoint=null;
+			resumePoints=points;
+			try{
+				results=parse(text);
+				resumePoint=getLastResumePoint(points, results.size());
+			} catch(InvalidTextException e){
+				// 文字列やコメントの終わりがまだ読み込まれていない
+			} catch(SqlParseException e){
+				// 最後の文が途中のため誤って解析している可能性があるため、続きを読み込んで再度解析する
+			} finally{
+				resumePoints=null;
+			}
+			if (resumePoint==null){
+				// 長い文で再解析を繰り返さないように、次は読み込み済みの文字数分を読み込む
+				readSize=Math.max(this.getChunkSize(), buffer.length());
+				continue;
+			}
+			for(int i=0;i<resumePoint.count;i++){
+				consumer.accept(results.get(i));
+			}
+			setResumeState(resumePoint.state);
+			buffer.setLength(0);
+			buffer.append(text, toTextPosition(text, resumePoint.position), text.length());
+			readSize=this.getChunkSize();
+		}
+	}
+
+	/**
+	 * readSize分の文字を読み込み、行の途中で区切らないように改行まで読み込みます。改行文字は変換しません。
+	 */
+	private boolean readLines(BufferedReader reader, StringBuilder buffer, int readSize) throws IOException {
+		final int size=(int)Math.min(Integer.MAX_VALUE-8, (long)buffer.length()+readSize);
+		final char[] chars=new char[Math.min(8192, Math.max(1, readSize))];
+		while(buffer.length()<size){
+			final int len=reader.read(chars, 0, Math.min(chars.length, size-buffer.length()));
+			if (len<0){
+				return false;
+			}
+			buffer.append(chars, 0, len);
+		}
+		int c;
+		while((c=reader.read())>=0){
+			buffer.append((char)c);
+			if (c=='\n'){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 解析時の位置を読み込んだテキストの位置に変換します。解析時は\rを除いているため、\rの数だけ位置がずれます。
+	 */
+	private static int toTextPosition(String text, int position){
+		int count=0;
+		for(int i=0;i<text.length();i++){
+			if (count>=position){
+				return i;
+			}
+			if (text.charAt(i)!='\r'){
+				count++;
+			}
+		}
+		return text.length();
+	}
+
+	/**
+	 * 最後の文の前の再開できる位置を返します。
+	 */
+	private ResumePoint getLastResumePoint(List<ResumePoint> points, int size){
+		for(int i=points.size()-1;i>=0;i--){
+			final ResumePoint point=points.get(i);
+			if (point.count>0&&point.count<size){
+				return point;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 解析の開始前に状態を初期化します。
+	 */
+	protected void initialize(){
+		
+	}
+
 	/**
 	 * @return the statements
 	 */
@@ -63,7 +205,11 @@ public class SqlSplitter {
 	}
 	
 	protected void parse(SqlTokenizer sqlTokenizer) {
-		while(sqlTokenizer.hasNext()) {
+		while(true) {
+			addResumePoint(sqlTokenizer);
+			if (!sqlTokenizer.hasNext()){
+				break;
+			}
 			String line=getResult(sqlTokenizer);
 			if (CommonUtils.isEmpty(line)){
 				continue;
@@ -77,6 +223,46 @@ public class SqlSplitter {
 	protected void addStatementAfter(){
 		
 	}
+
+	private void addResumePoint(SqlTokenizer sqlTokenizer){
+		if (resumePoints==null||!isResumable()){
+			return;
+		}
+		if (!CommonUtils.eq(sqlTokenizer.getCurrentDelimiter(), sqlTokenizer.getDelimiter())){
+			return;
+		}
+		resumePoints.add(new ResumePoint(getStatements().size(), sqlTokenizer.stringHolder.getPosition(), createResumeState()));
+	}
+
+	/**
+	 * 現在の位置から新しいテキストとして解析を再開できるかを返します。
+	 */
+	protected boolean isResumable(){
+		return true;
+	}
+
+	/**
+	 * 再開した解析に引き継ぐ現在の状態を作成します。
+	 */
+	protected Object createResumeState(){
+		return null;
+	}
+
+	/**
+	 * 次の解析に引き継ぐ状態を設定します。再開しない場合はnullを設定します。
+	 * 
+	 * @param state {@link #createResumeState()}で作成した状態
+	 */
+	protected void setResumeState(Object state){
+		
+	}
+
+	/**
+	 * @return 直前の文が;で終わっている場合true
+	 */
+	protected boolean isTerminated(){
+		return terminated;
+	}
 	
 	protected TextType getTextType(boolean isComment, String sql){
 		if (isComment){
@@ -94,7 +280,8 @@ public class SqlSplitter {
 		}
 		String val=CommonUtils.rtrim(line);
 		Matcher matcher=TERMINATE_PATTERN.matcher(val);
-		if (matcher.matches()){
+		terminated=matcher.matches();
+		if (terminated){
 			return matcher.group(1);
 		}
 		return val;
@@ -102,6 +289,29 @@ public class SqlSplitter {
 	
 	
 	
+	/**
+	 * 読み込みを再開できる位置
+	 */
+	private static class ResumePoint{
+		/**
+		 * 位置までの文の数
+		 */
+		final int count;
+		/**
+		 * 文字の位置
+		 */
+		final int position;
+		/**
+		 * 再開した解析に引き継ぐ状態
+		 */
+		final Object state;
+		ResumePoint(int count, int position, Object state){
+			this.count=count;
+			this.position=position;
+			this.state=state;
+		}
+	}
+	
 	public static class SplitResult{
 		public SplitResult(TextType textType, String text){
 			this.textType=textType;
@@ -151,6 +361,20 @@ public class SqlSplitter {
 		return dialect;
 	}
 
+	/**
+	 * @return the chunkSize
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * @param chunkSize the chunkSize to set
+	 */
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
 
 	public static enum TextType{
 		COMMENT(){
@@ -77,6 +77,16 @@ public abstract class AbstractSchemaObjectReader<T extends AbstractSchemaObject<
 	@Override
 	public void loadFull(Connection connection, Schema schema) {
 		List<T> list=getAllFull(connection);
+		addAll(schema, list);
+	}
+
+	/**
+	 * 読み込んだオブジェクトをスキーマに追加します。
+	 * 
+	 * @param schema
+	 * @param list
+	 */
+	void addAll(Schema schema, List<T> list) {
 		int size=list.size();
 		AbstractSchemaObjectCollection<T> c=getSchemaObjectList(schema);
 		for(int i=0;i<size;i++){
@@ -29,6 +29,7 @@ import com.sqlapp.data.schemas.Catalog;
 import com.sqlapp.data.schemas.CatalogCollection;
 import com.sqlapp.data.schemas.ProductVersionInfo;
 import com.sqlapp.data.schemas.properties.ProductProperties;
+import com.sqlapp.jdbc.ConnectionHandler;
 import com.sqlapp.util.DbUtils;
 
 /**
@@ -40,6 +41,11 @@ import com.sqlapp.util.DbUtils;
 public abstract class CatalogReader extends
 		MetadataReader<Catalog, CatalogCollection> {
 
+	/**
+	 * スキーマ読み込みクラスに設定するConnectionHandler
+	 */
+	private ConnectionHandler connectionHandler;
+
 	protected CatalogReader(Dialect dialect) {
 		super(dialect);
 		this.setReadDbObjectPredicate((r,o)->true);
@@ -175,9 +181,27 @@ public abstract class CatalogReader extends
 	public SchemaReader getSchemaReader() {
 		SchemaReader reader = newSchemaReader();
 		setReaderParameter(reader);
+		reader.setConnectionHandler(this.getConnectionHandler());
 		return reader;
 	}
 
+	/**
+	 * @return the connectionHandler
+	 */
+	public ConnectionHandler getConnectionHandler() {
+		return connectionHandler;
+	}
+
+	/**
+	 * スキーマ読み込みクラスに設定します。ReaderOptionsのparallelismが1より大きい場合、スキーマ内のオブジェクトを並列に読み込みます。
+	 * 
+	 * @param connectionHandler
+	 *            the connectionHandler to set
+	 */
+	public void setConnectionHandler(ConnectionHandler connectionHandler) {
+		this.connectionHandler = connectionHandler;
+	}
+
 	protected abstract SchemaReader newSchemaReader();
 
 	/**
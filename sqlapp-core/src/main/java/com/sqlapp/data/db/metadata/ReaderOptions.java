@@ -55,4 +55,8 @@ public class ReaderOptions extends AbstractBean implements Serializable{
 	 * Systemオブジェクトを除外するかを決める
 	 */
 	private boolean excludeSystemObjects=false;
+	/**
+	 * スキーマ内のオブジェクトを並列に読み込むスレッド数
+	 */
+	private int parallelism=1;
 }
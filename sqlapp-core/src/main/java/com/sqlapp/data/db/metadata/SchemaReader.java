@@ -22,9 +22,17 @@ package com.sqlapp.data.db.metadata;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import com.sqlapp.data.db.dialect.Dialect;
 import com.sqlapp.data.parameter.ParametersContext;
+import com.sqlapp.data.schemas.AbstractSchemaObject;
 import com.sqlapp.data.schemas.Catalog;
 import com.sqlapp.data.schemas.Schema;
 import com.sqlapp.data.schemas.SchemaCollection;
@@ -33,6 +41,8 @@ import com.sqlapp.data.schemas.SchemaProperties;
 import com.sqlapp.data.schemas.SchemaUtils;
 import com.sqlapp.data.schemas.Setting;
 import com.sqlapp.data.schemas.SettingCollection;
+import com.sqlapp.jdbc.ConnectionHandler;
+import com.sqlapp.util.CommonUtils;
 
 /**
  * スキーマ読み込み
@@ -43,7 +53,13 @@ import com.sqlapp.data.schemas.SettingCollection;
 public abstract class SchemaReader extends
 		AbstractCatalogNamedObjectMetadataReader<Schema> {
 
+	private static final Logger log = LogManager.getLogger(SchemaReader.class);
+
 	private String schemaName;
+	/**
+	 * 並列読み込み時に接続を取得するハンドラー
+	 */
+	private ConnectionHandler connectionHandler;
 
 	public String getSchemaName() {
 		return this.schemaName;
@@ -53,6 +69,23 @@ public abstract class SchemaReader extends
 		this.schemaName = schemaName;
 	}
 
+	/**
+	 * @return the connectionHandler
+	 */
+	public ConnectionHandler getConnectionHandler() {
+		return connectionHandler;
+	}
+
+	/**
+	 * ReaderOptionsのparallelismが1より大きい場合、loadFullはこのハンドラーから取得した接続で並列に読み込みます。
+	 * 
+	 * @param connectionHandler
+	 *            the connectionHandler to set
+	 */
+	public void setConnectionHandler(ConnectionHandler connectionHandler) {
+		this.connectionHandler = connectionHandler;
+	}
+
 	protected SchemaReader(Dialect dialect) {
 		super(dialect);
 	}
@@ -80,34 +113,110 @@ public abstract class SchemaReader extends
 		schema.setDialect(this.getDialect());
 		CatalogReader.setProductInfo(connection, this.getDialect(), schema);
 		setSchemaBefore(connection, schema);
-		loadFull(connection, getDomainReader(), schema);
-		loadFull(connection, getTypeReader(), schema);
-		loadFull(connection, getTypeBodyReader(), schema);
-		loadFull(connection, getTableReader(), schema);
-		loadFull(connection, getViewReader(), schema);
-		loadFull(connection, getMviewReader(), schema);
-		loadFull(connection, getMviewLogReader(), schema);
-		loadFull(connection, getMaskReader(), schema);
-		loadFull(connection, getSequenceReader(), schema);
-		loadFull(connection, getTriggerReader(), schema);
-		loadFull(connection, getDbLinkReader(), schema);
-		loadFull(connection, getRuleReader(), schema);
-		loadFull(connection, getTableLinkReader(), schema);
-		loadFull(connection, getFunctionReader(), schema);
-		loadFull(connection, getProcedureReader(), schema);
-		loadFull(connection, getPackageReader(), schema);
-		loadFull(connection, getPackageBodyReader(), schema);
-		loadFull(connection, getConstantReader(), schema);
-		loadFull(connection, getXmlSchemaReader(), schema);
-		loadFull(connection, getOperatorReader(), schema);
-		loadFull(connection, getOperatorClassReader(), schema);
-		loadFull(connection, getExternalTableReader(), schema);
-		loadFull(connection, getEventReader(), schema);
-		loadFull(connection, getDimensionReader(), schema);
-		loadFull(connection, getSynonymReader(), schema);
+		if (isConcurrent()) {
+			loadFullConcurrent(getFullReaders(), schema);
+		} else {
+			for (AbstractSchemaObjectReader<?> reader : getFullReaders()) {
+				loadFull(connection, reader, schema);
+			}
+		}
 		setSchemaAfter(connection, schema);
 		SchemaUtils.validate(schema);
 	}
+
+	/**
+	 * loadFullで使用する読み込みクラスを読み込み順に取得します。
+	 */
+	protected List<AbstractSchemaObjectReader<?>> getFullReaders() {
+		List<AbstractSchemaObjectReader<?>> readers = CommonUtils.list();
+		readers.add(getDomainReader());
+		readers.add(getTypeReader());
+		readers.add(getTypeBodyReader());
+		readers.add(getTableReader());
+		readers.add(getViewReader());
+		readers.add(getMviewReader());
+		readers.add(getMviewLogReader());
+		readers.add(getMaskReader());
+		readers.add(getSequenceReader());
+		readers.add(getTriggerReader());
+		readers.add(getDbLinkReader());
+		readers.add(getRuleReader());
+		readers.add(getTableLinkReader());
+		readers.add(getFunctionReader());
+		readers.add(getProcedureReader());
+		readers.add(getPackageReader());
+		readers.add(getPackageBodyReader());
+		readers.add(getConstantReader());
+		readers.add(getXmlSchemaReader());
+		readers.add(getOperatorReader());
+		readers.add(getOperatorClassReader());
+		readers.add(getExternalTableReader());
+		readers.add(getEventReader());
+		readers.add(getDimensionReader());
+		readers.add(getSynonymReader());
+		return readers;
+	}
+
+	private boolean isConcurrent() {
+		return this.getConnectionHandler() != null
+				&& this.getReaderOptions() != null
+				&& this.getReaderOptions().getParallelism() > 1;
+	}
+
+	/**
+	 * 読み込みクラス毎に接続を取得して並列に読み込みます。スキーマへの追加は直列の場合と同じ順番で行います。
+	 * 
+	 * @param readers
+	 * @param schema
+	 */
+	private void loadFullConcurrent(List<AbstractSchemaObjectReader<?>> readers, Schema schema) {
+		ExecutorService executorService = Executors.newFixedThreadPool(Math
+				.min(this.getReaderOptions().getParallelism(), readers.size()));
+		try {
+			List<CompletableFuture<Runnable>> futures = CommonUtils.list(readers.size());
+			for (AbstractSchemaObjectReader<?> reader : readers) {
+				if (reader == null) {
+					continue;
+				}
+				reader.setCatalogName(schema.getCatalogName());
+				reader.setSchemaName(schema.getName());
+				futures.add(CompletableFuture.supplyAsync(
+						() -> readAllFull(reader, schema), executorService));
+			}
+			for (CompletableFuture<Runnable> future : futures) {
+				try {
+					future.join().run();
+				} catch (CompletionException e) {
+					if (e.getCause() instanceof RuntimeException) {
+						throw (RuntimeException) e.getCause();
+					}
+					throw e;
+				}
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private <T extends AbstractSchemaObject<? super T>> Runnable readAllFull(
+			AbstractSchemaObjectReader<T> reader, Schema schema) {
+		Connection connection = null;
+		try {
+			connection = this.getConnectionHandler().getConnection();
+			List<T> list = reader.getAllFull(connection);
+			return () -> reader.addAll(schema, list);
+		} catch (SQLException e) {
+			throw new RuntimeException(e);
+		} finally {
+			if (connection != null) {
+				try {
+					this.getConnectionHandler().releaseConnection(connection);
+				} catch (SQLException e) {
+					log.warn("releaseConnection failed. reader=" + reader.getClass().getSimpleName(), e);
+				}
+			}
+		}
+	}
 	
 	/**
 	 * スキーマ内のオブジェクトを読み込みます。
@@ -32,6 +32,7 @@ import com.sqlapp.jdbc.sql.SqlParser;
 import com.sqlapp.jdbc.sql.node.SqlNode;
 import com.sqlapp.util.CommonUtils;
 import com.sqlapp.util.FileUtils;
+import com.sqlapp.util.LruCache;
 
 public class SqlNodeCache implements Serializable {
 	/** serialVersionUID */
@@ -58,6 +59,31 @@ public class SqlNodeCache implements Serializable {
 		this.baseClass = clazz;
 	}
 
+	/**
+	 * キャッシュの最大件数を設定します。上限を超えた場合は参照されていないSQLから削除します。
+	 * 上限を設定したキャッシュは1つのロックで同期するため、並列読み込み時に競合する場合があります。
+	 * 
+	 * @param maximumSize
+	 */
+	public void setMaximumSize(final int maximumSize) {
+		this.sqlMap = new LruCache<String, SqlNode>(maximumSize);
+	}
+
+	/**
+	 * @return the sqlMap
+	 */
+	public ConcurrentMap<String, SqlNode> getSqlMap() {
+		return sqlMap;
+	}
+
+	/**
+	 * @param sqlMap
+	 *            the sqlMap to set
+	 */
+	public void setSqlMap(final ConcurrentMap<String, SqlNode> sqlMap) {
+		this.sqlMap = sqlMap;
+	}
+
 	public SqlNode getString(String sqlFile) {
 		SqlNode node = sqlMap.get(sqlFile);
 		if (node != null) {
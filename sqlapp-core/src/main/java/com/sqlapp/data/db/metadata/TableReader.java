@@ -23,8 +23,13 @@ import static com.sqlapp.util.CommonUtils.isEmpty;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.sqlapp.data.db.dialect.Dialect;
 import com.sqlapp.data.parameter.ParametersContext;
@@ -38,6 +43,7 @@ import com.sqlapp.data.schemas.SchemaObjectProperties;
 import com.sqlapp.data.schemas.SchemaProperties;
 import com.sqlapp.data.schemas.Table;
 import com.sqlapp.data.schemas.UniqueConstraint;
+import com.sqlapp.jdbc.ConnectionHandler;
 import com.sqlapp.util.CommonUtils;
 import com.sqlapp.util.TripleKeyMap;
 
@@ -58,6 +64,29 @@ public abstract class TableReader extends AbstractSchemaObjectReader<Table> {
 		return SchemaObjectProperties.TABLES;
 	}
 
+	/**
+	 * 指定した名前のテーブルのメタデータをまとめて取得します。
+	 * テーブル名はIN句の条件として1回の検索で読み込みます。
+	 * 
+	 * @param connection
+	 * @param tableNames テーブル名
+	 */
+	public List<Table> getAllFull(Connection connection, Collection<String> tableNames) {
+		ParametersContext context = defaultParametersContext(connection);
+		if (!isEmpty(tableNames)){
+			Set<String> names=CommonUtils.treeSet();
+			for(String tableName:tableNames){
+				if (tableName!=null){
+					names.add(nativeCaseString(connection, tableName));
+				}
+			}
+			if (!names.isEmpty()){
+				context.put(getNameLabel(), names);
+			}
+		}
+		return getAllFull(connection, context);
+	}
+
 	/**
 	 * メタデータの詳細情報を設定するためのメソッドです。子クラスでのオーバーライドを想定しています。
 	 * 
@@ -71,6 +100,10 @@ public abstract class TableReader extends AbstractSchemaObjectReader<Table> {
 			return;
 		}
 		setFilter(tableList, context);
+		if (isConcurrent()) {
+			setMetadataDetailConcurrent(connection, context, tableList);
+			return;
+		}
 		TripleKeyMap<String, String, String, List<Column>> columnMap = getTableObjectKeyMap(
 				connection, context, getColumnReader());
 		TripleKeyMap<String, String, String, List<Index>> indexMap = getTableObjectKeyMap(
@@ -83,6 +116,101 @@ public abstract class TableReader extends AbstractSchemaObjectReader<Table> {
 				connection, context, getCheckConstraintReader());
 		TripleKeyMap<String, String, String, List<ForeignKeyConstraint>> fcMap = getTableObjectKeyMap(
 				connection, context, getForeignKeyConstraintReader());
+		addTableObjects(tableList, columnMap, indexMap, ucMap, ecMap, ccMap, fcMap);
+	}
+
+	/**
+	 * カラム、インデックス、制約の読み込みを接続毎に並列に行います。
+	 * カラムは呼び出し元の接続で読み込み、テーブルへの追加は直列の場合と同じ順番で行います。
+	 * 
+	 * @param connection
+	 * @param context
+	 * @param tableList
+	 */
+	private void setMetadataDetailConcurrent(Connection connection,
+			ParametersContext context, List<Table> tableList) {
+		ExecutorService executorService = Executors.newFixedThreadPool(Math
+				.min(this.getReaderOptions().getParallelism(), 5));
+		try {
+			CompletableFuture<TripleKeyMap<String, String, String, List<Index>>> indexMap = getTableObjectKeyMapAsync(
+					context, getIndexReader(), executorService);
+			CompletableFuture<TripleKeyMap<String, String, String, List<UniqueConstraint>>> ucMap = getTableObjectKeyMapAsync(
+					context, getUniqueConstraintReader(), executorService);
+			CompletableFuture<TripleKeyMap<String, String, String, List<ExcludeConstraint>>> ecMap = getTableObjectKeyMapAsync(
+					context, getExcludeConstraintReader(), executorService);
+			CompletableFuture<TripleKeyMap<String, String, String, List<CheckConstraint>>> ccMap = getTableObjectKeyMapAsync(
+					context, getCheckConstraintReader(), executorService);
+			CompletableFuture<TripleKeyMap<String, String, String, List<ForeignKeyConstraint>>> fcMap = getTableObjectKeyMapAsync(
+					context, getForeignKeyConstraintReader(), executorService);
+			TripleKeyMap<String, String, String, List<Column>> columnMap = getTableObjectKeyMap(
+					connection, context, getColumnReader());
+			addTableObjects(tableList, columnMap, join(indexMap), join(ucMap), join(ecMap), join(ccMap), join(fcMap));
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	private <T extends AbstractSchemaObject<? super T>> CompletableFuture<TripleKeyMap<String, String, String, List<T>>> getTableObjectKeyMapAsync(
+			ParametersContext context, TableObjectReader<T> reader, ExecutorService executorService) {
+		if (reader == null) {
+			return CompletableFuture.completedFuture(new TripleKeyMap<String, String, String, List<T>>());
+		}
+		ParametersContext readerContext = context.clone();
+		ConnectionHandler connectionHandler = getConnectionHandler();
+		return CompletableFuture.supplyAsync(() -> {
+			Connection connection = null;
+			try {
+				connection = connectionHandler.getConnection();
+				return getTableObjectKeyMap(connection, readerContext, reader);
+			} catch (SQLException e) {
+				throw new RuntimeException(e);
+			} finally {
+				if (connection != null) {
+					try {
+						connectionHandler.releaseConnection(connection);
+					} catch (SQLException e) {
+						logger.warn("releaseConnection failed. reader=" + reader.getClass().getSimpleName(), e);
+					}
+				}
+			}
+		}, executorService);
+	}
+
+	private <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * SchemaReaderに並列読み込み用のConnectionHandlerが設定されている場合、そのハンドラーを返します。
+	 */
+	protected ConnectionHandler getConnectionHandler() {
+		SchemaReader schemaReader = getAncestor(SchemaReader.class);
+		if (schemaReader == null) {
+			return null;
+		}
+		return schemaReader.getConnectionHandler();
+	}
+
+	private boolean isConcurrent() {
+		return this.getConnectionHandler() != null
+				&& this.getReaderOptions() != null
+				&& this.getReaderOptions().getParallelism() > 1;
+	}
+
+	private void addTableObjects(List<Table> tableList,
+			TripleKeyMap<String, String, String, List<Column>> columnMap,
+			TripleKeyMap<String, String, String, List<Index>> indexMap,
+			TripleKeyMap<String, String, String, List<UniqueConstraint>> ucMap,
+			TripleKeyMap<String, String, String, List<ExcludeConstraint>> ecMap,
+			TripleKeyMap<String, String, String, List<CheckConstraint>> ccMap,
+			TripleKeyMap<String, String, String, List<ForeignKeyConstraint>> fcMap) {
 		for (Table table : tableList) {
 			table.setDialect(this.getDialect());
 			List<Column> columns = columnMap.get(table.getCatalogName(),
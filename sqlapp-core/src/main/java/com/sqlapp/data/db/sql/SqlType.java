@@ -164,6 +164,10 @@ public enum SqlType{
 			return true;
 		}
 		@Override
+		public SqlType getTableSqlType(){
+			return INSERT;
+		}
+		@Override
 		public Comparator<Table> getTableComparator(){
 			return Table.TableOrder.CREATE.getComparator();
 		}
@@ -182,6 +186,10 @@ public enum SqlType{
 			return true;
 		}
 		@Override
+		public SqlType getTableSqlType(){
+			return INSERT_SELECT_BY_PK;
+		}
+		@Override
 		public Comparator<Table> getTableComparator(){
 			return Table.TableOrder.CREATE.getComparator();
 		}
@@ -243,6 +251,10 @@ public enum SqlType{
 		public boolean supportRows(){
 			return true;
 		}
+		@Override
+		public SqlType getTableSqlType(){
+			return UPDATE_BY_PK;
+		}
 	}
 	,
 	/**
@@ -292,6 +304,10 @@ public enum SqlType{
 			return true;
 		}
 		@Override
+		public SqlType getTableSqlType(){
+			return DELETE_BY_PK;
+		}
+		@Override
 		public Comparator<Table> getTableComparator(){
 			return Table.TableOrder.DROP.getComparator();
 		}
@@ -337,6 +353,10 @@ public enum SqlType{
 			return true;
 		}
 		@Override
+		public SqlType getTableSqlType(){
+			return MERGE_BY_PK;
+		}
+		@Override
 		public Comparator<Table> getTableComparator(){
 			return Table.TableOrder.CREATE.getComparator();
 		}
@@ -590,6 +610,15 @@ public enum SqlType{
 	public boolean supportRows(){
 		return false;
 	}
+
+	/**
+	 * 行単位のSQLに対応するバインド変数を使用したテーブル単位のSQLを返します。
+	 * 
+	 * @return 対応するSQLが無い場合はnull
+	 */
+	public SqlType getTableSqlType(){
+		return null;
+	}
 	
 	/**
 	 * 楽観的ロック可能か?
@@ -153,7 +153,10 @@ public class TableOptions extends AbstractBean implements Serializable {
 	 */
 	private TablePredicate commitPerTable = (table->false);
 
-	private ColumnStringFunction parameterExpression =(column, def)->{
+	/**
+	 * デフォルトのパラメタ式
+	 */
+	public static final ColumnStringFunction DEFAULT_PARAMETER_EXPRESSION =(column, def)->{
 		if (def == null) {
 			return "/*"+column.getName()+"*/1";
 		} else {
@@ -164,6 +167,8 @@ public class TableOptions extends AbstractBean implements Serializable {
 		}
 	};
 
+	private ColumnStringFunction parameterExpression =DEFAULT_PARAMETER_EXPRESSION;
+
 	private SerializableFunction<String,String> ifStartExpression = (condition)->{
 		return ("/*if " + condition + " */");
 	};
@@ -303,10 +308,14 @@ public class TableOptions extends AbstractBean implements Serializable {
 	 * Function for update table column.
 	 */
 	private ColumnFunction<String> updateTableColumnValue=(c)->c.getName();
+	/**
+	 * 行の値のSQLをそのまま使用する関数
+	 */
+	public static final RowColumnStringFunction DEFAULT_ROW_SQL_VALUE=(r, c, v)->v;
 	/**
 	 * Function for insert row value.
 	 */
-	private RowColumnStringFunction insertRowSqlValue=(r, c, v)->v;
+	private RowColumnStringFunction insertRowSqlValue=DEFAULT_ROW_SQL_VALUE;
 	/**
 	 * ${readFileAsBytes('src/main/resources/path')}
 	 */
@@ -314,7 +323,7 @@ public class TableOptions extends AbstractBean implements Serializable {
 	/**
 	 * Function for insert row value.
 	 */
-	private RowColumnStringFunction updateRowSqlValue=(r, c, v)->v;
+	private RowColumnStringFunction updateRowSqlValue=DEFAULT_ROW_SQL_VALUE;
 	/**
 	 * Optimistic Lock column insert
 	 * COALESCE( column, 0 )
@@ -46,4 +46,12 @@ public class DbObjectDiff<T extends DbObject<?>> extends Diff<T> {
 		}
 		return bool;
 	}
+
+	/**
+	 * likeの比較内容はクラスやEqualsHandlerによって異なるため、ハッシュによる振り分けは行いません。
+	 */
+	@Override
+	protected int hash(T obj) {
+		return 0;
+	}
 }
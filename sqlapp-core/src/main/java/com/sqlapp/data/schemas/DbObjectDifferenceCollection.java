@@ -21,14 +21,17 @@ package com.sqlapp.data.schemas;
 
 import java.util.Collection;
 import java.util.EnumSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiPredicate;
 
 import com.sqlapp.data.db.dialect.Dialect;
 import com.sqlapp.data.schemas.properties.NameProperty;
 import com.sqlapp.util.CommonUtils;
+import com.sqlapp.util.EqualsUtils;
 import com.sqlapp.util.SeparatedStringBuilder;
 import com.sqlapp.util.ToStringBuilder;
 
@@ -110,9 +113,105 @@ public class DbObjectDifferenceCollection extends
 			diffColumns();
 			return;
 		}
+		if (diffRowsByKey()) {
+			return;
+		}
 		diffObjects();
 	}
 
+	/**
+	 * ユニーク制約の値で行の比較を行います。
+	 * ユニーク制約が無い場合またはキーが重複する場合はfalseを返します。
+	 * キーの値はEqualsHandlerで変換した値で索引を作成し、一致した行をEqualsHandlerで比較します。
+	 * 出力順はLCSによる比較と同様に、元の行の順に削除された行を出力し、追加された行は次に一致する行の前に出力します。
+	 */
+	protected boolean diffRowsByKey() {
+		if (!(this.getOriginal() instanceof RowCollection)
+				|| !(this.getTarget() instanceof RowCollection)) {
+			return false;
+		}
+		RowCollection original = (RowCollection) this.getOriginal();
+		RowCollection target = (RowCollection) this.getTarget();
+		if (original.getParent() == null || target.getParent() == null) {
+			return false;
+		}
+		UniqueConstraint uc = CommonUtils.first(original.getParent()
+				.getConstraints().getUniqueConstraints());
+		if (uc == null) {
+			return false;
+		}
+		ReferenceColumnCollection rcc = uc.getColumns();
+		for (ReferenceColumn rc : rcc) {
+			if (target.getParent().getColumns().get(rc.getName()) == null) {
+				return false;
+			}
+		}
+		Map<RowKey, Row> originalMap = original.toKeyMap(rcc, this.getEqualsHandler());
+		if (originalMap == null) {
+			return false;
+		}
+		Map<RowKey, Row> targetMap = target.toKeyMap(rcc, this.getEqualsHandler());
+		if (targetMap == null) {
+			return false;
+		}
+		Map<Row, Row> matches = new IdentityHashMap<Row, Row>();
+		Map<Row, List<Row>> addedBefore = new IdentityHashMap<Row, List<Row>>();
+		List<Row> added = CommonUtils.list();
+		for (Map.Entry<RowKey, Row> entry : targetMap.entrySet()) {
+			Row trow = entry.getValue();
+			Row orow = originalMap.get(entry.getKey());
+			if (orow != null && !keyEquals(rcc, orow, trow)) {
+				orow = null;
+			}
+			if (orow != null) {
+				matches.put(orow, trow);
+				if (!added.isEmpty()) {
+					addedBefore.put(orow, added);
+					added = CommonUtils.list();
+				}
+			} else {
+				added.add(trow);
+			}
+		}
+		for (Row orow : originalMap.values()) {
+			Row trow = matches.get(orow);
+			if (trow != null) {
+				addAdded(addedBefore.get(orow));
+			}
+			DbObjectDifference dbObjectDifference = new DbObjectDifference(
+					orow, trow, this.getEqualsHandler());
+			addDbObjectDifference(dbObjectDifference);
+		}
+		addAdded(added);
+		this.setState(getState(list));
+		return true;
+	}
+
+	private boolean keyEquals(ReferenceColumnCollection rcc, Row orow, Row trow) {
+		EqualsHandler equalsHandler = this.getEqualsHandler();
+		for (ReferenceColumn rc : rcc) {
+			Object value1 = orow.get(rc.getName());
+			Object value2 = trow.get(rc.getName());
+			if (!equalsHandler.valueEquals(rc.getName(), orow, trow, value1, value2,
+					EqualsUtils.getEqualsSupplier(Objects.deepEquals(equalsHandler.keyValue(rc.getName(), value1),
+							equalsHandler.keyValue(rc.getName(), value2))))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void addAdded(List<Row> rows) {
+		if (rows == null) {
+			return;
+		}
+		for (Row trow : rows) {
+			DbObjectDifference dbObjectDifference = new DbObjectDifference(
+					null, trow, this.getEqualsHandler());
+			addDbObjectDifference(dbObjectDifference);
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	protected void diffObjects() {
 		DbObjectDiff<DbObject<?>> diff = new DbObjectDiff<DbObject<?>>(
@@ -19,6 +19,7 @@
 
 package com.sqlapp.data.schemas;
 
+import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.BooleanSupplier;
 
@@ -30,6 +31,14 @@ import java.util.function.BooleanSupplier;
  */
 public class EqualsHandler implements Cloneable{
 
+	/**
+	 * デフォルトの値の比較
+	 */
+	static final EqualsPredicate DEFAULT_VALUE_EQUALS_PREDICATE=(propertyName, eq, object1,
+			object2, value1, value2)->{
+		return eq;
+	};
+
 	private static final EqualsHandler instance=new EqualsHandler();
 	
 	public static EqualsHandler getInstance(){
@@ -46,14 +55,15 @@ public class EqualsHandler implements Cloneable{
 		return false;
 	};
 
-	private EqualsPredicate valueEqualsPredicate=(propertyName, eq, object1,
-			object2, value1, value2)->{
-		return eq;
-	};
+	private EqualsPredicate valueEqualsPredicate=DEFAULT_VALUE_EQUALS_PREDICATE;
 
 	private BiPredicate<Object,Object> equalsLastPredicate=(object1, object2)->{
 		return true;
 	};
+
+	private BiFunction<String,Object,Object> keyValueFunction=(propertyName, value)->{
+		return RowKey.normalize(value);
+	};
 	
 	/**
 	 * @return the referenceEqualsPredicate
@@ -97,6 +107,22 @@ public class EqualsHandler implements Cloneable{
 		this.equalsLastPredicate = equalsLastPredicate;
 	}
 
+	/**
+	 * @return the keyValueFunction
+	 */
+	public BiFunction<String, Object, Object> getKeyValueFunction() {
+		return keyValueFunction;
+	}
+
+	/**
+	 * valueEqualsPredicateを変更した場合は、等しいと判定される値が同じキーになるように設定します。
+	 * 
+	 * @param keyValueFunction the keyValueFunction to set
+	 */
+	public void setKeyValueFunction(BiFunction<String, Object, Object> keyValueFunction) {
+		this.keyValueFunction = keyValueFunction;
+	}
+
 	@FunctionalInterface
 	public static interface EqualsPredicate{
 		boolean contextEquals(String propertyName, boolean eq, Object object1,
@@ -141,6 +167,19 @@ public class EqualsHandler implements Cloneable{
 		return getValueEqualsPredicate().contextEquals(propertyName, p.getAsBoolean(), object1, object2, value1, value2);
 	}
 
+	/**
+	 * 行のキーとして使用する値を返します。
+	 * valueEqualsで等しいと判定される値に対しては、equalsで等しくなる値を返す必要があります。
+	 * 
+	 * @param propertyName
+	 *            プロパティ名
+	 * @param value
+	 *            値
+	 */
+	protected Object keyValue(String propertyName, Object value){
+		return getKeyValueFunction().apply(propertyName, value);
+	}
+
 	/**
 	 * 最終的な比較結果を返します
 	 * 
@@ -66,6 +66,14 @@ public class ExcludeFilterEqualsHandler extends EqualsHandler {
 		return super.valueEquals(propertyName, object1, object2, value1, value2, p);
 	}
 
+	@Override
+	protected Object keyValue(String propertyName, Object value) {
+		if (excludeProperties.contains(propertyName)) {
+			return null;
+		}
+		return super.keyValue(propertyName, value);
+	}
+
 	public void setExcludeProperties(String... names){
 		this.excludeProperties = CommonUtils.set(names);
 	}
@@ -65,6 +65,14 @@ public class IncludeFilterEqualsHandler extends EqualsHandler {
 		return true;
 	}
 
+	@Override
+	protected Object keyValue(String propertyName, Object value) {
+		if (includeProperties.contains(propertyName)) {
+			return super.keyValue(propertyName, value);
+		}
+		return null;
+	}
+
 	@Override
 	public IncludeFilterEqualsHandler clone(){
 		IncludeFilterEqualsHandler clone=(IncludeFilterEqualsHandler)super.clone();
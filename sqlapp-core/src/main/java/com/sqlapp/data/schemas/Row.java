@@ -34,6 +34,7 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.sql.Timestamp;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -146,24 +147,18 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 		clone.setDataSourceDetailInfo(this.getDataSourceDetailInfo());
 		if (this.values!=null){
 			clone.values = new Object[this.values.length];
-			if (this.remarks!=null){
-				clone.remarks = new String[this.remarks.length];
-			}
-			if (this.options!=null){
-				clone.options = new String[this.options.length];
-			}
 			final Converters converter = Converters.getDefault();
 			for (int i = 0; i < this.values.length; i++) {
 				final Object val = this.values[i];
 				clone.values[i] = converter.copy(val);
-				if (this.remarks!=null){
-					clone.remarks[i] = this.remarks[i];
-				}
-				if (this.options!=null){
-					clone.options[i] = this.options[i];
-				}
 			}
 		}
+		if (this.remarks!=null){
+			clone.remarks = Arrays.copyOf(this.remarks, this.remarks.length);
+		}
+		if (this.options!=null){
+			clone.options = Arrays.copyOf(this.options, this.options.length);
+		}
 		return clone;
 	}
 
@@ -198,7 +193,7 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 				}
 			}
 			if (this.options!=null){
-				if (column.getOrdinal()<this.remarks.length){
+				if (column.getOrdinal()<this.options.length){
 					newOptions[i] = this.options[column.getOrdinal()];
 				} else{
 					newOptions[i] =null;
@@ -276,20 +271,6 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 			}
 			this.values=vals;
 		}
-		if (CommonUtils.size(this.remarks)<size){
-			final String[] vals=new String[size];
-			if (!CommonUtils.isEmpty(this.remarks)){
-				System.arraycopy(this.remarks, 0, vals, 0, this.remarks.length);
-			}
-			this.remarks=vals;
-		}
-		if (CommonUtils.size(this.options)<size){
-			final String[] vals=new String[size];
-			if (!CommonUtils.isEmpty(this.options)){
-				System.arraycopy(this.options, 0, vals, 0, this.options.length);
-			}
-			this.options=vals;
-		}
 	}
 
 	/**
@@ -311,6 +292,9 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 		final Object oldValue = this.values[index];
 		final Column column = getTable().getColumns().get(index);
 		this.values[index] = column.getConverter().convertObject(value);
+		if (parent!=null){
+			parent.clearKeyIndex();
+		}
 		return (T) oldValue;
 	}
 
@@ -334,6 +318,9 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 		}
 		final Object oldValue = this.values[column.getOrdinal()];
 		this.values[column.getOrdinal()] = value;
+		if (parent!=null){
+			parent.clearKeyIndex();
+		}
 		return (T) oldValue;
 	}
 
@@ -358,29 +345,28 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 	 * @return 設定前のコメントを返します
 	 */
 	public String putRemarks(final int index, final String remarks) {
-		if (CommonUtils.size(this.remarks)<(index+1)){
-			final String[] vals=new String[index+1];
-			if (!CommonUtils.isEmpty(this.remarks)){
-				System.arraycopy(this.remarks, 0, vals, 0, this.remarks.length);
-			}
-			this.remarks=vals;
+		if (remarks==null&&CommonUtils.size(this.remarks)<(index+1)){
+			return null;
 		}
-		final String oldValue = this.getRemarksArray()[index];
-		this.getRemarksArray()[index] = remarks;
+		this.remarks=ensureSize(this.remarks, index);
+		final String oldValue = this.remarks[index];
+		this.remarks[index] = remarks;
 		return oldValue;
 	}
-	
-	private String[] getRemarksArray(){
-		if (this.remarks==null){
-			this.remarks=new String[values.length];
-		}else{
-			if (this.remarks.length<values.length){
-				final String[] array=new String[values.length];
-				System.arraycopy(this.remarks, 0, array, 0, this.remarks.length);
-				this.remarks=array;
-			}
+
+	/**
+	 * コメント、オプションの配列は値が設定されるまで作成しません。
+	 */
+	private String[] ensureSize(final String[] array, final int index){
+		final int size=Math.max(index+1, CommonUtils.size(this.values));
+		if (CommonUtils.size(array)>=size){
+			return array;
 		}
-		return this.remarks;
+		final String[] vals=new String[size];
+		if (!CommonUtils.isEmpty(array)){
+			System.arraycopy(array, 0, vals, 0, array.length);
+		}
+		return vals;
 	}
 
 	/**
@@ -390,7 +376,10 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 	 * @return コメントの値
 	 */
 	public String getRemarks(final int index) {
-		return getRemarksArray()[index];
+		if (CommonUtils.size(this.remarks)<(index+1)){
+			return null;
+		}
+		return this.remarks[index];
 	}
 
 	/**
@@ -437,30 +426,14 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 	 * @return 設定前のオプションを返します
 	 */
 	public String putOption(final int index, final String option) {
-		if (CommonUtils.size(this.options)<(index+1)){
-			final String[] vals=new String[index+1];
-			if (!CommonUtils.isEmpty(this.options)){
-				System.arraycopy(this.options, 0, vals, 0, this.options.length);
-			}
-			this.options=vals;
+		if (option==null&&CommonUtils.size(this.options)<(index+1)){
+			return null;
 		}
-		final String oldValue = this.getOptionArray()[index];
-		this.getOptionArray()[index] = option;
+		this.options=ensureSize(this.options, index);
+		final String oldValue = this.options[index];
+		this.options[index] = option;
 		return oldValue;
 	}
-	
-	private String[] getOptionArray(){
-		if (this.options==null){
-			this.options=new String[values.length];
-		}else{
-			if (this.options.length<values.length){
-				final String[] array=new String[values.length];
-				System.arraycopy(this.options, 0, array, 0, this.options.length);
-				this.options=array;
-			}
-		}
-		return this.options;
-	}
 
 	/**
 	 * 指定したカラム位置のオプションを取得します
@@ -469,7 +442,10 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 	 * @return オプションの値
 	 */
 	public String getOption(final int index) {
-		return getOptionArray()[index];
+		if (CommonUtils.size(this.options)<(index+1)){
+			return null;
+		}
+		return this.options[index];
 	}
 
 	/**
@@ -493,6 +469,23 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 		return getOption(column);
 	}
 
+	/**
+	 * 値をSQLとして扱うオプションが設定されているかを返します。
+	 *
+	 * @return SQLオプションが設定されている場合true
+	 */
+	public boolean hasSqlOption() {
+		if (this.options==null){
+			return false;
+		}
+		for(final String option:this.options){
+			if (SQL_OPTION.equalsIgnoreCase(option)){
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * 値の設定を行います。
 	 * 
@@ -1023,12 +1016,16 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 				this.getValues(), val.getValues(), equalsHandler, EqualsUtils.getEqualsSupplier(this.getValues(), val.getValues()))) {
 			return false;
 		}
+		final String[] remarks=normalize(this.remarks);
+		final String[] valRemarks=val.normalize(val.remarks);
 		if (!equals(SchemaProperties.REMARKS, val,
-				this.remarks, val.remarks, equalsHandler, EqualsUtils.getEqualsSupplier(this.remarks, val.remarks))) {
+				remarks, valRemarks, equalsHandler, EqualsUtils.getEqualsSupplier(remarks, valRemarks))) {
 			return false;
 		}
+		final String[] options=normalize(this.options);
+		final String[] valOptions=val.normalize(val.options);
 		if (!equals(OPTIONS, val,
-				this.options, val.options, equalsHandler, EqualsUtils.getEqualsSupplier(this.options, val.options))) {
+				options, valOptions, equalsHandler, EqualsUtils.getEqualsSupplier(options, valOptions))) {
 			return false;
 		}
 		if (!equals(SchemaProperties.DATA_SOURCE_ROW_NUMBER, val, this.getDataSourceRowNumber(), val.getDataSourceRowNumber(),
@@ -1062,6 +1059,28 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 		return equalsHandler.equalsResult(this, obj);
 	}
 
+	/**
+	 * 比較用にコメント、オプションの配列を値の配列と同じ長さにそろえます。
+	 * 
+	 * @return 全ての要素がnullの場合はnull
+	 */
+	private String[] normalize(final String[] array){
+		if (array==null){
+			return null;
+		}
+		boolean allNull=true;
+		for(final String value:array){
+			if (value!=null){
+				allNull=false;
+				break;
+			}
+		}
+		if (allNull){
+			return null;
+		}
+		return ensureSize(array, array.length-1);
+	}
+
 	protected boolean equals(final String propertyName, final Row target,
 			final Object value, final Object targetValue, final EqualsHandler equalsHandler, final BooleanSupplier booleanSupplier) {
 		return equalsHandler.valueEquals(propertyName, this, target, value,
@@ -1227,7 +1246,7 @@ public final class Row implements DbObject<Row>, Comparable<Row>
 		for (int i = 0; i < size; i++) {
 			final ReferenceColumn rc = rcc.get(i);
 			final Object val = this.get(rc.getName());
-			if (equalsHandler.valueEquals(rc.getName(), this, cstRow,
+			if (!equalsHandler.valueEquals(rc.getName(), this, cstRow,
 					keyValues[i], val, EqualsUtils.getEqualsSupplier(keyValues[i], val))) {
 				find = false;
 				break;
@@ -42,6 +42,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -81,6 +82,14 @@ public final class RowCollection implements DbObjectCollection<Row>,
 	private Table parent = null;
 
 	private List<Row> inner = new ArrayList<Row>();
+	/**
+	 * ユニーク制約の値による行のインデックス
+	 */
+	private transient Map<RowKey, Row> keyIndex = null;
+	/**
+	 * インデックスを作成したユニーク制約
+	 */
+	private transient UniqueConstraint keyIndexConstraint = null;
 	/**
 	 * RowIteratorHandler
 	 */
@@ -146,6 +155,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 			return false;
 		}
 		row.setParent(this);
+		clearKeyIndex();
 		return getRowList().add(row);
 	}
 
@@ -158,6 +168,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 	protected void compactionColumn(Column... columns) {
 		List<Column> colList = minus(list(getParent().getColumns()), columns);
 		Column[] colArray = colList.toArray(new Column[0]);
+		clearKeyIndex();
 		for (int i = 0; i < inner.size(); i++) {
 			inner.get(i).compactionColumn(colArray);
 		}
@@ -172,6 +183,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 	protected void compactionColumn(Collection<Column> columns) {
 		List<Column> colList = minus(list(getParent().getColumns()), columns);
 		Column[] colArray = colList.toArray(new Column[0]);
+		clearKeyIndex();
 		for (int i = 0; i < inner.size(); i++) {
 			inner.get(i).compactionColumn(colArray);
 		}
@@ -262,6 +274,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 	 * @see java.util.List#clear()
 	 */
 	public void clear() {
+		clearKeyIndex();
 		getRowList().clear();
 	}
 
@@ -280,6 +293,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 
 	public boolean remove(Row row) {
 		row.setParent(null);
+		clearKeyIndex();
 		return getRowList().remove(row);
 	}
 
@@ -312,6 +326,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 	 *            追加するカラム
 	 */
 	protected void addColumn(Column... columns) {
+		clearKeyIndex();
 		for (int i = 0; i < inner.size(); i++) {
 			inner.get(i).addColumn(columns);
 		}
@@ -326,6 +341,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 			return;
 		}
 		row.setParent(this);
+		clearKeyIndex();
 		getRowList().add(index, row);
 	}
 
@@ -342,6 +358,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 			row.setParent(this);
 			targets.add(row);
 		}
+		clearKeyIndex();
 		return getRowList().addAll(targets);
 	}
 
@@ -355,6 +372,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 			row.setParent(this);
 			targets.add(row);
 		}
+		clearKeyIndex();
 		return getRowList().addAll(targets);
 	}
 
@@ -368,6 +386,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 			row.setParent(this);
 			targets.add(row);
 		}
+		clearKeyIndex();
 		return getRowList().addAll(index, targets);
 	}
 
@@ -393,6 +412,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 
 	@Override
 	public boolean remove(Object o) {
+		clearKeyIndex();
 		boolean bool = getRowList().remove(o);
 		if (bool) {
 			Row row = cast(o);
@@ -406,6 +426,7 @@ public final class RowCollection implements DbObjectCollection<Row>,
 	 */
 	@Override
 	public Row remove(int index) {
+		clearKeyIndex();
 		Row row = getRowList().remove(index);
 		if (row != null) {
 			row.setParent(null);
@@ -419,17 +440,20 @@ public final class RowCollection implements DbObjectCollection<Row>,
 			Row row = cast(obj);
 			row.setParent(null);
 		}
+		clearKeyIndex();
 		return getRowList().removeAll(c);
 	}
 
 	@Override
 	public boolean retainAll(Collection<?> c) {
+		clearKeyIndex();
 		return getRowList().removeAll(c);
 	}
 
 	@Override
 	public Row set(int index, Row row) {
 		row.setParent(this);
+		clearKeyIndex();
 		return getRowList().set(index, row);
 	}
 
@@ -682,30 +706,69 @@ public final class RowCollection implements DbObjectCollection<Row>,
 			return null;
 		}
 		UniqueConstraint uc = CommonUtils.first(ucs);
-		Object[] keyValues = new Object[uc.getColumns().size()];
 		ReferenceColumnCollection rcc = uc.getColumns();
-		int size = rcc.size();
-		for (int i = 0; i < size; i++) {
-			ReferenceColumn rc = rcc.get(i);
-			keyValues[i] = obj.get(rc.getName());
+		if (this.getRowIteratorHandler() instanceof DefaultRowIteratorHandler){
+			return getKeyIndex(uc).get(new RowKey(obj, rcc));
 		}
+		// インデックスと同じキーで比較する
+		RowKey key = new RowKey(obj, rcc);
 		for (Row row : this) {
-			boolean find = true;
-			for (int i = 0; i < size; i++) {
-				ReferenceColumn rc = rcc.get(i);
-				Object val = row.get(rc.getName());
-				if (!CommonUtils.eq(keyValues[i], val)) {
-					find = false;
-					break;
-				}
-			}
-			if (find) {
+			if (key.equals(new RowKey(row, rcc))) {
 				return row;
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * ユニーク制約の値による行のインデックスを取得します。インデックスは行の追加、削除、値の変更時に破棄されます。
+	 * 
+	 * @param uc
+	 *            ユニーク制約
+	 */
+	private Map<RowKey, Row> getKeyIndex(UniqueConstraint uc) {
+		if (keyIndex != null && keyIndexConstraint == uc) {
+			return keyIndex;
+		}
+		List<Row> rows = getRowList();
+		int size = rows.size();
+		Map<RowKey, Row> index = CommonUtils.map(size);
+		ReferenceColumnCollection rcc = uc.getColumns();
+		for (int i = 0; i < size; i++) {
+			Row row = rows.get(i);
+			index.putIfAbsent(new RowKey(row, rcc), row);
+		}
+		this.keyIndex = index;
+		this.keyIndexConstraint = uc;
+		return index;
+	}
+
+	/**
+	 * 行のインデックスを破棄します
+	 */
+	void clearKeyIndex() {
+		this.keyIndex = null;
+		this.keyIndexConstraint = null;
+	}
+
+	/**
+	 * 指定したカラムの値をキーとする行のマップを作成します。キーが重複する場合はnullを返します。
+	 * 
+	 * @param rcc
+	 *            キーのカラム
+	 * @param equalsHandler
+	 *            キーの値を変換するハンドラー
+	 */
+	Map<RowKey, Row> toKeyMap(ReferenceColumnCollection rcc, EqualsHandler equalsHandler) {
+		Map<RowKey, Row> map = CommonUtils.linkedMap();
+		for (Row row : this) {
+			if (map.put(new RowKey(row, rcc, equalsHandler), row) != null) {
+				return null;
+			}
+		}
+		return map;
+	}
+
 	@Override
 	public Row find(Object obj) {
 		return this.find((Row) obj);
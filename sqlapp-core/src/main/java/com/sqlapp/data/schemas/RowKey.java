@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.schemas;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * ユニーク制約のカラムの値による行のキー
+ * 
+ * 数値は型とスケールに依存しないように正規化して比較します。
+ * 
+ * @author tatsuo satoh
+ * 
+ */
+final class RowKey {
+
+	private final Object[] values;
+
+	private final int hashCode;
+
+	RowKey(final Row row, final ReferenceColumnCollection columns) {
+		this(row, columns, EqualsHandler.getInstance());
+	}
+
+	/**
+	 * EqualsHandlerで変換したキーの値で行のキーを作成します。
+	 * 
+	 * @param row
+	 *            行
+	 * @param columns
+	 *            キーのカラム
+	 * @param equalsHandler
+	 *            キーの値を変換するハンドラー
+	 */
+	RowKey(final Row row, final ReferenceColumnCollection columns, final EqualsHandler equalsHandler) {
+		final int size = columns.size();
+		this.values = new Object[size];
+		for (int i = 0; i < size; i++) {
+			final String name = columns.get(i).getName();
+			this.values[i] = equalsHandler.keyValue(name, row.get(name));
+		}
+		this.hashCode = Arrays.deepHashCode(values);
+	}
+
+	/**
+	 * 数値をスケールを除いたBigDecimalに変換します。
+	 */
+	static Object normalize(final Object value) {
+		if (!(value instanceof Number)) {
+			return value;
+		}
+		final BigDecimal dec;
+		if (value instanceof BigDecimal) {
+			dec = (BigDecimal) value;
+		} else if (value instanceof BigInteger) {
+			dec = new BigDecimal((BigInteger) value);
+		} else if (value instanceof Long || value instanceof Integer || value instanceof Short
+				|| value instanceof Byte) {
+			dec = BigDecimal.valueOf(((Number) value).longValue());
+		} else if (value instanceof Double || value instanceof Float) {
+			final double d = ((Number) value).doubleValue();
+			if (Double.isNaN(d) || Double.isInfinite(d)) {
+				return value;
+			}
+			dec = new BigDecimal(value.toString());
+		} else {
+			return value;
+		}
+		if (dec.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+		return dec.stripTrailingZeros();
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof RowKey)) {
+			return false;
+		}
+		final RowKey other = (RowKey) obj;
+		if (hashCode != other.hashCode) {
+			return false;
+		}
+		return Arrays.deepEquals(values, other.values);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(values);
+	}
+}
@@ -40,7 +40,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -514,143 +513,45 @@ public class SchemaUtils {
 		if (CommonUtils.isEmpty(list)){
 			return list;
 		}
-		final List<V> noReferences = CommonUtils.list();
-		final List<V> hasReference = CommonUtils.list();
-		final TripleKeyMap<String,String,String, Table> referenced = CommonUtils.tripleKeyMap();
-		final TripleKeyMap<String,String,String, Table> hasFks = CommonUtils.tripleKeyMap();
-		for(final V t:list){
-			final Table table=f.apply(t);
-			final List<ForeignKeyConstraint> fks=table.getConstraints().getForeignKeyConstraints();
-			if (!fks.isEmpty()){
-				hasFks.put(null, table.getSchemaName(), table.getName(), table);
-			}
-			for(final ForeignKeyConstraint fk:fks){
-				referenced.put(null, fk.getRelatedTable().getSchemaName(), fk.getRelatedTable().getName(), fk.getRelatedTable());
-			}
-		}
-		for(final V t:list){
-			final Table table=f.apply(t);
-			Table refTable=hasFks.get(null, table.getSchemaName(), table.getName());
-			if (refTable==null){
-				refTable=referenced.get(null, table.getSchemaName(), table.getName());
-				if (refTable==null){
-					noReferences.add(t);
-					continue;
-				}
-			}
-			hasReference.add(t);
+		final List<V> result = CommonUtils.list(list.size());
+		for(final List<V> wave:getNewSortedTableWaves(list, comparator, f)){
+			result.addAll(wave);
 		}
-		final List<V> sorted1=getNewSortedTableListInternal(noReferences, comparator, f);
-		final List<V> sorted2=getNewSortedTableListInternal(hasReference, comparator, f);
-		sorted1.addAll(sorted2);
-		return sorted1;
+		return result;
 	}
-	
+
 	/**
-	 * テーブルをもつオブジェクトをソートした結果を返します。
+	 * 外部キーの依存関係の無いテーブル毎にまとめたウェーブのリストを返します。
+	 * 
+	 * ウェーブは順に処理する必要がありますが、同じウェーブ内のテーブルは並列に処理できます。
 	 * 
 	 * @param list
-	 * @param comparator
-	 * @param f テーブルを返す関数
+	 * @param comparator TableOrderのComparator
 	 */
-	private static <V> List<V> getNewSortedTableListInternal(final List<V> list,
-			final Comparator<Table> comparator, final java.util.function.Function<V, Table> f) {
-		if (list.isEmpty()){
-			return list;
-		}
-		final List<V> tmp = CommonUtils.list(list);
-		Collections.sort(tmp, (o1,o2)->comparator.compare(f.apply(o1), f.apply(o2)));
-		final List<TablePoint<V>> tpList=tmp.stream().map(t->{
-			final TablePoint<V> tp=new TablePoint<V>(t, f);
-			return tp;
-		}).collect(Collectors.toList());
-		int counter=0;
-		for(int i=tpList.size()-1;i>=0;i--){
-			final TablePoint<V> tp=tpList.get(i);
-			tp.minus(counter++);
-		}
-		for(int i=0;i<tpList.size();i++){
-			for(int j=i+1;j<tpList.size();j++){
-				final TablePoint<V> tp1=tpList.get(i);
-				final TablePoint<V> tp2=tpList.get(j);
-				final int ret=comparator.compare(tp1.getTable(), tp2.getTable());
-				if (ret>0){
-					tp2.setPoint(Math.min(tp1.point, tp2.point)).minus(ret);
-				} else if (ret<0){
-					tp1.setPoint(Math.min(tp1.point, tp2.point)).minus(-ret);
-				}
-			}
-		}
-		for(int i=0;i<tpList.size()-1;i++){
-			for(int j=i+1;j<tpList.size();j++){
-				final TablePoint<V> tp1=tpList.get(i);
-				final TablePoint<V> tp2=tpList.get(j);
-				tpList.set(j, tp2);
-				tpList.set(i, tp1);
-			}
-		}
-//		Collections.sort(tpList);
-		final List<V> result=tpList.stream().map(tp->tp.getObject()).collect(Collectors.toList());
-		//Collections.sort(result, comparator);
-		return result;
+	public static List<List<Table>> getNewSortedTableWaves(final List<Table> list,
+			final Comparator<Table> comparator) {
+		return getNewSortedTableWaves(list, comparator, table->table);
 	}
-	
-	static class TablePoint<V> implements Comparable<TablePoint<V>>{
-		TablePoint(final V object, final java.util.function.Function<V, Table> f){
-			this.object=object;
-			this.f=f;
-		}
-		private final V object;
-		private final java.util.function.Function<V, Table> f;
-		private int point=Integer.MAX_VALUE;
-
-		/**
-		 * @return the table
-		 */
-		public V getObject() {
-			return object;
-		}
-		
-		/**
-		 * @return the table
-		 */
-		public Table getTable() {
-			return f.apply(object);
-		}
-
-		public TablePoint<V> setPoint(final int point){
-			this.point=point;
-			return this;
-		}
-		
-		public TablePoint<V> minus(){
-			point--;
-			return this;
-		}
-
-		public TablePoint<V> minus(final int val){
-			this.point=point-val;
-			return this;
-		}
 
-		public long point(){
-			return point;
-		}
-
-		@Override
-		public int compareTo(final TablePoint<V> o) {
-			return this.point-o.point;
+	/**
+	 * 外部キーの依存関係の無いテーブル毎にまとめたウェーブのリストを返します。
+	 * 
+	 * ウェーブは順に処理する必要がありますが、同じウェーブ内のテーブルは並列に処理できます。
+	 * 
+	 * @param list
+	 * @param comparator TableOrderのComparator
+	 * @param f テーブルを返す関数
+	 */
+	public static <V> List<List<V>> getNewSortedTableWaves(final List<V> list,
+			final Comparator<Table> comparator, final java.util.function.Function<V, Table> f) {
+		if (CommonUtils.isEmpty(list)){
+			return CommonUtils.list();
 		}
-	
-		@Override
-		public String toString(){
-			final StringBuilder builder=new StringBuilder();
-			builder.append(getTable().getName());
-			builder.append("(");
-			builder.append(point);
-			builder.append(")");
-			return builder.toString();
+		final TableDependencyGraph<V> graph=new TableDependencyGraph<V>(list, f);
+		if (comparator instanceof TableDropOrderComparator){
+			return graph.getDropWaves(comparator);
 		}
+		return graph.getCreateWaves(comparator);
 	}
 	
 	/**
@@ -0,0 +1,335 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.schemas;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.sqlapp.util.CommonUtils;
+
+/**
+ * 外部キーによるテーブルの依存関係グラフ
+ *
+ * 依存関係のないテーブル同士を同じウェーブにまとめ、ウェーブ単位で作成、削除の順序を返します。ウェーブ内のテーブルは並列に処理できます。
+ *
+ * @author tatsuo satoh
+ *
+ * @param <V>
+ */
+public class TableDependencyGraph<V> {
+
+	private final Function<V, Table> f;
+	/**
+	 * 外部キーの関連のないテーブル
+	 */
+	private final List<V> isolated = CommonUtils.list();
+	/**
+	 * 外部キーの関連のあるテーブル
+	 */
+	private final List<Node<V>> nodes = CommonUtils.list();
+	/**
+	 * 循環参照しているテーブル
+	 */
+	private final List<V> cyclicTables = CommonUtils.list();
+	/**
+	 * オブジェクトとノードのMap
+	 */
+	private final Map<V, Node<V>> nodeMap = new IdentityHashMap<>();
+
+	private List<List<Node<V>>> levels = null;
+
+	private Comparator<Table> levelComparator = null;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param list テーブルを持つオブジェクト
+	 * @param f    テーブルを返す関数
+	 */
+	public TableDependencyGraph(final Collection<V> list, final Function<V, Table> f) {
+		this.f = f;
+		final List<Node<V>> all = CommonUtils.list(list.size());
+		final Map<String, List<Node<V>>> nameMap = CommonUtils.map(list.size());
+		for (final V obj : list) {
+			final Node<V> node = new Node<V>(obj, f.apply(obj));
+			all.add(node);
+			nodeMap.put(obj, node);
+			nameMap.computeIfAbsent(node.table.getName(), k -> CommonUtils.list()).add(node);
+		}
+		for (final Node<V> node : all) {
+			for (final ForeignKeyConstraint fk : node.table.getConstraints().getForeignKeyConstraints()) {
+				final Table related = fk.getRelatedTable();
+				if (related == null) {
+					continue;
+				}
+				final List<Node<V>> candidates = nameMap.get(related.getName());
+				if (candidates == null) {
+					continue;
+				}
+				for (final Node<V> parent : candidates) {
+					if (parent == node || parent.table == node.table) {
+						// 自己参照は順序に影響しない
+						continue;
+					}
+					if (related.getSchemaName() == null
+							|| CommonUtils.eq(related.getSchemaName(), parent.table.getSchemaName())) {
+						if (node.parents.add(parent)) {
+							parent.children.add(node);
+						}
+					}
+				}
+			}
+		}
+		for (final Node<V> node : all) {
+			if (node.parents.isEmpty() && node.children.isEmpty()) {
+				isolated.add(node.object);
+			} else {
+				nodes.add(node);
+			}
+		}
+	}
+
+	/**
+	 * 作成順のウェーブを返します。親テーブルは子テーブルより前のウェーブになります。
+	 *
+	 * @param comparator ウェーブ内のソート順
+	 */
+	public List<List<V>> getCreateWaves(final Comparator<Table> comparator) {
+		final List<List<Node<V>>> levels = getLevels(comparator);
+		final List<List<V>> result = CommonUtils.list(levels.size() + 1);
+		for (final List<Node<V>> level : levels) {
+			result.add(toObjects(level, comparator));
+		}
+		return addIsolated(result, comparator);
+	}
+
+	/**
+	 * 削除順のウェーブを返します。子テーブルは親テーブルより前のウェーブになります。
+	 *
+	 * @param comparator ウェーブ内のソート順
+	 */
+	public List<List<V>> getDropWaves(final Comparator<Table> comparator) {
+		final List<List<Node<V>>> levels = getLevels(comparator);
+		final List<List<V>> result = CommonUtils.list(levels.size() + 1);
+		for (int i = levels.size() - 1; i >= 0; i--) {
+			result.add(toObjects(levels.get(i), comparator));
+		}
+		return addIsolated(result, comparator);
+	}
+
+	/**
+	 * 外部キーで関連する親テーブルと子テーブルを返します。
+	 *
+	 * @param obj テーブルを持つオブジェクト
+	 * @return 関連するテーブルを持つオブジェクト
+	 */
+	public List<V> getRelated(final V obj) {
+		final Node<V> node = nodeMap.get(obj);
+		if (node == null) {
+			return Collections.emptyList();
+		}
+		final List<V> result = CommonUtils.list(node.parents.size() + node.children.size());
+		for (final Node<V> parent : node.parents) {
+			result.add(parent.object);
+		}
+		for (final Node<V> child : node.children) {
+			if (!node.parents.contains(child)) {
+				result.add(child.object);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 循環参照しているテーブルを返します。
+	 *
+	 * @return 循環参照しているテーブル
+	 */
+	public List<V> getCyclicTables() {
+		if (levels == null) {
+			getLevels(Table.TableOrder.CREATE.getComparator());
+		}
+		return Collections.unmodifiableList(cyclicTables);
+	}
+
+	/**
+	 * @return 循環参照がある場合true
+	 */
+	public boolean hasCycle() {
+		return !getCyclicTables().isEmpty();
+	}
+
+	private List<V> toObjects(final List<Node<V>> level, final Comparator<Table> comparator) {
+		final List<V> result = CommonUtils.list(level.size());
+		for (final Node<V> node : level) {
+			result.add(node.object);
+		}
+		sort(result, comparator);
+		return result;
+	}
+
+	private List<List<V>> addIsolated(final List<List<V>> waves, final Comparator<Table> comparator) {
+		if (isolated.isEmpty()) {
+			return waves;
+		}
+		final List<V> first = CommonUtils.list(isolated);
+		sort(first, comparator);
+		if (waves.isEmpty()) {
+			waves.add(first);
+		} else {
+			first.addAll(waves.get(0));
+			waves.set(0, first);
+		}
+		return waves;
+	}
+
+	private void sort(final List<V> list, final Comparator<Table> comparator) {
+		if (list.size() > 1) {
+			Collections.sort(list, (o1, o2) -> comparator.compare(f.apply(o1), f.apply(o2)));
+		}
+	}
+
+	/**
+	 * 親テーブルの無いテーブルから順に依存の深さでレベル分けします。
+	 *
+	 * 循環参照で進めない場合は残りの依存数が最小のテーブルを単独のレベルとして循環を切ります。
+	 */
+	private List<List<Node<V>>> getLevels(final Comparator<Table> comparator) {
+		if (levels != null && levelComparator == comparator) {
+			return levels;
+		}
+		final List<List<Node<V>>> result = CommonUtils.list();
+		final Set<Node<V>> remaining = CommonUtils.linkedSet(nodes);
+		for (final Node<V> node : nodes) {
+			node.count = node.parents.size();
+		}
+		List<Node<V>> current = CommonUtils.list();
+		for (final Node<V> node : nodes) {
+			if (node.count == 0) {
+				current.add(node);
+			}
+		}
+		final Set<Node<V>> cyclic = CommonUtils.set();
+		while (!remaining.isEmpty()) {
+			if (current.isEmpty()) {
+				final Set<Node<V>> cycle = findCyclic(remaining);
+				cyclic.addAll(cycle);
+				current.add(selectCycleBreaker(cycle, comparator));
+			}
+			result.add(current);
+			final List<Node<V>> next = CommonUtils.list();
+			for (final Node<V> node : current) {
+				remaining.remove(node);
+			}
+			for (final Node<V> node : current) {
+				for (final Node<V> child : node.children) {
+					if (remaining.contains(child) && --child.count == 0) {
+						next.add(child);
+					}
+				}
+			}
+			current = next;
+		}
+		cyclicTables.clear();
+		for (final Node<V> node : nodes) {
+			if (cyclic.contains(node)) {
+				cyclicTables.add(node.object);
+			}
+		}
+		this.levels = result;
+		this.levelComparator = comparator;
+		return result;
+	}
+
+	/**
+	 * 残りのテーブルから循環に含まれないテーブル(循環に依存しているだけのテーブル)を除きます。
+	 */
+	private Set<Node<V>> findCyclic(final Set<Node<V>> remaining) {
+		final Set<Node<V>> result = CommonUtils.linkedSet(remaining);
+		final Map<Node<V>, Integer> childCount = CommonUtils.map(remaining.size());
+		final List<Node<V>> queue = CommonUtils.list();
+		for (final Node<V> node : result) {
+			int count = 0;
+			for (final Node<V> child : node.children) {
+				if (result.contains(child)) {
+					count++;
+				}
+			}
+			childCount.put(node, count);
+			if (count == 0) {
+				queue.add(node);
+			}
+		}
+		for (int i = 0; i < queue.size(); i++) {
+			final Node<V> node = queue.get(i);
+			result.remove(node);
+			for (final Node<V> parent : node.parents) {
+				if (result.contains(parent)) {
+					final int count = childCount.get(parent) - 1;
+					childCount.put(parent, count);
+					if (count == 0) {
+						queue.add(parent);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private Node<V> selectCycleBreaker(final Set<Node<V>> cycle, final Comparator<Table> comparator) {
+		Node<V> result = null;
+		for (final Node<V> node : cycle) {
+			if (result == null || node.count < result.count
+					|| (node.count == result.count && comparator.compare(node.table, result.table) < 0)) {
+				result = node;
+			}
+		}
+		result.count = 0;
+		return result;
+	}
+
+	static class Node<V> {
+		Node(final V object, final Table table) {
+			this.object = object;
+			this.table = table;
+		}
+
+		final V object;
+
+		final Table table;
+
+		final Set<Node<V>> parents = CommonUtils.linkedSet();
+
+		final Set<Node<V>> children = CommonUtils.linkedSet();
+
+		int count;
+
+		@Override
+		public String toString() {
+			return table.getName();
+		}
+	}
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.schemas;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLStreamException;
+
+import com.sqlapp.data.schemas.AbstractObjectXmlReaderHandler.ChildObjectHolder;
+import com.sqlapp.util.CommonUtils;
+import com.sqlapp.util.FileUtils;
+import com.sqlapp.util.StaxReader;
+
+/**
+ * テーブルのXMLから行を1件ずつ読み込むリーダー
+ *
+ * 呼び出し元のスレッドで次のrow要素だけを読み込みます。テーブル直下のcolumns要素はテーブルのカラムに追加し、それ以外の要素は読み飛ばします。
+ *
+ * @author tatsuo satoh
+ *
+ */
+public class TableRowXmlReader implements AutoCloseable {
+
+	private static final String COLUMNS = new ColumnCollection().getSimpleName();
+
+	private static final String ROWS = new RowCollection().getSimpleName();
+
+	private static final String ROW = new Row().getSimpleName();
+
+	private final Table table;
+
+	private final InputStream stream;
+
+	private final StaxReader reader;
+
+	private final ColumnCollectionXmlReaderHandler columnsHandler = new ColumnCollectionXmlReaderHandler();
+
+	private final RowXmlReaderHandler rowHandler = new RowXmlReaderHandler();
+	/**
+	 * 0:ルート要素の外、1:テーブル要素内、2:rows要素内
+	 */
+	private int depth = 0;
+
+	private boolean end = false;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param table
+	 *            読み込んだ行とカラムを追加するテーブル
+	 * @param file
+	 *            テーブルのXMLファイル
+	 * @param options
+	 *            読み込みオプション
+	 */
+	public TableRowXmlReader(final Table table, final File file, final XmlReaderOptions options)
+			throws XMLStreamException, IOException {
+		this.table = table;
+		this.stream = new BufferedInputStream(new FileInputStream(file));
+		try {
+			this.reader = new StaxReader(stream);
+		} catch (final XMLStreamException e) {
+			FileUtils.close(stream);
+			throw e;
+		}
+		columnsHandler.setReaderOptions(options);
+		rowHandler.setReaderOptions(options);
+	}
+
+	/**
+	 * 次の行を読み込みます。
+	 *
+	 * @return 行が無い場合null
+	 */
+	public Row read() throws XMLStreamException {
+		if (!moveToRow()) {
+			return null;
+		}
+		final Row row = table.newRow();
+		rowHandler.handle(reader, new ChildObjectHolder(row));
+		return row;
+	}
+
+	/**
+	 * 行を作成せずに読み飛ばします。
+	 *
+	 * @param size
+	 *            読み飛ばす行数
+	 * @return 読み飛ばした行数
+	 */
+	public long skip(final long size) throws XMLStreamException {
+		long i = 0;
+		while (i < size && moveToRow()) {
+			skipElement();
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * 次のrow要素の開始位置まで移動します。
+	 *
+	 * @return row要素が無い場合false
+	 */
+	private boolean moveToRow() throws XMLStreamException {
+		while (!end && reader.hasNext()) {
+			if (reader.isStartElement()) {
+				final String name = reader.getLocalName();
+				if (depth == 0) {
+					depth = 1;
+					reader.next();
+				} else if (depth == 1 && CommonUtils.eqIgnoreCase(COLUMNS, name)) {
+					columnsHandler.handle(reader, new ChildObjectHolder(table.getColumns()));
+				} else if (depth == 1 && CommonUtils.eqIgnoreCase(ROWS, name)) {
+					depth = 2;
+					reader.next();
+				} else if (depth == 2 && CommonUtils.eqIgnoreCase(ROW, name)) {
+					return true;
+				} else {
+					skipElement();
+				}
+			} else if (reader.isEndElement()) {
+				depth--;
+				if (depth <= 0) {
+					end = true;
+				} else {
+					reader.next();
+				}
+			} else {
+				reader.next();
+			}
+		}
+		end = true;
+		return false;
+	}
+
+	/**
+	 * 現在の開始要素を終了要素まで読み飛ばします。
+	 */
+	private void skipElement() throws XMLStreamException {
+		int level = 0;
+		while (reader.hasNext()) {
+			if (reader.isStartElement()) {
+				level++;
+			} else if (reader.isEndElement()) {
+				level--;
+			}
+			reader.next();
+			if (level <= 0) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return the table
+	 */
+	public Table getTable() {
+		return table;
+	}
+
+	@Override
+	public void close() throws Exception {
+		try {
+			reader.close();
+		} finally {
+			FileUtils.close(stream);
+		}
+	}
+}
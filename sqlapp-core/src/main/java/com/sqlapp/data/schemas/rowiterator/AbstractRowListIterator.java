@@ -116,6 +116,22 @@ public abstract class AbstractRowListIterator<T> extends AbstractListIterator {
 		}
 	}
 	
+	/**
+	 * @return the limit
+	 */
+	protected long getLimit() {
+		return limit;
+	}
+
+	/**
+	 * 読み込む最大の行数を設定します。
+	 * 
+	 * @param limit the limit to set
+	 */
+	public void setLimit(long limit) {
+		this.limit = limit;
+	}
+
 	protected abstract void doClose();
 	
 	protected void put(Row row, Column column, Object value){
@@ -56,8 +56,18 @@ public abstract class AbstractTextRowListIterator<T> extends AbstractListIterato
 		}
 		preInitialize();
 		initializeColumn();
+		skip(index);
+		this.init=true;
+	}
+
+	/**
+	 * 開始位置までの行を読み飛ばします。
+	 * 
+	 * @param size 読み飛ばす行数
+	 */
+	protected void skip(final long size) throws Exception{
 		long i = 0;
-		while (i < index) {
+		while (i < size) {
 			if (hasNextInternal()){
 				read();
 			} else{
@@ -65,7 +75,6 @@ public abstract class AbstractTextRowListIterator<T> extends AbstractListIterato
 			}
 			i++;
 		}
-		this.init=true;
 	}
 
 	protected abstract void preInitialize() throws Exception;
@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.schemas.rowiterator;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.sqlapp.data.converter.BigDecimalConverter;
+import com.sqlapp.data.converter.Converter;
+import com.sqlapp.data.converter.DoubleConverter;
+import com.sqlapp.data.converter.FloatConverter;
+import com.sqlapp.data.converter.IntegerConverter;
+import com.sqlapp.data.converter.LongConverter;
+import com.sqlapp.data.converter.ShortConverter;
+import com.sqlapp.data.converter.StringConverter;
+import com.sqlapp.data.db.datatype.DataType;
+import com.sqlapp.data.db.datatype.DefaultJdbcTypeHandler;
+import com.sqlapp.data.db.datatype.JdbcTypeHandler;
+import com.sqlapp.data.schemas.Column;
+
+/**
+ * ResultSetから型に応じたメソッドで値を取得し、型変換をせずにRowへ設定できる値を返します。
+ * 
+ */
+enum ColumnReader {
+	SHORT(ShortConverter.class, Short.class) {
+		@Override
+		Object read(final ResultSet rs, final int index) throws SQLException {
+			final short value = rs.getShort(index);
+			return rs.wasNull() ? null : Short.valueOf(value);
+		}
+	},
+	INT(IntegerConverter.class, Integer.class) {
+		@Override
+		Object read(final ResultSet rs, final int index) throws SQLException {
+			final int value = rs.getInt(index);
+			return rs.wasNull() ? null : Integer.valueOf(value);
+		}
+	},
+	LONG(LongConverter.class, Long.class) {
+		@Override
+		Object read(final ResultSet rs, final int index) throws SQLException {
+			final long value = rs.getLong(index);
+			return rs.wasNull() ? null : Long.valueOf(value);
+		}
+	},
+	FLOAT(FloatConverter.class, Float.class) {
+		@Override
+		Object read(final ResultSet rs, final int index) throws SQLException {
+			final float value = rs.getFloat(index);
+			return rs.wasNull() ? null : Float.valueOf(value);
+		}
+	},
+	DOUBLE(DoubleConverter.class, Double.class) {
+		@Override
+		Object read(final ResultSet rs, final int index) throws SQLException {
+			final double value = rs.getDouble(index);
+			return rs.wasNull() ? null : Double.valueOf(value);
+		}
+	},
+	BIG_DECIMAL(BigDecimalConverter.class, BigDecimal.class) {
+		@Override
+		Object read(final ResultSet rs, final int index) throws SQLException {
+			return rs.getBigDecimal(index);
+		}
+	},
+	STRING(StringConverter.class, String.class) {
+		@Override
+		Object read(final ResultSet rs, final int index) throws SQLException {
+			return rs.getString(index);
+		}
+
+		@Override
+		protected boolean isTarget(final Converter<?> converter) {
+			return super.isTarget(converter) && !((StringConverter) converter).isUseIntern();
+		}
+	};
+
+	private final Class<?> converterClass;
+
+	private final Class<?> valueClass;
+
+	private ColumnReader(final Class<?> converterClass, final Class<?> valueClass) {
+		this.converterClass = converterClass;
+		this.valueClass = valueClass;
+	}
+
+	/**
+	 * ResultSetから値を取得します。
+	 * 
+	 * @param rs
+	 * @param index
+	 * @return 値
+	 * @throws SQLException
+	 */
+	abstract Object read(ResultSet rs, int index) throws SQLException;
+
+	protected boolean isTarget(final Converter<?> converter) {
+		return converter.getClass() == converterClass && converter.getDefaultValue() == null;
+	}
+
+	/**
+	 * カラムとJdbcTypeHandlerに対応するColumnReaderを取得します。
+	 * 
+	 * JdbcTypeHandlerが既定のもので、ResultSetとカラムの型変換が既定の変換と同じ場合のみ対象とします。
+	 * 
+	 * @param column
+	 * @param jdbcTypeHandler
+	 * @return 対応するColumnReaderがない場合はnull
+	 */
+	static ColumnReader getColumnReader(final Column column, final JdbcTypeHandler jdbcTypeHandler) {
+		if (jdbcTypeHandler == null || jdbcTypeHandler.getClass() != DefaultJdbcTypeHandler.class) {
+			return null;
+		}
+		final ColumnReader reader = getColumnReader(column.getDataType());
+		if (reader == null) {
+			return null;
+		}
+		final Converter<?> resultSetConverter = ((DefaultJdbcTypeHandler) jdbcTypeHandler).getResultSetconverter();
+		if (!reader.isTarget(resultSetConverter) || !reader.isTarget(column.getConverter())) {
+			return null;
+		}
+		return reader;
+	}
+
+	/**
+	 * カラムの型変換がそのまま返す値のクラスを取得します。
+	 * 
+	 * カラムの型変換が既定の変換と同じクラスで、デフォルト値の設定、trim、internを行わない場合のみ対象とします。
+	 * 
+	 * @param column
+	 * @return 対象外の場合はnull
+	 */
+	static Class<?> getDirectClass(final Column column) {
+		final Converter<?> converter = column.getConverter();
+		if (converter == null) {
+			return null;
+		}
+		for (final ColumnReader reader : values()) {
+			if (reader.isTarget(converter)) {
+				return reader.valueClass;
+			}
+		}
+		return null;
+	}
+
+	private static ColumnReader getColumnReader(final DataType dataType) {
+		if (dataType == null) {
+			return null;
+		}
+		switch (dataType) {
+		case SMALLINT:
+		case UTINYINT:
+			return SHORT;
+		case MEDIUMINT:
+		case INT:
+		case USMALLINT:
+		case UMEDIUMINT:
+			return INT;
+		case BIGINT:
+		case UINT:
+			return LONG;
+		case REAL:
+			return FLOAT;
+		case DOUBLE:
+			return DOUBLE;
+		case DECIMAL:
+		case NUMERIC:
+			return BIG_DECIMAL;
+		case CHAR:
+		case VARCHAR:
+		case NCHAR:
+		case NVARCHAR:
+			return STRING;
+		default:
+			return null;
+		}
+	}
+}
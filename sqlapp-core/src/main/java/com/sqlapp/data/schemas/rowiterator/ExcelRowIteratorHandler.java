@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -66,11 +67,14 @@ public class ExcelRowIteratorHandler extends AbstractRowIteratorHandler{
 	
 	@Override
 	public Iterator<Row> iterator(final RowCollection c) {
-		return new ExcelIterator(c, file, 0L, this.getRowValueConverter(), this.skipHeaderRowsSize);
+		return listIterator(c, 0);
 	}
 
 	@Override
 	public ListIterator<Row> listIterator(final RowCollection c, final int index) {
+		if (WorkbookFileType.parse(file)==WorkbookFileType.EXCEL2007&&file.length()>0){
+			return new XlsxIterator(c, file, index, this.getRowValueConverter(), this.skipHeaderRowsSize);
+		}
 		return new ExcelIterator(c, file, index, this.getRowValueConverter(), this.skipHeaderRowsSize);
 	}
 
@@ -79,23 +83,109 @@ public class ExcelRowIteratorHandler extends AbstractRowIteratorHandler{
 		return (ListIterator<Row>)iterator(c);
 	}
 
-	public static class ExcelIterator extends AbstractRowListIterator<org.apache.poi.ss.usermodel.Row> {
-		
-		ExcelIterator(final RowCollection c, final File file, final long index, final RowValueConverter valueConverter, final int skipHeaderRowsSize){
+	/**
+	 * ヘッダー行のカラムの対応と、値からのカラムの型の設定を行うIterator
+	 *
+	 * @param <T> 読み込む行の型
+	 */
+	public abstract static class AbstractExcelIterator<T> extends AbstractRowListIterator<T> {
+
+		AbstractExcelIterator(final RowCollection c, final File file, final long index, final RowValueConverter valueConverter, final int skipHeaderRowsSize){
 			super(c, index, valueConverter);
 			this.file=file;
 			this.filename=file.getAbsolutePath();
 			this.skipHeaderRowsSize=skipHeaderRowsSize;
 		}
 
-		private final File file;
-		private Workbook workbook;
-		private final String filename;
-		private final int skipHeaderRowsSize;
-		
-		private final Map<Number, Column> columnIndexColumnMap=CommonUtils.map();
+		protected final File file;
+		protected final String filename;
+		protected final int skipHeaderRowsSize;
+
+		protected final Map<Number, Column> columnIndexColumnMap=CommonUtils.map();
+
+		protected final Map<Number, Boolean> columnIndexFixedTypeMap=CommonUtils.map();
+
+		/**
+		 * ヘッダー行の文字列の値からカラムを設定します。
+		 * @param headerValues 列番号と値のMap
+		 */
+		protected void initializeColumn(final Map<Integer, Object> headerValues){
+			if (CommonUtils.isEmpty(table.getColumns())){
+				headerValues.forEach((columnIndex, obj)->{
+					if (!(obj instanceof String)){
+						return;
+					}
+					final String columnName=(String)obj;
+					final Column column=new Column(columnName);
+					columnIndexColumnMap.put(columnIndex, column);
+					columnIndexFixedTypeMap.put(columnIndex, false);
+					table.getColumns().add(column);
+				});
+			} else{
+				headerValues.forEach((columnIndex, obj)->{
+					if (!(obj instanceof String)){
+						return;
+					}
+					final String columnName=(String)obj;
+					final Column column=searchColumn(table, columnName);
+					columnIndexFixedTypeMap.put(columnIndex, false);
+					if (column!=null){
+						if (column.getDataType()!=null){
+							columnIndexFixedTypeMap.put(columnIndex, true);
+						}
+						columnIndexColumnMap.put(columnIndex, column);
+					}
+				});
+			}
+		}
+
+		protected void setColumnTypeMap(final Table table) {
+			int i=0;
+			for(final Column column:table.getColumns()) {
+				if (column.getDataType()!=null){
+					columnIndexFixedTypeMap.put(i, true);
+				}
+				columnIndexColumnMap.put(i, column);
+				i++;
+			}
+		}
+
+		/**
+		 * 列番号に対応するカラムに値を設定します。
+		 * @param row 行
+		 * @param columnIndex 列番号
+		 * @param value 値
+		 * @param columnTypeSetter カラムの型が固定されていない場合のカラムの型の設定
+		 */
+		protected void setValue(final Row row, final int columnIndex, final Object value, final Consumer<Column> columnTypeSetter){
+			final Column column=columnIndexColumnMap.get(columnIndex);
+			if (column==null){
+				return;
+			}
+			final Boolean fixed=columnIndexFixedTypeMap.get(columnIndex);
+			if (value!=null){
+				if (!fixed.booleanValue()){
+					columnTypeSetter.accept(column);
+					if (value instanceof String){
+						if (column.getLength()!=null){
+							column.setLength(Math.max(this.getTypeLength((String)value), column.getLength()));
+						} else{
+							column.setLength(this.getTypeLength((String)value));
+						}
+					}
+				}
+				put(row, column, value);
+			}
+		}
+	}
+
+	public static class ExcelIterator extends AbstractExcelIterator<org.apache.poi.ss.usermodel.Row> {
 		
-		private final Map<Number, Boolean> columnIndexFixedTypeMap=CommonUtils.map();
+		ExcelIterator(final RowCollection c, final File file, final long index, final RowValueConverter valueConverter, final int skipHeaderRowsSize){
+			super(c, file, index, valueConverter, skipHeaderRowsSize);
+		}
+
+		private Workbook workbook;
 		
 		private Iterator<org.apache.poi.ss.usermodel.Row> rowIterator;
 
@@ -124,37 +214,9 @@ public class ExcelRowIteratorHandler extends AbstractRowIteratorHandler{
 			} else{
 				return;
 			}
-			if (CommonUtils.isEmpty(table.getColumns())){
-				headerRow.forEach(cell->{
-					final Object obj=ExcelUtils.getCellValue(cell);
-					if (!(obj instanceof String)){
-						return;
-					}
-					final String columnName=(String)obj;
-					final Column column=new Column(columnName);
-					columnIndexColumnMap.put(cell.getColumnIndex(), column);
-					columnIndexFixedTypeMap.put(cell.getColumnIndex(), false);
-					table.getColumns().add(column);
-				});
-			} else{
-				final boolean[] hasType=new boolean[1];
-				hasType[0]=true;
-				headerRow.forEach(cell->{
-					final Object obj=ExcelUtils.getCellValue(cell);
-					if (!(obj instanceof String)){
-						return;
-					}
-					final String columnName=(String)obj;
-					final Column column=searchColumn(table, columnName);
-					columnIndexFixedTypeMap.put(cell.getColumnIndex(), false);
-					if (column!=null){
-						if (column.getDataType()!=null){
-							columnIndexFixedTypeMap.put(cell.getColumnIndex(), true);
-						}
-						columnIndexColumnMap.put(cell.getColumnIndex(), column);
-					}
-				});
-			}
+			final Map<Integer, Object> headerValues=CommonUtils.linkedMap();
+			headerRow.forEach(cell->headerValues.put(cell.getColumnIndex(), ExcelUtils.getCellValue(cell)));
+			initializeColumn(headerValues);
 		}
 		
 		protected void initializeColumn2() throws Exception {
@@ -207,42 +269,13 @@ public class ExcelRowIteratorHandler extends AbstractRowIteratorHandler{
 			}
 		}
 
-		private void setColumnTypeMap(final Table table) {
-			int i=0;
-			for(final Column column:table.getColumns()) {
-				if (column.getDataType()!=null){
-					columnIndexFixedTypeMap.put(i, true);
-				}
-				columnIndexColumnMap.put(i, column);
-				i++;
-			}
-		}
-
 		@Override
 		protected void set(final org.apache.poi.ss.usermodel.Row excelRow, final Row row) throws Exception {
 			row.setDataSourceInfo(filename);
 			row.setDataSourceDetailInfo(excelRow.getSheet().getSheetName());
 			row.setDataSourceRowNumber(excelRow.getRowNum()+1);
 			excelRow.forEach(cell->{
-				final Column column=columnIndexColumnMap.get(cell.getColumnIndex());
-				if (column==null){
-					return;
-				}
-				final Boolean fixed=columnIndexFixedTypeMap.get(cell.getColumnIndex());
-				final Object value=ExcelUtils.getCellValue(cell);
-				if (value!=null){
-					if (!fixed.booleanValue()){
-						ExcelUtils.setColumnType(cell, column);
-						if (value instanceof String){
-							if (column.getLength()!=null){
-								column.setLength(Math.max(this.getTypeLength((String)value), column.getLength()));
-							} else{
-								column.setLength(this.getTypeLength((String)value));
-							}
-						}
-					}
-					put(row, column, value);
-				}
+				setValue(row, cell.getColumnIndex(), ExcelUtils.getCellValue(cell), column->ExcelUtils.setColumnType(cell, column));
 			});
 		}
 
@@ -257,5 +290,68 @@ public class ExcelRowIteratorHandler extends AbstractRowIteratorHandler{
 		}
 		
 	}
-	
+
+	/**
+	 * xlsxのシートのXMLを順に読み込むIterator
+	 */
+	public static class XlsxIterator extends AbstractExcelIterator<XlsxSheetReader.SheetRow> {
+
+		XlsxIterator(final RowCollection c, final File file, final long index, final RowValueConverter valueConverter, final int skipHeaderRowsSize){
+			super(c, file, index, valueConverter, skipHeaderRowsSize);
+		}
+
+		private XlsxSheetReader reader;
+
+		private XlsxSheetReader.SheetRow current;
+
+		@Override
+		protected void preInitialize() throws Exception {
+			this.reader=new XlsxSheetReader(file);
+		}
+
+		@Override
+		protected XlsxSheetReader.SheetRow read() throws Exception {
+			hasNextInternal();
+			final XlsxSheetReader.SheetRow row=current;
+			current=null;
+			return row;
+		}
+
+		@Override
+		protected boolean hasNextInternal() throws Exception {
+			if (current==null){
+				current=reader.read();
+			}
+			return current!=null;
+		}
+
+		@Override
+		protected void initializeColumn() throws Exception {
+			if (!hasNextInternal()){
+				return;
+			}
+			initializeColumn(read().getValues());
+		}
+
+		@Override
+		protected void set(final XlsxSheetReader.SheetRow sheetRow, final Row row) throws Exception {
+			row.setDataSourceInfo(filename);
+			row.setDataSourceDetailInfo(reader.getSheetName());
+			row.setDataSourceRowNumber(sheetRow.getRowNum()+1);
+			sheetRow.getValues().forEach((columnIndex, value)->{
+				setValue(row, columnIndex, value, column->ExcelUtils.setColumnType(value, column));
+			});
+		}
+
+		@Override
+		protected void doClose() {
+			try {
+				if (reader!=null){
+					reader.close();
+				}
+			} catch (final Exception e) {
+			}
+		}
+	}
+
 }
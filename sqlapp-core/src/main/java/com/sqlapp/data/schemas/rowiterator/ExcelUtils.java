@@ -221,6 +221,43 @@ public class ExcelUtils {
 		}
 	}
 
+	/**
+	 * セルから読み込んだ値の型に合わせてカラムの型を設定します。
+	 * @param value getCellValueと同じ型の値
+	 * @param column カラム
+	 */
+	public static void setColumnType(final Object value, final Column column) {
+		if (value==null){
+			if (column.getDataType()!=null&&column.getDataType()!=DataType.NVARCHAR){
+				return;
+			}
+			column.setDataType(DataType.NVARCHAR);
+			column.setLength(DialectUtils.getDefaultTypeLength(null));
+		} else if (value instanceof Boolean){
+			if (column.getDataType()!=null&&column.getDataType()!=DataType.BOOLEAN){
+				return;
+			}
+			column.setDataType(DataType.BOOLEAN);
+		} else if (value instanceof Date){
+			if (column.getDataType()!=null&&column.getDataType()!=DataType.DATETIME){
+				return;
+			}
+			column.setDataType(DataType.DATETIME);
+		} else if (value instanceof Number){
+			final double dbValue=((Number)value).doubleValue();
+			if (dbValue!=Math.round(dbValue)){
+				column.setDataType(DataType.DOUBLE);
+			} else{
+				if (column.getDataType()!=DataType.DOUBLE){
+					column.setDataType(DataType.BIGINT);
+				}
+			}
+		} else if (value instanceof String){
+			column.setDataType(DataType.NVARCHAR);
+			column.setLength(DialectUtils.getDefaultTypeLength(null));
+		}
+	}
+
 	private static boolean hasDecimalPoint(final Cell cell){
 		final double dbValue=cell.getNumericCellValue();
 		final double dbValue2=Math.round(dbValue);
@@ -24,6 +24,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
@@ -42,10 +43,14 @@ import com.sqlapp.data.db.sql.SqlType;
 import com.sqlapp.data.schemas.Column;
 import com.sqlapp.data.schemas.Row;
 import com.sqlapp.data.schemas.RowCollection;
+import com.sqlapp.data.schemas.SchemaUtils;
 import com.sqlapp.data.schemas.RowIteratorHandler;
 import com.sqlapp.data.schemas.Table;
+import com.sqlapp.data.schemas.UniqueConstraint;
+import com.sqlapp.data.schemas.function.TableSqlBuilder;
 import com.sqlapp.jdbc.ConnectionHandler;
 import com.sqlapp.jdbc.DataSourceConnectionHandler;
+import com.sqlapp.util.AbstractSqlBuilder;
 import com.sqlapp.util.CommonUtils;
 import com.sqlapp.util.DbUtils;
 import com.sqlapp.util.DefaultPredicate;
@@ -63,6 +68,22 @@ public class JdbcDynamicRowIteratorHandler implements RowIteratorHandler {
 	private Predicate<RowCollection> filter = new DefaultPredicate<RowCollection>();
 
 	private Options option=null;
+	/**
+	 * 読み込むキーの範囲
+	 */
+	private KeyRange keyRange=null;
+	/**
+	 * 主キーの範囲で分割して並列に読み込む数
+	 */
+	private int parallelism=1;
+	/**
+	 * 並列に読み込む場合に範囲毎に先読みする行数
+	 */
+	private int bufferSize=1000;
+	/**
+	 * 読み込む最大の行数
+	 */
+	private Long limit=null;
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -73,8 +94,7 @@ public class JdbcDynamicRowIteratorHandler implements RowIteratorHandler {
 	@Override
 	public Iterator<Row> iterator(final RowCollection rows) {
 		if (getFilter().test(rows)) {
-			final ResultSetIterator iterator = getResultSetIterator(rows, 0);
-			return iterator;
+			return getRowListIterator(rows, 0);
 		} else {
 			final List<Row> list = CommonUtils.emptyList();
 			return list.iterator();
@@ -87,11 +107,160 @@ public class JdbcDynamicRowIteratorHandler implements RowIteratorHandler {
 
 	protected ResultSetIterator getResultSetIterator(final RowCollection rows,
 			final int index) {
+		return getResultSetIterator(rows, index, this.getKeyRange());
+	}
+
+	protected ResultSetIterator getResultSetIterator(final RowCollection rows,
+			final int index, final KeyRange keyRange) {
 		final ResultSetIterator iterator = new ResultSetIterator(rows,
-				getConnectionHandler(), index, this.getOptions());
+				getConnectionHandler(), index, this.getOptions(), keyRange);
+		if (this.getLimit() != null) {
+			iterator.setLimit(this.getLimit().longValue());
+		}
 		return iterator;
 	}
 
+	/**
+	 * 並列数が1より大きい場合は主キーの範囲毎に並列に読み込むイテレーターを返します。
+	 */
+	private ListIterator<Row> getRowListIterator(final RowCollection rows, final int index) {
+		if (this.getParallelism() <= 1 || this.getKeyRange() != null || index != 0 || this.getLimit() != null) {
+			return getResultSetIterator(rows, index);
+		}
+		final List<KeyRange> keyRanges = createKeyRanges(rows.getParent(), this.getParallelism());
+		if (keyRanges.size() <= 1) {
+			return getResultSetIterator(rows, index);
+		}
+		final List<ResultSetIterator> iterators = CommonUtils.list(keyRanges.size());
+		for (final KeyRange keyRange : keyRanges) {
+			iterators.add(getResultSetIterator(rows, 0, keyRange));
+		}
+		return new KeyRangeRowListIterator(iterators, this.getParallelism(), this.getBufferSize());
+	}
+
+	/**
+	 * 主キーの範囲毎に読み込むハンドラーを作成します。範囲毎に別のファイルに出力する場合等に使用します。
+	 * 
+	 * @param table
+	 *            対象のテーブル
+	 * @param count
+	 *            分割数
+	 * @return キーの順に並んだハンドラー
+	 */
+	public List<JdbcDynamicRowIteratorHandler> split(final Table table, final int count) {
+		final List<KeyRange> keyRanges = createKeyRanges(table, count);
+		final List<JdbcDynamicRowIteratorHandler> result = CommonUtils.list(keyRanges.size());
+		for (final KeyRange keyRange : keyRanges) {
+			final JdbcDynamicRowIteratorHandler handler = new JdbcDynamicRowIteratorHandler();
+			handler.setDataSource(this.getDataSource());
+			handler.setFilter(this.getFilter());
+			handler.setOptions(this.getOptions());
+			handler.setKeyRange(keyRange);
+			result.add(handler);
+		}
+		return result;
+	}
+
+	/**
+	 * 主キーの範囲を作成します。主キーが単一のカラムでない場合は分割しません。
+	 * 
+	 * 整数のキーは最小値と最大値を等間隔に分割し、それ以外のキーはSQLで読み飛ばした位置のキーで件数を等分に分割します。
+	 * 整数でないキーはDBがOFFSET、LIMITをサポートしていない場合、全てのキーを読み込む必要があり分割に見合わないため分割しません。
+	 * 
+	 * @param table
+	 *            対象のテーブル
+	 * @param count
+	 *            分割数
+	 */
+	public List<KeyRange> createKeyRanges(final Table table, final int count) {
+		final UniqueConstraint pk = table.getPrimaryKeyConstraint();
+		if (count <= 1 || pk == null || pk.getColumns().size() != 1) {
+			return CommonUtils.list(new KeyRange(null, null, null));
+		}
+		final Column column = table.getColumns().get(pk.getColumns().get(0).getName());
+		if (column == null) {
+			return CommonUtils.list(new KeyRange(null, null, null));
+		}
+		final ConnectionHandler connectionHandler = getConnectionHandler();
+		Connection connection = null;
+		try {
+			connection = connectionHandler.getConnection();
+			final Dialect dialect = DialectResolver.getInstance().getDialect(connection);
+			try (Statement statement = connection.createStatement()) {
+				final AbstractSqlBuilder<?> builder = dialect.createSqlBuilder();
+				builder.select()._add(" MIN(").name(column)._add("), MAX(").name(column)._add(")");
+				builder.from().space().name(table, true);
+				final Object min;
+				final Object max;
+				try (ResultSet resultSet = statement.executeQuery(builder.toString())) {
+					if (!resultSet.next()) {
+						return CommonUtils.list(new KeyRange(column, null, null));
+					}
+					min = resultSet.getObject(1);
+					max = resultSet.getObject(2);
+				}
+				if (min == null || max == null) {
+					return CommonUtils.list(new KeyRange(column, null, null));
+				}
+				final List<KeyRange> keyRanges = KeyRange.split(column, min, max, count);
+				if (keyRanges != null) {
+					return keyRanges;
+				}
+				return createKeyRanges(dialect, connection, statement, table, column, count);
+			}
+		} catch (final SQLException e) {
+			throw new RuntimeException(e);
+		} finally {
+			try {
+				connectionHandler.releaseConnection(connection);
+			} catch (final SQLException e) {
+			}
+		}
+	}
+
+	/**
+	 * 件数を等分する位置のキーを1行ずつSQLで読み飛ばして取得し、キーの範囲を作成します。
+	 */
+	private List<KeyRange> createKeyRanges(final Dialect dialect, final Connection connection, final Statement statement,
+			final Table table, final Column column, final int count) throws SQLException {
+		final List<Object> bounds = CommonUtils.list(count);
+		final boolean standardPaging = dialect.supportsStandardOffsetFetchRows();
+		if (!standardPaging && !(dialect.supportsLimit() && dialect.supportsLimitOffset())) {
+			return KeyRange.create(column, bounds);
+		}
+		AbstractSqlBuilder<?> builder = dialect.createSqlBuilder();
+		builder.select().count("*").from().space().name(table, true);
+		long rowCount = 0;
+		try (ResultSet resultSet = statement.executeQuery(builder.toString())) {
+			if (resultSet.next()) {
+				rowCount = resultSet.getLong(1);
+			}
+		}
+		if (rowCount < count) {
+			return KeyRange.create(column, bounds);
+		}
+		builder = dialect.createSqlBuilder();
+		builder.select().name(column).from().space().name(table, true);
+		builder.lineBreak().orderBy().space().name(column);
+		if (standardPaging) {
+			builder.lineBreak().offset()._add(" ? ").rows();
+			builder.lineBreak().fetch().first()._add(" 1 ").rows().only();
+		} else {
+			builder.lineBreak().limit()._add(" 1").space().offset()._add(" ?");
+		}
+		try (PreparedStatement boundStatement = connection.prepareStatement(builder.toString())) {
+			for (int i = 1; i < count; i++) {
+				boundStatement.setLong(1, rowCount * i / count);
+				try (ResultSet resultSet = boundStatement.executeQuery()) {
+					if (resultSet.next()) {
+						bounds.add(resultSet.getObject(1));
+					}
+				}
+			}
+		}
+		return KeyRange.create(column, bounds);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -102,8 +271,7 @@ public class JdbcDynamicRowIteratorHandler implements RowIteratorHandler {
 	@Override
 	public ListIterator<Row> listIterator(final RowCollection rows, final int index) {
 		if (getFilter().test(rows)) {
-			final ResultSetIterator iterator = getResultSetIterator(rows, index);
-			return iterator;
+			return getRowListIterator(rows, index);
 		} else {
 			final List<Row> list = CommonUtils.emptyList();
 			return list.listIterator();
@@ -120,8 +288,7 @@ public class JdbcDynamicRowIteratorHandler implements RowIteratorHandler {
 	@Override
 	public ListIterator<Row> listIterator(final RowCollection rows) {
 		if (getFilter().test(rows)) {
-			final ResultSetIterator iterator = getResultSetIterator(rows, 0);
-			return iterator;
+			return getRowListIterator(rows, 0);
 		} else {
 			final List<Row> list = CommonUtils.emptyList();
 			return list.listIterator();
@@ -172,6 +339,66 @@ public class JdbcDynamicRowIteratorHandler implements RowIteratorHandler {
 		this.option = option;
 	}
 
+	/**
+	 * @return the keyRange
+	 */
+	public KeyRange getKeyRange() {
+		return keyRange;
+	}
+
+	/**
+	 * @param keyRange the keyRange to set
+	 */
+	public void setKeyRange(final KeyRange keyRange) {
+		this.keyRange = keyRange;
+	}
+
+	/**
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * 主キーの範囲で分割して並列に読み込む数を設定します。1より大きい場合、範囲毎に接続を取得して読み込み、キーの順に返します。
+	 * 
+	 * @param parallelism the parallelism to set
+	 */
+	public void setParallelism(final int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * @return the bufferSize
+	 */
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	/**
+	 * @param bufferSize the bufferSize to set
+	 */
+	public void setBufferSize(final int bufferSize) {
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * @return the limit
+	 */
+	public Long getLimit() {
+		return limit;
+	}
+
+	/**
+	 * 読み込む最大の行数を設定します。DBがサポートしている場合はSQLのFETCH FIRST、LIMITで制限します。
+	 * 
+	 * @param limit the limit to set
+	 */
+	public void setLimit(final Long limit) {
+		this.limit = limit;
+	}
+
 	/**
 	 * ResultSetIteratorの実装クラス
 	 * 
@@ -185,14 +412,25 @@ public class JdbcDynamicRowIteratorHandler implements RowIteratorHandler {
 		private ResultSet resultSet;
 		private Dialect dialect;
 		private final Options options;
+		private final KeyRange keyRange;
+		/**
+		 * SQLで指定する読み飛ばす行数と最大の行数
+		 */
+		private final List<Long> pagingParameters = CommonUtils.list(2);
 
 		private final ConnectionHandler connectionHandler;
 
 		public ResultSetIterator(final RowCollection rows,
 				final ConnectionHandler connectionHandler, final int index, final Options options) {
+			this(rows, connectionHandler, index, options, null);
+		}
+
+		public ResultSetIterator(final RowCollection rows,
+				final ConnectionHandler connectionHandler, final int index, final Options options, final KeyRange keyRange) {
 			super(rows, index, (r, c,v)->v);
 			this.connectionHandler = connectionHandler;
 			this.options = options;
+			this.keyRange = keyRange!=null&&keyRange.getColumn()!=null?keyRange:null;
 		}
 
 
@@ -237,7 +475,17 @@ public class JdbcDynamicRowIteratorHandler implements RowIteratorHandler {
 		}
 
 		protected PreparedStatement createStatement() throws SQLException {
-			return connection.prepareStatement(createSql(table));
+			final PreparedStatement statement=connection.prepareStatement(createSql(table));
+			int i=1;
+			if (keyRange!=null){
+				for(final Object value:keyRange.getParameters()){
+					statement.setObject(i++, value);
+				}
+			}
+			for(final Long value:pagingParameters){
+				statement.setLong(i++, value.longValue());
+			}
+			return statement;
 		}
 
 		protected ResultSet createResultSet() throws SQLException {
@@ -265,12 +513,79 @@ public class JdbcDynamicRowIteratorHandler implements RowIteratorHandler {
 						.clone();
 			}
 			options.setDecorateSchemaName(true);
+			final List<Column> orderColumns = getOrderColumns(table);
+			final boolean paging = orderColumns != null && addPagingParameters();
+			// 途中から読み込む場合に先頭から読み込んだ場合と同じ行を読み飛ばすように、一意なカラムがある場合は常に並び順を指定する
+			if (orderColumns != null){
+				final TableSqlBuilder<AbstractSqlBuilder<?>> condition=options.getTableOptions().getSelectAllCondition();
+				options.getTableOptions().setSelectAllCondition((t, builder)->{
+					if (condition!=null){
+						condition.accept(t, builder);
+					}
+					if (keyRange!=null){
+						keyRange.appendCondition(builder);
+					} else{
+						builder.lineBreak().orderBy().space().names(orderColumns.toArray(new Column[0]));
+					}
+					if (paging){
+						appendPaging(builder);
+					}
+				});
+			}
 			sqlFactory.setOptions(options);
 			final List<SqlOperation> operationTexts = sqlFactory.createSql(table);
 			final SqlOperation operationText = CommonUtils.first(operationTexts);
 			return operationText.getSqlText();
 		}
 
+		/**
+		 * 読み込みの並び順のカラムを返します。一意なカラムがない場合は順序が決まらないためnullを返します。
+		 */
+		private List<Column> getOrderColumns(final Table table) {
+			if (keyRange!=null){
+				return CommonUtils.list(keyRange.getColumn());
+			}
+			final List<Column> columns = table.getUniqueColumns();
+			return CommonUtils.isEmpty(columns)?null:columns;
+		}
+
+		/**
+		 * 開始位置と最大の行数をSQLで指定できる場合はパラメタに追加します。
+		 * 
+		 * @return SQLで指定する場合true
+		 */
+		private boolean addPagingParameters() {
+			final long limit = getLimit();
+			if (index <= 0 && limit == Long.MAX_VALUE) {
+				return false;
+			}
+			if (dialect.supportsStandardOffsetFetchRows()) {
+				pagingParameters.add(index);
+				if (limit != Long.MAX_VALUE) {
+					pagingParameters.add(limit);
+				}
+			} else if (dialect.supportsLimit() && dialect.supportsLimitOffset()) {
+				pagingParameters.add(limit);
+				pagingParameters.add(index);
+			} else {
+				return false;
+			}
+			// 読み飛ばしはSQLで行う
+			index = 0;
+			return true;
+		}
+
+		private void appendPaging(final AbstractSqlBuilder<?> builder) {
+			if (dialect.supportsStandardOffsetFetchRows()) {
+				builder.lineBreak().offset()._add(" ? ").rows();
+				if (pagingParameters.size() > 1) {
+					builder.lineBreak().fetch().first()._add(" ? ").rows().only();
+				}
+			} else {
+				builder.lineBreak().limit()._add(" ?").space().offset()._add(" ?");
+			}
+		}
+
 		@Override
 		protected void doClose() {
 			DbUtils.close(resultSet);
@@ -289,10 +604,7 @@ public class JdbcDynamicRowIteratorHandler implements RowIteratorHandler {
 			final int size = columnList.size();
 			for (int i = 0; i < size; i++) {
 				final ColumnPosition columnPosition = columnList.get(i);
-				final Column column = columnPosition.column;
-				final Object obj = columnPosition.jdbcTypeHandler.getObject(
-						resultSet, columnPosition.index);
-				row.put(column.getOrdinal(), obj);
+				columnPosition.read(resultSet, row);
 			}
 		}
 	}
@@ -301,11 +613,37 @@ public class JdbcDynamicRowIteratorHandler implements RowIteratorHandler {
 		public final int index;
 		public final Column column;
 		public final JdbcTypeHandler jdbcTypeHandler;
+		private final ColumnReader columnReader;
+		private final Class<?> directClass;
 
 		ColumnPosition(final int index, final Column column, final JdbcTypeHandler jdbcTypeHandler) {
 			this.index = index;
 			this.column = column;
 			this.jdbcTypeHandler = jdbcTypeHandler;
+			this.columnReader = ColumnReader.getColumnReader(column, jdbcTypeHandler);
+			this.directClass = this.columnReader == null ? ColumnReader.getDirectClass(column) : null;
+		}
+
+		/**
+		 * ResultSetから値を取得してRowに設定します。
+		 */
+		void read(final ResultSet resultSet, final Row row) throws SQLException {
+			if (columnReader != null) {
+				SchemaUtils.putDialect(row, column, columnReader.read(resultSet, index));
+				return;
+			}
+			put(row, jdbcTypeHandler.getObject(resultSet, index));
+		}
+
+		/**
+		 * カラムの型変換が値をそのまま返す型の場合は型変換せずに設定します。
+		 */
+		private void put(final Row row, final Object value) {
+			if (value != null && value.getClass() == directClass) {
+				SchemaUtils.putDialect(row, column, value);
+				return;
+			}
+			row.put(column.getOrdinal(), value);
 		}
 	}
 
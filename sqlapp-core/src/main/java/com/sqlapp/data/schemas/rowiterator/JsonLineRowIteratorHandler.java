@@ -69,12 +69,12 @@ public class JsonLineRowIteratorHandler extends AbstractRowIteratorHandler{
 	
 	@Override
 	public Iterator<Row> iterator(final RowCollection c) {
-		return new JsonRowIterator(c, file, jsonConverter, 0L, this.getRowValueConverter());
+		return new JsonlineRowIterator(c, file, jsonConverter, 0L, this.getRowValueConverter());
 	}
 
 	@Override
 	public ListIterator<Row> listIterator(final RowCollection c, final int index) {
-		return new JsonRowIterator(c, file, jsonConverter, index, this.getRowValueConverter());
+		return new JsonlineRowIterator(c, file, jsonConverter, index, this.getRowValueConverter());
 	}
 
 	@Override
@@ -139,9 +139,14 @@ public class JsonLineRowIteratorHandler extends AbstractRowIteratorHandler{
 			if (readed){
 				return current;
 			}
-			final String value=reader.readLine();
-			if (!CommonUtils.isEmpty(value)) {
+			String value=reader.readLine();
+			while(value!=null&&CommonUtils.isBlank(value)) {
+				value=reader.readLine();
+			}
+			if (value!=null) {
 				current=this.jsonConverter.fromJsonString(value, Map.class);
+			} else {
+				current=null;
 			}
 			readed=true;
 			return current;
@@ -20,17 +20,22 @@
 package com.sqlapp.data.schemas.rowiterator;
 
 import java.io.File;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
 import com.sqlapp.data.db.datatype.DataType;
 import com.sqlapp.data.schemas.Column;
 import com.sqlapp.data.schemas.Row;
 import com.sqlapp.data.schemas.RowCollection;
 import com.sqlapp.data.schemas.function.RowValueConverter;
 import com.sqlapp.util.CommonUtils;
+import com.sqlapp.util.FileUtils;
 import com.sqlapp.util.JsonConverter;
 /**
  * CSVの行のIterator
@@ -89,18 +94,38 @@ public class JsonRowIteratorHandler extends AbstractRowIteratorHandler{
 
 		private final File file;
 		private final String filename;
-		private List<Map<String,Object>> list;
-		private Iterator<Map<String,Object>> iterator;
+		private JsonParser parser;
 		
 		private Map<String,Object> current=null;
 		
+		private boolean readed=false;
+		
 		private boolean hasColumn=false;
 		
-		@SuppressWarnings("unchecked")
+		/**
+		 * 配列全体を読み込まずに、配列の要素を1件ずつ読み込みます。
+		 */
 		@Override
 		protected void preInitialize() throws Exception{
-			list=jsonConverter.fromJsonString(file, List.class);
-			iterator=list.iterator();
+			parser=jsonConverter.getObjectMapper().getFactory().createParser(file);
+			final JsonToken token=parser.nextToken();
+			if (token!=null&&token!=JsonToken.START_ARRAY){
+				throw new JsonParseException(parser, "JSON array expected. token="+token);
+			}
+		}
+
+		/**
+		 * 要素のMapを作成せずに読み飛ばします。
+		 */
+		@Override
+		protected void skip(final long size) throws Exception{
+			for(long i=0;i<size;i++){
+				final JsonToken token=parser.nextToken();
+				if (token==null||token==JsonToken.END_ARRAY){
+					break;
+				}
+				parser.skipChildren();
+			}
 		}
 
 		@Override
@@ -112,12 +137,31 @@ public class JsonRowIteratorHandler extends AbstractRowIteratorHandler{
 
 		@Override
 		protected boolean hasNextInternal() throws Exception{
-			return iterator.hasNext();
+			readInternal();
+			return current!=null;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Map<String,Object> readInternal() throws Exception {
+			if (readed){
+				return current;
+			}
+			final JsonToken token=parser.nextToken();
+			if (token==null||token==JsonToken.END_ARRAY){
+				current=null;
+			} else if (token==JsonToken.VALUE_NULL){
+				current=Collections.emptyMap();
+			} else{
+				current=jsonConverter.getObjectMapper().readValue(parser, Map.class);
+			}
+			readed=true;
+			return current;
 		}
 
 		@Override
 		protected Map<String,Object> read() throws Exception {
-			current= iterator.next();
+			current= readInternal();
+			readed=false;
 			return current;
 		}
 
@@ -176,7 +220,7 @@ public class JsonRowIteratorHandler extends AbstractRowIteratorHandler{
 		
 		@Override
 		protected void doClose() {
-			this.iterator=null;
+			FileUtils.close(this.parser);
 		}
 
 	}
@@ -0,0 +1,237 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.schemas.rowiterator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.util.AbstractSqlBuilder;
+import com.sqlapp.util.CommonUtils;
+import com.sqlapp.util.ToStringBuilder;
+
+/**
+ * 主キーの範囲
+ *
+ * 下限を含み、上限を含みません。nullの場合は範囲の制限がありません。
+ * {@link #after(Column, Object)}で作成した範囲は下限を含みません。
+ *
+ * @author tatsuo satoh
+ *
+ */
+public class KeyRange {
+
+	private final Column column;
+
+	private final Object lowerBound;
+
+	private final Object upperBound;
+
+	private final boolean lowerBoundInclusive;
+
+	public KeyRange(final Column column, final Object lowerBound, final Object upperBound) {
+		this(column, lowerBound, upperBound, true);
+	}
+
+	private KeyRange(final Column column, final Object lowerBound, final Object upperBound,
+			final boolean lowerBoundInclusive) {
+		this.column = column;
+		this.lowerBound = lowerBound;
+		this.upperBound = upperBound;
+		this.lowerBoundInclusive = lowerBoundInclusive;
+	}
+
+	/**
+	 * 指定したキーより後の範囲を作成します。前回読み込んだ最後のキーから再開する場合に使用します。
+	 *
+	 * @param column
+	 *            キーのカラム
+	 * @param key
+	 *            最後に読み込んだキー
+	 */
+	public static KeyRange after(final Column column, final Object key) {
+		return new KeyRange(column, key, null, false);
+	}
+
+	/**
+	 * 整数のキーの最小値と最大値を等間隔に分割します。
+	 *
+	 * @param column
+	 *            キーのカラム
+	 * @param min
+	 *            最小値
+	 * @param max
+	 *            最大値
+	 * @param count
+	 *            分割数
+	 * @return 整数のキーでない場合はnull
+	 */
+	public static List<KeyRange> split(final Column column, final Object min, final Object max,
+			final int count) {
+		final BigInteger minValue = toBigInteger(min);
+		final BigInteger maxValue = toBigInteger(max);
+		if (minValue == null || maxValue == null) {
+			return null;
+		}
+		final BigInteger width = maxValue.subtract(minValue).add(BigInteger.ONE);
+		final int size = width.compareTo(BigInteger.valueOf(count)) < 0 ? width.intValue() : count;
+		final List<Object> bounds = CommonUtils.list(Math.max(size, 0));
+		for (int i = 1; i < size; i++) {
+			final BigInteger bound = minValue
+					.add(width.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(size)));
+			bounds.add(toKeyValue(bound, min));
+		}
+		return create(column, bounds);
+	}
+
+	/**
+	 * 境界値からキーの範囲を作成します。最初の範囲の下限と最後の範囲の上限は制限しません。
+	 *
+	 * @param column
+	 *            キーのカラム
+	 * @param bounds
+	 *            昇順の境界値
+	 */
+	public static List<KeyRange> create(final Column column, final List<?> bounds) {
+		final List<KeyRange> result = CommonUtils.list(bounds.size() + 1);
+		Object lower = null;
+		for (final Object bound : bounds) {
+			if (lower != null && CommonUtils.eq(lower, bound)) {
+				continue;
+			}
+			result.add(new KeyRange(column, lower, bound));
+			lower = bound;
+		}
+		result.add(new KeyRange(column, lower, null));
+		return result;
+	}
+
+	/**
+	 * 整数のキーの場合BigIntegerに変換します。整数以外の場合はnullを返します。
+	 *
+	 * @param value
+	 *            キーの値
+	 */
+	static BigInteger toBigInteger(final Object value) {
+		if (value instanceof BigInteger) {
+			return (BigInteger) value;
+		}
+		if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return BigInteger.valueOf(((Number) value).longValue());
+		}
+		if (value instanceof BigDecimal) {
+			final BigDecimal dec = (BigDecimal) value;
+			if (dec.scale() <= 0 || dec.stripTrailingZeros().scale() <= 0) {
+				return dec.toBigInteger();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 境界値をキーの値と同じ型に変換します。
+	 */
+	private static Object toKeyValue(final BigInteger value, final Object sample) {
+		if (sample instanceof Long) {
+			return value.longValue();
+		}
+		if (sample instanceof Integer) {
+			return value.intValue();
+		}
+		if (sample instanceof Short) {
+			return value.shortValue();
+		}
+		if (sample instanceof Byte) {
+			return value.byteValue();
+		}
+		if (sample instanceof BigDecimal) {
+			return new BigDecimal(value);
+		}
+		return value;
+	}
+
+	/**
+	 * 範囲の条件を追加します。値はバインド変数で追加します。
+	 *
+	 * @param builder
+	 */
+	void appendCondition(final AbstractSqlBuilder<?> builder) {
+		if (lowerBound != null) {
+			builder.lineBreak().and().name(column)._add(lowerBoundInclusive ? " >= ?" : " > ?");
+		}
+		if (upperBound != null) {
+			builder.lineBreak().and().name(column)._add(" < ?");
+		}
+		builder.lineBreak().orderBy().space().name(column);
+	}
+
+	/**
+	 * 条件の値を返します。
+	 */
+	List<Object> getParameters() {
+		final List<Object> result = CommonUtils.list(2);
+		if (lowerBound != null) {
+			result.add(lowerBound);
+		}
+		if (upperBound != null) {
+			result.add(upperBound);
+		}
+		return result;
+	}
+
+	/**
+	 * @return the column
+	 */
+	public Column getColumn() {
+		return column;
+	}
+
+	/**
+	 * @return the lowerBound
+	 */
+	public Object getLowerBound() {
+		return lowerBound;
+	}
+
+	/**
+	 * @return the upperBound
+	 */
+	public Object getUpperBound() {
+		return upperBound;
+	}
+
+	/**
+	 * @return the lowerBoundInclusive
+	 */
+	public boolean isLowerBoundInclusive() {
+		return lowerBoundInclusive;
+	}
+
+	@Override
+	public String toString() {
+		final ToStringBuilder builder = new ToStringBuilder(this.getClass());
+		builder.add("column", column == null ? null : column.getName());
+		builder.add("lowerBound", lowerBound);
+		builder.add("lowerBoundInclusive", lowerBoundInclusive);
+		builder.add("upperBound", upperBound);
+		return builder.toString();
+	}
+}
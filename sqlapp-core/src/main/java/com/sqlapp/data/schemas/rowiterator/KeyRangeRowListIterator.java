@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.schemas.rowiterator;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.util.CommonUtils;
+
+/**
+ * キーの範囲毎のイテレーターを並列に読み込み、キーの順に返すイテレーター
+ *
+ * 範囲毎に件数を制限したキューを持ち、先頭の範囲を返している間に後続の範囲を先読みします。
+ * 全ての行を返した場合や読み込みで例外が発生した場合は自動的に閉じます。
+ *
+ * @author tatsuo satoh
+ *
+ */
+public class KeyRangeRowListIterator extends AbstractListIterator {
+
+	private static final Object END = new Object();
+
+	private final List<BlockingQueue<Object>> queues;
+
+	private final ExecutorService executorService;
+
+	private int current = 0;
+
+	private Row nextRow = null;
+
+	private boolean closed = false;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param iterators
+	 *            キーの順に並んだ範囲毎のイテレーター
+	 * @param parallelism
+	 *            並列に読み込む範囲の数
+	 * @param bufferSize
+	 *            範囲毎に先読みする行数
+	 */
+	public KeyRangeRowListIterator(final List<? extends ListIterator<Row>> iterators, final int parallelism,
+			final int bufferSize) {
+		this.queues = CommonUtils.list(iterators.size());
+		this.executorService = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, iterators.size())),
+				r -> {
+					final Thread thread = new Thread(r, "KeyRangeRowListIterator");
+					thread.setDaemon(true);
+					return thread;
+				});
+		for (final ListIterator<Row> itr : iterators) {
+			final BlockingQueue<Object> queue = new ArrayBlockingQueue<Object>(Math.max(1, bufferSize));
+			queues.add(queue);
+			executorService.execute(new Producer(itr, queue));
+		}
+		executorService.shutdown();
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (nextRow != null) {
+			return true;
+		}
+		while (!closed && current < queues.size()) {
+			final Object obj;
+			try {
+				obj = queues.get(current).take();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				close();
+				throw new RuntimeException(e);
+			}
+			if (obj == END) {
+				current++;
+				continue;
+			}
+			if (obj instanceof Failure) {
+				close();
+				final Throwable cause = ((Failure) obj).cause;
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new RuntimeException(cause);
+			}
+			nextRow = (Row) obj;
+			return true;
+		}
+		close();
+		return false;
+	}
+
+	@Override
+	public Row next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final Row row = nextRow;
+		nextRow = null;
+		return row;
+	}
+
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		// 開始されなかった範囲のイテレーターは読み込みスレッドで閉じられないためここで閉じる
+		for (final Runnable runnable : executorService.shutdownNow()) {
+			if (runnable instanceof Producer) {
+				closeSilent(((Producer) runnable).itr);
+			}
+		}
+		for (final BlockingQueue<Object> queue : queues) {
+			queue.clear();
+		}
+	}
+
+	private static void closeSilent(final Object obj) {
+		if (obj instanceof AutoCloseable) {
+			try {
+				((AutoCloseable) obj).close();
+			} catch (final Exception e) {
+			}
+		}
+	}
+
+	/**
+	 * 範囲のイテレーターから行を読み込みキューに追加します。
+	 *
+	 * 例外が発生した場合や中断された場合も必ず終端をキューに追加し、読み込み側が待ち続けないようにします。
+	 */
+	private static class Producer implements Runnable {
+		final ListIterator<Row> itr;
+		final BlockingQueue<Object> queue;
+
+		Producer(final ListIterator<Row> itr, final BlockingQueue<Object> queue) {
+			this.itr = itr;
+			this.queue = queue;
+		}
+
+		@Override
+		public void run() {
+			Object terminal = END;
+			try {
+				while (itr.hasNext()) {
+					queue.put(itr.next());
+				}
+			} catch (final Throwable e) {
+				if (e instanceof InterruptedException) {
+					Thread.currentThread().interrupt();
+				}
+				terminal = new Failure(e);
+			} finally {
+				closeSilent(itr);
+				putTerminal(terminal);
+			}
+		}
+
+		private void putTerminal(final Object terminal) {
+			try {
+				queue.put(terminal);
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				// 中断された場合は先読みした行を破棄して終端を追加する
+				queue.clear();
+				queue.offer(terminal);
+			}
+		}
+	}
+
+	private static class Failure {
+		final Throwable cause;
+
+		Failure(final Throwable cause) {
+			this.cause = cause;
+		}
+	}
+}
@@ -33,6 +33,7 @@ import com.sqlapp.data.db.dialect.Dialect;
 import com.sqlapp.data.schemas.Column;
 import com.sqlapp.data.schemas.Row;
 import com.sqlapp.data.schemas.RowCollection;
+import com.sqlapp.data.schemas.SchemaUtils;
 import com.sqlapp.data.schemas.function.RowValueConverter;
 import com.sqlapp.util.CommonUtils;
 import com.sqlapp.util.DbUtils;
@@ -208,10 +209,7 @@ public class ResultSetRowIteratorHandler extends AbstractRowIteratorHandler {
 			final int size = columnList.size();
 			for (int i = 0; i < size; i++) {
 				final ColumnPosition columnPosition = columnList.get(i);
-				final Column column = columnPosition.column;
-				final Object obj = columnPosition.jdbcTypeHandler.getObject(
-						resultSet, columnPosition.index);
-				row.put(column.getOrdinal(), obj);
+				columnPosition.read(resultSet, row);
 			}
 		}
 	}
@@ -220,11 +218,37 @@ public class ResultSetRowIteratorHandler extends AbstractRowIteratorHandler {
 		public final int index;
 		public final Column column;
 		public final JdbcTypeHandler jdbcTypeHandler;
+		private final ColumnReader columnReader;
+		private final Class<?> directClass;
 
 		ColumnPosition(final int index, final Column column, final JdbcTypeHandler jdbcTypeHandler) {
 			this.index = index;
 			this.column = column;
 			this.jdbcTypeHandler = jdbcTypeHandler;
+			this.columnReader = ColumnReader.getColumnReader(column, jdbcTypeHandler);
+			this.directClass = this.columnReader == null ? ColumnReader.getDirectClass(column) : null;
+		}
+
+		/**
+		 * ResultSetから値を取得してRowに設定します。
+		 */
+		void read(final ResultSet resultSet, final Row row) throws SQLException {
+			if (columnReader != null) {
+				SchemaUtils.putDialect(row, column, columnReader.read(resultSet, index));
+				return;
+			}
+			put(row, jdbcTypeHandler.getObject(resultSet, index));
+		}
+
+		/**
+		 * カラムの型変換が値をそのまま返す型の場合は型変換せずに設定します。
+		 */
+		private void put(final Row row, final Object value) {
+			if (value != null && value.getClass() == directClass) {
+				SchemaUtils.putDialect(row, column, value);
+				return;
+			}
+			row.put(column.getOrdinal(), value);
 		}
 	}
 
@@ -0,0 +1,330 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.schemas.rowiterator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import com.sqlapp.util.CommonUtils;
+import com.sqlapp.util.FileUtils;
+import com.sqlapp.util.StaxReader;
+
+/**
+ * xlsxの先頭シートから行を1件ずつ読み込むリーダー
+ *
+ * ワークブック全体をDOMとして読み込まずに、シートのXMLを呼び出し元のスレッドで次のrow要素まで読み進めます。
+ * 共有文字列は文字列だけを保持するReadOnlySharedStringsTableで参照します。
+ *
+ * @author tatsuo satoh
+ *
+ */
+class XlsxSheetReader implements AutoCloseable {
+
+	private final OPCPackage pkg;
+
+	private final ReadOnlySharedStringsTable sharedStrings;
+
+	private final StylesTable styles;
+
+	private final boolean date1904;
+
+	private final Map<Integer, Boolean> styleDateFormatMap = CommonUtils.map();
+
+	private InputStream stream;
+
+	private StaxReader reader;
+
+	private String sheetName;
+
+	private int rowNum = -1;
+
+	private boolean end = false;
+
+	/**
+	 * コンストラクタ
+	 *
+	 * @param file
+	 *            xlsxファイル
+	 */
+	XlsxSheetReader(final File file)
+			throws IOException, OpenXML4JException, SAXException, XMLStreamException {
+		this.pkg = OPCPackage.open(file, PackageAccess.READ);
+		try {
+			final XSSFReader xssfReader = new XSSFReader(pkg);
+			this.sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+			this.styles = xssfReader.getStylesTable();
+			this.date1904 = isDate1904(xssfReader);
+			final XSSFReader.SheetIterator itr = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+			if (itr.hasNext()) {
+				this.stream = itr.next();
+				this.sheetName = itr.getSheetName();
+				this.reader = new StaxReader(stream);
+			} else {
+				this.end = true;
+			}
+		} catch (final IOException | OpenXML4JException | SAXException | XMLStreamException | RuntimeException e) {
+			closeSilent();
+			throw e;
+		}
+	}
+
+	private static boolean isDate1904(final XSSFReader xssfReader) throws IOException, XMLStreamException {
+		try (InputStream is = xssfReader.getWorkbookData(); StaxReader workbookReader = new StaxReader(is)) {
+			while (workbookReader.hasNext()) {
+				workbookReader.next();
+				if (!workbookReader.isStartElement()) {
+					continue;
+				}
+				final String name = workbookReader.getLocalName();
+				if ("workbookPr".equals(name)) {
+					final String value = getAttribute(workbookReader, "date1904");
+					return "1".equals(value) || "true".equalsIgnoreCase(value);
+				} else if ("sheets".equals(name)) {
+					return false;
+				}
+			}
+		} catch (final IOException | XMLStreamException e) {
+			throw e;
+		} catch (final Exception e) {
+			throw new IOException(e);
+		}
+		return false;
+	}
+
+	/**
+	 * 次の行を読み込みます。
+	 *
+	 * @return 行が無い場合null
+	 */
+	SheetRow read() throws XMLStreamException {
+		while (!end && reader.hasNext()) {
+			reader.next();
+			if (reader.isStartElement()) {
+				if ("row".equals(reader.getLocalName())) {
+					return readRow();
+				}
+			} else if (reader.isEndElement()) {
+				if ("sheetData".equals(reader.getLocalName())) {
+					break;
+				}
+			}
+		}
+		end = true;
+		return null;
+	}
+
+	private SheetRow readRow() throws XMLStreamException {
+		final String ref = getAttribute(reader, "r");
+		rowNum = ref != null ? Integer.parseInt(ref) - 1 : rowNum + 1;
+		final SheetRow row = new SheetRow(rowNum);
+		int columnIndex = -1;
+		while (reader.hasNext()) {
+			reader.next();
+			if (reader.isStartElement()) {
+				if ("c".equals(reader.getLocalName())) {
+					final String cellRef = getAttribute(reader, "r");
+					columnIndex = cellRef != null ? getColumnIndex(cellRef) : columnIndex + 1;
+					final String type = getAttribute(reader, "t");
+					final String style = getAttribute(reader, "s");
+					final Object value = readCell(type, style);
+					if (value != null) {
+						row.getValues().put(columnIndex, value);
+					}
+				}
+			} else if (reader.isEndElement()) {
+				if ("row".equals(reader.getLocalName())) {
+					break;
+				}
+			}
+		}
+		return row;
+	}
+
+	private Object readCell(final String type, final String style) throws XMLStreamException {
+		String element = null;
+		String value = null;
+		StringBuilder inlineValue = null;
+		int phonetic = 0;
+		while (reader.hasNext()) {
+			reader.next();
+			if (reader.isStartElement()) {
+				element = reader.getLocalName();
+				if ("is".equals(element)) {
+					inlineValue = new StringBuilder();
+				} else if ("rPh".equals(element)) {
+					phonetic++;
+				}
+			} else if (reader.isCharacters()) {
+				if ("v".equals(element)) {
+					value = value == null ? reader.getText() : value + reader.getText();
+				} else if ("t".equals(element) && inlineValue != null && phonetic == 0) {
+					inlineValue.append(reader.getText());
+				}
+			} else if (reader.isEndElement()) {
+				final String name = reader.getLocalName();
+				if ("c".equals(name)) {
+					break;
+				} else if ("rPh".equals(name)) {
+					phonetic--;
+				}
+				element = null;
+			}
+		}
+		if (type == null || "n".equals(type)) {
+			if (value == null) {
+				return null;
+			}
+			final double dbValue = Double.parseDouble(value);
+			if (isDateFormatted(style) && DateUtil.isValidExcelDate(dbValue)) {
+				return DateUtil.getJavaDate(dbValue, date1904);
+			}
+			return dbValue;
+		} else if ("s".equals(type)) {
+			if (value == null) {
+				return null;
+			}
+			return sharedStrings.getItemAt(Integer.parseInt(value.trim())).getString();
+		} else if ("inlineStr".equals(type)) {
+			return inlineValue == null ? null : inlineValue.toString();
+		} else if ("b".equals(type)) {
+			if (value == null) {
+				return null;
+			}
+			return Boolean.valueOf("1".equals(value.trim()));
+		} else if ("e".equals(type)) {
+			return null;
+		}
+		return value;
+	}
+
+	private boolean isDateFormatted(final String style) {
+		if (styles == null) {
+			return false;
+		}
+		final int styleIndex = style == null ? 0 : Integer.parseInt(style);
+		Boolean result = styleDateFormatMap.get(styleIndex);
+		if (result == null) {
+			final XSSFCellStyle cellStyle = styleIndex < styles.getNumCellStyles() ? styles.getStyleAt(styleIndex)
+					: null;
+			result = cellStyle != null
+					&& DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+			styleDateFormatMap.put(styleIndex, result);
+		}
+		return result.booleanValue();
+	}
+
+	/**
+	 * A1形式のセル参照から0始まりの列番号を取得します。
+	 */
+	private static int getColumnIndex(final String cellRef) {
+		int result = 0;
+		for (int i = 0; i < cellRef.length(); i++) {
+			final char c = cellRef.charAt(i);
+			if (c >= 'A' && c <= 'Z') {
+				result = result * 26 + (c - 'A' + 1);
+			} else if (c >= 'a' && c <= 'z') {
+				result = result * 26 + (c - 'a' + 1);
+			} else {
+				break;
+			}
+		}
+		return result - 1;
+	}
+
+	private static String getAttribute(final StaxReader reader, final String name) {
+		final int size = reader.getAttributeCount();
+		for (int i = 0; i < size; i++) {
+			if (name.equals(reader.getAttributeLocalName(i))) {
+				return reader.getAttributeValue(i);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the sheetName
+	 */
+	String getSheetName() {
+		return sheetName;
+	}
+
+	private void closeSilent() {
+		try {
+			close();
+		} catch (final Exception e) {
+		}
+	}
+
+	@Override
+	public void close() throws Exception {
+		try {
+			if (reader != null) {
+				reader.close();
+			}
+		} finally {
+			FileUtils.close(stream);
+			pkg.revert();
+		}
+	}
+
+	/**
+	 * シートの1行分の値
+	 */
+	static class SheetRow {
+
+		private final int rowNum;
+		/**
+		 * 列番号と値のMap(列番号順)
+		 */
+		private final Map<Integer, Object> values = CommonUtils.linkedMap();
+
+		SheetRow(final int rowNum) {
+			this.rowNum = rowNum;
+		}
+
+		/**
+		 * @return the rowNum
+		 */
+		int getRowNum() {
+			return rowNum;
+		}
+
+		/**
+		 * @return the values
+		 */
+		Map<Integer, Object> getValues() {
+			return values;
+		}
+	}
+}
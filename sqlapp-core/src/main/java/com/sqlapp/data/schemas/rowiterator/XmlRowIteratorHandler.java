@@ -23,8 +23,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.ListIterator;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.NoSuchElementException;
 
 import javax.xml.stream.XMLStreamException;
 
@@ -32,11 +31,12 @@ import com.sqlapp.data.schemas.Row;
 import com.sqlapp.data.schemas.RowCollection;
 import com.sqlapp.data.schemas.RowIteratorHandler;
 import com.sqlapp.data.schemas.Table;
+import com.sqlapp.data.schemas.TableRowXmlReader;
 import com.sqlapp.data.schemas.XmlReaderOptions;
 import com.sqlapp.data.schemas.function.RowValueConverter;
 
 /**
- * Combined RowIteratorHandler
+ * XML RowIteratorHandler
  * 
  * @author tatsuo satoh
  * 
@@ -58,117 +58,90 @@ public class XmlRowIteratorHandler implements RowIteratorHandler {
 
 	@Override
 	public Iterator<Row> iterator(RowCollection c) {
-		Table table=c.getParent().clone();
-		BlockingDeque<Object> deque=new LinkedBlockingDeque<>(1024*128);
-		Runnable r=loadXml(table, file, deque, 0);
-		return new WrappedRowListIterator(r, table, deque);
+		return listIterator(c, 0);
 	}
 
-	private Runnable loadXml(final Table table, final File file, final BlockingDeque<Object> deque, final int index){
-		XmlReaderOptions options=new XmlReaderOptions();
-		options.setRowValueConverter(rowValueConverter);
-		int[] count=new int[]{0};
-		options.setAddRow((t,r)->{
-			try {
-				if (t==table){
-					if (count[0]>=index){
-						deque.put(r);
-					} else{
-						count[0]++;
-					}
-				} else{
-					deque.put(DequeDummy.LAST);
-				}
-			} catch (InterruptedException e) {
-				endDeque(deque);
-			}
-			return false;
-		});
-		Runnable r=()->{
-			try {
-				table.loadXml(file, options);
-			} catch (XMLStreamException | IOException e) {
-				throw new RuntimeException(e);
-			} finally {
-				endDeque(deque);
-			}
-		};
-		return r;
-	}
-	
-	private static enum DequeDummy{
-		LAST
-	}
-
-	private void endDeque(final BlockingDeque<Object> deque){
-		try {
-			deque.put(DequeDummy.LAST);
-		} catch (InterruptedException e) {
-		}
-	}
-	
 	@Override
 	public ListIterator<Row> listIterator(RowCollection c, int index) {
-		Table table=c.getParent().clone();
-		BlockingDeque<Object> deque=new LinkedBlockingDeque<>(1024*128);
-		Runnable r=loadXml(table, file, deque, index);
-		return new WrappedRowListIterator(r, table, deque);
+		XmlReaderOptions options=new XmlReaderOptions();
+		options.setRowValueConverter(rowValueConverter);
+		return new XmlRowListIterator(c.getParent().clone(), file, options, index);
 	}
 
 	@Override
 	public ListIterator<Row> listIterator(RowCollection c) {
-		Table table=c.getParent().clone();
-		BlockingDeque<Object> deque=new LinkedBlockingDeque<>(1024*128);
-		Runnable r=loadXml(table, file, deque, 0);
-		return new WrappedRowListIterator(r, table, deque);
+		return listIterator(c, 0);
 	}
 	
-	
-	static class WrappedRowListIterator extends AbstractListIterator{
-		private final Thread thread;
-		private boolean started=false;
-		private final BlockingDeque<Object> deque;
+	/**
+	 * 呼び出し元のスレッドでrow要素を1件ずつ読み込むイテレーター
+	 */
+	static class XmlRowListIterator extends AbstractListIterator{
+		private final Table table;
+		private final File file;
+		private final XmlReaderOptions options;
+		private final int index;
+		private TableRowXmlReader reader=null;
+		private boolean closed=false;
 	
 		private Row current=null;
 		
-		protected WrappedRowListIterator(Runnable reader, Table table, BlockingDeque<Object> deque){
-			this.thread=new Thread(reader);
-			this.deque=deque;
+		protected XmlRowListIterator(Table table, File file, XmlReaderOptions options, int index){
+			this.table=table;
+			this.file=file;
+			this.options=options;
+			this.index=index;
 		}
 
 		@Override
 		public void close() throws Exception {
-			if (!started){
-				thread.interrupt();
+			if (closed){
+				return;
+			}
+			closed=true;
+			current=null;
+			if (reader!=null){
+				reader.close();
+			}
+		}
+
+		private void closeSilent(){
+			try {
+				close();
+			} catch (Exception e) {
 			}
 		}
 
 		@Override
 		public boolean hasNext() {
-			if (!started){
-				thread.start();
-				started=true;
-			}
 			if (this.current!=null){
 				return true;
 			}
-			Object obj=null;
+			if (closed){
+				return false;
+			}
 			try {
-				obj=deque.take();
-			} catch (InterruptedException e) {
-				obj=null;
+				if (reader==null){
+					reader=new TableRowXmlReader(table, file, options);
+					reader.skip(index);
+				}
+				current=reader.read();
+			} catch (XMLStreamException | IOException e) {
+				closeSilent();
+				throw new RuntimeException(e);
 			}
-			if (obj==DequeDummy.LAST){
-				current=null;
-			} else{
-				current=(Row)obj;
+			if (current==null){
+				closeSilent();
+				return false;
 			}
-			return current!=null;
+			return true;
 		}
 
-
 		@Override
 		public Row next() {
+			if (!hasNext()){
+				throw new NoSuchElementException();
+			}
 			Row ret=this.current;
 			this.current=null;
 			return ret;
@@ -30,6 +30,7 @@ import com.sqlapp.data.db.dialect.Dialect;
 import com.sqlapp.jdbc.sql.node.SqlNode;
 import com.sqlapp.util.CommonUtils;
 import com.sqlapp.util.DoubleKeyMap;
+import com.sqlapp.util.LruCache;
 
 /**
  * SQLを管理するクラス
@@ -48,6 +49,10 @@ public class CachedSqlRegistry implements SqlRegistry {
 	 * デフォルトのSQLのキャッシュ
 	 */
 	private ConcurrentMap<String, List<SqlNode>> sqlIdMap = concurrentMap();
+	/**
+	 * キャッシュの最大件数(0以下の場合は無制限)
+	 */
+	private int maximumSize = 0;
 	/**
 	 * SQLレジストリ
 	 */
@@ -72,6 +77,52 @@ public class CachedSqlRegistry implements SqlRegistry {
 		this.sqlRegistry = sqlRegistry;
 	}
 
+	/**
+	 * @return the maximumSize
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * キャッシュの最大件数を設定します。上限を超えた場合は参照されていないSQLから削除します。
+	 * 
+	 * @param maximumSize
+	 *            the maximumSize to set
+	 */
+	public void setMaximumSize(int maximumSize) {
+		this.maximumSize = maximumSize;
+		this.sqlIdMap = newCache();
+		this.dialectSqlIdMap.clear();
+	}
+
+	/**
+	 * デフォルトのSQLのキャッシュを取得します。
+	 */
+	public ConcurrentMap<String, List<SqlNode>> getCache() {
+		return sqlIdMap;
+	}
+
+	/**
+	 * DBプロダクトのSQLのキャッシュを取得します。
+	 * 
+	 * @param dialect
+	 */
+	public ConcurrentMap<String, List<SqlNode>> getCache(Dialect dialect) {
+		String databaseProductName = getProductName(dialect);
+		if (databaseProductName == null) {
+			return sqlIdMap;
+		}
+		return dialectSqlIdMap.get(databaseProductName);
+	}
+
+	protected ConcurrentMap<String, List<SqlNode>> newCache() {
+		if (maximumSize > 0) {
+			return new LruCache<String, List<SqlNode>>(maximumSize);
+		}
+		return CommonUtils.concurrentMap();
+	}
+
 	/**
 	 * 不要なキャッシュを削除します。
 	 */
@@ -135,18 +186,18 @@ public class CachedSqlRegistry implements SqlRegistry {
 			List<SqlNode> nodes = sqlIdMap.get(sqlId);
 			if (CommonUtils.isEmpty(nodes)) {
 				nodes = this.getSqlRegistry().getAll(sqlId);
-				if (CommonUtils.isEmpty(nodes)) {
+				if (!CommonUtils.isEmpty(nodes)) {
 					List<SqlNode> org = sqlIdMap.putIfAbsent(sqlId, nodes);
 					return org != null ? org : nodes;
 				} else {
-					return null;
+					return nodes;
 				}
 			}
 			return nodes;
 		} else {
 			sqlIdMap = dialectSqlIdMap.get(databaseProductName);
 			if (sqlIdMap == null) {
-				sqlIdMap = CommonUtils.concurrentMap();
+				sqlIdMap = newCache();
 				ConcurrentMap<String, List<SqlNode>> org = dialectSqlIdMap.putIfAbsent(
 						databaseProductName, sqlIdMap);
 				if (org != null) {
@@ -156,11 +207,11 @@ public class CachedSqlRegistry implements SqlRegistry {
 			List<SqlNode> nodes = sqlIdMap.get(sqlId);
 			if (CommonUtils.isEmpty(nodes)) {
 				nodes = this.getSqlRegistry().getAll(sqlId, dialect);
-				if (CommonUtils.isEmpty(nodes)) {
+				if (!CommonUtils.isEmpty(nodes)) {
 					List<SqlNode> org = sqlIdMap.putIfAbsent(sqlId, nodes);
 					return org != null ? org : nodes;
 				} else {
-					return null;
+					return nodes;
 				}
 			} else {
 				return nodes;
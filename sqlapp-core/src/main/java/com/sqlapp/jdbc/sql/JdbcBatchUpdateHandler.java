@@ -23,13 +23,28 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import com.sqlapp.jdbc.sql.node.SqlNode;
+import com.sqlapp.jdbc.sql.node.StaticSqlTemplate;
 import com.sqlapp.util.AbstractIterator;
 
 public class JdbcBatchUpdateHandler extends JdbcHandler {
 
 	private int batchSize = 50;
+	/**
+	 * 1件ずつ実行する場合に保持するPreparedStatementの最大数
+	 */
+	private int statementCacheSize = 10;
+	/**
+	 * テンプレートを作成したSqlNode
+	 */
+	private SqlNode compiledNode;
+	/**
+	 * 実行毎に解析しないように保持する静的なSQLのテンプレート
+	 */
+	private StaticSqlTemplate template;
 
 	public JdbcBatchUpdateHandler(SqlNode node) {
 		super(node);
@@ -72,38 +87,99 @@ public class JdbcBatchUpdateHandler extends JdbcHandler {
 		this.batchSize = batchSize;
 	}
 
+	/**
+	 * @return the statementCacheSize
+	 */
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	/**
+	 * 1件ずつ実行する場合に保持するPreparedStatementの最大数を設定します。0以下の場合は1件毎にPreparedStatementを閉じます。
+	 * 
+	 * @param statementCacheSize
+	 *            the statementCacheSize to set
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	/**
+	 * 静的なSQLのテンプレートを取得します。SqlNodeが変わるまでは最初に作成したテンプレートを使用します。
+	 * 
+	 * @return IF、FOR、置換変数等の動的な要素を含む場合はnull
+	 */
+	protected synchronized StaticSqlTemplate getTemplate() {
+		final SqlNode node = getNode();
+		if (compiledNode != node) {
+			template = node.compile();
+			compiledNode = node;
+		}
+		return template;
+	}
+
 	protected void doExecuteContext(final Connection connection, Object context)
 			throws Exception {
+		final StaticSqlTemplate template = getTemplate();
 		AbstractIterator<Object> itr = new AbstractIterator<Object>() {
-			SqlParameterCollection sqlParameters = null;
-			PreparedStatement statement = null;
-			String sql = null;
+			final SqlParameterCollection templateParameters = template != null ? template
+					.createSqlParameterCollection(null) : null;
+			final Map<String, PreparedStatement> statementMap = new LinkedHashMap<String, PreparedStatement>(
+					16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(
+						Map.Entry<String, PreparedStatement> eldest) {
+					if (size() > statementCacheSize) {
+						close(eldest.getValue(), null);
+						return true;
+					}
+					return false;
+				}
+			};
 
 			@Override
 			protected void handle(Object obj, int index) throws SQLException {
+				SqlParameterCollection sqlParameters = null;
+				PreparedStatement statement = null;
+				boolean cached = false;
 				try {
-					sqlParameters = getNode().eval(obj);
-					String currentSql = sqlParameters.getSql();
-					if (!currentSql.equals(sql)) {
-						close(statement, sqlParameters);
+					if (template != null) {
+						sqlParameters = templateParameters;
+						template.eval(obj, sqlParameters);
+					} else {
+						sqlParameters = getNode().eval(obj);
 					}
+					String sql = sqlParameters.getSql();
+					statement = statementMap.get(sql);
 					if (statement == null) {
-						statement = getStatement(connection, sqlParameters, null);
+						statement = getStatement(connection, sqlParameters,
+								null);
+						if (statementCacheSize > 0) {
+							statementMap.put(sql, statement);
+						}
 					} else {
 						statement.clearParameters();
 					}
+					cached = statementMap.containsKey(sql);
 					setBind(statement, sqlParameters);
 					handlePreparedStatement(statement);
-					sql = currentSql;
 				} finally {
-					close(this.statement, sqlParameters);
-					this.statement = null;
+					if (cached) {
+						close(null, sqlParameters);
+					} else {
+						close(statement, sqlParameters);
+					}
 				}
 			}
 
 			@Override
-			protected void callStepLast(int length) throws Exception {
-				close(statement, sqlParameters);
+			protected void executeFinally() {
+				for (PreparedStatement statement : statementMap.values()) {
+					close(statement, null);
+				}
+				statementMap.clear();
 			}
 		};
 		itr.execute(context);
@@ -111,6 +187,7 @@ public class JdbcBatchUpdateHandler extends JdbcHandler {
 
 	protected void doExecuteBatch(final Connection connection, Object context)
 			throws Exception {
+		final StaticSqlTemplate template = getTemplate();
 		AbstractIterator<Object> itr = new AbstractIterator<Object>(
 				this.batchSize) {
 			PreparedStatement statement = null;
@@ -118,7 +195,14 @@ public class JdbcBatchUpdateHandler extends JdbcHandler {
 
 			@Override
 			protected void handle(Object obj, int index) throws SQLException {
-				if (index == 0) {
+				if (template != null) {
+					if (index == 0) {
+						sqlParameters = template.createSqlParameterCollection(null);
+						statement = getStatement(connection, sqlParameters, null);
+					}
+					template.eval(obj, sqlParameters);
+					setBind(statement, sqlParameters);
+				} else if (index == 0) {
 					sqlParameters = getNode().eval(obj);
 					statement = getStatement(connection, sqlParameters, null);
 					setBind(statement, sqlParameters);
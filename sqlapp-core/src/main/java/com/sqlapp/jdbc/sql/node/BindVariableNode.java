@@ -53,6 +53,10 @@ public class BindVariableNode extends AbstractColumnNode{
         return true;
     }
 
+    BindParameter getBindParameter(){
+    	return bindParameter;
+    }
+
     @Override
     public void setExpression(String expression) {
 		this.setParameterDefinition(parse(bindParameter, expression));
@@ -54,6 +54,15 @@ public class SqlNode extends Node {
 		return true;
 	}
 	
+	/**
+	 * 静的なSQLのテンプレートを作成します。
+	 * 
+	 * @return IF、FOR、置換変数等の動的な要素を含む場合はnull
+	 */
+	public StaticSqlTemplate compile() {
+		return StaticSqlTemplate.compile(this);
+	}
+
 	private Set<ParameterDefinition> parameters;
 
 	/**
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.jdbc.sql.node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sqlapp.data.db.dialect.Dialect;
+import com.sqlapp.exceptions.ExpressionExecutionException;
+import com.sqlapp.jdbc.sql.BindParameter;
+import com.sqlapp.jdbc.sql.SqlParameterCollection;
+import com.sqlapp.util.eval.EvalExecutor;
+
+/**
+ * IF、FOR、置換変数等の動的な要素を含まないSQLのテンプレート
+ * 
+ * SQLとバインド変数を一度だけ解析し、行毎にはバインド変数の値のみを評価します。
+ * 
+ */
+public final class StaticSqlTemplate {
+
+	private final String sql;
+
+	private final BindParameter[] bindParameters;
+
+	private final BindVariableNode[] nodes;
+
+	private final EvalExecutor[] executors;
+
+	private StaticSqlTemplate(final String sql, final List<BindParameter> bindParameters,
+			final List<BindVariableNode> nodes) {
+		this.sql = sql;
+		this.bindParameters = bindParameters.toArray(new BindParameter[bindParameters.size()]);
+		this.nodes = nodes.toArray(new BindVariableNode[nodes.size()]);
+		this.executors = new EvalExecutor[this.nodes.length];
+		for (int i = 0; i < this.nodes.length; i++) {
+			final BindVariableNode node = this.nodes[i];
+			executors[i] = node.getEvaluator().getEvalExecutor(node.getBindParameter().getName());
+		}
+	}
+
+	/**
+	 * SqlNodeを解析してテンプレートを作成します。
+	 * 
+	 * @param sqlNode
+	 * @return 動的な要素を含む場合はnull
+	 */
+	static StaticSqlTemplate compile(final SqlNode sqlNode) {
+		final SqlParameterCollection sqlParameters = new SqlParameterCollection();
+		final List<BindVariableNode> nodes = new ArrayList<BindVariableNode>();
+		for (final Node node : sqlNode.getChildNodes()) {
+			if (node instanceof SqlPartNode) {
+				node.eval(null, sqlParameters);
+			} else if (node.getClass() == BindVariableNode.class) {
+				final BindVariableNode bindNode = (BindVariableNode) node;
+				if (bindNode.getColumn() != null && bindNode.getOperator() != null) {
+					// 演算子はParametersContextで変更できるため静的ではない
+					return null;
+				}
+				sqlParameters.add(bindNode.getBindParameter().clone());
+				nodes.add(bindNode);
+			} else if (node.getClass() != CommentNode.class) {
+				return null;
+			}
+		}
+		return new StaticSqlTemplate(sqlParameters.getSql(), sqlParameters.getBindParameters(), nodes);
+	}
+
+	/**
+	 * @return the sql
+	 */
+	public String getSql() {
+		return sql;
+	}
+
+	/**
+	 * バインド変数の数を取得します。
+	 */
+	public int getParameterCount() {
+		return bindParameters.length;
+	}
+
+	/**
+	 * 値を設定していないパラメタを作成します。作成したパラメタは{@link #eval(Object, SqlParameterCollection)}で繰り返し使用できます。
+	 * 
+	 * @param dialect
+	 */
+	public SqlParameterCollection createSqlParameterCollection(final Dialect dialect) {
+		final SqlParameterCollection sqlParameters = new SqlParameterCollection(dialect);
+		sqlParameters.setSql(new StringBuilder(sql));
+		final List<BindParameter> list = sqlParameters.getBindParameters();
+		for (int i = 0; i < bindParameters.length; i++) {
+			list.add(bindParameters[i].clone());
+		}
+		return sqlParameters;
+	}
+
+	/**
+	 * バインド変数の値を評価して設定します。
+	 * 
+	 * @param context
+	 * @param sqlParameters
+	 *            {@link #createSqlParameterCollection(Dialect)}で作成したパラメタ
+	 */
+	public void eval(final Object context, final SqlParameterCollection sqlParameters) {
+		final List<BindParameter> list = sqlParameters.getBindParameters();
+		for (int i = 0; i < executors.length; i++) {
+			final Object value;
+			try {
+				value = executors[i].eval(context);
+			} catch (final ExpressionExecutionException e) {
+				throw nodes[i].handleExceptrion(e);
+			}
+			list.get(i).setValue(value);
+		}
+	}
+}
@@ -1505,6 +1505,15 @@ public class AbstractSqlBuilder<T extends AbstractSqlBuilder<?>> implements
 		return instance();
 	}
 
+	/**
+	 * LIMIT句を追加します
+	 * 
+	 */
+	public T limit() {
+		appendElement("LIMIT");
+		return instance();
+	}
+
 	
 	/**
 	 * PARTITION BY句を追加します
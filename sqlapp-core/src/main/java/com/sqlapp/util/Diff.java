@@ -19,6 +19,7 @@
 
 package com.sqlapp.util;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +41,9 @@ public class Diff<T> {
 	private final Map<Integer, T> map1 = CommonUtils.linkedMap();
 	private final Map<Integer, T> map2 = CommonUtils.linkedMap();
 
+	private int[] hash1;
+	private int[] hash2;
+
 	public Diff(List<T> list1, List<T> list2, Comparator<T> comp) {
 		this.list1 = list1;
 		this.list2 = list2;
@@ -62,35 +66,158 @@ public class Diff<T> {
 	private void initLongestCommonSubSequences(List<T> list1, List<T> list2) {
 		int size1 = list1.size();
 		int size2 = list2.size();
-		int[][] lengths = new int[size1 + 1][size2 + 1];
-		for (int i = size1-1; i >= 0; i--) {
-			T obj1 = list1.get(i);
-			for (int j = size2-1; j >= 0; j--) {
-				T obj2 = list2.get(j);
-				if (eq(obj1, obj2)) {
-					lengths[i][j] = lengths[i+1][j+1]+1;
+		this.hash1 = new int[size1];
+		for (int i = 0; i < size1; i++) {
+			hash1[i] = hash(list1.get(i));
+		}
+		this.hash2 = new int[size2];
+		for (int j = 0; j < size2; j++) {
+			hash2[j] = hash(list2.get(j));
+		}
+		lcs(0, size1, 0, size2);
+		this.hash1 = null;
+		this.hash2 = null;
+	}
+
+	/**
+	 * 指定した範囲のLCSを求めます。共通の先頭と末尾を除いた後、Myersのアルゴリズムで中間点を求めて分割します。
+	 */
+	private void lcs(int start1, int end1, int start2, int end2) {
+		while (start1 < end1 && start2 < end2 && equals(start1, start2)) {
+			addLcs(start1++, start2++);
+		}
+		int suffix = 0;
+		while (start1 < end1 && start2 < end2
+				&& equals(end1 - 1, end2 - 1)) {
+			end1--;
+			end2--;
+			suffix++;
+		}
+		if (start1 < end1 && start2 < end2) {
+			int[] split = bisect(start1, end1, start2, end2);
+			if (split != null) {
+				lcs(start1, split[0], start2, split[1]);
+				lcs(split[0], end1, split[1], end2);
+			}
+		}
+		for (int i = 0; i < suffix; i++) {
+			addLcs(end1 + i, end2 + i);
+		}
+	}
+
+	/**
+	 * 前方と後方から探索し、最短編集経路の中間点を求めます。共通要素が無い場合はnullを返します。
+	 */
+	private int[] bisect(int start1, int end1, int start2, int end2) {
+		int n = end1 - start1;
+		int m = end2 - start2;
+		int maxD = (n + m + 1) / 2;
+		int offset = maxD;
+		int length = 2 * maxD + 2;
+		int[] v1 = new int[length];
+		int[] v2 = new int[length];
+		Arrays.fill(v1, -1);
+		Arrays.fill(v2, -1);
+		v1[offset + 1] = 0;
+		v2[offset + 1] = 0;
+		int delta = n - m;
+		boolean front = (delta % 2 != 0);
+		int k1start = 0, k1end = 0, k2start = 0, k2end = 0;
+		for (int d = 0; d < maxD; d++) {
+			for (int k1 = -d + k1start; k1 <= d - k1end; k1 += 2) {
+				int k1Offset = offset + k1;
+				int x1;
+				if (k1 == -d || (k1 != d && v1[k1Offset - 1] < v1[k1Offset + 1])) {
+					x1 = v1[k1Offset + 1];
 				} else {
-					lengths[i][j] = Math.max(lengths[i+1][j],
-							lengths[i][j+1]);
+					x1 = v1[k1Offset - 1] + 1;
+				}
+				int y1 = x1 - k1;
+				while (x1 < n && y1 < m && equals(start1 + x1, start2 + y1)) {
+					x1++;
+					y1++;
+				}
+				v1[k1Offset] = x1;
+				if (x1 > n) {
+					k1end += 2;
+				} else if (y1 > m) {
+					k1start += 2;
+				} else if (front) {
+					int k2Offset = offset + delta - k1;
+					if (k2Offset >= 0 && k2Offset < length && v2[k2Offset] != -1) {
+						if (x1 >= n - v2[k2Offset]) {
+							return split(start1, end1, start2, end2, x1, y1);
+						}
+					}
 				}
 			}
-		}
-		int i = 0, j = 0;
-		while(i < size1 && j < size2) {
-			T obj1 = list1.get(i);
-			T obj2 = list2.get(j);
-			if (eq(obj1, obj2)) {
-				this.lcs.add(obj1);
-				map1.put(i, obj1);
-				map2.put(j, obj2);
-				i++;
-				j++;
-			} else if (lengths[i+1][j] >= lengths[i][j+1]){
-				i++;
-			} else{
-				j++;
+			for (int k2 = -d + k2start; k2 <= d - k2end; k2 += 2) {
+				int k2Offset = offset + k2;
+				int x2;
+				if (k2 == -d || (k2 != d && v2[k2Offset - 1] < v2[k2Offset + 1])) {
+					x2 = v2[k2Offset + 1];
+				} else {
+					x2 = v2[k2Offset - 1] + 1;
+				}
+				int y2 = x2 - k2;
+				while (x2 < n && y2 < m
+						&& equals(end1 - x2 - 1, end2 - y2 - 1)) {
+					x2++;
+					y2++;
+				}
+				v2[k2Offset] = x2;
+				if (x2 > n) {
+					k2end += 2;
+				} else if (y2 > m) {
+					k2start += 2;
+				} else if (!front) {
+					int k1Offset = offset + delta - k2;
+					if (k1Offset >= 0 && k1Offset < length && v1[k1Offset] != -1) {
+						int x1 = v1[k1Offset];
+						int y1 = offset + x1 - k1Offset;
+						if (x1 >= n - x2) {
+							return split(start1, end1, start2, end2, x1, y1);
+						}
+					}
+				}
 			}
 		}
+		return null;
+	}
+
+	private int[] split(int start1, int end1, int start2, int end2, int x, int y) {
+		int i = start1 + x;
+		int j = start2 + y;
+		if ((i == start1 && j == start2) || (i == end1 && j == end2)) {
+			return null;
+		}
+		return new int[] { i, j };
+	}
+
+	private boolean equals(int i, int j) {
+		if (hash1[i] != hash2[j]) {
+			return false;
+		}
+		return eq(list1.get(i), list2.get(j));
+	}
+
+	private void addLcs(int i, int j) {
+		T obj1 = list1.get(i);
+		this.lcs.add(obj1);
+		map1.put(i, obj1);
+		map2.put(j, list2.get(j));
+	}
+
+	/**
+	 * 比較前の振り分けに使用するハッシュ値を返します。eqがtrueとなる要素同士は同じ値を返す必要があります。
+	 * 
+	 * @param obj
+	 */
+	protected int hash(T obj) {
+		if (comparator != null) {
+			return 0;
+		}
+		return obj == null ? 0 : obj.hashCode();
 	}
 
 	/**
@@ -0,0 +1,259 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.util;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * 件数または重みの上限を持つLRUキャッシュ
+ * 
+ * 上限を超えた場合は最も長く参照されていない要素から削除します。ConcurrentMapとして既存のキャッシュと差し替えて使用できます。
+ * 
+ * getも参照順を更新するため、全ての操作は1つのロックで同期します。
+ * 操作自体はLinkedHashMapの参照と更新のみですが、多数のスレッドから同時に参照する場合はロックの競合が発生します。
+ * 競合が問題になる場合は上限を設定せずにConcurrentHashMapを使用してください。
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class LruCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, Serializable {
+
+	/** serialVersionUID */
+	private static final long serialVersionUID = -3425810764021452281L;
+
+	private final LinkedHashMap<K, V> inner = new LinkedHashMap<K, V>(16, 0.75f, true);
+
+	private final long maximumWeight;
+
+	private final Weigher<K, V> weigher;
+
+	private long weight = 0;
+
+	private long hitCount = 0;
+
+	private long missCount = 0;
+
+	private long evictionCount = 0;
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param maximumSize
+	 *            最大件数
+	 */
+	public LruCache(final int maximumSize) {
+		this(maximumSize, (k, v) -> 1L);
+	}
+
+	/**
+	 * コンストラクタ
+	 * 
+	 * @param maximumWeight
+	 *            重みの合計の上限
+	 * @param weigher
+	 *            要素の重みを返す関数
+	 */
+	public LruCache(final long maximumWeight, final Weigher<K, V> weigher) {
+		if (maximumWeight <= 0) {
+			throw new IllegalArgumentException("maximumWeight=" + maximumWeight);
+		}
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+	}
+
+	@Override
+	public synchronized V get(final Object key) {
+		final V value = inner.get(key);
+		if (value == null) {
+			missCount++;
+		} else {
+			hitCount++;
+		}
+		return value;
+	}
+
+	@Override
+	public synchronized boolean containsKey(final Object key) {
+		return inner.containsKey(key);
+	}
+
+	@Override
+	public synchronized V put(final K key, final V value) {
+		final V oldValue = inner.put(key, value);
+		if (oldValue != null) {
+			weight -= weigher.applyAsLong(key, oldValue);
+		}
+		weight += weigher.applyAsLong(key, value);
+		evict();
+		return oldValue;
+	}
+
+	@Override
+	public synchronized V putIfAbsent(final K key, final V value) {
+		final V oldValue = inner.get(key);
+		if (oldValue != null) {
+			return oldValue;
+		}
+		put(key, value);
+		return null;
+	}
+
+	@Override
+	public synchronized V remove(final Object key) {
+		final V oldValue = inner.remove(key);
+		if (oldValue != null) {
+			weight -= weigher.applyAsLong(CommonUtils.cast(key), oldValue);
+		}
+		return oldValue;
+	}
+
+	@Override
+	public synchronized boolean remove(final Object key, final Object value) {
+		final V current = inner.get(key);
+		if (current == null || !current.equals(value)) {
+			return false;
+		}
+		remove(key);
+		return true;
+	}
+
+	@Override
+	public synchronized boolean replace(final K key, final V oldValue, final V newValue) {
+		final V current = inner.get(key);
+		if (current == null || !current.equals(oldValue)) {
+			return false;
+		}
+		put(key, newValue);
+		return true;
+	}
+
+	@Override
+	public synchronized V replace(final K key, final V value) {
+		if (!inner.containsKey(key)) {
+			return null;
+		}
+		return put(key, value);
+	}
+
+	@Override
+	public synchronized int size() {
+		return inner.size();
+	}
+
+	@Override
+	public synchronized void clear() {
+		inner.clear();
+		weight = 0;
+	}
+
+	/**
+	 * 要素のコピーを返します。
+	 */
+	@Override
+	public synchronized Set<Map.Entry<K, V>> entrySet() {
+		return CommonUtils.linkedMap(inner).entrySet();
+	}
+
+	private synchronized void writeObject(final ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+	}
+
+	private void evict() {
+		while (weight > maximumWeight && inner.size() > 1) {
+			final Map.Entry<K, V> eldest = inner.entrySet().iterator().next();
+			inner.remove(eldest.getKey());
+			weight -= weigher.applyAsLong(eldest.getKey(), eldest.getValue());
+			evictionCount++;
+		}
+	}
+
+	/**
+	 * @return the maximumWeight
+	 */
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	/**
+	 * @return the weight
+	 */
+	public synchronized long getWeight() {
+		return weight;
+	}
+
+	/**
+	 * @return the hitCount
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * @return the missCount
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * @return the evictionCount
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/**
+	 * @return the hit rate
+	 */
+	public synchronized double getHitRate() {
+		final long requestCount = hitCount + missCount;
+		return requestCount == 0 ? 1.0d : (double) hitCount / requestCount;
+	}
+
+	@Override
+	public synchronized String toString() {
+		final ToStringBuilder builder = new ToStringBuilder(this.getClass());
+		builder.add("size", inner.size());
+		builder.add("weight", weight);
+		builder.add("maximumWeight", maximumWeight);
+		builder.add("hitCount", hitCount);
+		builder.add("missCount", missCount);
+		builder.add("evictionCount", evictionCount);
+		return builder.toString();
+	}
+
+	/**
+	 * 要素の重みを返す関数。キャッシュと一緒にシリアライズされるためSerializableです。
+	 *
+	 * @param <K>
+	 * @param <V>
+	 */
+	@FunctionalInterface
+	public static interface Weigher<K, V> extends ToLongBiFunction<K, V>, Serializable {
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * ゲッター、セッターの呼び出しクラス
+ * 
+ * MethodHandleを作成できるメソッドはMethodHandleで呼び出し、作成できない場合はリフレクションで呼び出します。
+ * 
+ */
+final class MethodInvoker {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private final Method method;
+
+	private final Class<?> declaringClass;
+
+	private final Class<?> parameterType;
+
+	private final Class<?> boxedParameterType;
+
+	private final MethodHandle methodHandle;
+
+	MethodInvoker(final Method method) {
+		this.method = method;
+		this.declaringClass = method.getDeclaringClass();
+		final Class<?>[] parameterTypes = method.getParameterTypes();
+		this.parameterType = parameterTypes.length == 1 ? parameterTypes[0] : null;
+		if (parameterType != null && parameterType.isPrimitive()) {
+			this.boxedParameterType = CommonUtils.getWrapperClass(parameterType);
+		} else {
+			this.boxedParameterType = parameterType;
+		}
+		this.methodHandle = createMethodHandle(method, parameterTypes.length);
+	}
+
+	private static MethodHandle createMethodHandle(final Method method, final int parameterCount) {
+		if (parameterCount > 1) {
+			return null;
+		}
+		try {
+			MethodHandle handle = LOOKUP.unreflect(method);
+			if (Modifier.isStatic(method.getModifiers())) {
+				handle = MethodHandles.dropArguments(handle, 0, Object.class);
+			}
+			return handle.asType(parameterCount == 0 ? GETTER_TYPE : SETTER_TYPE);
+		} catch (final IllegalAccessException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return the method
+	 */
+	Method getMethod() {
+		return method;
+	}
+
+	/**
+	 * ゲッターを呼び出します
+	 * 
+	 * @param obj 対象のオブジェクト
+	 * @return 戻り値
+	 */
+	Object invoke(final Object obj) throws IllegalAccessException, InvocationTargetException {
+		if (methodHandle == null) {
+			return method.invoke(obj);
+		}
+		checkTarget(obj);
+		try {
+			return (Object) methodHandle.invokeExact(obj);
+		} catch (final Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	/**
+	 * セッターを呼び出します
+	 * 
+	 * @param obj   対象のオブジェクト
+	 * @param value 設定する値
+	 */
+	void invoke(final Object obj, final Object value) throws IllegalAccessException, InvocationTargetException {
+		if (methodHandle == null) {
+			method.invoke(obj, value);
+			return;
+		}
+		if (value == null ? parameterType.isPrimitive() : !boxedParameterType.isInstance(value)) {
+			// 型の拡張変換、エラー処理はリフレクションに任せる
+			method.invoke(obj, value);
+			return;
+		}
+		checkTarget(obj);
+		try {
+			methodHandle.invokeExact(obj, value);
+		} catch (final Throwable e) {
+			throw new InvocationTargetException(e);
+		}
+	}
+
+	/**
+	 * リフレクションと同じく対象のオブジェクトが不正な場合はIllegalArgumentExceptionとします
+	 */
+	private void checkTarget(final Object obj) {
+		if (Modifier.isStatic(method.getModifiers())) {
+			return;
+		}
+		if (obj == null) {
+			throw new NullPointerException("obj is null. method=" + method);
+		}
+		if (!declaringClass.isInstance(obj)) {
+			throw new IllegalArgumentException("object is not an instance of declaring class. method=" + method);
+		}
+	}
+}
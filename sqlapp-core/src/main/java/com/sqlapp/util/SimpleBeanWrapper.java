@@ -49,9 +49,9 @@ public class SimpleBeanWrapper {
 
 	private final Class<?> clazz;
 
-	private final Map<String, Method> getterMap = CommonUtils.linkedMap();
+	private final Map<String, MethodInvoker> getterMap = CommonUtils.linkedMap();
 
-	private final Map<String, Method> setterMap = CommonUtils.linkedMap();
+	private final Map<String, MethodInvoker> setterMap = CommonUtils.linkedMap();
 
 	private final Set<String> propertyNameSet = CommonUtils.linkedSet();
 	/**
@@ -59,7 +59,7 @@ public class SimpleBeanWrapper {
 	 */
 	private final Map<String, String> propertyNameMapping = new LowerUnderScoreISMap<String>();
 
-	private final Map<String, Map<Class<?>, Method>> setterOverloadMap = CommonUtils.linkedMap();
+	private final Map<String, Map<Class<?>, MethodInvoker>> setterOverloadMap = CommonUtils.linkedMap();
 
 	private final Map<String, Field> fieldMap = CommonUtils.linkedMap();
 
@@ -148,19 +148,20 @@ public class SimpleBeanWrapper {
 			final String methodName = method.getName();
 			if (isSetter(clazz, method)) {
 				final String propertyName = getPropertyName(methodName);
-				Map<Class<?>, Method> classMap = setterOverloadMap.get(propertyName);
+				Map<Class<?>, MethodInvoker> classMap = setterOverloadMap.get(propertyName);
 				if (classMap == null) {
 					classMap = CommonUtils.concurrentMap();
 					setterOverloadMap.put(propertyName, classMap);
 					propertyNameMapping.put(propertyName, propertyName);
 				}
 				final Class<?> argClass = method.getParameterTypes()[0];
+				final MethodInvoker invoker = new MethodInvoker(method);
 				if (argClass.isPrimitive()) {
 					final Class<?> wrapperClass = CommonUtils.getWrapperClass(argClass);
-					classMap.put(wrapperClass, method);
+					classMap.put(wrapperClass, invoker);
 				}
-				classMap.put(argClass, method);
-				setterMap.put(propertyName, method);
+				classMap.put(argClass, invoker);
+				setterMap.put(propertyName, invoker);
 				propertyNameMapping.put(propertyName, propertyName);
 				continue;
 			} else {
@@ -176,7 +177,7 @@ public class SimpleBeanWrapper {
 					final Matcher getMatcher=GETTER_GET_PATTERN.matcher(methodName);
 					if (getMatcher.matches()) {
 						propertyName = getPropertyName(methodName);
-						getterMap.put(propertyName, method);
+						getterMap.put(propertyName, new MethodInvoker(method));
 						propertyNameSet.add(propertyName);
 						propertyNameMapping.put(propertyName, propertyName);
 						continue;
@@ -184,7 +185,7 @@ public class SimpleBeanWrapper {
 					final Matcher isMatcher=GETTER_IS_PATTERN.matcher(methodName);
 					if (isMatcher.matches() && (boolean.class.equals(returnType) || Boolean.class.equals(returnType))) {
 						propertyName = getIsPropertyName(methodName);
-						getterMap.put(propertyName, method);
+						getterMap.put(propertyName, new MethodInvoker(method));
 						propertyNameSet.add(propertyName);
 						propertyNameMapping.put(propertyName, propertyName);
 						continue;
@@ -313,9 +314,9 @@ public class SimpleBeanWrapper {
 	@SuppressWarnings("unchecked")
 	public <T> T getValue(final Object obj, final String propertyName) {
 		try {
-			final Method method = getterMap.get(propertyName);
-			if (method != null) {
-				return (T) method.invoke(obj);
+			final MethodInvoker invoker = getterMap.get(propertyName);
+			if (invoker != null) {
+				return (T) invoker.invoke(obj);
 			}
 			final Field field = fieldMap.get(propertyName);
 			if (field != null) {
@@ -342,7 +343,7 @@ public class SimpleBeanWrapper {
 		if (propertyName == null) {
 			return null;
 		}
-		final Method method = getterMap.get(propertyName);
+		final Method method = getMethod(getterMap.get(propertyName));
 		if (method != null) {
 			return method.getGenericReturnType();
 		}
@@ -384,7 +385,7 @@ public class SimpleBeanWrapper {
 		if (propertyName == null) {
 			return null;
 		}
-		final Method method = getterMap.get(propertyName);
+		final Method method = getMethod(getterMap.get(propertyName));
 		if (method != null) {
 			return method.getReturnType();
 		}
@@ -632,19 +633,19 @@ public class SimpleBeanWrapper {
 		Class<?> valueClass = null;
 		try {
 			if (value != null) {
-				final Map<Class<?>, Method> classMap = setterOverloadMap.get(propertyName);
+				final Map<Class<?>, MethodInvoker> classMap = setterOverloadMap.get(propertyName);
 				valueClass = value.getClass();
 				if (classMap != null) {
-					Method method = classMap.get(valueClass);
-					if (method != null) {
-						method.invoke(obj, value);
+					MethodInvoker invoker = classMap.get(valueClass);
+					if (invoker != null) {
+						invoker.invoke(obj, value);
 						return true;
 					} else {
-						for (final Map.Entry<Class<?>, Method> entry : classMap.entrySet()) {
+						for (final Map.Entry<Class<?>, MethodInvoker> entry : classMap.entrySet()) {
 							if (entry.getKey().isAssignableFrom(valueClass)) {
-								method = entry.getValue();
-								classMap.put(valueClass, method);
-								method.invoke(obj, value);
+								invoker = entry.getValue();
+								classMap.put(valueClass, invoker);
+								invoker.invoke(obj, value);
 								return true;
 							}
 						}
@@ -652,9 +653,9 @@ public class SimpleBeanWrapper {
 				}
 			}
 			final Converters converters = Converters.getDefault();
-			final Method method = setterMap.get(propertyName);
+			final MethodInvoker method = setterMap.get(propertyName);
 			if (method != null) {
-				parameterType = method.getParameterTypes()[0];
+				parameterType = method.getMethod().getParameterTypes()[0];
 				if (converters.isConvertable(parameterType)) {
 					if (parameterType.isPrimitive() && value == null) {
 						return false;
@@ -719,17 +720,16 @@ public class SimpleBeanWrapper {
 	}
 
 	private Method getSetterMethod(final String propertyName, final Class<?> argClass) {
-		final Map<Class<?>, Method> classMap = setterOverloadMap.get(propertyName);
+		final Map<Class<?>, MethodInvoker> classMap = setterOverloadMap.get(propertyName);
 		if (classMap != null) {
-			Method method = classMap.get(argClass);
-			if (method != null) {
-				return method;
+			final MethodInvoker invoker = classMap.get(argClass);
+			if (invoker != null) {
+				return invoker.getMethod();
 			}
-			for (final Map.Entry<Class<?>, Method> entry : classMap.entrySet()) {
+			for (final Map.Entry<Class<?>, MethodInvoker> entry : classMap.entrySet()) {
 				if (entry.getKey().isAssignableFrom(argClass)) {
-					method = entry.getValue();
 					classMap.put(argClass, entry.getValue());
-					return method;
+					return entry.getValue().getMethod();
 				}
 			}
 		}
@@ -989,7 +989,7 @@ public class SimpleBeanWrapper {
 	public Map<String, Annotation[]> getGetterAnnotationMap() {
 		final Map<String, Annotation[]> map = CommonUtils.map();
 		for (final String name : this.getPropertyNames()) {
-			final Method method = getterMap.get(name);
+			final Method method = getMethod(getterMap.get(name));
 			if (method != null) {
 				final Annotation[] annotations = method.getAnnotations();
 				if (!CommonUtils.isEmpty(annotations)) {
@@ -1008,7 +1008,7 @@ public class SimpleBeanWrapper {
 	public Map<String, Annotation[]> getSetterAnnotationMap() {
 		final Map<String, Annotation[]> map = CommonUtils.map();
 		for (final String name : this.getPropertyNames()) {
-			final Method method = setterMap.get(name);
+			final Method method = getMethod(setterMap.get(name));
 			if (method != null) {
 				final Annotation[] annotations = method.getAnnotations();
 				if (!CommonUtils.isEmpty(annotations)) {
@@ -1198,6 +1198,10 @@ public class SimpleBeanWrapper {
 		return null;
 	}
 
+	private static Method getMethod(final MethodInvoker invoker) {
+		return invoker == null ? null : invoker.getMethod();
+	}
+
 	private static class MethodArgs {
 		Method method;
 		Object[] args;
@@ -23,6 +23,8 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import com.sqlapp.util.LruCache;
+
 public abstract class AbstractCachedEvaluator implements CachedEvaluator {
 
 	private Map<String, EvalExecutor> evaluatorMap = new ConcurrentHashMap<String, EvalExecutor>();
@@ -70,6 +72,15 @@ public abstract class AbstractCachedEvaluator implements CachedEvaluator {
 	protected abstract EvalExecutor createEvalExecutor(String expression)
 			throws Exception;
 
+	/**
+	 * キャッシュの最大件数を設定します。上限を超えた場合は参照されていない式から削除します。
+	 * 
+	 * @param maximumSize
+	 */
+	public void setMaximumSize(int maximumSize) {
+		this.evaluatorMap = new LruCache<String, EvalExecutor>(maximumSize);
+	}
+
 	public Map<String, EvalExecutor> getEvaluatorMap() {
 		return evaluatorMap;
 	}
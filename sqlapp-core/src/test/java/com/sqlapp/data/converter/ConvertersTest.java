@@ -28,7 +28,11 @@ import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +40,7 @@ import org.junit.jupiter.api.Test;
 import com.sqlapp.TestCaseBase;
 import com.sqlapp.data.converter.Converter;
 import com.sqlapp.data.converter.Converters;
+import com.sqlapp.util.CommonUtils;
 import com.sqlapp.util.DateUtils;
 import com.sqlapp.util.Java8DateUtils;
 
@@ -514,4 +519,37 @@ public class ConvertersTest extends TestCaseBase {
 		dateTime=converters.convertObject(dateText, Calendar.class);
 		assertEquals("2011-02-02 13:30:00 +09:00[JST]", converters.convertString(dateTime));
 	}
+
+	/**
+	 * コンバーター検索テスト
+	 */
+	@Test
+	public void testGetConverter() throws Exception {
+		final Converters converters=new Converters();
+		final Converter<Date> dateConverter=converters.getConverter(Date.class);
+		final Converter<java.sql.Date> sqlDateConverter=converters.getConverter(java.sql.Date.class);
+		assertNotNull(sqlDateConverter);
+		assertSame(sqlDateConverter, converters.getConverter(java.sql.Date.class));
+		assertNull(converters.getConverterMap().get(StringBuilder.class));
+		final StringConverter converter=new StringConverter();
+		converters.put(CharSequence.class, converter);
+		assertSame(converter, converters.getConverter(StringBuilder.class));
+		assertSame(converter, converters.getConverterMap().get(CharSequence.class));
+		assertThrows(UnsupportedOperationException.class, ()->converters.getConverterMap().put(StringBuilder.class, converter));
+		assertSame(dateConverter, converters.getConverter(Date.class));
+		//
+		final ExecutorService executor=Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<Converter<Integer>>> futures=CommonUtils.list();
+			for(int i=0;i<100;i++){
+				futures.add(executor.submit(()->converters.getConverter(Integer.class)));
+			}
+			final Converter<Integer> intConverter=converters.getConverter(Integer.class);
+			for(final Future<Converter<Integer>> future:futures){
+				assertSame(intConverter, future.get());
+			}
+		} finally{
+			executor.shutdown();
+		}
+	}
 }
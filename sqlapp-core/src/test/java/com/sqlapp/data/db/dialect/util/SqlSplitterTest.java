@@ -20,13 +20,17 @@
 package com.sqlapp.data.db.dialect.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import com.sqlapp.data.db.dialect.util.SqlSplitter.SplitResult;
 import com.sqlapp.test.AbstractTest;
+import com.sqlapp.util.CommonUtils;
 
 public class SqlSplitterTest extends AbstractTest{
 
@@ -49,4 +53,55 @@ public class SqlSplitterTest extends AbstractTest{
 		final List<SplitResult> list=splitter.getStatements();
 		assertEquals(5, list.size());
 	}
+
+	@Test
+	public void testSplitReader() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			builder.append("-- comment").append(i).append('\n');
+			builder.append("INSERT INTO AAA VALUES (").append(i).append(", 'a;\n--").append(i).append("');\n");
+			builder.append("/* comment;\n */\n");
+		}
+		final SqlSplitter splitter = new SqlSplitter();
+		final List<SplitResult> expected = splitter.parse(builder.toString());
+		splitter.setChunkSize(50);
+		final List<SplitResult> list = CommonUtils.list();
+		splitter.parse(new StringReader(builder.toString()), list::add);
+		assertEquals(expected.size(), list.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).toString(), list.get(i).toString());
+		}
+		assertEquals(300, list.size());
+	}
+
+	@Test
+	public void testSplitReaderLongStatement() throws IOException {
+		final StringBuilder builder = new StringBuilder();
+		builder.append("SELECT 1;\n");
+		builder.append("INSERT INTO AAA VALUES\n");
+		for (int i = 0; i < 10000; i++) {
+			builder.append("(").append(i).append(", 'a'),\n");
+		}
+		builder.append("(-1, 'a');\n");
+		builder.append("SELECT 2;\n");
+		final int[] parseCount = new int[1];
+		final SqlSplitter splitter = new SqlSplitter() {
+			@Override
+			protected SqlTokenizer createSqlTokenizer(final String input) {
+				parseCount[0]++;
+				return super.createSqlTokenizer(input);
+			}
+		};
+		final List<SplitResult> expected = splitter.parse(builder.toString());
+		splitter.setChunkSize(50);
+		parseCount[0] = 0;
+		final List<SplitResult> list = CommonUtils.list();
+		splitter.parse(new StringReader(builder.toString()), list::add);
+		assertEquals(3, list.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i).toString(), list.get(i).toString());
+		}
+		// 1つの文が多数のchunkSizeにまたがる場合も、読み込む文字数を増やして再解析の回数を抑える
+		assertTrue(parseCount[0] < 30, "parseCount=" + parseCount[0]);
+	}
 }
@@ -19,9 +19,16 @@
 
 package com.sqlapp.data.schemas;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
+import java.util.Iterator;
+import java.util.ListIterator;
 
 import org.junit.jupiter.api.Test;
 
@@ -176,6 +183,259 @@ public class RowTest {
 		assertTrue(row2.compareTo(row1) < 0);
 	}
 
+	@Test
+	public void testHasSqlOption() throws ParseException {
+		Table table1 = getTable("table1");
+		Row row1 = addRow(table1, "" + 1, 2, DateUtils.parse("2013-08-30"));
+		assertFalse(row1.hasSqlOption());
+		row1.putOption(1, "other");
+		assertFalse(row1.hasSqlOption());
+		row1.putOption(2, Row.SQL_OPTION);
+		assertTrue(row1.hasSqlOption());
+	}
+
+	@Test
+	public void testFindByKey() throws ParseException {
+		Table table1 = getTable("table1");
+		table1.getConstraints().addPrimaryKeyConstraint("pk",
+				table1.getColumns().get(0));
+		Row row1 = addRow(table1, "" + 1, 2, DateUtils.parse("2013-08-30"));
+		Row row2 = addRow(table1, "" + 2, 1, DateUtils.parse("2013-09-30"));
+		Table table2 = getTable("table2");
+		Row key = addRow(table2, "" + 2, 3, DateUtils.parse("2013-10-30"));
+		assertSame(row2, table1.getRows().find(key));
+		row2.put(0, "" + 3);
+		assertNull(table1.getRows().find(key));
+		row1.put(0, "" + 2);
+		assertSame(row1, table1.getRows().find(key));
+		table1.getRows().remove(row1);
+		assertNull(table1.getRows().find(key));
+	}
+
+	@Test
+	public void testDiffByKey() throws ParseException {
+		Table table1 = getTable("table1");
+		table1.getConstraints().addPrimaryKeyConstraint("pk",
+				table1.getColumns().get(0));
+		addRow(table1, "" + 1, 2, DateUtils.parse("2013-08-30"));
+		addRow(table1, "" + 2, 1, DateUtils.parse("2013-09-30"));
+		addRow(table1, "" + 3, 1, DateUtils.parse("2013-09-30"));
+		Table table2 = getTable("table2");
+		table2.getConstraints().addPrimaryKeyConstraint("pk",
+				table2.getColumns().get(0));
+		addRow(table2, "" + 4, 1, DateUtils.parse("2013-09-30"));
+		addRow(table2, "" + 3, 1, DateUtils.parse("2013-09-30"));
+		addRow(table2, "" + 2, 5, DateUtils.parse("2013-09-30"));
+		DbObjectDifferenceCollection diff = table1.getRows().diff(table2.getRows());
+		assertEquals(4, diff.getList().size());
+		assertEquals(State.Deleted, diff.getList().get(0).getState());
+		assertEquals(State.Modified, diff.getList().get(1).getState());
+		assertEquals(State.Added, diff.getList().get(2).getState());
+		assertEquals(State.Unchanged, diff.getList().get(3).getState());
+	}
+
+	@Test
+	public void testDiffByKeyOrder() throws ParseException {
+		Table table1 = getTable("table1");
+		table1.getConstraints().addPrimaryKeyConstraint("pk",
+				table1.getColumns().get(0));
+		addRow(table1, "" + 1, 2, DateUtils.parse("2013-08-30"));
+		addRow(table1, "" + 2, 1, DateUtils.parse("2013-09-30"));
+		addRow(table1, "" + 4, 1, DateUtils.parse("2013-09-30"));
+		addRow(table1, "" + 6, 1, DateUtils.parse("2013-09-30"));
+		Table table2 = getTable("table2");
+		table2.getConstraints().addPrimaryKeyConstraint("pk",
+				table2.getColumns().get(0));
+		addRow(table2, "" + 0, 1, DateUtils.parse("2013-09-30"));
+		addRow(table2, "" + 2, 5, DateUtils.parse("2013-09-30"));
+		addRow(table2, "" + 3, 1, DateUtils.parse("2013-09-30"));
+		addRow(table2, "" + 6, 1, DateUtils.parse("2013-09-30"));
+		addRow(table2, "" + 7, 1, DateUtils.parse("2013-09-30"));
+		DbObjectDifferenceCollection diff = table1.getRows().diff(table2.getRows());
+		assertEquals("[Deleted:1, Added:0, Modified:2, Deleted:4, Added:3, Unchanged:6, Added:7]", toString(diff));
+	}
+
+	@Test
+	public void testDiffByKeyMixedNumber() throws ParseException {
+		Table table1 = getKeyTable("table1", DataType.INT);
+		Table table2 = getKeyTable("table2", DataType.BIGINT);
+		addRow(table1, 1, "a");
+		addRow(table1, 2, "b");
+		addRow(table2, 1L, "a");
+		addRow(table2, 2L, "c");
+		assertEquals(Integer.class, table1.getRows().get(0).get(0).getClass());
+		assertEquals(Long.class, table2.getRows().get(0).get(0).getClass());
+		DbObjectDifferenceCollection diff = table1.getRows().diff(table2.getRows());
+		assertEquals(2, diff.getList().size());
+		assertEquals(State.Modified, diff.getList().get(1).getState());
+		assertEquals("b", ((Row) diff.getList().get(1).getOriginal()).get("name"));
+		assertEquals("c", ((Row) diff.getList().get(1).getTarget()).get("name"));
+		//
+		table1 = getKeyTable("table1", DataType.DECIMAL);
+		table2 = getKeyTable("table2", DataType.DECIMAL);
+		addRow(table1, new BigDecimal("1.0"), "a");
+		addRow(table2, new BigDecimal("1.00"), "b");
+		diff = table1.getRows().diff(table2.getRows());
+		assertEquals(1, diff.getList().size());
+		assertEquals(State.Modified, diff.getList().get(0).getState());
+		assertSame(table1.getRows().get(0), table1.getRows().find(table2.getRows().get(0)));
+	}
+
+	@Test
+	public void testFindByKeyMixedNumber() throws ParseException {
+		Table table1 = getKeyTable("table1", DataType.INT);
+		Table table2 = getKeyTable("table2", DataType.BIGINT);
+		addRow(table1, 1, "a");
+		Row row2 = addRow(table1, 2, "b");
+		Row key = addRow(table2, 2L, "c");
+		assertSame(row2, table1.getRows().find(key));
+		// インデックスを使用しないハンドラーの場合も同じ行を返す
+		table1.setRowIteratorHandler(new RowIteratorHandler() {
+			@Override
+			public Iterator<Row> iterator(RowCollection c) {
+				return c.getRowList().iterator();
+			}
+
+			@Override
+			public ListIterator<Row> listIterator(RowCollection c, int index) {
+				return c.getRowList().listIterator(index);
+			}
+
+			@Override
+			public ListIterator<Row> listIterator(RowCollection c) {
+				return c.getRowList().listIterator();
+			}
+		});
+		assertSame(row2, table1.getRows().find(key));
+		key.put(0, 3L);
+		assertNull(table1.getRows().find(key));
+	}
+
+	@Test
+	public void testDiffByKeyEqualsHandler() throws ParseException {
+		Table table1 = getKeyTable("table1", DataType.VARCHAR);
+		Table table2 = getKeyTable("table2", DataType.VARCHAR);
+		addRow(table1, "a", "x");
+		addRow(table1, "b", "y");
+		addRow(table2, "A", "x");
+		addRow(table2, "b", "z");
+		// キーを大文字小文字を区別せずに比較(行の値の配列は異なるため変更として扱う)
+		EqualsHandler equalsHandler = new EqualsHandler();
+		equalsHandler.setValueEqualsPredicate((propertyName, eq, object1, object2, value1, value2) -> {
+			if (value1 instanceof String && value2 instanceof String) {
+				return ((String) value1).equalsIgnoreCase((String) value2);
+			}
+			return eq;
+		});
+		// キーの索引に使用する値が比較と一致しない場合は一致する行として扱わない
+		DbObjectDifferenceCollection diff = new DbObjectDifferenceCollection(table1.getRows(), table2.getRows(),
+				equalsHandler);
+		assertEquals("[Deleted:a, Added:A, Modified:b]", toString(diff));
+		equalsHandler.setKeyValueFunction((propertyName, value) -> {
+			if (value instanceof String) {
+				return ((String) value).toLowerCase();
+			}
+			return value;
+		});
+		diff = new DbObjectDifferenceCollection(table1.getRows(), table2.getRows(),
+				equalsHandler);
+		assertEquals("[Modified:a, Modified:b]", toString(diff));
+		// キーを比較対象外(キーが重複するためLCSで比較)
+		diff = new DbObjectDifferenceCollection(table1.getRows(), table2.getRows(),
+				new ExcludeFilterEqualsHandler("id"));
+		assertEquals("[Modified:a, Modified:b]", toString(diff));
+		diff = table1.getRows().diff(table2.getRows());
+		assertEquals("[Deleted:a, Added:A, Modified:b]", toString(diff));
+	}
+
+	private String toString(DbObjectDifferenceCollection diff) {
+		StringBuilder builder = new StringBuilder("[");
+		for (DbObjectDifference dbObjectDifference : diff.getList()) {
+			if (builder.length() > 1) {
+				builder.append(", ");
+			}
+			Row row = (Row) (dbObjectDifference.getOriginal() != null ? dbObjectDifference.getOriginal()
+					: dbObjectDifference.getTarget());
+			builder.append(dbObjectDifference.getState()).append(':').append((Object) row.get(0));
+		}
+		return builder.append(']').toString();
+	}
+
+	private Table getKeyTable(String name, DataType dataType) {
+		Table table = new Table(name);
+		Column column = table.newColumn().setName("id");
+		column.setDataType(dataType);
+		table.getColumns().add(column);
+		column = table.newColumn().setName("name");
+		column.setDataType(DataType.VARCHAR).setLength(255);
+		table.getColumns().add(column);
+		table.getConstraints().addPrimaryKeyConstraint("pk", table.getColumns().get(0));
+		return table;
+	}
+
+	@Test
+	public void testRemarks() throws ParseException {
+		Table table1 = getTable("table1");
+		Row row1 = addRow(table1, "" + 1, 2, DateUtils.parse("2013-08-30"));
+		Row row2 = addRow(table1, "" + 1, 2, DateUtils.parse("2013-08-30"));
+		assertNull(row1.getRemarks(2));
+		assertNull(row1.getOption("col3"));
+		assertNull(row1.putRemarks(1, "comment"));
+		assertEquals("comment", row1.getRemarks("col2"));
+		assertFalse(row1.equals(row2));
+		row1.putRemarks(1, null);
+		row2.putOption(2, null);
+		assertTrue(row1.equals(row2));
+		row2.putOption(2, "<SQL>");
+		assertTrue(row2.hasSqlOption());
+		assertFalse(row1.hasSqlOption());
+	}
+
+	@Test
+	public void testCloneRemarksShorterThanValues() throws ParseException {
+		Table table1 = getTable("table1");
+		Row row = table1.newRow();
+		row.putRemarks(0, "comment");
+		row.putOption(0, Row.SQL_OPTION);
+		row.put(2, DateUtils.parse("2013-08-30"));
+		Row clone = row.clone();
+		assertEquals("comment", clone.getRemarks(0));
+		assertEquals(Row.SQL_OPTION, clone.getOption(0));
+		assertNull(clone.getRemarks(2));
+		Object expected = row.get(2);
+		Object actual = clone.get(2);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testCloneRemarksLongerThanValues() throws ParseException {
+		Table table1 = getTable("table1");
+		Row row = table1.newRow();
+		row.put(0, "1");
+		row.putRemarks(2, "comment");
+		row.putOption(2, Row.SQL_OPTION);
+		Row clone = row.clone();
+		Object actual = clone.get(0);
+		assertEquals("1", actual);
+		assertEquals("comment", clone.getRemarks(2));
+		assertEquals(Row.SQL_OPTION, clone.getOption(2));
+	}
+
+	@Test
+	public void testCloneNullValues() throws ParseException {
+		Table table1 = getTable("table1");
+		Row row = table1.newRow();
+		row.putRemarks(1, "comment");
+		row.putOption(1, Row.SQL_OPTION);
+		Row clone = row.clone();
+		Object actual = clone.get(1);
+		assertNull(actual);
+		assertEquals("comment", clone.getRemarks(1));
+		assertEquals(Row.SQL_OPTION, clone.getOption(1));
+		clone.putRemarks(1, "other");
+		assertEquals("comment", row.getRemarks(1));
+	}
+
 	private Row addRow(Table table, Object... args) {
 		Row row = table.newRow();
 		int i = 0;
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.schemas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class TableDependencyGraphTest {
+
+	@Test
+	public void testWaves() {
+		Schema schema = new Schema();
+		Table table1 = getTable(schema, "table1");
+		Table table2 = getTable(schema, "table2");
+		Table table3 = getTable(schema, "table3");
+		Table table4 = getTable(schema, "table4");
+		getTable(schema, "table0");
+		createRelation("rel1", table1, table2);
+		createRelation("rel2", table1, table3);
+		createRelation("rel3", table2, table4);
+		createRelation("rel4", table3, table4);
+		createRelation("rel5", table3, table3);
+		List<List<Table>> waves = SchemaUtils.getNewSortedTableWaves(schema.getTables(),
+				Table.TableOrder.CREATE.getComparator());
+		assertEquals("[[table0, table4], [table2, table3], [table1]]", toString(waves));
+		waves = SchemaUtils.getNewSortedTableWaves(schema.getTables(), Table.TableOrder.DROP.getComparator());
+		assertEquals("[[table0, table1], [table3, table2], [table4]]", toString(waves));
+		TableDependencyGraph<Table> graph = new TableDependencyGraph<>(schema.getTables(), t -> t);
+		assertFalse(graph.hasCycle());
+	}
+
+	@Test
+	public void testCycle() {
+		Schema schema = new Schema();
+		Table table1 = getTable(schema, "table1");
+		Table table2 = getTable(schema, "table2");
+		Table table3 = getTable(schema, "table3");
+		Table table4 = getTable(schema, "table4");
+		createRelation("rel1", table1, table2);
+		createRelation("rel2", table2, table3);
+		createRelation("rel3", table3, table1);
+		createRelation("rel4", table4, table1);
+		TableDependencyGraph<Table> graph = new TableDependencyGraph<>(schema.getTables(), t -> t);
+		assertTrue(graph.hasCycle());
+		assertEquals("[table1, table2, table3]",
+				graph.getCyclicTables().stream().map(t -> t.getName()).collect(Collectors.toList()).toString());
+		List<List<Table>> waves = graph.getCreateWaves(Table.TableOrder.CREATE.getComparator());
+		assertEquals("[[table1], [table3, table4], [table2]]", toString(waves));
+	}
+
+	@Test
+	public void testRelated() {
+		Schema schema = new Schema();
+		Table table1 = getTable(schema, "table1");
+		Table table2 = getTable(schema, "table2");
+		Table table3 = getTable(schema, "table3");
+		Table table4 = getTable(schema, "table4");
+		createRelation("rel1", table1, table2);
+		createRelation("rel2", table3, table2);
+		TableDependencyGraph<Table> graph = new TableDependencyGraph<>(schema.getTables(), t -> t);
+		assertEquals("[table2]", toNames(graph.getRelated(table1)));
+		assertEquals("[table1, table3]", toNames(graph.getRelated(table2)));
+		assertEquals("[]", toNames(graph.getRelated(table4)));
+		assertEquals("[]", toNames(graph.getRelated(new Table("table5"))));
+	}
+
+	private String toNames(List<Table> tables) {
+		return tables.stream().map(t -> t.getName()).sorted().collect(Collectors.toList()).toString();
+	}
+
+	private String toString(List<List<Table>> waves) {
+		return waves.stream().map(w -> w.stream().map(t -> t.getName()).collect(Collectors.toList()))
+				.collect(Collectors.toList()).toString();
+	}
+
+	private Table getTable(Schema schema, String name) {
+		Table table = new Table(name);
+		Column column = new Column("colA");
+		table.getColumns().add(column);
+		column = new Column("colB");
+		table.getColumns().add(column);
+		table.getConstraints().addPrimaryKeyConstraint("PK", table.getColumns().get(0));
+		schema.getTables().add(table);
+		return table;
+	}
+
+	private void createRelation(String constraintName, Table table1, Table table2) {
+		table1.getConstraints().addForeignKeyConstraint(constraintName + "_" + table1.getName(),
+				table1.getColumns().get(1), table2.getColumns().get(0));
+	}
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.schemas.rowiterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.sqlapp.data.converter.IntegerConverter;
+import com.sqlapp.data.converter.StringConverter;
+import com.sqlapp.data.converter.TrimStringConverter;
+import com.sqlapp.data.db.datatype.DataType;
+import com.sqlapp.data.db.datatype.DefaultJdbcTypeHandler;
+import com.sqlapp.data.db.datatype.JdbcTypeHandler;
+import com.sqlapp.data.schemas.Column;
+
+public class ColumnReaderTest {
+
+	@Test
+	public void testGetColumnReader() {
+		assertEquals(ColumnReader.INT, getColumnReader(DataType.INT));
+		assertEquals(ColumnReader.LONG, getColumnReader(DataType.BIGINT));
+		assertEquals(ColumnReader.DOUBLE, getColumnReader(DataType.DOUBLE));
+		assertEquals(ColumnReader.BIG_DECIMAL, getColumnReader(DataType.DECIMAL));
+		assertEquals(ColumnReader.STRING, getColumnReader(DataType.VARCHAR));
+		assertNull(getColumnReader(DataType.DATETIME));
+		assertNull(getColumnReader(DataType.CLOB));
+	}
+
+	@Test
+	public void testGetColumnReaderCustomConverter() {
+		final Column column = new Column("col").setDataType(DataType.INT);
+		final IntegerConverter converter = new IntegerConverter();
+		converter.setDefaultValue(0);
+		column.setConverter(converter);
+		assertNull(ColumnReader.getColumnReader(column, new DefaultJdbcTypeHandler(DataType.INT)));
+		//
+		final JdbcTypeHandler handler = new DefaultJdbcTypeHandler(DataType.INT) {
+			private static final long serialVersionUID = 1L;
+		};
+		assertNull(ColumnReader.getColumnReader(new Column("col").setDataType(DataType.INT), handler));
+	}
+
+	@Test
+	public void testGetDirectClass() {
+		final Column column = new Column("col").setDataType(DataType.CHAR);
+		column.setConverter(new StringConverter());
+		assertEquals(String.class, ColumnReader.getDirectClass(column));
+		column.setConverter(new TrimStringConverter());
+		assertNull(ColumnReader.getDirectClass(column));
+		final StringConverter internConverter = new StringConverter();
+		internConverter.setUseIntern(true);
+		column.setConverter(internConverter);
+		assertNull(ColumnReader.getDirectClass(column));
+		final IntegerConverter converter = new IntegerConverter();
+		column.setConverter(converter);
+		assertEquals(Integer.class, ColumnReader.getDirectClass(column));
+		converter.setDefaultValue(0);
+		assertNull(ColumnReader.getDirectClass(column));
+	}
+
+	private ColumnReader getColumnReader(final DataType dataType) {
+		final Column column = new Column("col").setDataType(dataType);
+		return ColumnReader.getColumnReader(column, new DefaultJdbcTypeHandler(dataType));
+	}
+}
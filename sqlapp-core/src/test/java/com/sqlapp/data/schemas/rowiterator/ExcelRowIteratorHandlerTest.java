@@ -20,8 +20,11 @@
 package com.sqlapp.data.schemas.rowiterator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.util.Iterator;
 
 import org.junit.jupiter.api.Test;
 
@@ -48,4 +51,36 @@ public class ExcelRowIteratorHandlerTest extends AbstractRowIteratorHandlerTest{
 		Column column=table.getColumns().get(i++);
 	}
 
+	@Test
+	public void testXlsxIterator() {
+		final File file=new File("src/test/resources/test.xlsx");
+		final Table table1=new Table();
+		final Iterator<Row> itr1=new ExcelRowIteratorHandler.ExcelIterator(table1.getRows(), file, 0, (r, c, v)->v, 1);
+		final Table table2=new Table();
+		final Iterator<Row> itr2=new ExcelRowIteratorHandler(file).iterator(table2.getRows());
+		assertTrue(itr2 instanceof ExcelRowIteratorHandler.XlsxIterator);
+		int count=0;
+		while(itr1.hasNext()){
+			assertTrue(itr2.hasNext());
+			final Row row1=itr1.next();
+			final Row row2=itr2.next();
+			assertEquals(row1.getDataSourceDetailInfo(), row2.getDataSourceDetailInfo());
+			assertEquals(row1.getDataSourceRowNumber(), row2.getDataSourceRowNumber());
+			for(final Column column:table1.getColumns()){
+				assertEquals((Object)row1.get(column.getName()), (Object)row2.get(column.getName()), column.getName());
+			}
+			count++;
+		}
+		assertFalse(itr2.hasNext());
+		assertEquals(23, count);
+		assertEquals(table1.getColumns().size(), table2.getColumns().size());
+		for(int i=0;i<table1.getColumns().size();i++){
+			final Column column1=table1.getColumns().get(i);
+			final Column column2=table2.getColumns().get(i);
+			assertEquals(column1.getName(), column2.getName());
+			assertEquals(column1.getDataType(), column2.getDataType(), column1.getName());
+			assertEquals(column1.getLength(), column2.getLength(), column1.getName());
+		}
+	}
+
 }
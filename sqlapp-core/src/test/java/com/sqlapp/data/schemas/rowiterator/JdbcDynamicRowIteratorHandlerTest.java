@@ -0,0 +1,304 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.schemas.rowiterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sqlapp.data.converter.TrimStringConverter;
+import com.sqlapp.data.db.datatype.DataType;
+import com.sqlapp.data.db.dialect.Dialect;
+import com.sqlapp.data.db.dialect.DialectResolver;
+import com.sqlapp.data.db.sql.DataSourceSqlExecutor;
+import com.sqlapp.data.db.sql.SqlFactory;
+import com.sqlapp.data.db.sql.SqlFactoryRegistry;
+import com.sqlapp.data.db.sql.SqlType;
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.data.schemas.RowCollection;
+import com.sqlapp.data.schemas.State;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.jdbc.sql.AbstractDbTest;
+import com.sqlapp.util.CommonUtils;
+
+/**
+ * JdbcDynamicRowIteratorHandlerをHSQLのメモリDBでテストします
+ */
+public class JdbcDynamicRowIteratorHandlerTest extends AbstractDbTest {
+
+	private static final int ROW_COUNT = 103;
+
+	private Table table;
+
+	private SqlFactoryRegistry sqlFactoryRegistry;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		createDataSource();
+		final Dialect dialect = DialectResolver.getInstance().getDialect("hsql", 2, 0);
+		sqlFactoryRegistry = dialect.createSqlFactoryRegistry();
+		table = new Table("KEY_RANGE_TABLE");
+		table.getColumns().add(new Column("id").setDataType(DataType.BIGINT).setNotNull(true));
+		table.getColumns().add(new Column("name").setDataType(DataType.VARCHAR).setLength(100));
+		table.setPrimaryKey(table.getColumns().get("id"));
+		final DataSourceSqlExecutor executor = new DataSourceSqlExecutor(dataSource);
+		final SqlFactory<Table> sqlFactory = sqlFactoryRegistry.getSqlFactory(table, State.Added);
+		executor.execute(sqlFactory.createSql(table));
+		try (Connection connection = getConnection();
+				PreparedStatement statement = connection
+						.prepareStatement("insert into KEY_RANGE_TABLE (\"id\", \"name\") values (?, ?)")) {
+			for (int i = 0; i < ROW_COUNT; i++) {
+				statement.setLong(1, i * 3 + 5);
+				statement.setString(2, "name" + i);
+				statement.executeUpdate();
+			}
+			connection.commit();
+		}
+	}
+
+	@AfterEach
+	public void tearDown() throws SQLException {
+		final DataSourceSqlExecutor executor = new DataSourceSqlExecutor(dataSource);
+		final SqlFactory<Table> sqlFactory = sqlFactoryRegistry.getSqlFactory(table, SqlType.DROP);
+		executor.execute(sqlFactory.createSql(table));
+	}
+
+	@Test
+	public void testSplit() {
+		final JdbcDynamicRowIteratorHandler handler = new JdbcDynamicRowIteratorHandler();
+		handler.setDataSource(dataSource);
+		final List<JdbcDynamicRowIteratorHandler> handlers = handler.split(table, 4);
+		assertEquals(4, handlers.size());
+		long expected = 5;
+		for (final JdbcDynamicRowIteratorHandler rangeHandler : handlers) {
+			table.setRowIteratorHandler(rangeHandler);
+			for (final Row row : table.getRows()) {
+				assertEquals(expected, ((Number) row.get("id")).longValue());
+				expected += 3;
+			}
+		}
+		assertEquals(ROW_COUNT * 3 + 5, expected);
+	}
+
+	@Test
+	public void testParallel() {
+		final JdbcDynamicRowIteratorHandler handler = new JdbcDynamicRowIteratorHandler();
+		handler.setDataSource(dataSource);
+		handler.setParallelism(3);
+		handler.setBufferSize(7);
+		table.setRowIteratorHandler(handler);
+		long expected = 5;
+		int count = 0;
+		for (final Row row : table.getRows()) {
+			assertEquals(expected, ((Number) row.get("id")).longValue());
+			assertEquals("name" + count, row.get("name"));
+			expected += 3;
+			count++;
+		}
+		assertEquals(ROW_COUNT, count);
+	}
+
+	@Test
+	public void testOffsetLimit() {
+		final List<String> sqls = CommonUtils.list();
+		final JdbcDynamicRowIteratorHandler handler = new SqlRecordingHandler(sqls);
+		handler.setDataSource(dataSource);
+		handler.setLimit(5L);
+		table.setRowIteratorHandler(handler);
+		final ListIterator<Row> itr = table.getRows().listIterator(10);
+		final List<String> rows = CommonUtils.list();
+		while (itr.hasNext()) {
+			final Row row = itr.next();
+			rows.add(row.get("id") + ":" + row.get("name"));
+		}
+		assertEquals("[35:name10, 38:name11, 41:name12, 44:name13, 47:name14]", rows.toString());
+		// SQLで読み飛ばせないDialectの場合も並び順は指定する
+		assertEquals(1, sqls.size());
+		final String offsetOrderBy = getOrderBy(sqls.get(0));
+		assertEquals("ORDER BY \"id\"", offsetOrderBy);
+		// 先頭から読み込む場合も同じ並び順を指定する
+		sqls.clear();
+		handler.setLimit(null);
+		int count = 0;
+		for (final Row row : table.getRows()) {
+			assertEquals(count * 3L + 5, ((Number) row.get("id")).longValue());
+			count++;
+		}
+		assertEquals(ROW_COUNT, count);
+		assertEquals(1, sqls.size());
+		assertEquals(offsetOrderBy, getOrderBy(sqls.get(0)));
+	}
+
+	private static String getOrderBy(final String sql) {
+		final int pos = sql.indexOf("ORDER BY");
+		assertTrue(pos >= 0, sql);
+		return sql.substring(pos).replaceAll("\\s+", " ").trim();
+	}
+
+	/**
+	 * 実行したSQLを記録するハンドラー
+	 */
+	static class SqlRecordingHandler extends JdbcDynamicRowIteratorHandler {
+		private final List<String> sqls;
+
+		SqlRecordingHandler(final List<String> sqls) {
+			this.sqls = sqls;
+		}
+
+		@Override
+		protected ResultSetIterator getResultSetIterator(final RowCollection rows, final int index,
+				final KeyRange keyRange) {
+			final ResultSetIterator iterator = new ResultSetIterator(rows, getConnectionHandler(), index,
+					this.getOptions(), keyRange) {
+				@Override
+				protected String createSql(final Table table) throws SQLException {
+					final String sql = super.createSql(table);
+					sqls.add(sql);
+					return sql;
+				}
+			};
+			if (this.getLimit() != null) {
+				iterator.setLimit(this.getLimit().longValue());
+			}
+			return iterator;
+		}
+	}
+
+	@Test
+	public void testKeyset() {
+		final JdbcDynamicRowIteratorHandler handler = new JdbcDynamicRowIteratorHandler();
+		handler.setDataSource(dataSource);
+		handler.setKeyRange(KeyRange.after(table.getColumns().get("id"), 302L));
+		handler.setLimit(2L);
+		table.setRowIteratorHandler(handler);
+		long expected = 305;
+		int count = 0;
+		for (final Row row : table.getRows()) {
+			assertEquals(expected, ((Number) row.get("id")).longValue());
+			expected += 3;
+			count++;
+		}
+		assertEquals(2, count);
+	}
+
+	@Test
+	public void testQuantileKeyRanges() throws SQLException {
+		final Table codeTable = new Table("KEY_RANGE_CODE");
+		codeTable.getColumns().add(new Column("code").setDataType(DataType.VARCHAR).setLength(10).setNotNull(true));
+		codeTable.setPrimaryKey(codeTable.getColumns().get("code"));
+		final DataSourceSqlExecutor executor = new DataSourceSqlExecutor(dataSource);
+		final SqlFactory<Table> createFactory = sqlFactoryRegistry.getSqlFactory(codeTable, State.Added);
+		executor.execute(createFactory.createSql(codeTable));
+		try {
+			try (Connection connection = getConnection();
+					PreparedStatement statement = connection
+							.prepareStatement("insert into KEY_RANGE_CODE (\"code\") values (?)")) {
+				for (int i = 0; i < 20; i++) {
+					statement.setString(1, String.format("k%03d", i));
+					statement.executeUpdate();
+				}
+				connection.commit();
+			}
+			final JdbcDynamicRowIteratorHandler handler = new JdbcDynamicRowIteratorHandler();
+			handler.setDataSource(dataSource);
+			// SQLで読み飛ばせないDialectの場合、整数でないキーは分割しない
+			final List<KeyRange> keyRanges = handler.createKeyRanges(codeTable, 4);
+			assertEquals(1, keyRanges.size());
+			assertEquals(null, keyRanges.get(0).getLowerBound());
+			assertEquals(null, keyRanges.get(0).getUpperBound());
+			handler.setParallelism(4);
+			handler.setBufferSize(2);
+			codeTable.setRowIteratorHandler(handler);
+			int count = 0;
+			for (final Row row : codeTable.getRows()) {
+				assertEquals(String.format("k%03d", count), row.get("code"));
+				count++;
+			}
+			assertEquals(20, count);
+		} finally {
+			final SqlFactory<Table> dropFactory = sqlFactoryRegistry.getSqlFactory(codeTable, SqlType.DROP);
+			executor.execute(dropFactory.createSql(codeTable));
+		}
+	}
+
+	@Test
+	public void testTrimPaddedChar() throws SQLException {
+		final Table charTable = new Table("TRIM_CHAR_TABLE");
+		charTable.getColumns().add(new Column("id").setDataType(DataType.INT).setNotNull(true));
+		final Column nameColumn = new Column("name").setDataType(DataType.CHAR).setLength(6);
+		nameColumn.setConverter(new TrimStringConverter());
+		charTable.getColumns().add(nameColumn);
+		charTable.setPrimaryKey(charTable.getColumns().get("id"));
+		final DataSourceSqlExecutor executor = new DataSourceSqlExecutor(dataSource);
+		final SqlFactory<Table> createFactory = sqlFactoryRegistry.getSqlFactory(charTable, State.Added);
+		executor.execute(createFactory.createSql(charTable));
+		try {
+			try (Connection connection = getConnection();
+					PreparedStatement statement = connection
+							.prepareStatement("insert into TRIM_CHAR_TABLE (\"id\", \"name\") values (?, ?)")) {
+				// 先頭行は桁を埋めた値、以降の行はCHARの空白で埋められる値
+				final String[] names = new String[] { "abcdef", "ab", "abc" };
+				for (int i = 0; i < names.length; i++) {
+					statement.setInt(1, i);
+					statement.setString(2, names[i]);
+					statement.executeUpdate();
+				}
+				connection.commit();
+			}
+			final JdbcDynamicRowIteratorHandler handler = new JdbcDynamicRowIteratorHandler();
+			handler.setDataSource(dataSource);
+			charTable.setRowIteratorHandler(handler);
+			final List<Object> names = CommonUtils.list();
+			for (final Row row : charTable.getRows()) {
+				names.add(row.get("name"));
+			}
+			assertEquals("[abcdef, ab, abc]", names.toString());
+		} finally {
+			final SqlFactory<Table> dropFactory = sqlFactoryRegistry.getSqlFactory(charTable, SqlType.DROP);
+			executor.execute(dropFactory.createSql(charTable));
+		}
+	}
+
+	@Test
+	public void testKeyRanges() {
+		final Column column = table.getColumns().get("id");
+		List<KeyRange> keyRanges = KeyRange.split(column, 1L, 10L, 3);
+		assertEquals(3, keyRanges.size());
+		assertEquals(null, keyRanges.get(0).getLowerBound());
+		assertEquals(4L, keyRanges.get(0).getUpperBound());
+		assertEquals(4L, keyRanges.get(1).getLowerBound());
+		assertEquals(7L, keyRanges.get(1).getUpperBound());
+		assertEquals(7L, keyRanges.get(2).getLowerBound());
+		assertEquals(null, keyRanges.get(2).getUpperBound());
+		keyRanges = KeyRange.split(column, 1, 2, 5);
+		assertEquals(2, keyRanges.size());
+		assertEquals(null, KeyRange.split(column, "a", "z", 5));
+	}
+}
@@ -19,9 +19,16 @@
 
 package com.sqlapp.data.schemas.rowiterator;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import java.io.File;
+import java.util.ListIterator;
+
+import org.junit.jupiter.api.Test;
 
+import com.sqlapp.data.schemas.Row;
 import com.sqlapp.data.schemas.RowIteratorHandler;
+import com.sqlapp.data.schemas.Table;
 
 public class JsonRowIteratorHandlerTest extends AbstractRowIteratorHandlerTest{
 
@@ -30,4 +37,18 @@ public class JsonRowIteratorHandlerTest extends AbstractRowIteratorHandlerTest{
 		return new JsonRowIteratorHandler(new File("src/test/resources/test.json"));
 	}
 
+	@Test
+	public void testListIterator() {
+		final Table table=getTable();
+		initializeTable(table);
+		final ListIterator<Row> itr=table.getRows().listIterator(20);
+		int i=20;
+		while(itr.hasNext()){
+			assertEquals("name"+(i+1), itr.next().get("name"));
+			i++;
+		}
+		assertEquals(23, i);
+		assertEquals(false, table.getRows().listIterator(30).hasNext());
+	}
+
 }
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.data.schemas.rowiterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.sqlapp.data.db.datatype.DataType;
+import com.sqlapp.data.schemas.Column;
+import com.sqlapp.data.schemas.Row;
+import com.sqlapp.data.schemas.Table;
+import com.sqlapp.util.CommonUtils;
+
+public class KeyRangeRowListIteratorTest {
+
+	private final Table table = new Table("KEY_RANGE_TABLE");
+	{
+		table.getColumns().add(new Column("id").setDataType(DataType.INT));
+	}
+
+	@Test
+	public void testOrder() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(3);
+		final List<RangeIterator> iterators = CommonUtils.list(new RangeIterator(0, 5, null, latch),
+				new RangeIterator(5, 10, null, latch), new RangeIterator(10, 15, null, latch));
+		final KeyRangeRowListIterator itr = new KeyRangeRowListIterator(iterators, 2, 1);
+		int expected = 0;
+		while (itr.hasNext()) {
+			assertEquals(Integer.valueOf(expected), itr.next().get("id"));
+			expected++;
+		}
+		assertEquals(15, expected);
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		assertFalse(itr.hasNext());
+	}
+
+	@Test
+	public void testError() throws InterruptedException {
+		final CountDownLatch latch = new CountDownLatch(3);
+		final Error error = new Error("read error");
+		// 後続の範囲は先読みが一杯になるため読み込みが止まる
+		final List<RangeIterator> iterators = CommonUtils.list(new RangeIterator(0, 5, null, latch),
+				new RangeIterator(5, 10, error, latch), new RangeIterator(10, 100, null, latch));
+		final KeyRangeRowListIterator itr = new KeyRangeRowListIterator(iterators, 1, 5);
+		for (int i = 0; i < 5; i++) {
+			assertEquals(Integer.valueOf(i), itr.next().get("id"));
+		}
+		assertEquals(error, assertThrows(Error.class, () -> itr.hasNext()));
+		// 例外の場合も全ての範囲のイテレーターを閉じる
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		assertFalse(itr.hasNext());
+	}
+
+	/**
+	 * 指定した範囲の行を返し、errorを指定した場合は最初の行の前にスローするイテレーター
+	 */
+	class RangeIterator extends AbstractListIterator {
+		private int current;
+		private final int end;
+		private final Error error;
+		private final CountDownLatch latch;
+
+		RangeIterator(final int start, final int end, final Error error, final CountDownLatch latch) {
+			this.current = start;
+			this.end = end;
+			this.error = error;
+			this.latch = latch;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (error != null) {
+				throw error;
+			}
+			return current < end;
+		}
+
+		@Override
+		public Row next() {
+			final Row row = table.newRow();
+			row.put("id", current++);
+			return row;
+		}
+
+		@Override
+		public void close() {
+			latch.countDown();
+		}
+	}
+}
@@ -19,8 +19,15 @@
 
 package com.sqlapp.data.schemas.rowiterator;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import java.io.File;
+import java.util.ListIterator;
+
+import org.junit.jupiter.api.Test;
 
+import com.sqlapp.data.db.datatype.DataType;
+import com.sqlapp.data.schemas.Column;
 import com.sqlapp.data.schemas.Row;
 import com.sqlapp.data.schemas.RowIteratorHandler;
 import com.sqlapp.data.schemas.Table;
@@ -42,4 +49,52 @@ public class XmlRowIteratorHandlerTest extends AbstractRowIteratorHandlerTest{
 		return new XmlRowIteratorHandler(new File("src/test/resources/test.xml"));
 	}
 
+	@Test
+	public void testListIterator() throws Exception {
+		final Table table=getTable();
+		initializeTable(table);
+		final ListIterator<Row> itr=table.getRows().listIterator(20);
+		int i=20;
+		while(itr.hasNext()){
+			assertEquals("name"+(i+1), itr.next().get("name"));
+			i++;
+		}
+		assertEquals(23, i);
+		final ListIterator<Row> empty=table.getRows().listIterator(30);
+		assertEquals(false, empty.hasNext());
+		final ListIterator<Row> first=table.getRows().listIterator();
+		assertEquals("name1", first.next().get("name"));
+		((AutoCloseable)first).close();
+		assertEquals(false, first.hasNext());
+	}
+
+	@Test
+	public void testReadColumns() throws Exception {
+		final Table source=new Table("xml_table");
+		source.getColumns().add(new Column("id").setDataType(DataType.INT));
+		source.getColumns().add(new Column("name").setDataType(DataType.VARCHAR).setLength(10));
+		source.setPrimaryKey(source.getColumns().get("id"));
+		for(int i=0;i<5;i++){
+			final Row row=source.newRow();
+			row.put("id", i);
+			row.put("name", "name"+i);
+			source.getRows().add(row);
+		}
+		final File file=File.createTempFile("xml_table", ".xml");
+		try{
+			source.writeXml(file);
+			final Table table=new Table();
+			table.setRowIteratorHandler(new XmlRowIteratorHandler(file));
+			int i=0;
+			for(final Row row:table.getRows()){
+				assertEquals(Integer.valueOf(i), row.get("id"));
+				assertEquals("name"+i, row.get("name"));
+				i++;
+			}
+			assertEquals(5, i);
+		} finally{
+			file.delete();
+		}
+	}
+
 }
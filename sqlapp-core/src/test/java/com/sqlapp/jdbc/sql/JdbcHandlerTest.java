@@ -21,9 +21,16 @@ package com.sqlapp.jdbc.sql;
 
 import static com.sqlapp.util.CommonUtils.list;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -41,6 +48,7 @@ import com.sqlapp.data.schemas.Column;
 import com.sqlapp.data.schemas.State;
 import com.sqlapp.data.schemas.Table;
 import com.sqlapp.jdbc.sql.node.SqlNode;
+import com.sqlapp.jdbc.sql.node.StaticSqlTemplate;
 
 /**
  * JdbcHandlerをHSQLのメモリDBでテストします
@@ -155,6 +163,18 @@ public class JdbcHandlerTest extends AbstractDbTest {
 					}
 				});
 		//
+		batchUpdateHandler = new JdbcBatchUpdateHandler(node);
+		list.clear();
+		val1=context.clone();
+		val1.put("a", "valh");
+		list.add(val1);
+		val1=context.clone();
+		val1.put("a", "vali");
+		list.add(val1);
+		batchUpdateHandler.setBatchSize(1);
+		batchUpdateHandler.execute(connection, list);
+		assertEquals(list.size(), batchUpdateHandler.getUpdateCount());
+		//
 		sqlFactory = sqlFactoryRegistry.getSqlFactory(table, SqlType.TRUNCATE);
 		executer.execute(sqlFactory.createSql(table));
 		//
@@ -163,4 +183,98 @@ public class JdbcHandlerTest extends AbstractDbTest {
 
 	}
 
+	@Test
+	public void testBatchSize() throws SQLException {
+		final Connection connection = getConnection();
+		final SqlFactoryRegistry sqlFactoryRegistry = dialect
+				.createSqlFactoryRegistry();
+		final DataSourceSqlExecutor executer = new DataSourceSqlExecutor(
+				dataSource);
+		SqlFactory<Table> sqlFactory = sqlFactoryRegistry.getSqlFactory(table, State.Added);
+		executer.execute(sqlFactory.createSql(table));
+		try {
+			final SqlNode node = sqlRegistory.get(INSERT, null);
+			final List<ParametersContext> list = list();
+			for (int i = 1; i <= 7; i++) {
+				final ParametersContext val = new ParametersContext();
+				val.put("a", "val" + i);
+				list.add(val);
+			}
+			final List<List<Object>> executions = list();
+			final int[] prepareCount = new int[1];
+			JdbcBatchUpdateHandler batchUpdateHandler = new RecordingBatchUpdateHandler(node, prepareCount, executions);
+			batchUpdateHandler.setBatchSize(3);
+			batchUpdateHandler.execute(connection, list);
+			assertEquals(1, prepareCount[0]);
+			assertEquals("[[val1, val2, val3], [val4, val5, val6], [val7]]", executions.toString());
+			assertEquals(list.size(), batchUpdateHandler.getUpdateCount());
+			// テンプレートは実行毎に作成しない
+			final StaticSqlTemplate template = batchUpdateHandler.getTemplate();
+			assertNotNull(template);
+			assertSame(template, batchUpdateHandler.getTemplate());
+			// 1件ずつ実行する場合もPreparedStatementを再利用する
+			prepareCount[0] = 0;
+			executions.clear();
+			batchUpdateHandler = new RecordingBatchUpdateHandler(node, prepareCount, executions);
+			batchUpdateHandler.setBatchSize(1);
+			batchUpdateHandler.execute(connection, list.subList(0, 3));
+			assertEquals(1, prepareCount[0]);
+			assertEquals("[[val1], [val2], [val3]]", executions.toString());
+			assertEquals(3, batchUpdateHandler.getUpdateCount());
+			final List<String> values = list();
+			try (Statement statement = connection.createStatement();
+					ResultSet rs = statement.executeQuery("select \"a\" from " + TABLE_NAME + " order by \"id\"")) {
+				while (rs.next()) {
+					values.add(rs.getString(1));
+				}
+			}
+			assertEquals("[val1, val2, val3, val4, val5, val6, val7, val1, val2, val3]", values.toString());
+		} finally {
+			sqlFactory = sqlFactoryRegistry.getSqlFactory(table, SqlType.DROP);
+			executer.execute(sqlFactory.createSql(table));
+		}
+	}
+
+	/**
+	 * PreparedStatementの作成回数と実行毎のバインド値を記録します
+	 */
+	static class RecordingBatchUpdateHandler extends JdbcBatchUpdateHandler {
+		private final int[] prepareCount;
+		private final List<List<Object>> executions;
+
+		RecordingBatchUpdateHandler(final SqlNode node, final int[] prepareCount,
+				final List<List<Object>> executions) {
+			super(node);
+			this.prepareCount = prepareCount;
+			this.executions = executions;
+		}
+
+		@Override
+		protected PreparedStatement getStatement(final Connection connection,
+				final SqlParameterCollection sqlParameters, final Integer limit) throws SQLException {
+			prepareCount[0]++;
+			final PreparedStatement statement = super.getStatement(connection, sqlParameters, limit);
+			final List<Object> batch = list();
+			return (PreparedStatement) Proxy.newProxyInstance(this.getClass().getClassLoader(),
+					new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+						final String name = method.getName();
+						if (name.startsWith("set") && args != null && args.length >= 2
+								&& args[0] instanceof Integer) {
+							batch.add(args[1]);
+						} else if ("executeBatch".equals(name)) {
+							executions.add(list(batch));
+							batch.clear();
+						} else if ("execute".equals(name)) {
+							executions.add(list(batch));
+							batch.clear();
+						}
+						try {
+							return method.invoke(statement, args);
+						} catch (final InvocationTargetException e) {
+							throw e.getCause();
+						}
+					});
+		}
+	}
+
 }
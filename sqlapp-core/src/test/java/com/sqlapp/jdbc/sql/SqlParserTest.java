@@ -22,6 +22,8 @@ package com.sqlapp.jdbc.sql;
 import static com.sqlapp.util.CommonUtils.list;
 import static com.sqlapp.util.CommonUtils.map;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
@@ -35,6 +37,7 @@ import com.sqlapp.data.parameter.ParametersContext;
 import com.sqlapp.exceptions.SqlParseException;
 import com.sqlapp.jdbc.sql.node.Node;
 import com.sqlapp.jdbc.sql.node.SqlNode;
+import com.sqlapp.jdbc.sql.node.StaticSqlTemplate;
 import com.sqlapp.test.AbstractTest;
 import com.sqlapp.util.SqlExecuter;
 
@@ -189,4 +192,29 @@ public class SqlParserTest extends AbstractTest {
 		assertEquals(this.getResource("source_result.sql"), sqlParameters.getSql());
 	}
 
+	@Test
+	public void testCompile() {
+		final SqlExecuter sql = new SqlExecuter("INSERT INTO test(a, b)");
+		sql.addSqlLine("VALUES(/*a*/1, /*b*/'x')");
+		final SqlNode node = parser.parse(sql.toString());
+		final StaticSqlTemplate template = node.compile();
+		assertNotNull(template);
+		assertEquals(2, template.getParameterCount());
+		final ParametersContext context = new ParametersContext();
+		context.put("a", 3);
+		context.put("b", "y");
+		final SqlParameterCollection expected = node.eval(context);
+		assertEquals(expected.getSql(), template.getSql());
+		final SqlParameterCollection sqlParameters = template.createSqlParameterCollection(null);
+		template.eval(context, sqlParameters);
+		assertEquals(expected.getSql(), sqlParameters.getSql());
+		assertEquals(3, sqlParameters.getBindParameters().get(0).getValue());
+		assertEquals("y", sqlParameters.getBindParameters().get(1).getValue());
+		context.put("a", 4);
+		template.eval(context, sqlParameters);
+		assertEquals(4, sqlParameters.getBindParameters().get(0).getValue());
+		//
+		assertNull(parser.parse(testSql).compile());
+	}
+
 }
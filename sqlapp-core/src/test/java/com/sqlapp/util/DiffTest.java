@@ -23,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 /**
@@ -76,6 +77,62 @@ public class DiffTest {
 		assertEquals("abc", getString(diff.getLcs()));
 	}
 
+	@Test
+	public void testGetLcsRandom() {
+		Random random=new Random(1);
+		for(int n=0;n<200;n++){
+			List<String> list1=getRandomList(random, random.nextInt(30), 4);
+			List<String> list2=getRandomList(random, random.nextInt(30), 4);
+			Diff<String> diff=new Diff<String>(list1, list2);
+			assertEquals(lcsLength(list1, list2), diff.getLcs().size());
+			assertLcs(list1, diff.getLcs1());
+			assertLcs(list2, diff.getLcs2());
+		}
+	}
+
+	@Test
+	public void testGetLcsLarge() {
+		Random random=new Random(1);
+		List<String> list1=getRandomList(random, 50000, 1000);
+		List<String> list2=CommonUtils.list(list1);
+		list2.remove(100);
+		list2.add(20000, "x");
+		list2.set(40000, "y");
+		Diff<String> diff=new Diff<String>(list1, list2);
+		assertEquals(list1.size()-2, diff.getLcs().size());
+	}
+
+	private void assertLcs(List<String> list, Map<Integer, String> lcs){
+		int before=-1;
+		for(Map.Entry<Integer, String> entry:lcs.entrySet()){
+			assertTrue(before<entry.getKey().intValue());
+			assertEquals(list.get(entry.getKey().intValue()), entry.getValue());
+			before=entry.getKey().intValue();
+		}
+	}
+
+	private int lcsLength(List<String> list1, List<String> list2){
+		int[][] lengths = new int[list1.size() + 1][list2.size() + 1];
+		for (int i = list1.size()-1; i >= 0; i--) {
+			for (int j = list2.size()-1; j >= 0; j--) {
+				if (list1.get(i).equals(list2.get(j))) {
+					lengths[i][j] = lengths[i+1][j+1]+1;
+				} else {
+					lengths[i][j] = Math.max(lengths[i+1][j], lengths[i][j+1]);
+				}
+			}
+		}
+		return lengths[0][0];
+	}
+
+	private List<String> getRandomList(Random random, int size, int bound){
+		List<String> list=CommonUtils.list();
+		for(int i=0;i<size;i++){
+			list.add(String.valueOf(random.nextInt(bound)));
+		}
+		return list;
+	}
+
 	private List<String> getList(String val){
 		List<String> list=CommonUtils.list();
 		for(int i=0;i<val.length();i++){
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2007-2017 Tatsuo Satoh <multisqllib@gmail.com>
+ *
+ * This file is part of sqlapp-core.
+ *
+ * sqlapp-core is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * sqlapp-core is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with sqlapp-core.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.sqlapp.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class LruCacheTest {
+
+	@Test
+	public void testMaximumSize() {
+		LruCache<String, String> cache = new LruCache<String, String>(2);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		assertEquals("1", cache.get("a"));
+		cache.put("c", "3");
+		assertEquals(2, cache.size());
+		assertTrue(cache.containsKey("a"));
+		assertFalse(cache.containsKey("b"));
+		assertTrue(cache.containsKey("c"));
+		assertNull(cache.get("b"));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(0.5d, cache.getHitRate());
+	}
+
+	@Test
+	public void testMaximumWeight() {
+		LruCache<String, String> cache = new LruCache<String, String>(10, (k, v) -> v.length());
+		cache.put("a", "12345");
+		cache.put("b", "1234");
+		assertEquals(9, cache.getWeight());
+		cache.putIfAbsent("c", "123");
+		assertEquals(7, cache.getWeight());
+		assertFalse(cache.containsKey("a"));
+		cache.remove("b");
+		assertEquals(3, cache.getWeight());
+		assertEquals("123", cache.putIfAbsent("c", "1"));
+	}
+
+	@Test
+	public void testSerialize() {
+		LruCache<String, String> cache = new LruCache<String, String>(10, (k, v) -> v.length());
+		cache.put("a", "12345");
+		cache.put("b", "1234");
+		cache.get("a");
+		LruCache<String, String> copy = CommonUtils.copy(cache);
+		assertEquals(9, copy.getWeight());
+		assertEquals("[b, a]", copy.keySet().toString());
+		copy.put("c", "123");
+		assertEquals("[a, c]", copy.keySet().toString());
+		assertEquals(8, copy.getWeight());
+	}
+}
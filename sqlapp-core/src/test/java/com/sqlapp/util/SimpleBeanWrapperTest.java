@@ -19,6 +19,7 @@
 
 package com.sqlapp.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -63,4 +64,17 @@ public class SimpleBeanWrapperTest {
 		assertTrue(interval2.equals(interval1));
 	}
 
+	@Test
+	public void testGetValue() {
+		SimpleBeanWrapper utils = new SimpleBeanWrapper(
+				com.sqlapp.data.interval.Interval.class.getName());
+		Interval interval = new Interval(2011, 2, 23, 0, 0, 0, 0);
+		assertEquals(Integer.valueOf(2011), utils.getValue(interval, "years"));
+		assertEquals(Integer.valueOf(2), utils.getValue(interval, "months"));
+		utils.setValue(interval, "days", Integer.valueOf(24));
+		assertEquals(Integer.valueOf(24), utils.getValue(interval, "days"));
+		utils.setValue(interval, "days", Long.valueOf(25));
+		assertEquals(Integer.valueOf(25), utils.getValue(interval, "days"));
+	}
+
 }